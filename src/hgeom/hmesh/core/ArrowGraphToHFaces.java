@@ -1,9 +1,15 @@
 package hgeom.hmesh.core;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HFace;
@@ -26,6 +32,11 @@ final class ArrowGraphToHFaces {
 	 */
 	private final ArrowSorter arrowSorter;
 
+	/**
+	 * Si vrai, classement des fleches et parcours des cycles en parallele
+	 */
+	private final boolean parallel;
+
 	/**
 	 * buffer de fleches
 	 */
@@ -43,8 +54,22 @@ final class ArrowGraphToHFaces {
 	public ArrowGraphToHFaces(HElementFactory elementFactory,
 			ArrowSorter arrowSorter) {
 
+		this(elementFactory, arrowSorter, false);
+	}
+
+	/**
+	 * @param elementFactory
+	 * @param arrowSorter
+	 * @param parallel       si vrai, le classement des fleches de chaque
+	 *                       sommet et le parcours des cycles sont effectues
+	 *                       en parallele. Les faces obtenues sont identiques
+	 */
+	public ArrowGraphToHFaces(HElementFactory elementFactory,
+			ArrowSorter arrowSorter, boolean parallel) {
+
 		this.elementFactory = Objects.requireNonNull(elementFactory);
 		this.arrowSorter = Objects.requireNonNull(arrowSorter);
+		this.parallel = parallel;
 	}
 
 	/**
@@ -55,8 +80,13 @@ final class ArrowGraphToHFaces {
 	 * @return
 	 */
 	public Optional<List<HFace>> convert(ArrowGraph arrowGraph) {
+		if (parallel) {
+			return new ParallelCycleTracer(arrowGraph).convert();
+		}
+
 		this.arrowGraph = arrowGraph;
-		arrowGraph.arrows().stream().forEach(this::joinVertexArrows);
+		arrowGraph.arrows().stream()
+				.forEach(arrow -> joinVertexArrows(arrow, arrows));
 
 		List<HFace> faces = new ArrayList<>();
 
@@ -73,12 +103,13 @@ final class ArrowGraphToHFaces {
 	 * Ordonnancement en etoile des aretes pointant vers la deconnexion
 	 *
 	 * @param firstArrow
+	 * @param buffer     buffer de fleches
 	 */
-	private void joinVertexArrows(Arrow firstArrow) {
-		arrows.clear();
-		firstArrow.forEach(arrows::add);
-		arrowSorter.sort(arrows);
-		Loops.forEachPair(arrows, ArrowGraphToHFaces::joinIncomingArrows);
+	private void joinVertexArrows(Arrow firstArrow, List<Arrow> buffer) {
+		buffer.clear();
+		firstArrow.forEach(buffer::add);
+		arrowSorter.sort(buffer);
+		Loops.forEachPair(buffer, ArrowGraphToHFaces::joinIncomingArrows);
 	}
 
 	/**
@@ -136,4 +167,243 @@ final class ArrowGraphToHFaces {
 
 		return true;
 	}
+
+	/**
+	 * @param e
+	 * @return
+	 */
+	private static int id(HEdge e) {
+		return ((HElementImpl) e).id();
+	}
+
+	/**
+	 * Parcours parallele des cycles. Chaque demi-arete est reservee par le
+	 * cycle qui la parcourt a l'aide d'un jeton (identifiant de la demi-arete
+	 * de depart + 1). Un parcours rencontrant une demi-arete reservee par un
+	 * autre parcours est abandonne puis repris sequentiellement
+	 * <p>
+	 * Les faces sont creees dans l'ordre du parcours sequentiel : chaque cycle
+	 * est classe selon la position de sa premiere fleche dans l'ordre
+	 * d'iteration du graphe
+	 */
+	private final class ParallelCycleTracer {
+
+		/**
+		 *
+		 */
+		private final ArrowGraph graph;
+
+		/**
+		 * Demi-aretes dans l'ordre d'iteration des fleches du graphe
+		 */
+		private final List<HEdge> edges = new ArrayList<>();
+
+		/**
+		 * Position d'iteration de chaque demi-arete, par identifiant
+		 */
+		private final int[] positions;
+
+		/**
+		 * Jeton du cycle ayant reserve chaque demi-arete, par identifiant. 0
+		 * si non reservee
+		 */
+		private final AtomicIntegerArray claims;
+
+		/**
+		 * Vrai si une chaine de demi-aretes ne forme pas de cycle
+		 */
+		private final AtomicBoolean broken = new AtomicBoolean();
+
+		/**
+		 * @param graph
+		 */
+		ParallelCycleTracer(ArrowGraph graph) {
+			this.graph = graph;
+			positions = new int[elementFactory.edgeCount()];
+			claims = new AtomicIntegerArray(positions.length);
+
+			for (Arrow firstArrow : graph.arrows()) {
+				firstArrow.forEach(arrow -> {
+					positions[id(arrow.hEdge())] = edges.size();
+					edges.add(arrow.hEdge());
+				});
+			}
+		}
+
+		/**
+		 * @return
+		 */
+		Optional<List<HFace>> convert() {
+
+			// Classement des fleches de chaque sommet : chaque sommet ne
+			// modifie que le chainage de ses demi-aretes entrantes
+			graph.arrows().parallelStream().forEach(
+					arrow -> joinVertexArrows(arrow, new ArrayList<>()));
+
+			List<TracedCycle> cycles = IntStream.range(0, edges.size())
+					.parallel().mapToObj(p -> trace(edges.get(p)))
+					.filter(Objects::nonNull).collect(Collectors.toList());
+
+			if (broken.get()) {
+				return Optional.empty();
+			}
+
+			cycles = retryContestedCycles(cycles);
+
+			if (!cycles.parallelStream().allMatch(this::isValid)) {
+				return Optional.empty();
+			}
+
+			cycles.sort(Comparator.comparingInt(c -> c.firstPosition));
+			List<HFace> faces = new ArrayList<>(cycles.size());
+
+			for (TracedCycle cycle : cycles) {
+				faces.add(elementFactory.createFace(cycle.firstEdge,
+						Status.UNKNOWN, false));
+			}
+
+			return Optional.of(faces);
+		}
+
+		/**
+		 * @param start
+		 * @return le cycle parcouru, un cycle conteste ou {@code null} si la
+		 *         demi-arete est deja reservee ou si la chaine est rompue
+		 */
+		private TracedCycle trace(HEdge start) {
+			int token = id(start) + 1;
+
+			if (claims.get(id(start)) != 0) {
+				return null;
+			}
+
+			TracedCycle cycle = new TracedCycle(start);
+			HEdge e = start;
+
+			do {
+				HEdge next = e.next();
+
+				if (next == null) {
+					broken.set(true);
+					return null;
+				}
+
+				if (!claims.compareAndSet(id(e), 0, token)) {
+					cycle.contested = true;
+					return cycle;
+				}
+
+				cycle.update(e, positions[id(e)]);
+				e = next;
+			} while (e != start);
+
+			return cycle;
+		}
+
+		/**
+		 * Reprise sequentielle des parcours abandonnes
+		 *
+		 * @param cycles
+		 * @return les cycles completement parcourus
+		 */
+		private List<TracedCycle> retryContestedCycles(
+				List<TracedCycle> cycles) {
+
+			BitSet completedTokens = new BitSet();
+			List<TracedCycle> completed = new ArrayList<>(cycles.size());
+			List<TracedCycle> contested = new ArrayList<>();
+
+			for (TracedCycle cycle : cycles) {
+				if (cycle.contested) {
+					contested.add(cycle);
+				}
+
+				else {
+					completedTokens.set(id(cycle.start) + 1);
+					completed.add(cycle);
+				}
+			}
+
+			for (TracedCycle cycle : contested) {
+				int claim = claims.get(id(cycle.start));
+
+				// Cycle deja parcouru par un autre parcours
+				if (claim != 0 && completedTokens.get(claim)) {
+					continue;
+				}
+
+				int token = id(cycle.start) + 1;
+				TracedCycle retried = new TracedCycle(cycle.start);
+
+				Loops.forEach(cycle.start, HEdge::next, e -> {
+					claims.set(id(e), token);
+					retried.update(e, positions[id(e)]);
+				});
+
+				completedTokens.set(token);
+				completed.add(retried);
+			}
+
+			return completed;
+		}
+
+		/**
+		 * Un cycle ne doit pas contenir 2 demi-aretes opposees : test a l'aide
+		 * des reservations
+		 *
+		 * @param cycle
+		 * @return
+		 */
+		private boolean isValid(TracedCycle cycle) {
+			int token = claims.get(id(cycle.start));
+
+			return Loops.findFirst(cycle.start, HEdge::next,
+					e -> claims.get(id(e.opposite())) == token).isEmpty();
+		}
+	}
+
+	/**
+	 * Cycle parcouru : demi-arete de depart et demi-arete de plus petite
+	 * position d'iteration
+	 */
+	private static final class TracedCycle {
+
+		/**
+		 *
+		 */
+		final HEdge start;
+
+		/**
+		 *
+		 */
+		HEdge firstEdge;
+
+		/**
+		 *
+		 */
+		int firstPosition = Integer.MAX_VALUE;
+
+		/**
+		 * Vrai si le parcours a ete abandonne
+		 */
+		boolean contested;
+
+		/**
+		 * @param start
+		 */
+		TracedCycle(HEdge start) {
+			this.start = start;
+		}
+
+		/**
+		 * @param e
+		 * @param position
+		 */
+		void update(HEdge e, int position) {
+			if (position < firstPosition) {
+				firstPosition = position;
+				firstEdge = e;
+			}
+		}
+	}
 }
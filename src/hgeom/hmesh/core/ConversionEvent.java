@@ -0,0 +1,84 @@
+package hgeom.hmesh.core;
+
+import hgeom.hmesh.core.ConversionStats.Phase;
+import hgeom.hmesh.core.ConversionStats.Rejection;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evenement JFR enregistre a la fin de chaque conversion d'un
+ * {@link ToHMeshConverter}
+ *
+ * @author Pierre B.
+ */
+@Name("hgeom.MeshConversion")
+@Label("Mesh Conversion")
+@Category("hgeom")
+@Description("Conversion into a half-edge data structure")
+final class ConversionEvent extends jdk.jfr.Event {
+
+	@Label("Successful")
+	boolean successful;
+
+	@Label("Cancelled")
+	boolean cancelled;
+
+	@Label("Edge Pairing")
+	@Timespan
+	long edgePairing;
+
+	@Label("Cycle Creation")
+	@Timespan
+	long cycleCreation;
+
+	@Label("Cycle Completion")
+	@Timespan
+	long cycleCompletion;
+
+	@Label("Face Creation")
+	@Timespan
+	long faceCreation;
+
+	@Label("Coordinate Assignment")
+	@Timespan
+	long coordAssignment;
+
+	@Label("Cycles With Too Few Vertices")
+	int tooFewVertices;
+
+	@Label("Self-crossing Cycles")
+	int selfCrossing;
+
+	@Label("Cycles With An Edge Shared By 2 Other Cycles")
+	int edgeInTwoCycles;
+
+	@Label("Reoriented Vertices")
+	int reorientedVertices;
+
+	@Label("Extra Boundary Cycles")
+	int extraBoundaryCycles;
+
+	/**
+	 * @param stats
+	 */
+	void set(ConversionStats stats) {
+		successful = stats.isSuccessful();
+		cancelled = stats.isCancelled();
+		edgePairing = stats.duration(Phase.EDGE_PAIRING).toNanos();
+		cycleCreation = stats.duration(Phase.CYCLE_CREATION).toNanos();
+		cycleCompletion = stats.duration(Phase.CYCLE_COMPLETION).toNanos();
+		faceCreation = stats.duration(Phase.FACE_CREATION).toNanos();
+		coordAssignment = stats.duration(Phase.COORD_ASSIGNMENT).toNanos();
+		tooFewVertices = stats.numRejectedCycles(Rejection.TOO_FEW_VERTICES);
+		selfCrossing = stats.numRejectedCycles(Rejection.SELF_CROSSING);
+
+		edgeInTwoCycles = stats
+				.numRejectedCycles(Rejection.EDGE_IN_TWO_CYCLES);
+
+		reorientedVertices = stats.numReorientedVertices();
+		extraBoundaryCycles = stats.numExtraBoundaryCycles();
+	}
+}
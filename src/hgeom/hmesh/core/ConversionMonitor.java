@@ -0,0 +1,55 @@
+package hgeom.hmesh.core;
+
+import java.util.concurrent.CancellationException;
+
+import hgeom.hmesh.core.ConversionStats.Phase;
+
+/**
+ * Monitor of the conversions performed by a {@link ToHMeshConverter}. The
+ * converter reports its progress and checks for cancellation periodically,
+ * every {@value #CHECK_INTERVAL} faces, edges or vertices processed and at the
+ * beginning of each phase
+ * <p>
+ * When a cancellation is detected, the conversion stops by throwing a
+ * {@link CancellationException} and the converter releases the partial
+ * half-edge data structure built so far
+ * <p>
+ * The methods of a monitor are called by the thread performing the
+ * conversion
+ *
+ * @author Pierre B.
+ * @see ToHMeshConverter#setMonitor(ConversionMonitor)
+ */
+public interface ConversionMonitor {
+
+	/**
+	 * Number of items processed between 2 checks
+	 */
+	int CHECK_INTERVAL = 1024;
+
+	/**
+	 * Monitor ignoring the progress and never cancelling
+	 */
+	ConversionMonitor NONE = new ConversionMonitor() {
+	};
+
+	/**
+	 * Called periodically to report the progress of a conversion
+	 *
+	 * @param phase        the current phase of the conversion
+	 * @param numProcessed the number of items processed in the current phase
+	 * @param numTotal     the total number of items of the current phase or -1
+	 *                     if unknown
+	 */
+	default void progress(Phase phase, int numProcessed, int numTotal) {
+	}
+
+	/**
+	 * Called periodically to know whether the conversion must stop
+	 *
+	 * @return true if the conversion must be cancelled
+	 */
+	default boolean isCancelled() {
+		return false;
+	}
+}
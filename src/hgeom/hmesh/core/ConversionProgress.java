@@ -0,0 +1,79 @@
+package hgeom.hmesh.core;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+
+import hgeom.hmesh.core.ConversionStats.Phase;
+
+/**
+ * Suivi de l'avancement d'une conversion. Le moniteur n'est consulte que
+ * toutes les {@link ConversionMonitor#CHECK_INTERVAL} etapes
+ *
+ * @author Pierre B.
+ */
+final class ConversionProgress {
+
+	/**
+	 *
+	 */
+	private final ConversionMonitor monitor;
+
+	/**
+	 *
+	 */
+	private Phase phase;
+
+	/**
+	 * Nombre total d'etapes de la phase, -1 si inconnu
+	 */
+	private int numTotal = -1;
+
+	/**
+	 *
+	 */
+	private int numProcessed;
+
+	/**
+	 * @param monitor
+	 */
+	ConversionProgress(ConversionMonitor monitor) {
+		this.monitor = Objects.requireNonNull(monitor);
+	}
+
+	/**
+	 * Debut d'une phase : verification immediate de l'annulation
+	 *
+	 * @param newPhase
+	 * @param newNumTotal -1 si inconnu
+	 * @throws CancellationException
+	 */
+	void start(Phase newPhase, int newNumTotal) {
+		phase = newPhase;
+		numTotal = newNumTotal;
+		numProcessed = 0;
+		check();
+	}
+
+	/**
+	 * Une etape de plus dans la phase en cours
+	 *
+	 * @throws CancellationException
+	 */
+	void step() {
+		if (++numProcessed % ConversionMonitor.CHECK_INTERVAL == 0) {
+			check();
+		}
+	}
+
+	/**
+	 * @throws CancellationException
+	 */
+	private void check() {
+		if (monitor.isCancelled()) {
+			throw new CancellationException("conversion cancelled during "
+					+ phase + " after " + numProcessed + " steps");
+		}
+
+		monitor.progress(phase, numProcessed, numTotal);
+	}
+}
@@ -0,0 +1,275 @@
+package hgeom.hmesh.core;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import hgeom.hmesh.elements.EdgeSource;
+import hgeom.hmesh.elements.FaceSource;
+
+/**
+ * Statistics gathered by a {@link ToHMeshConverter} during a conversion: time
+ * spent in each phase of the conversion, number of rejected face cycles by
+ * reason, number of reoriented vertices and number of extra boundary cycles
+ * <p>
+ * The statistics of a successful conversion are available through
+ * {@link HConversion#stats()}. Those of the last conversion, successful or
+ * not, are available through {@link ToHMeshConverter#stats()}. Each conversion
+ * is also recorded as a JFR event named {@code hgeom.MeshConversion}
+ *
+ * @author Pierre B.
+ * @see ToHMeshConverter
+ * @see HConversion
+ */
+public final class ConversionStats {
+
+	/**
+	 * Phases of a conversion
+	 */
+	public enum Phase {
+
+		/**
+		 * Creation of the edges of the face cycles and pairing of the
+		 * half-edges shared by 2 cycles. For an {@link EdgeSource}, creation
+		 * of the half-edges of each edge. For a {@link ToHMeshSubscriber},
+		 * time elapsed from the subscription to the end of the stream,
+		 * including the time spent waiting for the publisher
+		 */
+		EDGE_PAIRING,
+
+		/**
+		 * Linking of the half-edges into cycles. For an {@link EdgeSource},
+		 * includes the creation of the faces
+		 */
+		CYCLE_CREATION,
+
+		/**
+		 * Completion of the cycles: links between cycles sharing a vertex and
+		 * creation of the boundary cycles
+		 */
+		CYCLE_COMPLETION,
+
+		/**
+		 * Creation of the faces and of the half-edge data structure
+		 */
+		FACE_CREATION,
+
+		/**
+		 * Assignment of the coordinates to the vertices
+		 */
+		COORD_ASSIGNMENT
+	}
+
+	/**
+	 * Reasons why a face cycle of a {@link FaceSource} is rejected
+	 */
+	public enum Rejection {
+
+		/**
+		 * The cycle has less than 3 vertices
+		 */
+		TOO_FEW_VERTICES,
+
+		/**
+		 * The cycle contains the same vertex twice
+		 */
+		SELF_CROSSING,
+
+		/**
+		 * One of the edges of the cycle is already shared by 2 other cycles
+		 */
+		EDGE_IN_TWO_CYCLES
+	}
+
+	/**
+	 * Durees en nanosecondes par phase
+	 */
+	private final long[] durations = new long[Phase.values().length];
+
+	/**
+	 * Nombre de cycles rejetes par raison
+	 */
+	private final int[] rejectedCycles = new int[Rejection.values().length];
+
+	/**
+	 *
+	 */
+	private int numReorientedVertices;
+
+	/**
+	 *
+	 */
+	private int numExtraBoundaryCycles;
+
+	/**
+	 *
+	 */
+	private boolean successful;
+
+	/**
+	 *
+	 */
+	private boolean cancelled;
+
+	/**
+	 * Interne a {@link ToHMeshConverter}
+	 */
+	ConversionStats() {
+	}
+
+	/**
+	 * @param phase a conversion phase
+	 * @return the time spent in the specified phase
+	 */
+	public Duration duration(Phase phase) {
+		return Duration.ofNanos(durations[phase.ordinal()]);
+	}
+
+	/**
+	 * @return the time spent in all the phases of the conversion
+	 */
+	public Duration totalDuration() {
+		return Duration.ofNanos(Arrays.stream(durations).sum());
+	}
+
+	/**
+	 * @param reason a rejection reason
+	 * @return the number of face cycles rejected for the specified reason
+	 */
+	public int numRejectedCycles(Rejection reason) {
+		return rejectedCycles[reason.ordinal()];
+	}
+
+	/**
+	 * @return the number of rejected face cycles
+	 */
+	public int numRejectedCycles() {
+		return Arrays.stream(rejectedCycles).sum();
+	}
+
+	/**
+	 * @return the number of vertices whose incident half-edges had to be
+	 *         reordered according to their winding
+	 */
+	public int numReorientedVertices() {
+		return numReorientedVertices;
+	}
+
+	/**
+	 * @return the number of cycles added to the initial face cycles. These
+	 *         cycles become boundary faces
+	 */
+	public int numExtraBoundaryCycles() {
+		return numExtraBoundaryCycles;
+	}
+
+	/**
+	 * @return true if the conversion succeeded
+	 */
+	public boolean isSuccessful() {
+		return successful;
+	}
+
+	/**
+	 * @return true if the conversion has been cancelled by its
+	 *         {@link ConversionMonitor}
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @param phase
+	 * @param nanos
+	 */
+	void addDuration(Phase phase, long nanos) {
+		durations[phase.ordinal()] += nanos;
+	}
+
+	/**
+	 * @param phase
+	 * @param supplier
+	 * @return le resultat du supplier, dont la duree d'execution est ajoutee a
+	 *         la phase
+	 */
+	<T> T time(Phase phase, Supplier<T> supplier) {
+		long start = System.nanoTime();
+
+		try {
+			return supplier.get();
+		}
+
+		finally {
+			addDuration(phase, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * @param reason
+	 */
+	void reject(Rejection reason) {
+		rejectedCycles[reason.ordinal()]++;
+	}
+
+	/**
+	 *
+	 */
+	void incrementReorientedVertices() {
+		numReorientedVertices++;
+	}
+
+	/**
+	 * @param numCycles
+	 */
+	void addExtraBoundaryCycles(int numCycles) {
+		numExtraBoundaryCycles += numCycles;
+	}
+
+	/**
+	 * @param successful
+	 */
+	void setSuccessful(boolean successful) {
+		this.successful = successful;
+	}
+
+	/**
+	 *
+	 */
+	void setCancelled() {
+		cancelled = true;
+	}
+
+	/**
+	 * @return le nombre de cycles rejetes par raison, pour les traces
+	 */
+	String rejectionsToString() {
+		StringBuilder sb = new StringBuilder();
+
+		for (Rejection reason : Rejection.values()) {
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+
+			sb.append(reason).append('=').append(numRejectedCycles(reason));
+		}
+
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("ConversionStats[");
+
+		for (Phase phase : Phase.values()) {
+			sb.append(phase).append('=')
+					.append(durations[phase.ordinal()] / 1_000_000.)
+					.append("ms, ");
+		}
+
+		return sb.append(rejectionsToString()).append(", reoriented=")
+				.append(numReorientedVertices).append(", extraCycles=")
+				.append(numExtraBoundaryCycles).append(", successful=")
+				.append(successful).append(", cancelled=").append(cancelled)
+				.append(']').toString();
+	}
+}
@@ -40,6 +40,16 @@ final class CycleEdgePair {
 	 */
 	private int cycle2Id = -1;
 
+	/**
+	 * La position de l'arete dans le premier cycle adjacent
+	 */
+	private int cycle1Position = -1;
+
+	/**
+	 * La position de l'arete dans le second cycle adjacent
+	 */
+	private int cycle2Position = -1;
+
 	/**
 	 * @param v1Index
 	 * @param v2Index
@@ -148,14 +158,33 @@ final class CycleEdgePair {
 
 	/**
 	 * @param cycleId
+	 * @return la position de l'arete dans le cycle
+	 */
+	public int positionInCycle(int cycleId) {
+		if (cycleId == cycle1Id) {
+			return cycle1Position;
+		}
+
+		if (cycleId == cycle2Id) {
+			return cycle2Position;
+		}
+
+		throw new IllegalStateException("Cycle id: " + cycleId);
+	}
+
+	/**
+	 * @param cycleId
+	 * @param position la position de l'arete dans le cycle
 	 */
-	public void addAdjacentCycle(int cycleId) {
+	public void addAdjacentCycle(int cycleId, int position) {
 		if (cycle1Id == -1) {
 			cycle1Id = cycleId;
+			cycle1Position = position;
 		}
 
 		else if (cycle2Id == -1) {
 			cycle2Id = cycleId;
+			cycle2Position = position;
 		}
 
 		else {
@@ -171,15 +200,19 @@ final class CycleEdgePair {
 	public CycleEdgePair computeIfAbsent(int vIndex,
 			Supplier<CycleEdgePair> supplier) {
 
-		if (this.v2Index == vIndex) {
-			return this;
-		}
+		// Parcours iteratif : la chaine peut etre longue pour un sommet de
+		// fort degre
+		CycleEdgePair edge = this;
+
+		while (edge.v2Index != vIndex) {
+			if (edge.next == null) {
+				edge.next = supplier.get();
+				return edge.next;
+			}
 
-		if (next == null) {
-			next = supplier.get();
-			return next;
+			edge = edge.next;
 		}
 
-		return next.computeIfAbsent(vIndex, supplier);
+		return edge;
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,15 +1,17 @@
 package hgeom.hmesh.core;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.function.BiPredicate;
 import java.util.function.IntFunction;
 import java.util.logging.Logger;
 
+import hgeom.hmesh.core.ConversionStats.Rejection;
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HMesh;
 import hgeom.hmesh.elements.HVertex;
@@ -48,6 +50,16 @@ final class CycleGraph {
 	 */
 	private final PolygonWindingProvider windingProvider;
 
+	/**
+	 * Duree d'appariement des aretes et nombre de cycles rejetes
+	 */
+	private final ConversionStats stats;
+
+	/**
+	 *
+	 */
+	private final ConversionProgress progress;
+
 	/**
 	 * Aretes classees dans un multimap avec index de sommet en cle
 	 */
@@ -63,27 +75,59 @@ final class CycleGraph {
 	 */
 	private final List<Integer> cycleIndices = new ArrayList<>();
 
+	/**
+	 * Orientation de chaque cycle, fournie a l'ajout ou calculee au plus une
+	 * fois
+	 */
+	private final List<Winding> cycleWindings = new ArrayList<>();
+
+	/**
+	 * Sommets du cycle en cours de validation. Seuls les bits positionnes
+	 * pendant la validation sont effaces ensuite
+	 */
+	private final BitSet cycleVertices = new BitSet();
+
 	/**
 	 * @param elementFactory
 	 * @param vertexSupplier
 	 * @param windingProvider si non {@code null}, utilise pour obtenir
 	 *                        l'orientation du cycle a partir de sa geometrie
+	 * @param stats
+	 * @param progress
 	 */
 	public CycleGraph(HElementFactory elementFactory,
 			IntFunction<HVertex> vertexSupplier,
-			PolygonWindingProvider windingProvider) {
+			PolygonWindingProvider windingProvider, ConversionStats stats,
+			ConversionProgress progress) {
 
 		this.elementFactory = Objects.requireNonNull(elementFactory);
 		this.vertexSupplier = Objects.requireNonNull(vertexSupplier);
 		this.windingProvider = windingProvider;
+		this.stats = Objects.requireNonNull(stats);
+		this.progress = Objects.requireNonNull(progress);
 	}
 
 	/**
 	 * @param cycleIndex
 	 * @param cycle
 	 * @return
+	 * @throws CancellationException si la conversion est annulee
 	 */
 	public boolean addCycle(int cycleIndex, int[] cycle) {
+		return addCycle(cycleIndex, cycle, Winding.UNDETERMINED);
+	}
+
+	/**
+	 * @param cycleIndex
+	 * @param cycle
+	 * @param winding    orientation du cycle selon l'ordre de ses sommets.
+	 *                   {@link Winding#UNDETERMINED} si inconnue
+	 * @return
+	 * @throws CancellationException si la conversion est annulee
+	 */
+	public boolean addCycle(int cycleIndex, int[] cycle, Winding winding) {
+		progress.step();
+
 		if (!validateCycle(cycle)) {
 			return false;
 		}
@@ -98,12 +142,13 @@ final class CycleGraph {
 		// cycle au graphe
 		int cycleId = cycleEdges.size();
 
-		for (CycleEdgePair edge : edges) {
-			edge.addAdjacentCycle(cycleId);
+		for (int iEdge = 0; iEdge < edges.length; iEdge++) {
+			edges[iEdge].addAdjacentCycle(cycleId, iEdge);
 		}
 
 		cycleIndices.add(cycleIndex);
 		cycleEdges.add(edges);
+		cycleWindings.add(Objects.requireNonNull(winding));
 		return true;
 	}
 
@@ -111,27 +156,55 @@ final class CycleGraph {
 	 * @param cycle
 	 * @return
 	 */
-	private static boolean validateCycle(int[] cycle) {
+	private boolean validateCycle(int[] cycle) {
 		int numVertices = cycle.length;
 
 		if (numVertices < 3) {
-			LOGGER.warning("cannot add cycle with less than 3 vertices");
+			LOGGER.fine("cannot add cycle with less than 3 vertices");
+			stats.reject(Rejection.TOO_FEW_VERTICES);
 			return false;
 		}
 
-		// Rejet des cycles contenant 2 fois le meme sommet
-		for (int iVertex = 0; iVertex < numVertices; iVertex++) {
-			for (int jVertex = iVertex + 1; jVertex < numVertices; jVertex++) {
-				if (cycle[iVertex] == cycle[jVertex]) {
-					LOGGER.warning("cannot add self-crossing cycle");
-					return false;
-				}
+		// Rejet des cycles contenant 2 fois le meme sommet. Detection en temps
+		// lineaire a l'aide des bits associes aux index de sommets
+		int iVertex = 0;
+
+		for (; iVertex < numVertices; iVertex++) {
+			int vIndex = cycle[iVertex];
+
+			if (vIndex < 0) {
+				clearCycleVertices(cycle, iVertex);
+				throw new IllegalStateException("Illegal vertex index found");
+			}
+
+			if (cycleVertices.get(vIndex)) {
+				break;
 			}
+
+			cycleVertices.set(vIndex);
+		}
+
+		clearCycleVertices(cycle, iVertex);
+
+		if (iVertex < numVertices) {
+			LOGGER.fine("cannot add self-crossing cycle");
+			stats.reject(Rejection.SELF_CROSSING);
+			return false;
 		}
 
 		return true;
 	}
 
+	/**
+	 * @param cycle
+	 * @param numVertices le nombre de sommets du cycle ayant ete marques
+	 */
+	private void clearCycleVertices(int[] cycle, int numVertices) {
+		for (int iVertex = 0; iVertex < numVertices; iVertex++) {
+			cycleVertices.clear(cycle[iVertex]);
+		}
+	}
+
 	/**
 	 * @param cycle
 	 * @param edges
@@ -151,10 +224,10 @@ final class CycleGraph {
 			CycleEdgePair edge = cycleEdge(v1Index, v2Index);
 
 			if (edge.cycle1Id() != -1 && edge.cycle2Id() != -1) {
-				LOGGER.warning(
-						"cannot add cycle. One of its edges already present "
-								+ "in two other cycles");
+				LOGGER.fine("cannot add cycle. One of its edges already present "
+						+ "in two other cycles");
 
+				stats.reject(Rejection.EDGE_IN_TWO_CYCLES);
 				return false;
 			}
 
@@ -223,34 +296,40 @@ final class CycleGraph {
 			BiPredicate<CycleEdgePair, CycleEdgePair> action) {
 
 		CycleEdgePair[] edges = cycleEdges.get(cycleId);
-		Direction direction = iterationDirection(edges, edge, fromV1toV2);
+		Direction direction = iterationDirection(cycleId, edges, edge,
+				fromV1toV2);
 		return Loops.takePairWhile(edges, action, direction);
 	}
 
 	/**
+	 * @param cycleId
 	 * @param edges
 	 * @param edge
 	 * @param fromV1toV2
 	 * @return sens de lecture du cycle
 	 */
-	private Direction iterationDirection(CycleEdgePair[] edges,
-			CycleEdgePair edge, boolean fromV1toV2) {
+	private static Direction iterationDirection(int cycleId,
+			CycleEdgePair[] edges, CycleEdgePair edge, boolean fromV1toV2) {
 
-		for (int iEdge = 0; iEdge < edges.length; iEdge++) {
-			if (edge == edges[iEdge]) {
-				int toIndex = fromV1toV2 ? edge.v2Index() : edge.v1Index();
-				CycleEdgePair nextEdge = Loops.get(edges, iEdge + 1);
+		// Position de l'arete dans le cycle memorisee a l'ajout du cycle :
+		// pas de recherche lineaire
+		int iEdge = edge.positionInCycle(cycleId);
 
-				if (edge.sharedVertexIndex(nextEdge) == toIndex) {
-					return Direction.FORWARD;
-				}
+		if (edge != edges[iEdge]) {
+			throw new IllegalStateException("edge: " + edge);
+		}
 
-				CycleEdgePair previousEdge = Loops.get(edges, iEdge - 1);
+		int toIndex = fromV1toV2 ? edge.v2Index() : edge.v1Index();
+		CycleEdgePair nextEdge = Loops.get(edges, iEdge + 1);
 
-				if (edge.sharedVertexIndex(previousEdge) == toIndex) {
-					return Direction.BACKWARD;
-				}
-			}
+		if (edge.sharedVertexIndex(nextEdge) == toIndex) {
+			return Direction.FORWARD;
+		}
+
+		CycleEdgePair previousEdge = Loops.get(edges, iEdge - 1);
+
+		if (edge.sharedVertexIndex(previousEdge) == toIndex) {
+			return Direction.BACKWARD;
 		}
 
 		throw new IllegalStateException("edge: " + edge);
@@ -266,29 +345,26 @@ final class CycleGraph {
 			BiPredicate<CycleEdgePair, CycleEdgePair> action) {
 
 		CycleEdgePair[] edges = cycleEdges.get(cycleId);
-		Direction direction = iterationDirection(edges, expectedWinding);
+		Direction direction = iterationDirection(cycleId, edges,
+				expectedWinding);
+
 		return Loops.takePairWhile(edges, action, direction);
 	}
 
 	/**
+	 * @param cycleId
 	 * @param edges
 	 * @param expectedWinding
 	 * @return sens de lecture du cycle correspondant a son orientation
 	 */
-	private Direction iterationDirection(CycleEdgePair[] edges,
+	private Direction iterationDirection(int cycleId, CycleEdgePair[] edges,
 			Winding expectedWinding) {
 
 		if (expectedWinding == Winding.UNDETERMINED) {
 			throw new IllegalStateException();
 		}
 
-		// Choix arbitraire si pas de possibilite de determiner la direction a
-		// l'aide de l'orienteur
-		if (windingProvider == null) {
-			return Direction.FORWARD;
-		}
-
-		Winding cycleWinding = windingProvider.get(vertices(edges));
+		Winding cycleWinding = cycleWinding(cycleId, edges);
 
 		// Choix arbitraire si echec de la determination
 		if (cycleWinding == Winding.UNDETERMINED) {
@@ -304,18 +380,35 @@ final class CycleGraph {
 		return Direction.BACKWARD;
 	}
 
+	/**
+	 * @param cycleId
+	 * @param edges
+	 * @return l'orientation fournie a l'ajout du cycle ou, a defaut, calculee
+	 *         une seule fois a l'aide de l'orienteur
+	 */
+	private Winding cycleWinding(int cycleId, CycleEdgePair[] edges) {
+		Winding cycleWinding = cycleWindings.get(cycleId);
+
+		if (cycleWinding == Winding.UNDETERMINED && windingProvider != null) {
+			cycleWinding = windingProvider.get(vertices(edges));
+			cycleWindings.set(cycleId, cycleWinding);
+		}
+
+		return cycleWinding;
+	}
+
 	/**
 	 * @param edges
 	 * @return
 	 */
 	private int[] vertices(CycleEdgePair[] edges) {
-		int[] vertices = new int[edges.length];
+		int numEdges = edges.length;
+		int[] vertices = new int[numEdges];
 
-		Arrays.setAll(vertices, i -> {
-			CycleEdgePair edge = edges[i];
-			CycleEdgePair nextEdge = Loops.get(edges, i + 1);
-			return edge.sharedVertexIndex(nextEdge);
-		});
+		for (int iEdge = 0; iEdge < numEdges; iEdge++) {
+			CycleEdgePair nextEdge = edges[iEdge + 1 < numEdges ? iEdge + 1 : 0];
+			vertices[iEdge] = edges[iEdge].sharedVertexIndex(nextEdge);
+		}
 
 		return vertices;
 	}
@@ -7,8 +7,10 @@ import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.function.BooleanSupplier;
 
+import hgeom.hmesh.core.ConversionStats.Phase;
 import hgeom.hmesh.data.HIData;
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HFace;
@@ -62,6 +64,16 @@ final class CycleGraphToHFaces {
 	 */
 	private final HIData<HFace> faceIndices;
 
+	/**
+	 *
+	 */
+	private final ConversionStats stats;
+
+	/**
+	 *
+	 */
+	private final ConversionProgress progress;
+
 	/**
 	 *
 	 */
@@ -76,23 +88,49 @@ final class CycleGraphToHFaces {
 	 * @param elementFactory
 	 * @param arrowSorter
 	 * @param faceIndices
+	 * @param stats
+	 * @param progress
 	 */
 	public CycleGraphToHFaces(HElementFactory elementFactory,
-			ArrowSorter arrowSorter, HIData<HFace> faceIndices) {
+			ArrowSorter arrowSorter, HIData<HFace> faceIndices,
+			ConversionStats stats, ConversionProgress progress) {
 
 		this.elementFactory = Objects.requireNonNull(elementFactory);
 		this.arrowSorter = arrowSorter;
 		this.faceIndices = faceIndices;
+		this.stats = Objects.requireNonNull(stats);
+		this.progress = Objects.requireNonNull(progress);
 	}
 
 	/**
 	 * @param cycleGraph
 	 * @return le graphe sous la forme de cycle de demi-aretes
+	 * @throws CancellationException si la conversion est annulee
 	 */
 	public Optional<List<HFace>> convert(CycleGraph cycleGraph) {
 		this.cycleGraph = Objects.requireNonNull(cycleGraph);
+
+		if (stats.time(Phase.CYCLE_CREATION, this::createCycles)) {
+			HEdgeCyclesCompletion hEdgesCompletion = new HEdgeCyclesCompletion(
+					arrowSorter, stats, progress);
+
+			Optional<List<HEdge>> cycles = stats.time(Phase.CYCLE_COMPLETION,
+					() -> hEdgesCompletion.complete(Arrays.asList(cycleHEdges)));
+
+			return cycles.map(completedCycles -> stats.time(
+					Phase.FACE_CREATION, () -> cyclesToFaces(completedCycles)));
+		}
+
+		return Optional.empty();
+	}
+
+	/**
+	 * @return
+	 */
+	private boolean createCycles() {
 		cycleHEdges = new HEdge[cycleGraph.numCycles()];
 		plannedCycleCreations.clear();
+		progress.start(Phase.CYCLE_CREATION, cycleHEdges.length);
 		boolean ok = true;
 
 		for (int iCycle = 0; ok && iCycle < cycleHEdges.length; iCycle++) {
@@ -104,15 +142,7 @@ final class CycleGraphToHFaces {
 			}
 		}
 
-		if (ok) {
-			HEdgeCyclesCompletion hEdgesCompletion = new HEdgeCyclesCompletion(
-					arrowSorter);
-
-			return hEdgesCompletion.complete(Arrays.asList(cycleHEdges))
-					.map(this::cyclesToFaces);
-		}
-
-		return Optional.empty();
+		return ok;
 	}
 
 	/**
@@ -121,8 +151,10 @@ final class CycleGraphToHFaces {
 	 */
 	private List<HFace> cyclesToFaces(List<HEdge> cycles) {
 		List<HFace> faces = new ArrayList<>(cycles.size());
+		progress.start(Phase.FACE_CREATION, cycles.size());
 
 		for (int iCycle = 0; iCycle < cycles.size(); iCycle++) {
+			progress.step();
 			HEdge cycleEdge = cycles.get(iCycle);
 
 			if (cycleEdge != null) {
@@ -195,6 +227,7 @@ final class CycleGraphToHFaces {
 	private boolean createCycle(int cycleId,
 			BooleanSupplier cycleDataCollector) {
 
+		progress.step();
 		hEdges.clear();
 		adjCycleIds.clear();
 		adjEdges.clear();
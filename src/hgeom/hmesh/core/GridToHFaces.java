@@ -0,0 +1,272 @@
+package hgeom.hmesh.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.GridSource;
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HFace.Status;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * Conversion d'une grille structuree en faces. La topologie de la grille etant
+ * implicite, les demi-aretes sont creees et chainees directement a partir de
+ * leurs positions dans la grille : pas de reconstruction de cycles
+ * <p>
+ * Les cellules sont orientees dans le sens trigonometrique dans le repere (i,
+ * j). Le bord exterieur forme une unique face de bord
+ *
+ * @author Pierre B.
+ */
+final class GridToHFaces {
+
+	/**
+	 *
+	 */
+	private final HElementFactory elementFactory;
+
+	/**
+	 *
+	 */
+	private final IntFunction<HVertex> vertexSupplier;
+
+	/**
+	 *
+	 */
+	private final HIData<HFace> faceIndices;
+
+	/**
+	 *
+	 */
+	private int numI;
+
+	/**
+	 * Demi-aretes horizontales allant de (i, j) a (i + 1, j), index j * numI +
+	 * i
+	 */
+	private HEdge[] east;
+
+	/**
+	 * Demi-aretes horizontales allant de (i + 1, j) a (i, j)
+	 */
+	private HEdge[] west;
+
+	/**
+	 * Demi-aretes verticales allant de (i, j) a (i, j + 1), index j * (numI +
+	 * 1) + i
+	 */
+	private HEdge[] north;
+
+	/**
+	 * Demi-aretes verticales allant de (i, j + 1) a (i, j)
+	 */
+	private HEdge[] south;
+
+	/**
+	 * @param elementFactory
+	 * @param vertexSupplier
+	 * @param faceIndices
+	 */
+	public GridToHFaces(HElementFactory elementFactory,
+			IntFunction<HVertex> vertexSupplier, HIData<HFace> faceIndices) {
+
+		this.elementFactory = Objects.requireNonNull(elementFactory);
+		this.vertexSupplier = Objects.requireNonNull(vertexSupplier);
+		this.faceIndices = Objects.requireNonNull(faceIndices);
+	}
+
+	/**
+	 * @param grid
+	 * @return les faces interieures suivies de la face de bord
+	 */
+	public List<HFace> convert(GridSource grid) {
+		numI = grid.numI();
+		int numJ = grid.numJ();
+
+		// Creation des sommets dans l'ordre de leurs index
+		for (int vIndex = 0; vIndex < grid.numVertices(); vIndex++) {
+			vertexSupplier.apply(vIndex);
+		}
+
+		createEdges(grid);
+
+		List<HFace> faces = new ArrayList<>(grid.numFaces() + 1);
+
+		for (int j = 0; j < numJ; j++) {
+			for (int i = 0; i < numI; i++) {
+				if (grid.isTriangulated()) {
+					addTriangles(grid, i, j, faces);
+				}
+
+				else {
+					addQuad(i, j, faces);
+				}
+			}
+		}
+
+		faces.add(createBoundary(numJ));
+
+		east = null;
+		west = null;
+		north = null;
+		south = null;
+		return faces;
+	}
+
+	/**
+	 * @param grid
+	 */
+	private void createEdges(GridSource grid) {
+		int numJ = grid.numJ();
+		east = new HEdge[numI * (numJ + 1)];
+		west = new HEdge[east.length];
+		north = new HEdge[(numI + 1) * numJ];
+		south = new HEdge[north.length];
+
+		for (int j = 0; j <= numJ; j++) {
+			for (int i = 0; i < numI; i++) {
+				int iEdge = j * numI + i;
+				HEdge e = createEdgePair(grid.vertexIndex(i, j),
+						grid.vertexIndex(i + 1, j));
+
+				east[iEdge] = e;
+				west[iEdge] = e.opposite();
+			}
+		}
+
+		for (int j = 0; j < numJ; j++) {
+			for (int i = 0; i <= numI; i++) {
+				int iEdge = j * (numI + 1) + i;
+				HEdge e = createEdgePair(grid.vertexIndex(i, j),
+						grid.vertexIndex(i, j + 1));
+
+				north[iEdge] = e;
+				south[iEdge] = e.opposite();
+			}
+		}
+	}
+
+	/**
+	 * @param tailIndex
+	 * @param headIndex
+	 * @return la demi-arete allant de tail a head, liee a son opposee
+	 */
+	private HEdge createEdgePair(int tailIndex, int headIndex) {
+		HVertex tail = vertexSupplier.apply(tailIndex);
+		HVertex head = vertexSupplier.apply(headIndex);
+		HEdge e = elementFactory.createEdge(head);
+		HEdge opposite = elementFactory.createEdge(tail);
+		HEdgeImpl.linkAsOpposites(e, opposite);
+		HVertexImpl.setEdgeIfAbsent(head, e);
+		HVertexImpl.setEdgeIfAbsent(tail, opposite);
+		return e;
+	}
+
+	/**
+	 * @param i
+	 * @param j
+	 * @param faces
+	 */
+	private void addQuad(int i, int j, List<HFace> faces) {
+		HEdge e0 = east[j * numI + i];
+		HEdge e1 = north[j * (numI + 1) + i + 1];
+		HEdge e2 = west[(j + 1) * numI + i];
+		HEdge e3 = south[j * (numI + 1) + i];
+
+		HEdgeImpl.link(e0, e1);
+		HEdgeImpl.link(e1, e2);
+		HEdgeImpl.link(e2, e3);
+		HEdgeImpl.link(e3, e0);
+
+		addFace(e0, j * numI + i, faces);
+	}
+
+	/**
+	 * @param grid
+	 * @param i
+	 * @param j
+	 * @param faces
+	 */
+	private void addTriangles(GridSource grid, int i, int j,
+			List<HFace> faces) {
+
+		// Diagonale de (i, j) a (i + 1, j + 1)
+		HEdge diagonal = createEdgePair(grid.vertexIndex(i, j),
+				grid.vertexIndex(i + 1, j + 1));
+
+		HEdge e0 = east[j * numI + i];
+		HEdge e1 = north[j * (numI + 1) + i + 1];
+		HEdge e2 = diagonal.opposite();
+
+		HEdgeImpl.link(e0, e1);
+		HEdgeImpl.link(e1, e2);
+		HEdgeImpl.link(e2, e0);
+
+		HEdge f0 = diagonal;
+		HEdge f1 = west[(j + 1) * numI + i];
+		HEdge f2 = south[j * (numI + 1) + i];
+
+		HEdgeImpl.link(f0, f1);
+		HEdgeImpl.link(f1, f2);
+		HEdgeImpl.link(f2, f0);
+
+		int cellIndex = j * numI + i;
+		addFace(e0, 2 * cellIndex, faces);
+		addFace(f0, 2 * cellIndex + 1, faces);
+	}
+
+	/**
+	 * @param edge
+	 * @param faceIndex
+	 * @param faces
+	 */
+	private void addFace(HEdge edge, int faceIndex, List<HFace> faces) {
+		HFace face = elementFactory.createFace(edge, Status.INTERIOR, false);
+		faceIndices.set(face, faceIndex);
+		faces.add(face);
+	}
+
+	/**
+	 * Chainage du bord exterieur parcouru dans le sens horaire : montee le long
+	 * de i = 0, puis j = numJ, descente le long de i = numI puis j = 0
+	 *
+	 * @param numJ
+	 * @return
+	 */
+	private HFace createBoundary(int numJ) {
+		List<HEdge> boundary = new ArrayList<>(2 * (numI + numJ));
+
+		for (int j = 0; j < numJ; j++) {
+			boundary.add(north[j * (numI + 1)]);
+		}
+
+		for (int i = 0; i < numI; i++) {
+			boundary.add(east[numJ * numI + i]);
+		}
+
+		for (int j = numJ - 1; j >= 0; j--) {
+			boundary.add(south[j * (numI + 1) + numI]);
+		}
+
+		for (int i = numI - 1; i >= 0; i--) {
+			boundary.add(west[i]);
+		}
+
+		int numEdges = boundary.size();
+
+		for (int iEdge = 0; iEdge < numEdges; iEdge++) {
+			HEdgeImpl.link(boundary.get(iEdge),
+					boundary.get(iEdge + 1 < numEdges ? iEdge + 1 : 0));
+		}
+
+		HFace face = elementFactory.createFace(boundary.get(0), Status.BOUNDARY,
+				false);
+
+		faceIndices.set(face, -1);
+		return face;
+	}
+}
@@ -18,7 +18,7 @@ final class HBDataImpl<E> extends HDataBaseImpl<E> implements HBData<E> {
 	/**
 	 *
 	 */
-	private final BitSet values = new BitSet();
+	private BitSet values = new BitSet();
 
 	/**
 	 * @param toIndex
@@ -54,4 +54,19 @@ final class HBDataImpl<E> extends HDataBaseImpl<E> implements HBData<E> {
 	public Stream<Boolean> stream() {
 		return super.elementStream().map(this::get);
 	}
+
+	@Override
+	void renumber(int[] newIds, int idUpperBound) {
+		BitSet renumbered = new BitSet(idUpperBound);
+
+		for (int id = values.nextSetBit(0); id >= 0
+				&& id < newIds.length; id = values.nextSetBit(id + 1)) {
+
+			if (newIds[id] != -1) {
+				renumbered.set(newIds[id]);
+			}
+		}
+
+		values = renumbered;
+	}
 }
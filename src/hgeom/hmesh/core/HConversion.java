@@ -1,5 +1,6 @@
 package hgeom.hmesh.core;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.function.IntFunction;
 import java.util.function.IntPredicate;
@@ -10,11 +11,15 @@ import hgeom.hmesh.data.HBData;
 import hgeom.hmesh.data.HDData;
 import hgeom.hmesh.data.HData;
 import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.Coord2DSource;
+import hgeom.hmesh.elements.Coord3DSource;
 import hgeom.hmesh.elements.EdgeSource;
 import hgeom.hmesh.elements.FaceSource;
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HFace;
 import hgeom.hmesh.elements.HMesh;
+import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
 import hgeom.hmesh.elements.HVertex;
 
 /**
@@ -91,6 +96,22 @@ public final class HConversion<M extends HMesh> {
 	 */
 	private final HIData<HFace> faceIndices;
 
+	/**
+	 *
+	 */
+	private final ConversionStats stats;
+
+	/**
+	 * Sommets crees par la conversion, ranges par index initial. {@code null}
+	 * pour une conversion d'aretes ou une fois l'ajout de faces cree
+	 */
+	private List<HVertex> convertedVertices;
+
+	/**
+	 * Cree au premier ajout de faces
+	 */
+	private HMeshFaceAppender faceAppender;
+
 	/**
 	 * Interne a {@link ToHMeshConverter}
 	 *
@@ -98,14 +119,21 @@ public final class HConversion<M extends HMesh> {
 	 * @param vertexIndices
 	 * @param edgeIndices
 	 * @param faceIndices
+	 * @param convertedVertices sommets crees par la conversion, ranges par
+	 *                          index initial
+	 * @param stats
 	 */
 	HConversion(M mesh, HIData<HVertex> vertexIndices,
-			HIData<HEdge> edgeIndices, HIData<HFace> faceIndices) {
+			HIData<HEdge> edgeIndices, HIData<HFace> faceIndices,
+			List<HVertex> convertedVertices, ConversionStats stats) {
 
 		this.mesh = Objects.requireNonNull(mesh);
 		this.vertexIndices = Objects.requireNonNull(vertexIndices);
 		this.edgeIndices = edgeIndices;
 		this.faceIndices = faceIndices;
+		this.convertedVertices = faceIndices == null ? null
+				: Objects.requireNonNull(convertedVertices);
+		this.stats = Objects.requireNonNull(stats);
 	}
 
 	/**
@@ -115,6 +143,13 @@ public final class HConversion<M extends HMesh> {
 		return mesh;
 	}
 
+	/**
+	 * @return the statistics gathered during the conversion
+	 */
+	public ConversionStats stats() {
+		return stats;
+	}
+
 	/**
 	 * Converts vertex data into a {@link HData} associated with the vertices of
 	 * the result half-edge data structure
@@ -353,6 +388,108 @@ public final class HConversion<M extends HMesh> {
 		return data;
 	}
 
+	/**
+	 * Appends a collection of faces to the generated half-edge data structure.
+	 * The faces refer to the same vertex indices as the faces initially
+	 * converted. Vertices are created for the indices not found in the
+	 * half-edge data structure
+	 * <p>
+	 * Each appended face is stitched to the boundary faces of the half-edge
+	 * data structure: its edges shared with existing faces must be on a
+	 * boundary, and so must its existing vertices. A face that cannot be
+	 * appended is ignored. The winding of the appended faces follows the
+	 * winding of the faces they share an edge with
+	 * <p>
+	 * The cost of an append is proportional to the size of the appended faces
+	 * except when a face splits or merges boundaries
+	 * <p>
+	 * The vertex and face indices of this conversion are updated, so data
+	 * conversions like {@link #meshFaceData(IntFunction)} apply to the
+	 * appended faces
+	 *
+	 * @param faceSource the collection of faces to append
+	 * @return the appended faces
+	 * @throws IllegalStateException if the half-edge data structure has been
+	 *                               generated from a collection of edges
+	 */
+	public List<HFace> appendFaces(FaceSource faceSource) {
+		return faceAppender().append(faceSource, (v, index) -> {
+		});
+	}
+
+	/**
+	 * Appends a collection of faces to the generated 2D half-edge data
+	 * structure. The coordinates of the vertices created by the append are
+	 * taken from the specified collection of 2D coordinates
+	 *
+	 * @param faceSource   the collection of faces to append
+	 * @param vertexCoords the collection of 2D coordinates
+	 * @return the appended faces
+	 * @throws IllegalStateException if the half-edge data structure is not a
+	 *                               {@link HMesh2D} or has been generated from
+	 *                               a collection of edges
+	 * @see #appendFaces(FaceSource)
+	 */
+	public List<HFace> appendFaces(FaceSource faceSource,
+			Coord2DSource vertexCoords) {
+
+		if (!(mesh instanceof HMesh2D)) {
+			throw new IllegalStateException("2D mesh required");
+		}
+
+		HMesh2D mesh2D = (HMesh2D) mesh;
+
+		return faceAppender().append(faceSource,
+				(v, index) -> mesh2D.setVertexXY(v, vertexCoords.x(index),
+						vertexCoords.y(index)));
+	}
+
+	/**
+	 * Appends a collection of faces to the generated 3D half-edge data
+	 * structure. The coordinates of the vertices created by the append are
+	 * taken from the specified collection of 3D coordinates
+	 *
+	 * @param faceSource   the collection of faces to append
+	 * @param vertexCoords the collection of 3D coordinates
+	 * @return the appended faces
+	 * @throws IllegalStateException if the half-edge data structure is not a
+	 *                               {@link HMesh3D} or has been generated from
+	 *                               a collection of edges
+	 * @see #appendFaces(FaceSource)
+	 */
+	public List<HFace> appendFaces(FaceSource faceSource,
+			Coord3DSource vertexCoords) {
+
+		if (!(mesh instanceof HMesh3D)) {
+			throw new IllegalStateException("3D mesh required");
+		}
+
+		HMesh3D mesh3D = (HMesh3D) mesh;
+
+		return faceAppender().append(faceSource,
+				(v, index) -> mesh3D.setVertexXYZ(v, vertexCoords.x(index),
+						vertexCoords.y(index), vertexCoords.z(index)));
+	}
+
+	/**
+	 * @return
+	 */
+	private HMeshFaceAppender faceAppender() {
+		if (faceIndices == null) {
+			throw new IllegalStateException(
+					"face appending not available for this conversion");
+		}
+
+		if (faceAppender == null) {
+			faceAppender = new HMeshFaceAppender((HMeshImpl) mesh,
+					vertexIndices, faceIndices, convertedVertices);
+
+			convertedVertices = null;
+		}
+
+		return faceAppender;
+	}
+
 	/**
 	 *
 	 */
@@ -71,6 +71,31 @@ final class HDDataImpl<E> extends HDataBaseImpl<E> implements HDData<E> {
 		return BinaryOperator.maxBy(Comparator.comparingDouble(this::get));
 	}
 
+	/**
+	 * Affecte une meme valeur a tous les elements d'identifiant inferieur a
+	 * capacity
+	 *
+	 * @param value
+	 * @param capacity
+	 */
+	void fill(double value, int capacity) {
+		expandValues(capacity);
+		Arrays.fill(values, value);
+	}
+
+	@Override
+	void renumber(int[] newIds, int idUpperBound) {
+		double[] renumbered = new double[idUpperBound];
+
+		for (int id = 0; id < Math.min(values.length, newIds.length); id++) {
+			if (newIds[id] != -1) {
+				renumbered[newIds[id]] = values[id];
+			}
+		}
+
+		values = renumbered;
+	}
+
 	/**
 	 * Copie simplifiee du code ArrayList
 	 *
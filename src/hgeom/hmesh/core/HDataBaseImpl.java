@@ -10,7 +10,7 @@ import java.util.stream.Stream;
  * @author Pierre B.
  * @param <E>
  */
-class HDataBaseImpl<E> {
+abstract class HDataBaseImpl<E> {
 
 	/**
 	 *
@@ -47,4 +47,13 @@ class HDataBaseImpl<E> {
 	protected final Stream<E> elementStream() {
 		return elementStreamSupplier.get();
 	}
+
+	/**
+	 * Deplace les valeurs suite a la renumerotation des elements
+	 *
+	 * @param newIds       nouvel identifiant de chaque ancien identifiant, -1
+	 *                     si l'element n'existe plus
+	 * @param idUpperBound nouvel identifiant maximal + 1
+	 */
+	abstract void renumber(int[] newIds, int idUpperBound);
 }
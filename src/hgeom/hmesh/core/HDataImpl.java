@@ -60,6 +60,29 @@ final class HDataImpl<E, D> extends HDataBaseImpl<E> implements HData<E, D> {
 		return elementStream().map(this::get);
 	}
 
+	/**
+	 * Agrandit le tableau pour les elements d'identifiant inferieur a
+	 * capacity. Leurs valeurs peuvent ensuite etre modifiees en parallele
+	 *
+	 * @param capacity
+	 */
+	void reserve(int capacity) {
+		expandValues(capacity);
+	}
+
+	@Override
+	void renumber(int[] newIds, int idUpperBound) {
+		Object[] renumbered = new Object[idUpperBound];
+
+		for (int id = 0; id < Math.min(values.length, newIds.length); id++) {
+			if (newIds[id] != -1) {
+				renumbered[newIds[id]] = values[id];
+			}
+		}
+
+		values = renumbered;
+	}
+
 	/**
 	 * Copie simplifiee du code ArrayList
 	 *
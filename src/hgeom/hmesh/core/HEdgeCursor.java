@@ -0,0 +1,256 @@
+package hgeom.hmesh.core;
+
+import java.util.NoSuchElementException;
+
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * A reusable cursor over the half-edges of a face boundary, of a cycle or of
+ * the ring around a vertex
+ * <p>
+ * Unlike the {@link hgeom.hmesh.sequence.Sequence sequences} returned by
+ * {@link HFace#edges()}, {@link HVertex#outgoingEdges()} or
+ * {@link HVertex#neighbors()}, a cursor allocates nothing while walking: it
+ * is {@code reset} onto a face or a vertex, then advanced by {@link #next()}.
+ * A single cursor can thus serve the inner loop of a kernel visiting
+ * millions of faces or vertices:
+ *
+ * <pre>
+ * <code>
+ * {@code
+ *
+ * HEdgeCursor cursor = new HEdgeCursor();
+ *
+ * for (HVertex vertex : vertices) {
+ *     double sum = 0;
+ *
+ *     for (cursor.resetOnOutgoingEdges(vertex); cursor.next();) {
+ *         sum += values.get(cursor.head());
+ *     }
+ * }
+ * }
+ * </code>
+ * </pre>
+ *
+ * The mesh must not be modified while a cursor walks it. A cursor is not
+ * thread safe: each thread must use its own cursor
+ *
+ * @author Pierre B.
+ */
+public final class HEdgeCursor {
+
+	/**
+	 * Parcours par {@link HEdge#next()}
+	 */
+	private static final int CYCLE = 0;
+
+	/**
+	 * Parcours des aretes sortantes d'un sommet
+	 */
+	private static final int OUTGOING = 1;
+
+	/**
+	 * Parcours des aretes entrantes d'un sommet
+	 */
+	private static final int INCOMING = 2;
+
+	/**
+	 *
+	 */
+	private int ring;
+
+	/**
+	 * Premiere arete du parcours. {@code null} si aucun parcours
+	 */
+	private HEdgeImpl first;
+
+	/**
+	 * {@code null} si parcours non commence ou termine
+	 */
+	private HEdgeImpl current;
+
+	/**
+	 * Positions the cursor before the first half-edge of the boundary of the
+	 * specified face
+	 *
+	 * @param face the face
+	 * @return this cursor
+	 */
+	public HEdgeCursor resetOnFace(HFace face) {
+		return reset(HFaceImpl.requireValid(face).edge, CYCLE);
+	}
+
+	/**
+	 * Positions the cursor before the specified half-edge. The cursor then
+	 * walks the cycle of the half-edge, starting with the half-edge itself
+	 *
+	 * @param edge the half-edge
+	 * @return this cursor
+	 * @see HEdge#cycle()
+	 */
+	public HEdgeCursor resetOnCycle(HEdge edge) {
+		return reset(HEdgeImpl.requireValid(edge), CYCLE);
+	}
+
+	/**
+	 * Positions the cursor before the first half-edge going out of the
+	 * specified vertex. The {@link #head() heads} of the outgoing half-edges
+	 * are the neighbors of the vertex
+	 *
+	 * @param vertex the vertex
+	 * @return this cursor
+	 * @see HVertex#outgoingEdges()
+	 */
+	public HEdgeCursor resetOnOutgoingEdges(HVertex vertex) {
+		return reset(HVertexImpl.requireValid(vertex).edge.opposite, OUTGOING);
+	}
+
+	/**
+	 * Positions the cursor before the first half-edge coming into the
+	 * specified vertex
+	 *
+	 * @param vertex the vertex
+	 * @return this cursor
+	 * @see HVertex#incomingEdges()
+	 */
+	public HEdgeCursor resetOnIncomingEdges(HVertex vertex) {
+		return reset(HVertexImpl.requireValid(vertex).edge, INCOMING);
+	}
+
+	/**
+	 * Advances the cursor to the next half-edge
+	 *
+	 * @return {@code true} if the cursor is on a half-edge; {@code false} if
+	 *         all the half-edges have been walked or if the cursor has not
+	 *         been reset
+	 */
+	public boolean next() {
+		if (current == null) {
+			if (first == null) {
+				return false;
+			}
+
+			current = first;
+			return true;
+		}
+
+		HEdgeImpl e = current;
+
+		switch (ring) {
+
+		case CYCLE:
+			e = e.next;
+			break;
+
+		case OUTGOING:
+			e = e.opposite.next;
+			break;
+
+		default:
+			e = e.next.opposite;
+			break;
+		}
+
+		if (e == first) {
+			current = null;
+			first = null;
+			return false;
+		}
+
+		current = e;
+		return true;
+	}
+
+	/**
+	 * @return the current half-edge
+	 * @throws NoSuchElementException if the cursor is not on a half-edge
+	 */
+	public HEdge edge() {
+		return current();
+	}
+
+	/**
+	 * @return the opposite of the current half-edge
+	 * @throws NoSuchElementException if the cursor is not on a half-edge
+	 */
+	public HEdge opposite() {
+		return current().opposite;
+	}
+
+	/**
+	 * @return the head of the current half-edge
+	 * @throws NoSuchElementException if the cursor is not on a half-edge
+	 */
+	public HVertex head() {
+		return current().head;
+	}
+
+	/**
+	 * @return the tail of the current half-edge
+	 * @throws NoSuchElementException if the cursor is not on a half-edge
+	 */
+	public HVertex tail() {
+		return current().opposite.head;
+	}
+
+	/**
+	 * @return the face of the current half-edge
+	 * @throws NoSuchElementException if the cursor is not on a half-edge
+	 */
+	public HFace face() {
+		return current().face;
+	}
+
+	/**
+	 * @return l'identifiant de l'arete courante
+	 */
+	int edgeId() {
+		return current().id();
+	}
+
+	/**
+	 * @return l'identifiant de la tete de l'arete courante
+	 */
+	int headId() {
+		return current().head.id();
+	}
+
+	/**
+	 * @return l'identifiant de la queue de l'arete courante
+	 */
+	int tailId() {
+		return current().opposite.head.id();
+	}
+
+	/**
+	 * @return l'identifiant de la face de l'arete courante
+	 */
+	int faceId() {
+		return current().face.id();
+	}
+
+	/**
+	 * @param start
+	 * @param newRing
+	 * @return
+	 */
+	private HEdgeCursor reset(HEdgeImpl start, int newRing) {
+		first = start;
+		current = null;
+		ring = newRing;
+		return this;
+	}
+
+	/**
+	 * @return
+	 */
+	private HEdgeImpl current() {
+		if (current == null) {
+			throw new NoSuchElementException();
+		}
+
+		return current;
+	}
+}
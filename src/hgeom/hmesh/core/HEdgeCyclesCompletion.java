@@ -4,15 +4,17 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.function.BooleanSupplier;
 
+import hgeom.hmesh.core.ConversionStats.Phase;
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HVertex;
-import hgeom.hmesh.sequence.Sequence;
 import hgeom.hmesh.util.Loops;
 
 /**
@@ -27,6 +29,16 @@ final class HEdgeCyclesCompletion {
 	 */
 	private final ArrowSorter arrowSorter;
 
+	/**
+	 * Nombre de sommets reorientes et de cycles ajoutes
+	 */
+	private final ConversionStats stats;
+
+	/**
+	 *
+	 */
+	private final ConversionProgress progress;
+
 	/**
 	 *
 	 */
@@ -64,19 +76,32 @@ final class HEdgeCyclesCompletion {
 
 	/**
 	 * @param arrowSorter
+	 * @param stats
+	 * @param progress
 	 */
-	public HEdgeCyclesCompletion(ArrowSorter arrowSorter) {
+	public HEdgeCyclesCompletion(ArrowSorter arrowSorter,
+			ConversionStats stats, ConversionProgress progress) {
+
 		this.arrowSorter = arrowSorter;
+		this.stats = Objects.requireNonNull(stats);
+		this.progress = Objects.requireNonNull(progress);
 	}
 
 	/**
 	 * @param cycles
 	 * @return
+	 * @throws CancellationException si la conversion est annulee
 	 */
 	public Optional<List<HEdge>> complete(List<HEdge> cycles) {
 		this.hEdgeCycles = Objects.requireNonNull(cycles);
 
+		// Etapes : ajout des fleches de chaque cycle puis verification des
+		// connexions de chaque sommet
+		progress.start(Phase.CYCLE_COMPLETION, -1);
+
 		for (int iCycle = 0; iCycle < cycles.size(); iCycle++) {
+			progress.step();
+
 			for (HEdge e : cycles.get(iCycle).cycle()) {
 				addArrow(e, iCycle);
 			}
@@ -102,25 +127,12 @@ final class HEdgeCyclesCompletion {
 		// Pour chaque cycle initial qui a disparu en raison d'une reorientation
 		// d'un de ses sommets, recherche d'un equivalent dans les cycles
 		// ajoutes
-		for (int iCycle = 0; iCycle < resultHEdges.size(); iCycle++) {
-			if (resultHEdges.get(iCycle) == null) {
-				HVertex[] vertices = hEdgeMementos.get(iCycle);
-
-				for (int jCycle = 0; jCycle < extraCycles.size(); jCycle++) {
-					HEdge extraCycle = extraCycles.get(jCycle);
-
-					// Si le cycle ajoute est l'equivalent d'un cycle qui
-					// avait disparu, il prend sa place
-					if (match(extraCycle, vertices)) {
-						extraCycles.remove(jCycle);
-						resultHEdges.set(iCycle, extraCycle);
-						break;
-					}
-				}
-			}
+		if (!hEdgeMementos.isEmpty() && !extraCycles.isEmpty()) {
+			restoreCycles(extraCycles);
 		}
 
 		resultHEdges.addAll(extraCycles);
+		stats.addExtraBoundaryCycles(extraCycles.size());
 		return Optional.of(resultHEdges);
 	}
 
@@ -146,6 +158,7 @@ final class HEdgeCyclesCompletion {
 	 * @return
 	 */
 	private boolean checkVertexConnections(Arrow arrow) {
+		progress.step();
 		boolean ok = checkVertexConnections(arrow, false);
 
 		while (ok && !plannedVertexConnectionCheckings.isEmpty()) {
@@ -269,6 +282,7 @@ final class HEdgeCyclesCompletion {
 
 		int numIncomingArrows = incomingArrows.size();
 		List<Arrow> sortedIncomingArrows = new ArrayList<>(incomingArrows);
+		stats.incrementReorientedVertices();
 
 		// sauvegarde prealable des cycles initiaux traversant le sommet. La
 		// sauvegarde sera utilisee pour restaurer les cycles disparus
@@ -374,41 +388,135 @@ final class HEdgeCyclesCompletion {
 	}
 
 	/**
-	 * @param hEdge    la premiere demi-arete d'un cycle
-	 * @param vertices
-	 * @return true si les sommets du cycle
+	 * Remplace chaque cycle initial disparu par son equivalent parmi les
+	 * cycles ajoutes. Les cycles ajoutes sont indexes par une empreinte de
+	 * leurs sommets independante de l'ordre de lecture : la recherche d'un
+	 * equivalent ne parcourt que les cycles de meme empreinte
+	 *
+	 * @param extraCycles les cycles ajoutes. Ceux qui prennent la place d'un
+	 *                    cycle initial en sont retires
 	 */
-	private boolean match(HEdge hEdge, HVertex[] vertices) {
-		Sequence<HEdge> cycle = hEdge.cycle();
-		int numHEdges = cycle.count();
+	private void restoreCycles(List<HEdge> extraCycles) {
+		int numExtraCycles = extraCycles.size();
+		HVertex[][] extraVertices = new HVertex[numExtraCycles][];
+		Map<Long, List<Integer>> extraCyclesByKey = new HashMap<>();
+
+		for (int jCycle = 0; jCycle < numExtraCycles; jCycle++) {
+			extraVertices[jCycle] = vertices(extraCycles.get(jCycle));
+
+			extraCyclesByKey
+					.computeIfAbsent(key(extraVertices[jCycle]),
+							k -> new ArrayList<>(1))
+					.add(jCycle);
+		}
+
+		boolean[] matched = new boolean[numExtraCycles];
 
-		if (vertices.length != numHEdges) {
+		for (int iCycle = 0; iCycle < resultHEdges.size(); iCycle++) {
+			if (resultHEdges.get(iCycle) == null) {
+				HVertex[] vertices = hEdgeMementos.get(iCycle);
+				List<Integer> candidates = extraCyclesByKey.get(key(vertices));
+
+				if (candidates == null) {
+					continue;
+				}
+
+				for (Iterator<Integer> it = candidates.iterator(); it
+						.hasNext();) {
+
+					int jCycle = it.next();
+
+					// Si le cycle ajoute est l'equivalent d'un cycle qui
+					// avait disparu, il prend sa place
+					if (match(extraVertices[jCycle], vertices)) {
+						it.remove();
+						matched[jCycle] = true;
+						resultHEdges.set(iCycle, extraCycles.get(jCycle));
+						break;
+					}
+				}
+			}
+		}
+
+		// Retrait des cycles ajoutes ayant pris la place d'un cycle initial.
+		// L'ordre des cycles restants est conserve
+		int jCycle = 0;
+
+		for (Iterator<HEdge> it = extraCycles.iterator(); it.hasNext();) {
+			it.next();
+
+			if (matched[jCycle++]) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * @param vertices les sommets d'un cycle
+	 * @return une empreinte du cycle independante de son sommet de depart et
+	 *         de son sens de lecture
+	 */
+	private static long key(HVertex[] vertices) {
+		long sum = 0;
+		long xor = 0;
+
+		for (HVertex vertex : vertices) {
+			long h = mix(((HElementImpl) vertex).id());
+			sum += h;
+			xor ^= h;
+		}
+
+		return (sum ^ Long.rotateLeft(xor, 29)) * 31 + vertices.length;
+	}
+
+	/**
+	 * @param id
+	 * @return
+	 */
+	private static long mix(int id) {
+		long h = id * 0x9E3779B97F4A7C15L;
+		h ^= h >>> 32;
+		h *= 0xD6E8FEB86659FD93L;
+		return h ^ (h >>> 32);
+	}
+
+	/**
+	 * @param cycleVertices les sommets d'un cycle ajoute
+	 * @param vertices      les sommets d'un cycle initial
+	 * @return true si les 2 cycles passent par les memes sommets dans un sens
+	 *         ou dans l'autre
+	 */
+	private static boolean match(HVertex[] cycleVertices, HVertex[] vertices) {
+		int numVertices = cycleVertices.length;
+
+		if (vertices.length != numVertices) {
 			return false;
 		}
 
-		Optional<HEdge> startingHEdge = cycle
-				.filter(e -> e.head() == vertices[0]).findFirst();
+		int start = 0;
+
+		while (start < numVertices && cycleVertices[start] != vertices[0]) {
+			start++;
+		}
 
-		boolean ok = startingHEdge.isPresent();
+		if (start == numVertices) {
+			return false;
+		}
 
-		if (ok) {
-			HEdge he = startingHEdge.get().next();
+		// Comparaison dans un sens (sauf pour le premier sommet)
+		boolean ok = true;
 
-			// Comparaison dans un sens (sauf pour le premier sommet)
-			for (int i = 1; ok && i < numHEdges; i++) {
-				ok = he.head() == vertices[i];
-				he = he.next();
-			}
+		for (int i = 1; ok && i < numVertices; i++) {
+			ok = cycleVertices[(start + i) % numVertices] == vertices[i];
+		}
 
-			if (!ok) {
-				ok = true;
-				he = startingHEdge.get().next();
+		// Comparaison dans l'autre sens
+		if (!ok) {
+			ok = true;
 
-				// Comparaison dans l'autre sens
-				for (int i = numHEdges - 1; ok && i >= 1; i--) {
-					ok = he.head() == vertices[i];
-					he = he.next();
-				}
+			for (int i = 1; ok && i < numVertices; i++) {
+				HVertex cycleVertex = cycleVertices[(start + i) % numVertices];
+				ok = cycleVertex == vertices[numVertices - i];
 			}
 		}
 
@@ -50,24 +50,28 @@ class HEdgeImpl extends HElementImpl implements HEdge {
 	}
 
 	/**
-	 *
+	 * Lu directement par les parcours du paquetage. Modifie uniquement par
+	 * {@link #setFace(HEdge, HFace)}
 	 */
-	private HFace face;
+	HFaceImpl face;
 
 	/**
-	 *
+	 * Lu directement par les parcours du paquetage. Modifie uniquement par
+	 * {@link #setVertex(HEdge, HVertex)}
 	 */
-	private HVertex head;
+	HVertexImpl head;
 
 	/**
-	 *
+	 * Lu directement par les parcours du paquetage. Modifie uniquement par
+	 * {@link #link(HEdge, HEdge)}
 	 */
-	private HEdge next;
+	HEdgeImpl next;
 
 	/**
-	 *
+	 * Lu directement par les parcours du paquetage. Modifie uniquement par
+	 * {@link #linkAsOpposites(HEdge, HEdge)}
 	 */
-	private HEdge opposite;
+	HEdgeImpl opposite;
 
 	/**
 	 * @param id
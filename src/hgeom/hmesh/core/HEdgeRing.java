@@ -0,0 +1,578 @@
+package hgeom.hmesh.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.sequence.Sequence;
+
+/**
+ * Sequence des elements d'un anneau de demi-aretes : bord d'une face ou
+ * voisinage d'un sommet
+ * <p>
+ * Contrairement a {@link Loop}, chaque type d'anneau est une classe finale
+ * dont les parcours les plus frequents ({@link #count()},
+ * {@link #forEach(Consumer)}, {@link #anyMatch(Predicate)}) lisent directement
+ * les champs {@code next} et {@code opposite} des demi-aretes, sans fonction
+ * intermediaire. Les autres operations sont deduites de ces parcours ou, pour
+ * {@link #filter(Predicate)} et {@link #map(Function)}, deleguees a une
+ * {@link Loop}
+ * <p>
+ * La premiere demi-arete est lue au debut de chaque parcours : la sequence
+ * reflete l'etat courant du maillage
+ *
+ * @author Pierre B.
+ * @param <T> type des elements de la sequence
+ */
+abstract class HEdgeRing<T> implements Sequence<T> {
+
+	/**
+	 * Demi-aretes du bord d'une face
+	 */
+	static final class FaceEdges extends HEdgeRing<HEdge> {
+
+		/**
+		 *
+		 */
+		private final HFaceImpl face;
+
+		/**
+		 * @param face
+		 */
+		FaceEdges(HFaceImpl face) {
+			this.face = face;
+		}
+
+		@Override
+		public int count() {
+			HEdgeImpl first = face.edge;
+			HEdgeImpl e = first;
+			int count = 0;
+
+			do {
+				count++;
+				e = e.next;
+			} while (e != first);
+
+			return count;
+		}
+
+		@Override
+		public void forEach(Consumer<? super HEdge> consumer) {
+			HEdgeImpl first = face.edge;
+			HEdgeImpl e = first;
+
+			do {
+				consumer.accept(e);
+				e = e.next;
+			} while (e != first);
+		}
+
+		@Override
+		public boolean anyMatch(Predicate<? super HEdge> predicate) {
+			HEdgeImpl first = face.edge;
+			HEdgeImpl e = first;
+
+			do {
+				if (predicate.test(e)) {
+					return true;
+				}
+
+				e = e.next;
+			} while (e != first);
+
+			return false;
+		}
+
+		@Override
+		HEdgeImpl first() {
+			return face.edge;
+		}
+
+		@Override
+		HEdgeImpl next(HEdgeImpl e) {
+			return e.next;
+		}
+
+		@Override
+		HEdge out(HEdgeImpl e) {
+			return e;
+		}
+
+		@Override
+		Loop<HEdge, HEdge> loop() {
+			return Loop.createLoop(face, HFace::edge, HEdge::next);
+		}
+	}
+
+	/**
+	 * Sommets du bord d'une face : tetes des demi-aretes du bord
+	 */
+	static final class FaceVertices extends HEdgeRing<HVertex> {
+
+		/**
+		 *
+		 */
+		private final HFaceImpl face;
+
+		/**
+		 * @param face
+		 */
+		FaceVertices(HFaceImpl face) {
+			this.face = face;
+		}
+
+		@Override
+		public int count() {
+			HEdgeImpl first = face.edge;
+			HEdgeImpl e = first;
+			int count = 0;
+
+			do {
+				count++;
+				e = e.next;
+			} while (e != first);
+
+			return count;
+		}
+
+		@Override
+		public void forEach(Consumer<? super HVertex> consumer) {
+			HEdgeImpl first = face.edge;
+			HEdgeImpl e = first;
+
+			do {
+				consumer.accept(e.head);
+				e = e.next;
+			} while (e != first);
+		}
+
+		@Override
+		public boolean anyMatch(Predicate<? super HVertex> predicate) {
+			HEdgeImpl first = face.edge;
+			HEdgeImpl e = first;
+
+			do {
+				if (predicate.test(e.head)) {
+					return true;
+				}
+
+				e = e.next;
+			} while (e != first);
+
+			return false;
+		}
+
+		@Override
+		HEdgeImpl first() {
+			return face.edge;
+		}
+
+		@Override
+		HEdgeImpl next(HEdgeImpl e) {
+			return e.next;
+		}
+
+		@Override
+		HVertex out(HEdgeImpl e) {
+			return e.head;
+		}
+
+		@Override
+		Loop<HEdge, HVertex> loop() {
+			return Loop.createLoop(face, HFace::edge, HEdge::next)
+					.map(HEdge::head);
+		}
+	}
+
+	/**
+	 * Demi-aretes sortant d'un sommet
+	 */
+	static final class OutgoingEdges extends HEdgeRing<HEdge> {
+
+		/**
+		 *
+		 */
+		private final HVertexImpl vertex;
+
+		/**
+		 * @param vertex
+		 */
+		OutgoingEdges(HVertexImpl vertex) {
+			this.vertex = vertex;
+		}
+
+		@Override
+		public int count() {
+			HEdgeImpl first = vertex.edge.opposite;
+			HEdgeImpl e = first;
+			int count = 0;
+
+			do {
+				count++;
+				e = e.opposite.next;
+			} while (e != first);
+
+			return count;
+		}
+
+		@Override
+		public void forEach(Consumer<? super HEdge> consumer) {
+			HEdgeImpl first = vertex.edge.opposite;
+			HEdgeImpl e = first;
+
+			do {
+				consumer.accept(e);
+				e = e.opposite.next;
+			} while (e != first);
+		}
+
+		@Override
+		public boolean anyMatch(Predicate<? super HEdge> predicate) {
+			HEdgeImpl first = vertex.edge.opposite;
+			HEdgeImpl e = first;
+
+			do {
+				if (predicate.test(e)) {
+					return true;
+				}
+
+				e = e.opposite.next;
+			} while (e != first);
+
+			return false;
+		}
+
+		@Override
+		HEdgeImpl first() {
+			return vertex.edge.opposite;
+		}
+
+		@Override
+		HEdgeImpl next(HEdgeImpl e) {
+			return e.opposite.next;
+		}
+
+		@Override
+		HEdge out(HEdgeImpl e) {
+			return e;
+		}
+
+		@Override
+		Loop<HEdge, HEdge> loop() {
+			return Loop.createLoop(vertex, v -> v.edge().opposite(),
+					HVertexImpl.NEXT_OUTGOING_EDGE);
+		}
+	}
+
+	/**
+	 * Demi-aretes entrant dans un sommet
+	 */
+	static final class IncomingEdges extends HEdgeRing<HEdge> {
+
+		/**
+		 *
+		 */
+		private final HVertexImpl vertex;
+
+		/**
+		 * @param vertex
+		 */
+		IncomingEdges(HVertexImpl vertex) {
+			this.vertex = vertex;
+		}
+
+		@Override
+		public int count() {
+			HEdgeImpl first = vertex.edge;
+			HEdgeImpl e = first;
+			int count = 0;
+
+			do {
+				count++;
+				e = e.next.opposite;
+			} while (e != first);
+
+			return count;
+		}
+
+		@Override
+		public void forEach(Consumer<? super HEdge> consumer) {
+			HEdgeImpl first = vertex.edge;
+			HEdgeImpl e = first;
+
+			do {
+				consumer.accept(e);
+				e = e.next.opposite;
+			} while (e != first);
+		}
+
+		@Override
+		public boolean anyMatch(Predicate<? super HEdge> predicate) {
+			HEdgeImpl first = vertex.edge;
+			HEdgeImpl e = first;
+
+			do {
+				if (predicate.test(e)) {
+					return true;
+				}
+
+				e = e.next.opposite;
+			} while (e != first);
+
+			return false;
+		}
+
+		@Override
+		HEdgeImpl first() {
+			return vertex.edge;
+		}
+
+		@Override
+		HEdgeImpl next(HEdgeImpl e) {
+			return e.next.opposite;
+		}
+
+		@Override
+		HEdge out(HEdgeImpl e) {
+			return e;
+		}
+
+		@Override
+		Loop<HEdge, HEdge> loop() {
+			return Loop.createLoop(vertex, HVertex::edge,
+					HVertexImpl.NEXT_INCOMING_EDGE);
+		}
+	}
+
+	/**
+	 * Voisins d'un sommet : tetes des demi-aretes sortantes
+	 */
+	static final class VertexNeighbors extends HEdgeRing<HVertex> {
+
+		/**
+		 *
+		 */
+		private final HVertexImpl vertex;
+
+		/**
+		 * @param vertex
+		 */
+		VertexNeighbors(HVertexImpl vertex) {
+			this.vertex = vertex;
+		}
+
+		@Override
+		public int count() {
+			HEdgeImpl first = vertex.edge.opposite;
+			HEdgeImpl e = first;
+			int count = 0;
+
+			do {
+				count++;
+				e = e.opposite.next;
+			} while (e != first);
+
+			return count;
+		}
+
+		@Override
+		public void forEach(Consumer<? super HVertex> consumer) {
+			HEdgeImpl first = vertex.edge.opposite;
+			HEdgeImpl e = first;
+
+			do {
+				consumer.accept(e.head);
+				e = e.opposite.next;
+			} while (e != first);
+		}
+
+		@Override
+		public boolean anyMatch(Predicate<? super HVertex> predicate) {
+			HEdgeImpl first = vertex.edge.opposite;
+			HEdgeImpl e = first;
+
+			do {
+				if (predicate.test(e.head)) {
+					return true;
+				}
+
+				e = e.opposite.next;
+			} while (e != first);
+
+			return false;
+		}
+
+		@Override
+		HEdgeImpl first() {
+			return vertex.edge.opposite;
+		}
+
+		@Override
+		HEdgeImpl next(HEdgeImpl e) {
+			return e.opposite.next;
+		}
+
+		@Override
+		HVertex out(HEdgeImpl e) {
+			return e.head;
+		}
+
+		@Override
+		Loop<HEdge, HVertex> loop() {
+			return Loop.createLoop(vertex, v -> v.edge().opposite(),
+					HVertexImpl.NEXT_OUTGOING_EDGE).map(HEdge::head);
+		}
+	}
+
+	/**
+	 * Iterateur sur l'anneau
+	 */
+	private final class RingIterator implements Iterator<T> {
+
+		/**
+		 *
+		 */
+		private final HEdgeImpl first = first();
+
+		/**
+		 * {@code null} si parcours termine
+		 */
+		private HEdgeImpl e = first;
+
+		@Override
+		public boolean hasNext() {
+			return e != null;
+		}
+
+		@Override
+		public T next() {
+			if (e == null) {
+				throw new NoSuchElementException();
+			}
+
+			T out = out(e);
+			e = HEdgeRing.this.next(e);
+
+			if (e == first) {
+				e = null;
+			}
+
+			return out;
+		}
+	}
+
+	/**
+	 * @return la premiere demi-arete de l'anneau
+	 */
+	abstract HEdgeImpl first();
+
+	/**
+	 * @param e
+	 * @return la demi-arete suivant e dans l'anneau
+	 */
+	abstract HEdgeImpl next(HEdgeImpl e);
+
+	/**
+	 * @param e
+	 * @return l'element de la sequence associe a la demi-arete
+	 */
+	abstract T out(HEdgeImpl e);
+
+	/**
+	 * @return la boucle generique equivalente, pour les filtres et les
+	 *         transformations
+	 */
+	abstract Loop<HEdge, T> loop();
+
+	@Override
+	public final Iterator<T> iterator() {
+		return new RingIterator();
+	}
+
+	@Override
+	public final Sequence<T> filter(Predicate<? super T> predicate) {
+		return loop().filter(predicate);
+	}
+
+	@Override
+	public final <U> Sequence<U> map(Function<? super T, ? extends U> mapper) {
+		return loop().map(mapper);
+	}
+
+	@Override
+	public final boolean allMatch(Predicate<? super T> predicate) {
+		return !anyMatch(predicate.negate());
+	}
+
+	@Override
+	public final Optional<T> findFirst() {
+		return Optional.of(out(first()));
+	}
+
+	@Override
+	public final Optional<T> reduce(BinaryOperator<T> accumulator) {
+		HEdgeImpl first = first();
+		T result = out(first);
+
+		for (HEdgeImpl e = next(first); e != first; e = next(e)) {
+			result = accumulator.apply(result, out(e));
+		}
+
+		return Optional.of(result);
+	}
+
+	@Override
+	public final <U> U reduce(U identity,
+			BiFunction<U, ? super T, U> accumulator) {
+
+		HEdgeImpl first = first();
+		HEdgeImpl e = first;
+		U result = identity;
+
+		do {
+			result = accumulator.apply(result, out(e));
+			e = next(e);
+		} while (e != first);
+
+		return result;
+	}
+
+	@Override
+	public final <A> A[] toArray(IntFunction<A[]> generator) {
+		List<T> list = toList();
+		return list.toArray(generator.apply(list.size()));
+	}
+
+	@Override
+	public final List<T> toList(List<T> list) {
+		return collect(list == null ? new ArrayList<>() : list, List::add);
+	}
+
+	@Override
+	public final <U> U collect(U container,
+			BiConsumer<U, ? super T> accumulator) {
+
+		HEdgeImpl first = first();
+		HEdgeImpl e = first;
+
+		do {
+			accumulator.accept(container, out(e));
+			e = next(e);
+		} while (e != first);
+
+		return container;
+	}
+}
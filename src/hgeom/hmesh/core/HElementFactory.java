@@ -1,5 +1,9 @@
 package hgeom.hmesh.core;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HElement;
 import hgeom.hmesh.elements.HFace;
@@ -38,6 +42,25 @@ final class HElementFactory {
 	 */
 	private int faceCount;
 
+	/**
+	 * Couches de donnees des sommets creees, a renumeroter avec les sommets.
+	 * Une couche abandonnee par son utilisateur n'est pas retenue
+	 */
+	private final List<WeakReference<HDataBaseImpl<?>>> vertexLayers =
+			new ArrayList<>();
+
+	/**
+	 *
+	 */
+	private final List<WeakReference<HDataBaseImpl<?>>> edgeLayers =
+			new ArrayList<>();
+
+	/**
+	 *
+	 */
+	private final List<WeakReference<HDataBaseImpl<?>>> faceLayers =
+			new ArrayList<>();
+
 	/**
 	 * @param linkEdgesToPrevious
 	 * @param debugInfo
@@ -47,6 +70,13 @@ final class HElementFactory {
 		this.debugInfo = debugInfo;
 	}
 
+	/**
+	 * @return true si les demi-aretes creees sont liees a leur precedente
+	 */
+	public boolean linksEdgesToPrevious() {
+		return linkEdgesToPrevious;
+	}
+
 	/**
 	 * Cree un sommet
 	 *
@@ -69,13 +99,21 @@ final class HElementFactory {
 		return HVertexImpl.create(vertexCount++, edge, debugInfo);
 	}
 
+	/**
+	 * @return le nombre de sommets crees, identifiant maximal + 1
+	 */
+	public int vertexCount() {
+		return vertexCount;
+	}
+
 	/**
 	 * @param mesh
 	 * @return
 	 */
 	public <D> HDataImpl<HVertex, D> createVertexData(HMesh mesh) {
-		return new HDataImpl<>(v -> checkedId(v, vertexCount),
-				mesh == null ? null : mesh::vertices);
+		return register(vertexLayers,
+				new HDataImpl<>(v -> checkedId(v, vertexCount),
+						mesh == null ? null : mesh::vertices));
 	}
 
 	/**
@@ -83,8 +121,9 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HBDataImpl<HVertex> createVertexBooleanData(HMesh mesh) {
-		return new HBDataImpl<>(v -> checkedId(v, vertexCount),
-				mesh == null ? null : mesh::vertices);
+		return register(vertexLayers,
+				new HBDataImpl<>(v -> checkedId(v, vertexCount),
+						mesh == null ? null : mesh::vertices));
 	}
 
 	/**
@@ -92,8 +131,9 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HIDataImpl<HVertex> createVertexIntData(HMesh mesh) {
-		return new HIDataImpl<>(v -> checkedId(v, vertexCount),
-				mesh == null ? null : mesh::vertices);
+		return register(vertexLayers,
+				new HIDataImpl<>(v -> checkedId(v, vertexCount),
+						mesh == null ? null : mesh::vertices));
 	}
 
 	/**
@@ -101,8 +141,9 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HDDataImpl<HVertex> createVertexDoubleData(HMesh mesh) {
-		return new HDDataImpl<>(v -> checkedId(v, vertexCount),
-				mesh == null ? null : mesh::vertices);
+		return register(vertexLayers,
+				new HDDataImpl<>(v -> checkedId(v, vertexCount),
+						mesh == null ? null : mesh::vertices));
 	}
 
 	/**
@@ -113,13 +154,21 @@ final class HElementFactory {
 		return HEdgeImpl.create(edgeCount++, vertex, linkEdgesToPrevious);
 	}
 
+	/**
+	 * @return le nombre de demi-aretes creees, identifiant maximal + 1
+	 */
+	public int edgeCount() {
+		return edgeCount;
+	}
+
 	/**
 	 * @param mesh
 	 * @return
 	 */
 	public <D> HDataImpl<HEdge, D> createEdgeData(HMesh mesh) {
-		return new HDataImpl<>(e -> checkedId(e, edgeCount),
-				mesh == null ? null : mesh::edges);
+		return register(edgeLayers,
+				new HDataImpl<>(e -> checkedId(e, edgeCount),
+						mesh == null ? null : mesh::edges));
 	}
 
 	/**
@@ -127,8 +176,9 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HBDataImpl<HEdge> createEdgeBooleanData(HMesh mesh) {
-		return new HBDataImpl<>(e -> checkedId(e, edgeCount),
-				mesh == null ? null : mesh::edges);
+		return register(edgeLayers,
+				new HBDataImpl<>(e -> checkedId(e, edgeCount),
+						mesh == null ? null : mesh::edges));
 	}
 
 	/**
@@ -136,8 +186,9 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HIDataImpl<HEdge> createEdgeIntData(HMesh mesh) {
-		return new HIDataImpl<>(e -> checkedId(e, edgeCount),
-				mesh == null ? null : mesh::edges);
+		return register(edgeLayers,
+				new HIDataImpl<>(e -> checkedId(e, edgeCount),
+						mesh == null ? null : mesh::edges));
 	}
 
 	/**
@@ -145,8 +196,9 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HDDataImpl<HEdge> createEdgeDoubleData(HMesh mesh) {
-		return new HDDataImpl<>(e -> checkedId(e, edgeCount),
-				mesh == null ? null : mesh::edges);
+		return register(edgeLayers,
+				new HDDataImpl<>(e -> checkedId(e, edgeCount),
+						mesh == null ? null : mesh::edges));
 	}
 
 	/**
@@ -159,13 +211,21 @@ final class HElementFactory {
 		return HFaceImpl.create(faceCount++, edge, status, checkValidity);
 	}
 
+	/**
+	 * @return le nombre de faces creees, identifiant maximal + 1
+	 */
+	public int faceCount() {
+		return faceCount;
+	}
+
 	/**
 	 * @param mesh
 	 * @return
 	 */
 	public <D> HDataImpl<HFace, D> createFaceData(HMesh mesh) {
-		return new HDataImpl<>(f -> checkedId(f, faceCount),
-				mesh == null ? null : mesh::faces);
+		return register(faceLayers,
+				new HDataImpl<>(f -> checkedId(f, faceCount),
+						mesh == null ? null : mesh::faces));
 	}
 
 	/**
@@ -173,8 +233,9 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HBDataImpl<HFace> createFaceBooleanData(HMesh mesh) {
-		return new HBDataImpl<>(f -> checkedId(f, faceCount),
-				mesh == null ? null : mesh::faces);
+		return register(faceLayers,
+				new HBDataImpl<>(f -> checkedId(f, faceCount),
+						mesh == null ? null : mesh::faces));
 	}
 
 	/**
@@ -182,8 +243,9 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HIDataImpl<HFace> createFaceIntData(HMesh mesh) {
-		return new HIDataImpl<>(f -> checkedId(f, faceCount),
-				mesh == null ? null : mesh::faces);
+		return register(faceLayers,
+				new HIDataImpl<>(f -> checkedId(f, faceCount),
+						mesh == null ? null : mesh::faces));
 	}
 
 	/**
@@ -191,7 +253,87 @@ final class HElementFactory {
 	 * @return
 	 */
 	public HDDataImpl<HFace> createFaceDoubleData(HMesh mesh) {
-		return new HDDataImpl<>(f -> checkedId(f, faceCount), mesh::faces);
+		return register(faceLayers,
+				new HDDataImpl<>(f -> checkedId(f, faceCount), mesh::faces));
+	}
+
+	/**
+	 * Renumerote les sommets et deplace les valeurs de toutes leurs couches
+	 * de donnees. Les identifiants sont ensuite compris entre 0 et
+	 * idUpperBound
+	 *
+	 * @param newIds       nouvel identifiant de chaque ancien identifiant, -1
+	 *                     si le sommet n'existe plus
+	 * @param idUpperBound nombre de sommets renumerotes
+	 */
+	void renumberVertices(int[] newIds, int idUpperBound) {
+		vertexCount = idUpperBound;
+		renumber(vertexLayers, newIds, idUpperBound);
+	}
+
+	/**
+	 * @param newIds
+	 * @param idUpperBound
+	 * @see #renumberVertices(int[], int)
+	 */
+	void renumberEdges(int[] newIds, int idUpperBound) {
+		edgeCount = idUpperBound;
+		renumber(edgeLayers, newIds, idUpperBound);
+	}
+
+	/**
+	 * @param newIds
+	 * @param idUpperBound
+	 * @see #renumberVertices(int[], int)
+	 */
+	void renumberFaces(int[] newIds, int idUpperBound) {
+		faceCount = idUpperBound;
+		renumber(faceLayers, newIds, idUpperBound);
+	}
+
+	/**
+	 * Retient une couche creee. Les references des couches abandonnees sont
+	 * purgees chaque fois que leur nombre double
+	 *
+	 * @param layers
+	 * @param layer
+	 * @return la couche
+	 */
+	private static <L extends HDataBaseImpl<?>> L register(
+			List<WeakReference<HDataBaseImpl<?>>> layers, L layer) {
+
+		synchronized (layers) {
+			int size = layers.size();
+
+			if (size >= 64 && (size & (size - 1)) == 0) {
+				layers.removeIf(ref -> ref.get() == null);
+			}
+
+			layers.add(new WeakReference<>(layer));
+		}
+
+		return layer;
+	}
+
+	/**
+	 * @param layers
+	 * @param newIds
+	 * @param idUpperBound
+	 */
+	private static void renumber(List<WeakReference<HDataBaseImpl<?>>> layers,
+			int[] newIds, int idUpperBound) {
+
+		synchronized (layers) {
+			layers.removeIf(ref -> ref.get() == null);
+
+			for (WeakReference<HDataBaseImpl<?>> ref : layers) {
+				HDataBaseImpl<?> layer = ref.get();
+
+				if (layer != null) {
+					layer.renumber(newIds, idUpperBound);
+				}
+			}
+		}
 	}
 
 	/**
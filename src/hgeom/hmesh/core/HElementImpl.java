@@ -41,6 +41,14 @@ abstract class HElementImpl implements HElement {
 		requireValid(e, HElementImpl.class).id = -1;
 	}
 
+	/**
+	 * @param e
+	 * @param id le nouvel identifiant
+	 */
+	static void renumber(HElement e, int id) {
+		requireValid(e, HElementImpl.class).id = id;
+	}
+
 	/**
 	 * @param e
 	 * @param c
@@ -57,9 +57,9 @@ class HFaceImpl extends HElementImpl implements HFace {
 	}
 
 	/**
-	 *
+	 * Lu directement par les parcours du paquetage
 	 */
-	private HEdge edge;
+	HEdgeImpl edge;
 
 	/**
 	 * @param id
@@ -137,12 +137,13 @@ class HFaceImpl extends HElementImpl implements HFace {
 	@Override
 	public final Sequence<HEdge> edges() {
 		requireNotDiscarded();
-		return Loop.createLoop(this, HFace::edge, HEdge::next);
+		return new HEdgeRing.FaceEdges(this);
 	}
 
 	@Override
 	public final Sequence<HVertex> vertices() {
-		return edges().map(HEdge::head);
+		requireNotDiscarded();
+		return new HEdgeRing.FaceVertices(this);
 	}
 
 	@Override
@@ -70,6 +70,32 @@ final class HIDataImpl<E> extends HDataBaseImpl<E> implements HIData<E> {
 		return BinaryOperator.maxBy(Comparator.comparingInt(this::get));
 	}
 
+	/**
+	 * Affecte une meme valeur a tous les elements d'identifiant inferieur a
+	 * capacity. Le tableau n'etant plus agrandi ensuite pour ces elements,
+	 * leurs valeurs peuvent etre modifiees en parallele
+	 *
+	 * @param value
+	 * @param capacity
+	 */
+	void fill(int value, int capacity) {
+		expandValues(capacity);
+		Arrays.fill(values, value);
+	}
+
+	@Override
+	void renumber(int[] newIds, int idUpperBound) {
+		int[] renumbered = new int[idUpperBound];
+
+		for (int id = 0; id < Math.min(values.length, newIds.length); id++) {
+			if (newIds[id] != -1) {
+				renumbered[newIds[id]] = values[id];
+			}
+		}
+
+		values = renumbered;
+	}
+
 	/**
 	 * Copie simplifiee du code ArrayList
 	 *
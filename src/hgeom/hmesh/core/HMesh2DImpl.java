@@ -1,11 +1,13 @@
 package hgeom.hmesh.core;
 
 import java.util.List;
+import java.util.Objects;
 
 import hgeom.hmesh.data.HDData;
 import hgeom.hmesh.elements.HFace;
 import hgeom.hmesh.elements.HMesh2D;
 import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.elements.SpaceFillingCurve;
 
 /**
  *
@@ -43,6 +45,12 @@ final class HMesh2DImpl extends HMeshImpl implements HMesh2D {
 		return ys;
 	}
 
+	@Override
+	public void reorder(SpaceFillingCurve curve) {
+		renumber(HMeshReordering.alongCurve(this,
+				Objects.requireNonNull(curve), xs, ys));
+	}
+
 	@Override
 	public double vertexX(HVertex v) {
 		return xs.get(v);
@@ -1,11 +1,13 @@
 package hgeom.hmesh.core;
 
 import java.util.List;
+import java.util.Objects;
 
 import hgeom.hmesh.data.HDData;
 import hgeom.hmesh.elements.HFace;
 import hgeom.hmesh.elements.HMesh3D;
 import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.elements.SpaceFillingCurve;
 
 /**
  *
@@ -51,7 +53,13 @@ final class HMesh3DImpl extends HMeshImpl implements HMesh3D {
 
 	@Override
 	public HDData<HVertex> vertexZs() {
-		return ys;
+		return zs;
+	}
+
+	@Override
+	public void reorder(SpaceFillingCurve curve) {
+		renumber(HMeshReordering.alongCurve(this,
+				Objects.requireNonNull(curve), xs, ys, zs));
 	}
 
 	@Override
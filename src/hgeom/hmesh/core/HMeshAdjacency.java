@@ -0,0 +1,587 @@
+package hgeom.hmesh.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HFace.Status;
+import hgeom.hmesh.elements.HMesh;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * An immutable snapshot of the adjacency of a {@link HMesh half-edge data
+ * structure}, stored as compressed sparse rows of primitive arrays
+ * <p>
+ * The vertices and the {@link Status#INTERIOR interior} faces of the mesh are
+ * numbered from 0. The snapshot holds, for each vertex, its neighbor vertices
+ * and its interior faces and, for each interior face, its interior neighbor
+ * faces (one per shared edge). The neighbors of a vertex are listed in the
+ * order of its {@link HVertex#outgoingEdges() outgoing edges}
+ * <p>
+ * A snapshot is obtained with {@link #of(HMesh)}. It is built in
+ * parallel, then cached by the mesh until the structure of the mesh changes.
+ * Queries allocate nothing and read the arrays only: a snapshot can be shared
+ * between threads. {@link Rings} expand the k-rings of vertices or faces on
+ * top of a snapshot:
+ *
+ * <pre>
+ * <code>
+ * {@code
+ *
+ * HMeshAdjacency adjacency = HMeshAdjacency.of(mesh);
+ * HMeshAdjacency.Rings rings = adjacency.vertexRings();
+ *
+ * for (int v = 0; v < adjacency.numVertices(); v++) {
+ *     int count = rings.expand(v, 3);
+ *
+ *     for (int i = 0; i < count; i++) {
+ *         HVertex inRing = adjacency.vertex(rings.element(i));
+ *         ...
+ *     }
+ * }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Pierre B.
+ */
+public final class HMeshAdjacency {
+
+	/**
+	 * Breadth-first expansion of the rings of vertices or faces, from one or
+	 * several seeds
+	 * <p>
+	 * The elements found by the last expansion are available by their rank,
+	 * ring after ring: the seeds first (ring 0), then their neighbors (ring
+	 * 1), etc. A {@code Rings} reuses its buffers from one expansion to the
+	 * next. It is not thread safe: each thread must use its own
+	 */
+	public final class Rings {
+
+		/**
+		 *
+		 */
+		private final int[] starts;
+
+		/**
+		 *
+		 */
+		private final int[] neighbors;
+
+		/**
+		 * Elements trouves, anneau par anneau
+		 */
+		private final int[] elements;
+
+		/**
+		 * Epoque de marquage de chaque element
+		 */
+		private final int[] stamps;
+
+		/**
+		 *
+		 */
+		private int epoch;
+
+		/**
+		 * Rang du premier element de chaque anneau. L'anneau r occupe les rangs
+		 * ringStarts[r] a ringStarts[r + 1] exclu
+		 */
+		private int[] ringStarts = new int[8];
+
+		/**
+		 * Nombre de debuts d'anneau, fin du dernier anneau comprise
+		 */
+		private int numRings;
+
+		/**
+		 * Tableau d'une graine unique
+		 */
+		private final int[] seedArray = new int[1];
+
+		/**
+		 * @param starts
+		 * @param neighbors
+		 */
+		Rings(int[] starts, int[] neighbors) {
+			this.starts = starts;
+			this.neighbors = neighbors;
+			elements = new int[starts.length - 1];
+			stamps = new int[starts.length - 1];
+		}
+
+		/**
+		 * Expands the rings around the specified element
+		 *
+		 * @param seed the index of the element
+		 * @param k    the number of rings to expand
+		 * @return the number of elements found, the seed included
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 */
+		public int expand(int seed, int k) {
+			seedArray[0] = seed;
+			return expand(seedArray, 1, k);
+		}
+
+		/**
+		 * Expands the rings around the specified elements. Each element found
+		 * belongs to the ring of its closest seed
+		 *
+		 * @param seeds    the indices of the elements
+		 * @param numSeeds the number of seeds to read from the array
+		 * @param k        the number of rings to expand
+		 * @return the number of elements found, the seeds included
+		 * @throws IndexOutOfBoundsException if an index is out of range
+		 */
+		public int expand(int[] seeds, int numSeeds, int k) {
+			epoch++;
+
+			// Debordement : les anciennes epoques pourraient etre reprises
+			if (epoch == 0) {
+				Arrays.fill(stamps, 0);
+				epoch = 1;
+			}
+
+			int size = 0;
+
+			for (int i = 0; i < numSeeds; i++) {
+				int seed = seeds[i];
+
+				if (stamps[seed] != epoch) {
+					stamps[seed] = epoch;
+					elements[size++] = seed;
+				}
+			}
+
+			numRings = 0;
+			addRingStart(0);
+
+			for (int ring = 0, from = 0; ring < k; ring++) {
+				int to = size;
+
+				for (int i = from; i < to; i++) {
+					int e = elements[i];
+
+					for (int n = starts[e]; n < starts[e + 1]; n++) {
+						int neighbor = neighbors[n];
+
+						if (stamps[neighbor] != epoch) {
+							stamps[neighbor] = epoch;
+							elements[size++] = neighbor;
+						}
+					}
+				}
+
+				// Plus d'elements a atteindre
+				if (size == to) {
+					break;
+				}
+
+				addRingStart(to);
+				from = to;
+			}
+
+			// Fin du dernier anneau
+			addRingStart(size);
+			return size;
+		}
+
+		/**
+		 * @param rank a rank between 0 and the number of elements found by the
+		 *             last expansion
+		 * @return the index of the element of the specified rank
+		 */
+		public int element(int rank) {
+			return elements[rank];
+		}
+
+		/**
+		 * @return the number of non empty rings found by the last expansion,
+		 *         the ring of the seeds included
+		 */
+		public int numRings() {
+			return numRings - 1;
+		}
+
+		/**
+		 * @param ring a ring number. 0 is the ring of the seeds
+		 * @return the rank of the first element of the ring. The ring ends
+		 *         before the first element of the next ring
+		 */
+		public int ringStart(int ring) {
+			return ringStarts[ring];
+		}
+
+		/**
+		 * @param element the index of an element
+		 * @return {@code true} if the element has been found by the last
+		 *         expansion
+		 */
+		public boolean contains(int element) {
+			return stamps[element] == epoch;
+		}
+
+		/**
+		 * Debut d'un nouvel anneau
+		 *
+		 * @param rank
+		 */
+		private void addRingStart(int rank) {
+			if (numRings == ringStarts.length) {
+				ringStarts = Arrays.copyOf(ringStarts, 2 * numRings);
+			}
+
+			ringStarts[numRings++] = rank;
+		}
+	}
+
+	/**
+	 * modCount du maillage lors de la construction
+	 */
+	private final int modCount;
+
+	/**
+	 *
+	 */
+	private final HMeshImpl mesh;
+
+	/**
+	 *
+	 */
+	private final HVertex[] vertices;
+
+	/**
+	 *
+	 */
+	private final HFace[] faces;
+
+	/**
+	 * Indice de chaque sommet par identifiant. -1 si sommet absent
+	 */
+	private final int[] vertexIndices;
+
+	/**
+	 * Indice de chaque face interieure par identifiant. -1 si face absente
+	 * ou non interieure
+	 */
+	private final int[] faceIndices;
+
+	/**
+	 * Lignes des voisins des sommets
+	 */
+	private final int[] vertexNeighborStarts;
+
+	/**
+	 *
+	 */
+	private final int[] vertexNeighbors;
+
+	/**
+	 * Lignes des faces des sommets
+	 */
+	private final int[] vertexFaceStarts;
+
+	/**
+	 *
+	 */
+	private final int[] vertexFaces;
+
+	/**
+	 * Lignes des faces voisines des faces
+	 */
+	private final int[] faceNeighborStarts;
+
+	/**
+	 *
+	 */
+	private final int[] faceNeighbors;
+
+	/**
+	 * @param mesh
+	 */
+	HMeshAdjacency(HMeshImpl mesh) {
+		this.mesh = mesh;
+		modCount = mesh.modCount();
+		vertices = mesh.vertices().toArray(HVertex[]::new);
+		faces = mesh.faces().filter(f -> f.status() == Status.INTERIOR)
+				.toArray(HFace[]::new);
+
+		HElementFactory factory = mesh.elementFactory();
+		vertexIndices = indices(vertices, factory.vertexCount());
+		faceIndices = indices(faces, factory.faceCount());
+
+		int numVertices = vertices.length;
+		int numFaces = faces.length;
+
+		// Comptage en parallele, sommes cumulees, puis remplissage en
+		// parallele de chaque ligne
+		vertexNeighborStarts = new int[numVertices + 1];
+		vertexFaceStarts = new int[numVertices + 1];
+		faceNeighborStarts = new int[numFaces + 1];
+
+		IntStream.range(0, numVertices).parallel().forEach(v -> {
+			HEdgeImpl first = ((HVertexImpl) vertices[v]).edge.opposite;
+			HEdgeImpl e = first;
+			int numNeighbors = 0;
+			int numVertexFaces = 0;
+
+			do {
+				numNeighbors++;
+
+				if (faceIndex(e.face) != -1) {
+					numVertexFaces++;
+				}
+
+				e = e.opposite.next;
+			} while (e != first);
+
+			vertexNeighborStarts[v + 1] = numNeighbors;
+			vertexFaceStarts[v + 1] = numVertexFaces;
+		});
+
+		IntStream.range(0, numFaces).parallel().forEach(f -> {
+			HEdgeImpl first = ((HFaceImpl) faces[f]).edge;
+			HEdgeImpl e = first;
+			int numNeighbors = 0;
+
+			do {
+				if (isFaceNeighbor(e)) {
+					numNeighbors++;
+				}
+
+				e = e.next;
+			} while (e != first);
+
+			faceNeighborStarts[f + 1] = numNeighbors;
+		});
+
+		vertexNeighbors = new int[cumulate(vertexNeighborStarts)];
+		vertexFaces = new int[cumulate(vertexFaceStarts)];
+		faceNeighbors = new int[cumulate(faceNeighborStarts)];
+
+		IntStream.range(0, numVertices).parallel().forEach(v -> {
+			HEdgeImpl first = ((HVertexImpl) vertices[v]).edge.opposite;
+			HEdgeImpl e = first;
+			int neighbor = vertexNeighborStarts[v];
+			int face = vertexFaceStarts[v];
+
+			do {
+				vertexNeighbors[neighbor++] = vertexIndices[e.head.id()];
+				int faceIndex = faceIndex(e.face);
+
+				if (faceIndex != -1) {
+					vertexFaces[face++] = faceIndex;
+				}
+
+				e = e.opposite.next;
+			} while (e != first);
+		});
+
+		IntStream.range(0, numFaces).parallel().forEach(f -> {
+			HEdgeImpl first = ((HFaceImpl) faces[f]).edge;
+			HEdgeImpl e = first;
+			int neighbor = faceNeighborStarts[f];
+
+			do {
+				if (isFaceNeighbor(e)) {
+					faceNeighbors[neighbor++] = faceIndices[e.opposite.face
+							.id()];
+				}
+
+				e = e.next;
+			} while (e != first);
+		});
+	}
+
+	/**
+	 * Returns an immutable snapshot of the adjacency of the vertices and
+	 * interior faces of the specified mesh. The snapshot is built in parallel
+	 * on the first call, then returned by the following calls until a face, an
+	 * edge or a vertex is added to or removed from the mesh
+	 *
+	 * @param mesh the mesh
+	 * @return the adjacency snapshot of the mesh
+	 */
+	public static HMeshAdjacency of(HMesh mesh) {
+		return ((HMeshImpl) Objects.requireNonNull(mesh)).adjacency();
+	}
+
+	/**
+	 * @return {@code true} if the structure of the mesh has not changed since
+	 *         this snapshot has been built
+	 */
+	public boolean isUpToDate() {
+		return mesh.modCount() == modCount;
+	}
+
+	/**
+	 * @return the number of vertices
+	 */
+	public int numVertices() {
+		return vertices.length;
+	}
+
+	/**
+	 * @param index a vertex index
+	 * @return the vertex of the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public HVertex vertex(int index) {
+		return vertices[index];
+	}
+
+	/**
+	 * @param vertex a vertex of the mesh
+	 * @return the index of the vertex or {@code -1} if the vertex has been
+	 *         added to the mesh after this snapshot
+	 * @throws IllegalStateException if the vertex is discarded
+	 */
+	public int vertexIndex(HVertex vertex) {
+		int id = HVertexImpl.requireValid(vertex).id();
+		return id < vertexIndices.length ? vertexIndices[id] : -1;
+	}
+
+	/**
+	 * @param vertex a vertex index
+	 * @return the number of neighbors of the vertex
+	 */
+	public int numVertexNeighbors(int vertex) {
+		return vertexNeighborStarts[vertex + 1] - vertexNeighborStarts[vertex];
+	}
+
+	/**
+	 * @param vertex a vertex index
+	 * @param rank   a rank between 0 and the number of neighbors of the
+	 *               vertex
+	 * @return the index of the neighbor of the specified rank
+	 */
+	public int vertexNeighbor(int vertex, int rank) {
+		return vertexNeighbors[vertexNeighborStarts[vertex] + rank];
+	}
+
+	/**
+	 * @param vertex a vertex index
+	 * @return the number of interior faces around the vertex
+	 */
+	public int numVertexFaces(int vertex) {
+		return vertexFaceStarts[vertex + 1] - vertexFaceStarts[vertex];
+	}
+
+	/**
+	 * @param vertex a vertex index
+	 * @param rank   a rank between 0 and the number of interior faces around
+	 *               the vertex
+	 * @return the index of the face of the specified rank
+	 */
+	public int vertexFace(int vertex, int rank) {
+		return vertexFaces[vertexFaceStarts[vertex] + rank];
+	}
+
+	/**
+	 * @return the number of interior faces
+	 */
+	public int numFaces() {
+		return faces.length;
+	}
+
+	/**
+	 * @param index a face index
+	 * @return the interior face of the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public HFace face(int index) {
+		return faces[index];
+	}
+
+	/**
+	 * @param face a face of the mesh
+	 * @return the index of the face or {@code -1} if the face is not interior
+	 *         or has been added to the mesh after this snapshot
+	 * @throws IllegalStateException if the face is discarded
+	 */
+	public int faceIndex(HFace face) {
+		HFaceImpl.requireValid(face);
+		return faceIndex((HFaceImpl) face);
+	}
+
+	/**
+	 * @param face a face index
+	 * @return the number of interior faces sharing an edge with the face
+	 */
+	public int numFaceNeighbors(int face) {
+		return faceNeighborStarts[face + 1] - faceNeighborStarts[face];
+	}
+
+	/**
+	 * @param face a face index
+	 * @param rank a rank between 0 and the number of neighbors of the face
+	 * @return the index of the neighbor of the specified rank
+	 */
+	public int faceNeighbor(int face, int rank) {
+		return faceNeighbors[faceNeighborStarts[face] + rank];
+	}
+
+	/**
+	 * @return a new expander of the rings of vertices
+	 */
+	public Rings vertexRings() {
+		return new Rings(vertexNeighborStarts, vertexNeighbors);
+	}
+
+	/**
+	 * @return a new expander of the rings of interior faces
+	 */
+	public Rings faceRings() {
+		return new Rings(faceNeighborStarts, faceNeighbors);
+	}
+
+	/**
+	 * @param face
+	 * @return l'indice de la face, -1 si non interieure
+	 */
+	private int faceIndex(HFaceImpl face) {
+		int id = face.id();
+		return id < faceIndices.length ? faceIndices[id] : -1;
+	}
+
+	/**
+	 * @param e arete du bord d'une face interieure
+	 * @return true si la face de l'autre cote de l'arete est une autre face
+	 *         interieure
+	 */
+	private boolean isFaceNeighbor(HEdgeImpl e) {
+		HFaceImpl face = e.opposite.face;
+		return face != e.face && faceIndex(face) != -1;
+	}
+
+	/**
+	 * @param elements
+	 * @param idUpperBound
+	 * @return l'indice de chaque element par identifiant
+	 */
+	private static int[] indices(Object[] elements, int idUpperBound) {
+		int[] indices = new int[idUpperBound];
+		Arrays.fill(indices, -1);
+
+		for (int i = 0; i < elements.length; i++) {
+			indices[((HElementImpl) elements[i]).id()] = i;
+		}
+
+		return indices;
+	}
+
+	/**
+	 * Transforme des nombres d'elements par ligne en debuts de ligne
+	 *
+	 * @param starts nombre d'elements de la ligne i en position i + 1
+	 * @return le nombre total d'elements
+	 */
+	private static int cumulate(int[] starts) {
+		for (int i = 1; i < starts.length; i++) {
+			starts[i] += starts[i - 1];
+		}
+
+		return starts[starts.length - 1];
+	}
+}
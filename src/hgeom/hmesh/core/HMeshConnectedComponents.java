@@ -0,0 +1,336 @@
+package hgeom.hmesh.core;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import hgeom.hmesh.data.HBData;
+import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HFace.Status;
+import hgeom.hmesh.elements.HMesh;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * Connected components of a {@link HMesh half-edge data structure}, either of
+ * its vertices linked by its edges, or of its {@link Status#INTERIOR interior}
+ * faces linked by their shared edges
+ * <p>
+ * Edges can be blocked by a boolean data layer: an edge is blocked if one of
+ * its two half-edges is flagged. A blocked edge does not link its vertices,
+ * nor its faces. Face components separated by blocked edges are thus the
+ * regions of a mesh delimited by these edges
+ * <p>
+ * The components are computed in parallel, by a lock-free union-find over
+ * the ids of the elements, and returned as a data layer labeling each element
+ * by the index of its component:
+ *
+ * <pre>
+ * <code>
+ * {@code
+ *
+ * HMesh mesh = ...
+ * Components<HFace> regions = new HMeshConnectedComponents(mesh)
+ *         .faceComponents(borders);
+ *
+ * int numRegions = regions.numComponents();
+ * int region = regions.label(f);
+ * }
+ * </code>
+ * </pre>
+ *
+ * The components are numbered from 0, in the order of creation of their
+ * oldest element. The mesh must not be modified during a computation
+ *
+ * @author Pierre B.
+ */
+public final class HMeshConnectedComponents {
+
+	/**
+	 * Result of a connected components computation
+	 *
+	 * @param <E> type of the elements
+	 */
+	public static final class Components<E> {
+
+		/**
+		 *
+		 */
+		private final HIData<E> labels;
+
+		/**
+		 *
+		 */
+		private final int numComponents;
+
+		/**
+		 * @param labels
+		 * @param numComponents
+		 */
+		Components(HIData<E> labels, int numComponents) {
+			this.labels = labels;
+			this.numComponents = numComponents;
+		}
+
+		/**
+		 * @return the index of the component of each element, between 0 and
+		 *         {@link #numComponents()} excluded. -1 for the faces which
+		 *         are not interior
+		 */
+		public HIData<E> labels() {
+			return labels;
+		}
+
+		/**
+		 * @param e an element
+		 * @return the index of the component of the element
+		 */
+		public int label(E e) {
+			return labels.get(e);
+		}
+
+		/**
+		 * @return the number of components
+		 */
+		public int numComponents() {
+			return numComponents;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private final HMeshImpl mesh;
+
+	/**
+	 * Constructs a connected components finder
+	 *
+	 * @param mesh the mesh
+	 */
+	public HMeshConnectedComponents(HMesh mesh) {
+		this.mesh = (HMeshImpl) Objects.requireNonNull(mesh);
+	}
+
+	/**
+	 * Computes the components of the vertices of the mesh linked by its edges
+	 *
+	 * @return the component of each vertex
+	 */
+	public Components<HVertex> vertexComponents() {
+		return compute(null, false);
+	}
+
+	/**
+	 * Computes the components of the vertices of the mesh linked by its
+	 * non-blocked edges
+	 *
+	 * @param blocked the half-edges blocking their edge
+	 * @return the component of each vertex
+	 */
+	public Components<HVertex> vertexComponents(HBData<HEdge> blocked) {
+		return compute(Objects.requireNonNull(blocked), false);
+	}
+
+	/**
+	 * Computes the components of the interior faces of the mesh linked by
+	 * their shared edges
+	 *
+	 * @return the component of each interior face
+	 */
+	public Components<HFace> faceComponents() {
+		return compute(null, true);
+	}
+
+	/**
+	 * Computes the components of the interior faces of the mesh linked by
+	 * their shared non-blocked edges
+	 *
+	 * @param blocked the half-edges blocking their edge
+	 * @return the component of each interior face
+	 */
+	public Components<HFace> faceComponents(HBData<HEdge> blocked) {
+		return compute(Objects.requireNonNull(blocked), true);
+	}
+
+	/**
+	 * Union-find en deux passes paralleles sur les faces du maillage (toute
+	 * demi-arete borde exactement une face, interieure ou non) : unions le
+	 * long des aretes et marquage des elements presents, puis etiquetage.
+	 * Entre les deux, une passe sequentielle sur les identifiants numerote les
+	 * racines
+	 *
+	 * @param blocked
+	 * @param faces
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private <E> Components<E> compute(HBData<HEdge> blocked, boolean faces) {
+		HElementFactory factory = mesh.elementFactory();
+		HFaceImpl[] meshFaces = mesh.faces().toArray(HFaceImpl[]::new);
+
+		int idUpperBound = faces ? factory.faceCount() : factory.vertexCount();
+		HIDataImpl<E> labels = (HIDataImpl<E>) (Object) (faces
+				? factory.createFaceIntData(mesh)
+				: factory.createVertexIntData(mesh));
+
+		AtomicIntegerArray parents = new AtomicIntegerArray(idUpperBound);
+		boolean[] present = new boolean[idUpperBound];
+
+		for (int id = 0; id < idUpperBound; id++) {
+			parents.set(id, id);
+		}
+
+		// Unions : chaque arete une seule fois, par la demi-arete de plus
+		// petit identifiant
+		IntStream.range(0, meshFaces.length).parallel().forEach(i -> {
+			HFaceImpl face = meshFaces[i];
+
+			if (faces) {
+				if (face.status() != Status.INTERIOR) {
+					return;
+				}
+
+				present[face.id()] = true;
+			}
+
+			HEdgeImpl edge = face.edge;
+
+			do {
+				HEdgeImpl opposite = edge.opposite;
+
+				if (faces) {
+					if (opposite.face.status() == Status.INTERIOR
+							&& edge.id() < opposite.id()
+							&& !isBlocked(edge, blocked)) {
+
+						union(parents, face.id(), opposite.face.id());
+					}
+				}
+
+				else {
+					if (edge.head.edge == edge) {
+						present[edge.head.id()] = true;
+					}
+
+					if (edge.id() < opposite.id()
+							&& !isBlocked(edge, blocked)) {
+
+						union(parents, edge.head.id(), opposite.head.id());
+					}
+				}
+
+				edge = edge.next;
+			} while (edge != face.edge);
+		});
+
+		// Numerotation des racines. Les unions rattachant la plus grande
+		// racine a la plus petite, une racine est le plus ancien element de
+		// sa composante
+		int[] rootLabels = new int[idUpperBound];
+		int numComponents = 0;
+
+		for (int id = 0; id < idUpperBound; id++) {
+			if (present[id] && parents.get(id) == id) {
+				rootLabels[id] = numComponents++;
+			}
+		}
+
+		labels.fill(-1, idUpperBound);
+
+		IntStream.range(0, meshFaces.length).parallel().forEach(i -> {
+			HFaceImpl face = meshFaces[i];
+
+			if (faces) {
+				if (face.status() == Status.INTERIOR) {
+					labels.set((E) face,
+							rootLabels[find(parents, face.id())]);
+				}
+
+				return;
+			}
+
+			HEdgeImpl edge = face.edge;
+
+			do {
+				if (edge.head.edge == edge) {
+					labels.set((E) edge.head,
+							rootLabels[find(parents, edge.head.id())]);
+				}
+
+				edge = edge.next;
+			} while (edge != face.edge);
+		});
+
+		return new Components<>(labels, numComponents);
+	}
+
+	/**
+	 * @param edge
+	 * @param blocked
+	 * @return
+	 */
+	private static boolean isBlocked(HEdgeImpl edge, HBData<HEdge> blocked) {
+		return blocked != null
+				&& (blocked.get(edge) || blocked.get(edge.opposite));
+	}
+
+	/**
+	 * Recherche de la racine avec compression par moitie. Les compressions
+	 * concurrentes ne font que raccourcir les chemins : un echec de
+	 * compareAndSet est sans consequence
+	 *
+	 * @param parents
+	 * @param id
+	 * @return
+	 */
+	private static int find(AtomicIntegerArray parents, int id) {
+		int current = id;
+
+		while (true) {
+			int parent = parents.get(current);
+
+			if (parent == current) {
+				return current;
+			}
+
+			int grandParent = parents.get(parent);
+
+			if (grandParent != parent) {
+				parents.compareAndSet(current, parent, grandParent);
+			}
+
+			current = grandParent;
+		}
+	}
+
+	/**
+	 * Union sans verrou : la plus grande racine est rattachee a la plus
+	 * petite, ce qui exclut tout cycle. Si la racine a ete rattachee entre
+	 * temps par un autre fil, la recherche est reprise
+	 *
+	 * @param parents
+	 * @param id1
+	 * @param id2
+	 */
+	private static void union(AtomicIntegerArray parents, int id1, int id2) {
+		int root1 = id1;
+		int root2 = id2;
+
+		while (true) {
+			root1 = find(parents, root1);
+			root2 = find(parents, root2);
+
+			if (root1 == root2) {
+				return;
+			}
+
+			int max = Math.max(root1, root2);
+			int min = Math.min(root1, root2);
+
+			if (parents.compareAndSet(max, max, min)) {
+				return;
+			}
+		}
+	}
+}
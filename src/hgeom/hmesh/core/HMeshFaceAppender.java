@@ -0,0 +1,651 @@
+package hgeom.hmesh.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HFace.Status;
+import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.util.Loops;
+
+/**
+ * Ajout incremental de faces a un {@link HMeshImpl} issu d'une conversion de
+ * faces. Les nouvelles faces sont cousues aux faces de bord existantes. Le cout
+ * d'un ajout est proportionnel a la taille des faces ajoutees, sauf lorsqu'une
+ * face ajoutee scinde ou fusionne des bords : les bords concernes sont alors
+ * parcourus
+ * <p>
+ * Adaptation de l'algorithme d'ajout de face de type "add_face" : verification
+ * topologique, eventuel deplacement de portions de bord autour d'un sommet,
+ * creation des aretes manquantes puis chainage des demi-aretes interieures et
+ * exterieures
+ *
+ * @author Pierre B.
+ */
+final class HMeshFaceAppender {
+
+	/**
+	 *
+	 */
+	private static final Logger LOGGER = Logger
+			.getLogger(HMeshFaceAppender.class.getName());
+
+	/**
+	 *
+	 */
+	private final HMeshImpl mesh;
+
+	/**
+	 *
+	 */
+	private final HElementFactory elementFactory;
+
+	/**
+	 *
+	 */
+	private final HIData<HVertex> vertexIndices;
+
+	/**
+	 *
+	 */
+	private final HIData<HFace> faceIndices;
+
+	/**
+	 * Sommets crees par la conversion, ranges par index initial. Libere une
+	 * fois la table des sommets construite
+	 */
+	private List<HVertex> convertedVertices;
+
+	/**
+	 * Sommets du maillage ranges par index initial, pour les index des
+	 * sommets convertis. Construit au premier ajout puis mis a jour au fil
+	 * des ajouts
+	 */
+	private HVertex[] vertices;
+
+	/**
+	 * Sommets crees par les ajouts pour les index au-dela de la table
+	 */
+	private final Map<Integer, HVertex> appendedVertices = new HashMap<>();
+
+	/**
+	 * Nombre de faces rejetees lors de l'ajout en cours
+	 */
+	private int numRejectedFaces;
+
+	/**
+	 * Si vrai, les faces fournies doivent etre lues a l'envers pour respecter
+	 * l'orientation des faces du maillage
+	 */
+	private boolean reversedFaces;
+
+	/**
+	 *
+	 */
+	private boolean orientationKnown;
+
+	/**
+	 * @param mesh
+	 * @param vertexIndices
+	 * @param faceIndices
+	 * @param convertedVertices sommets crees par la conversion, ranges par
+	 *                          index initial
+	 */
+	public HMeshFaceAppender(HMeshImpl mesh, HIData<HVertex> vertexIndices,
+			HIData<HFace> faceIndices, List<HVertex> convertedVertices) {
+
+		this.mesh = Objects.requireNonNull(mesh);
+		this.elementFactory = mesh.elementFactory();
+		this.vertexIndices = Objects.requireNonNull(vertexIndices);
+		this.faceIndices = Objects.requireNonNull(faceIndices);
+		this.convertedVertices = Objects.requireNonNull(convertedVertices);
+	}
+
+	/**
+	 * @param faceSource
+	 * @param newVertexAction action appelee pour chaque sommet cree avec son
+	 *                        index initial
+	 * @return les faces ajoutees
+	 */
+	public List<HFace> append(FaceSource faceSource,
+			ObjIntConsumer<HVertex> newVertexAction) {
+
+		Objects.requireNonNull(newVertexAction);
+
+		if (vertices == null) {
+			HVertex[] table = new HVertex[convertedVertices.size()];
+
+			// Seuls les sommets convertis encore presents ont un index
+			// initial : l'index lu pour un sommet cree apres la conversion
+			// (scission d'arete...) n'a pas de sens
+			mesh.vertices().forEach(v -> {
+				int index = vertexIndices.get(v);
+
+				if (index < table.length && convertedVertices.get(index) == v) {
+					table[index] = v;
+				}
+			});
+
+			vertices = table;
+			convertedVertices = null;
+		}
+
+		List<HFace> addedFaces = new ArrayList<>();
+		numRejectedFaces = 0;
+
+		try (IntStream indices = faceSource.faceIndices()) {
+			indices.sequential().forEach(faceIndex -> {
+				HFace face = append(faceIndex, faceSource.face(faceIndex),
+						newVertexAction);
+
+				if (face != null) {
+					addedFaces.add(face);
+				}
+			});
+		}
+
+		if (numRejectedFaces > 0) {
+			LOGGER.warning(() -> numRejectedFaces + " faces not appended");
+		}
+
+		return addedFaces;
+	}
+
+	/**
+	 * @param faceIndex
+	 * @param face
+	 * @param newVertexAction
+	 * @return la face ajoutee ou {@code null} si l'ajout est impossible
+	 */
+	private HFace append(int faceIndex, int[] face,
+			ObjIntConsumer<HVertex> newVertexAction) {
+
+		int numVertices = face.length;
+
+		if (numVertices < 3) {
+			return reject("cannot add face with less than 3 vertices");
+		}
+
+		Set<Integer> distinctIndices = new HashSet<>();
+		int[] indices = face.clone();
+		HVertex[] v = new HVertex[numVertices];
+
+		for (int i = 0; i < numVertices; i++) {
+			if (indices[i] < 0) {
+				throw new IllegalStateException("Illegal vertex index found");
+			}
+
+			if (!distinctIndices.add(indices[i])) {
+				return reject("cannot add self-crossing face");
+			}
+
+			v[i] = vertex(indices[i]);
+		}
+
+		// Lecture a l'envers si l'orientation du maillage l'impose
+		if (reversedFaces(v)) {
+			reverse(indices);
+			reverse(v);
+		}
+
+		// Verifications topologiques : les sommets existants doivent etre sur
+		// un bord, les aretes existantes doivent etre des aretes de bord
+		HEdge[] h = new HEdge[numVertices];
+		boolean[] isNew = new boolean[numVertices];
+
+		for (int i = 0; i < numVertices; i++) {
+			int ii = i + 1 < numVertices ? i + 1 : 0;
+
+			if (v[i] != null && boundaryIncomingEdge(v[i]) == null) {
+				return reject("cannot add face. One of its vertices is not "
+						+ "on a boundary");
+			}
+
+			h[i] = v[i] == null || v[ii] == null ? null : edge(v[i], v[ii]);
+			isNew[i] = h[i] == null;
+
+			if (!isNew[i] && !isBoundary(h[i])) {
+				return reject("cannot add face. One of its edges already "
+						+ "present in two other faces");
+			}
+		}
+
+		// Faces de bord touchees par la nouvelle face
+		List<HFace> touchedBoundaries = new ArrayList<>();
+		HEdge[] boundaryPrevs = new HEdge[numVertices];
+
+		for (int i = 0; i < numVertices; i++) {
+			int ii = i + 1 < numVertices ? i + 1 : 0;
+
+			if (!isNew[i]) {
+				addIfAbsent(touchedBoundaries, h[i].face());
+			}
+
+			// Sommet existant entoure de 2 nouvelles aretes : la face est
+			// inseree dans un intervalle libre du bord
+			else if (isNew[ii] && v[ii] != null) {
+				boundaryPrevs[ii] = boundaryIncomingEdge(v[ii]);
+				addIfAbsent(touchedBoundaries, boundaryPrevs[ii].face());
+			}
+		}
+
+		// Deplacement de portions de bord lorsque 2 aretes existantes et
+		// consecutives de la face ne se suivent pas sur le bord
+		boolean relinked = false;
+
+		for (int i = 0; i < numVertices; i++) {
+			int ii = i + 1 < numVertices ? i + 1 : 0;
+
+			if (!isNew[i] && !isNew[ii] && h[i].next() != h[ii]) {
+				relinked = true;
+
+				if (!relinkPatch(h[i], h[ii], touchedBoundaries)) {
+					updateBoundaries(null, Collections.emptyList(), v,
+							touchedBoundaries);
+
+					return reject("cannot add face. Relinking failed");
+				}
+			}
+		}
+
+		int numContacts = numContacts(v, isNew);
+
+		// Creation des sommets manquants
+		for (int i = 0; i < numVertices; i++) {
+			if (v[i] == null) {
+				v[i] = elementFactory.createVertex();
+				vertexIndices.set(v[i], indices[i]);
+				vertex(indices[i], v[i]);
+				newVertexAction.accept(v[i], indices[i]);
+			}
+		}
+
+		// Creation des aretes manquantes. Les demi-aretes exterieures sont les
+		// nouvelles demi-aretes de bord
+		List<HEdge> newBoundaryEdges = new ArrayList<>();
+
+		for (int i = 0; i < numVertices; i++) {
+			if (isNew[i]) {
+				int ii = i + 1 < numVertices ? i + 1 : 0;
+				h[i] = elementFactory.createEdge(v[ii]);
+				HEdge outer = elementFactory.createEdge(v[i]);
+				HEdgeImpl.linkAsOpposites(h[i], outer);
+				HVertexImpl.setEdgeIfAbsent(v[ii], h[i]);
+				HVertexImpl.setEdgeIfAbsent(v[i], outer);
+				newBoundaryEdges.add(outer);
+			}
+		}
+
+		// Calcul de tous les chainages avant de les appliquer : les
+		// predecesseurs sont obtenus a partir des chainages existants
+		List<HEdge[]> links = new ArrayList<>();
+
+		for (int i = 0; i < numVertices; i++) {
+			int ii = i + 1 < numVertices ? i + 1 : 0;
+			HEdge innerPrev = h[i];
+			HEdge innerNext = h[ii];
+			HEdge outerPrev = innerNext.opposite();
+			HEdge outerNext = innerPrev.opposite();
+
+			if (isNew[i] && !isNew[ii]) {
+				links.add(new HEdge[] { mesh.previous(innerNext), outerNext });
+			}
+
+			else if (!isNew[i] && isNew[ii]) {
+				links.add(new HEdge[] { outerPrev, innerPrev.next() });
+			}
+
+			else if (isNew[i] && isNew[ii]) {
+				HEdge boundaryPrev = boundaryPrevs[ii];
+
+				if (boundaryPrev == null) {
+					links.add(new HEdge[] { outerPrev, outerNext });
+				}
+
+				else {
+					HEdge boundaryNext = boundaryPrev.next();
+					links.add(new HEdge[] { boundaryPrev, outerNext });
+					links.add(new HEdge[] { outerPrev, boundaryNext });
+				}
+			}
+
+			links.add(new HEdge[] { innerPrev, innerNext });
+		}
+
+		links.forEach(link -> mesh.link(link[0], link[1]));
+
+		// Creation de la face
+		HFace newFace = elementFactory.createFace(h[0], Status.INTERIOR, false);
+		faceIndices.set(newFace, faceIndex);
+		mesh.addFace(newFace);
+
+		// Mise a jour des faces de bord
+		if (!relinked && !newBoundaryEdges.isEmpty()
+				&& numContacts == touchedBoundaries.size()) {
+
+			updateBoundary(newBoundaryEdges, touchedBoundaries);
+		}
+
+		else {
+			updateBoundaries(newFace, newBoundaryEdges, v, touchedBoundaries);
+		}
+
+		return newFace;
+	}
+
+	/**
+	 * @param v les sommets de la face a ajouter ({@code null} pour les sommets
+	 *          a creer)
+	 * @return vrai si la face doit etre lue a l'envers
+	 */
+	private boolean reversedFaces(HVertex[] v) {
+		int numVertices = v.length;
+
+		for (int i = 0; i < numVertices; i++) {
+			int ii = i + 1 < numVertices ? i + 1 : 0;
+
+			if (v[i] != null && v[ii] != null) {
+				HEdge e = edge(v[i], v[ii]);
+
+				// La premiere arete partagee fixe l'orientation des faces
+				// ajoutees dans la suite
+				if (e != null && !isBoundary(e) && isBoundary(e.opposite())) {
+					reversedFaces = true;
+					orientationKnown = true;
+					return true;
+				}
+
+				if (e != null && isBoundary(e)) {
+					reversedFaces = false;
+					orientationKnown = true;
+					return false;
+				}
+			}
+		}
+
+		// Sans arete partagee, l'orientation connue s'applique. Sinon choix
+		// arbitraire
+		return orientationKnown && reversedFaces;
+	}
+
+	/**
+	 * Nombre de contacts entre la face a ajouter et les bords existants. Un
+	 * contact est une suite de sommets existants relies par des aretes
+	 * existantes
+	 *
+	 * @param v
+	 * @param isNew
+	 * @return
+	 */
+	private static int numContacts(HVertex[] v, boolean[] isNew) {
+		int numVertices = v.length;
+		int numContacts = 0;
+		boolean anyVertex = false;
+
+		for (int i = 0; i < numVertices; i++) {
+			int ii = i + 1 < numVertices ? i + 1 : 0;
+
+			if (v[ii] != null) {
+				anyVertex = true;
+
+				if (isNew[i]) {
+					numContacts++;
+				}
+			}
+		}
+
+		// Face entierement bordee d'aretes existantes : un contact circulaire
+		return numContacts == 0 && anyVertex ? 1 : numContacts;
+	}
+
+	/**
+	 * Cas courant : chaque bord touche l'est par un seul contact. Les bords
+	 * touches et la nouvelle face ne forment plus qu'un seul bord
+	 *
+	 * @param newBoundaryEdges
+	 * @param touchedBoundaries
+	 */
+	private void updateBoundary(List<HEdge> newBoundaryEdges,
+			List<HFace> touchedBoundaries) {
+
+		HEdge first = newBoundaryEdges.get(0);
+
+		if (touchedBoundaries.isEmpty()) {
+			HFace boundary = elementFactory.createFace(first, Status.BOUNDARY,
+					false);
+
+			faceIndices.set(boundary, -1);
+			mesh.addFace(boundary);
+			return;
+		}
+
+		HFace boundary = touchedBoundaries.get(0);
+		HFaceImpl.setEdge(boundary, first);
+
+		// Fusion de plusieurs bords : parcours du bord resultant
+		if (touchedBoundaries.size() > 1) {
+			Loops.forEach(first, HEdge::next,
+					e -> HEdgeImpl.setFace(e, boundary));
+
+			for (int iFace = 1; iFace < touchedBoundaries.size(); iFace++) {
+				HElementImpl.discard(touchedBoundaries.get(iFace));
+			}
+		}
+
+		else {
+			newBoundaryEdges.forEach(e -> HEdgeImpl.setFace(e, boundary));
+		}
+	}
+
+	/**
+	 * Cas general : les bords touches peuvent etre scindes et fusionnes. Les
+	 * cycles de bord passant par les sommets de la face sont parcourus et
+	 * associes aux faces de bord touchees puis a de nouvelles faces de bord
+	 *
+	 * @param newFace           la face ajoutee ou {@code null}
+	 * @param newBoundaryEdges
+	 * @param v                 les sommets de la face
+	 * @param touchedBoundaries
+	 */
+	private void updateBoundaries(HFace newFace, List<HEdge> newBoundaryEdges,
+			HVertex[] v, List<HFace> touchedBoundaries) {
+
+		List<HEdge> starts = new ArrayList<>(newBoundaryEdges);
+
+		for (HVertex vertex : v) {
+			if (vertex != null) {
+				Loops.forEach(vertex.edge(), HVertexImpl.NEXT_INCOMING_EDGE,
+						starts::add);
+			}
+		}
+
+		Set<HEdge> visited = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+
+		List<HFace> reusedBoundaries = new ArrayList<>();
+
+		for (HEdge start : starts) {
+			HFace face = start.face();
+
+			if (visited.contains(start) || face == newFace
+					|| face != null && !touchedBoundaries.contains(face)) {
+
+				continue;
+			}
+
+			Loops.forEach(start, HEdge::next, visited::add);
+
+			HFace boundary = touchedBoundaries.stream()
+					.filter(f -> !reusedBoundaries.contains(f)).findFirst()
+					.orElse(null);
+
+			if (boundary != null) {
+				reusedBoundaries.add(boundary);
+				HFaceImpl.setEdge(boundary, start);
+				Loops.forEach(start, HEdge::next,
+						e -> HEdgeImpl.setFace(e, boundary));
+			}
+
+			else {
+				HFace newBoundary = elementFactory.createFace(start,
+						Status.BOUNDARY, false);
+
+				faceIndices.set(newBoundary, -1);
+				mesh.addFace(newBoundary);
+			}
+		}
+
+		touchedBoundaries.stream().filter(f -> !reusedBoundaries.contains(f))
+				.forEach(HElementImpl::discard);
+	}
+
+	/**
+	 * Deplacement de la portion de bord situee entre 2 demi-aretes de bord
+	 * autour de leur sommet commun vers un autre intervalle libre de ce sommet
+	 *
+	 * @param innerPrev
+	 * @param innerNext
+	 * @param touchedBoundaries
+	 * @return
+	 */
+	private boolean relinkPatch(HEdge innerPrev, HEdge innerNext,
+			List<HFace> touchedBoundaries) {
+
+		HEdge outerPrev = innerNext.opposite();
+		HEdge boundaryPrev = outerPrev;
+
+		// Recherche d'un autre intervalle libre autour du sommet
+		do {
+			boundaryPrev = boundaryPrev.next().opposite();
+
+			if (boundaryPrev == outerPrev) {
+				return false;
+			}
+		} while (!isBoundary(boundaryPrev) || boundaryPrev == innerPrev);
+
+		HEdge patchEnd = mesh.previous(innerNext);
+
+		if (boundaryPrev == patchEnd) {
+			return false;
+		}
+
+		HEdge boundaryNext = boundaryPrev.next();
+		HEdge patchStart = innerPrev.next();
+		addIfAbsent(touchedBoundaries, boundaryPrev.face());
+
+		mesh.link(boundaryPrev, patchStart);
+		mesh.link(patchEnd, boundaryNext);
+		mesh.link(innerPrev, innerNext);
+		return true;
+	}
+
+	/**
+	 * @param tail
+	 * @param head
+	 * @return la demi-arete allant de tail a head ou {@code null}
+	 */
+	private static HEdge edge(HVertex tail, HVertex head) {
+		return Loops.findFirst(head.edge(), HVertexImpl.NEXT_INCOMING_EDGE,
+				e -> e.opposite().head() == tail).orElse(null);
+	}
+
+	/**
+	 * Trace d'une face rejetee. Les rejets font l'objet d'une seule trace
+	 * d'avertissement a la fin de l'ajout
+	 *
+	 * @param reason
+	 * @return {@code null}
+	 */
+	private HFace reject(String reason) {
+		LOGGER.fine(reason);
+		numRejectedFaces++;
+		return null;
+	}
+
+	/**
+	 * @param vertex
+	 * @return une demi-arete de bord pointant vers le sommet ou {@code null}
+	 */
+	private static HEdge boundaryIncomingEdge(HVertex vertex) {
+		return Loops.findFirst(vertex.edge(), HVertexImpl.NEXT_INCOMING_EDGE,
+				HMeshFaceAppender::isBoundary).orElse(null);
+	}
+
+	/**
+	 * @param e
+	 * @return
+	 */
+	private static boolean isBoundary(HEdge e) {
+		return e.face() != null && e.face().status() == Status.BOUNDARY;
+	}
+
+	/**
+	 * @param index
+	 * @return le sommet d'index donne ou {@code null}
+	 */
+	private HVertex vertex(int index) {
+		HVertex v = index < vertices.length ? vertices[index]
+				: appendedVertices.get(index);
+
+		return v == null || v.isDiscarded() ? null : v;
+	}
+
+	/**
+	 * @param index
+	 * @param vertex
+	 */
+	private void vertex(int index, HVertex vertex) {
+		if (index < vertices.length) {
+			vertices[index] = vertex;
+		}
+
+		else {
+			appendedVertices.put(index, vertex);
+		}
+	}
+
+	/**
+	 * @param faces
+	 * @param face
+	 */
+	private static void addIfAbsent(List<HFace> faces, HFace face) {
+		if (!faces.contains(face)) {
+			faces.add(face);
+		}
+	}
+
+	/**
+	 * @param array
+	 */
+	private static void reverse(int[] array) {
+		for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+			int tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+
+	/**
+	 * @param array
+	 */
+	private static <T> void reverse(T[] array) {
+		for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+			T tmp = array[i];
+			array[i] = array[j];
+			array[j] = tmp;
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package hgeom.hmesh.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
@@ -8,6 +10,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -47,6 +50,25 @@ class HMeshImpl implements HMesh {
 	 */
 	private int modCount;
 
+	/**
+	 * Marques de visite liberees par le dernier parcours termine. Reprises par
+	 * le parcours suivant
+	 */
+	private final AtomicReference<HMeshVisitMarks> freeVisitMarks = new AtomicReference<>();
+
+	/**
+	 * Dernier instantane d'adjacence construit. Reconstruit si le maillage a
+	 * ete modifie depuis
+	 */
+	private volatile HMeshAdjacency adjacency;
+
+	/**
+	 * Demi-arete precedente de chaque demi-arete, tenue a jour par les
+	 * chainages. {@code null} si les liens vers les precedentes ne sont pas
+	 * actives
+	 */
+	private HDataImpl<HEdge, HEdge> previousEdges;
+
 	/**
 	 * @param faces
 	 * @param elementFactory
@@ -162,6 +184,132 @@ class HMeshImpl implements HMesh {
 		faces.removeIf(HFace::isDiscarded);
 	}
 
+	@Override
+	public HEdge previous(HEdge edge) {
+		if (previousEdges == null) {
+			return edge.previous();
+		}
+
+		return previousEdges.get(edge);
+	}
+
+	@Override
+	public void linkEdgesToPrevious(boolean link) {
+		if (!link) {
+			previousEdges = null;
+			return;
+		}
+
+		if (previousEdges != null || elementFactory.linksEdgesToPrevious()) {
+			return;
+		}
+
+		// Chaque demi-arete est la suivante d'une seule autre : ecritures
+		// paralleles sur des cases distinctes
+		HDataImpl<HEdge, HEdge> previous = elementFactory.createEdgeData(this);
+		HFaceImpl[] meshFaces = faces().toArray(HFaceImpl[]::new);
+		previous.reserve(elementFactory.edgeCount());
+
+		Arrays.stream(meshFaces).parallel().forEach(face -> {
+			HEdgeImpl edge = face.edge;
+
+			do {
+				previous.set(edge.next, edge);
+				edge = edge.next;
+			} while (edge != face.edge);
+		});
+
+		previousEdges = previous;
+	}
+
+	@Override
+	public boolean areEdgesLinkedToPrevious() {
+		return previousEdges != null || elementFactory.linksEdgesToPrevious();
+	}
+
+	/**
+	 * Chaine deux demi-aretes et tient a jour le lien vers la precedente
+	 *
+	 * @param edge
+	 * @param next
+	 */
+	void link(HEdge edge, HEdge next) {
+		HEdgeImpl.link(edge, next);
+
+		if (previousEdges != null) {
+			previousEdges.set(next, edge);
+		}
+	}
+
+	@Override
+	public void reorder() {
+		renumber(HMeshReordering.reverseCuthillMcKee(this));
+	}
+
+	/**
+	 * Renumerote les elements : les sommets dans l'ordre donne, puis les faces
+	 * dans l'ordre ou elles sont rencontrees autour des sommets, puis les
+	 * demi-aretes face par face. La liste des faces est reconstruite dans le
+	 * nouvel ordre, sans les faces supprimees. Les valeurs de toutes les
+	 * couches de donnees suivent leurs elements
+	 *
+	 * @param vertexOrder tous les sommets du maillage
+	 */
+	void renumber(HVertex[] vertexOrder) {
+		modCount++;
+
+		int[] vertexIds = new int[elementFactory.vertexCount()];
+		int[] edgeIds = new int[elementFactory.edgeCount()];
+		int[] faceIds = new int[elementFactory.faceCount()];
+
+		Arrays.fill(vertexIds, -1);
+		Arrays.fill(edgeIds, -1);
+		Arrays.fill(faceIds, -1);
+
+		List<HFace> faceOrder = new ArrayList<>(faces.size());
+		int numEdges = 0;
+
+		// Les identifiants des faces servent de marques jusqu'a la fin du
+		// parcours : leur renumerotation est differee
+		for (int i = 0; i < vertexOrder.length; i++) {
+			HVertexImpl vertex = (HVertexImpl) vertexOrder[i];
+			vertexIds[vertex.id()] = i;
+			HElementImpl.renumber(vertex, i);
+
+			HEdgeImpl incoming = vertex.edge;
+
+			do {
+				HFaceImpl face = incoming.face;
+
+				if (faceIds[face.id()] == -1) {
+					faceIds[face.id()] = faceOrder.size();
+					faceOrder.add(face);
+
+					HEdgeImpl edge = face.edge;
+
+					do {
+						edgeIds[edge.id()] = numEdges;
+						HElementImpl.renumber(edge, numEdges++);
+						edge = edge.next;
+					} while (edge != face.edge);
+				}
+
+				incoming = incoming.next.opposite;
+			} while (incoming != vertex.edge);
+		}
+
+		for (int i = 0; i < faceOrder.size(); i++) {
+			HElementImpl.renumber(faceOrder.get(i), i);
+		}
+
+		elementFactory.renumberVertices(vertexIds, vertexOrder.length);
+		elementFactory.renumberEdges(edgeIds, numEdges);
+		elementFactory.renumberFaces(faceIds, faceOrder.size());
+
+		faces.clear();
+		faces.addAll(faceOrder);
+	}
+
 	/**
 	 * @return
 	 */
@@ -169,6 +317,50 @@ class HMeshImpl implements HMesh {
 		return modCount;
 	}
 
+	/**
+	 * Fournit des marques de visite vierges, reprises d'un parcours termine si
+	 * possible
+	 *
+	 * @return
+	 */
+	HMeshVisitMarks acquireVisitMarks() {
+		HMeshVisitMarks marks = freeVisitMarks.getAndSet(null);
+
+		if (marks == null) {
+			marks = new HMeshVisitMarks();
+		}
+
+		marks.reset();
+		return marks;
+	}
+
+	/**
+	 * Rend des marques de visite a la fin d'un parcours
+	 *
+	 * @param marks
+	 */
+	void releaseVisitMarks(HMeshVisitMarks marks) {
+		freeVisitMarks.set(marks);
+	}
+
+	/**
+	 * @return
+	 */
+	HElementFactory elementFactory() {
+		return elementFactory;
+	}
+
+	/**
+	 * Ajout d'une face creee en dehors des operations d'edition (ajout
+	 * incremental de faces)
+	 *
+	 * @param face
+	 */
+	void addFace(HFace face) {
+		modCount++;
+		faces.add(face);
+	}
+
 	@Override
 	public <D> HData<HVertex, D> createVertexData() {
 		return elementFactory.createVertexData(this);
@@ -229,6 +421,21 @@ class HMeshImpl implements HMesh {
 		return elementFactory.createFaceDoubleData(this);
 	}
 
+	/**
+	 * @return le dernier instantane d'adjacence, reconstruit si le maillage a
+	 *         ete modifie depuis
+	 */
+	HMeshAdjacency adjacency() {
+		HMeshAdjacency current = adjacency;
+
+		if (current == null || !current.isUpToDate()) {
+			current = new HMeshAdjacency(this);
+			adjacency = current;
+		}
+
+		return current;
+	}
+
 	@Override
 	public Optional<HFace> splitFace(HFace face, HVertex vertex1,
 			HVertex vertex2) {
@@ -265,10 +472,10 @@ class HMeshImpl implements HMesh {
 		HEdgeImpl.linkAsOpposites(edgeToV1, edgeToV2);
 
 		// Connexions le long du decoupage
-		HEdgeImpl.link(edge1, edgeToV2);
-		HEdgeImpl.link(edgeToV2, edge2Next);
-		HEdgeImpl.link(edge2, edgeToV1);
-		HEdgeImpl.link(edgeToV1, edge1Next);
+		link(edge1, edgeToV2);
+		link(edgeToV2, edge2Next);
+		link(edge2, edgeToV1);
+		link(edgeToV1, edge1Next);
 
 		// A quelles faces appartiennent les 2 demi-aretes de la coupure ?
 		HFace newFace;
@@ -360,7 +567,7 @@ class HMeshImpl implements HMesh {
 		HVertex borderExtremity2 = border1LastEdge.head();
 
 		HEdge border2NextEdge = border2LastEdge.next();
-		HEdge border2PreviousEdge = border2FirstEdge.previous();
+		HEdge border2PreviousEdge = previous(border2FirstEdge);
 
 		// Declassement des elements strictement a l'interieur du bord commun
 		HEdge border1Edge = border1FirstEdge;
@@ -383,8 +590,8 @@ class HMeshImpl implements HMesh {
 		} while (border1Edge != border1NextEdge);
 
 		// Suture de la 2eme face dans la premiere face
-		HEdgeImpl.link(border1PreviousEdge, border2NextEdge);
-		HEdgeImpl.link(border2PreviousEdge, border1NextEdge);
+		link(border1PreviousEdge, border2NextEdge);
+		link(border2PreviousEdge, border1NextEdge);
 
 		// Mise a jour des aretes de reference des 2 sommets situes aux
 		// extremites du bord commun. Les aretes de references peuvent en effet
@@ -431,10 +638,10 @@ class HMeshImpl implements HMesh {
 		HEdgeImpl.setVertex(edgeOpposite, newVertex);
 		HEdgeImpl.setVertex(newEdge, head);
 		HEdgeImpl.setVertex(newEdgeOpposite, tail);
-		HEdgeImpl.link(edge, newEdge);
-		HEdgeImpl.link(newEdge, edgeNext);
-		HEdgeImpl.link(edgeOpposite, newEdgeOpposite);
-		HEdgeImpl.link(newEdgeOpposite, edgeOppositeNext);
+		link(edge, newEdge);
+		link(newEdge, edgeNext);
+		link(edgeOpposite, newEdgeOpposite);
+		link(newEdgeOpposite, edgeOppositeNext);
 		HEdgeImpl.linkAsOpposites(newEdge, edgeOpposite);
 		HEdgeImpl.linkAsOpposites(edge, newEdgeOpposite);
 		return newVertex;
@@ -475,8 +682,8 @@ class HMeshImpl implements HMesh {
 
 		HVertex head = edge.head();
 		HVertex tail = edgeOpposite.head();
-		HEdge edgeOppositePrevious = edgeOpposite.previous();
-		HEdge edgePrevious = edge.previous();
+		HEdge edgeOppositePrevious = previous(edgeOpposite);
+		HEdge edgePrevious = previous(edge);
 
 		// Iteration sur les aretes pointant vers le sommet a supprimer
 		// Les aretes doivent pointer sur le sommet restant
@@ -488,8 +695,8 @@ class HMeshImpl implements HMesh {
 		} while (e != edge);
 
 		// Decoupage de l'arete a supprimer et de son opposee
-		HEdgeImpl.link(edgePrevious, edgeNext);
-		HEdgeImpl.link(edgeOppositePrevious, edgeOppositeNext);
+		link(edgePrevious, edgeNext);
+		link(edgeOppositePrevious, edgeOppositeNext);
 
 		// Suppression reference a la demi-arete qui va etre supprimee
 		if (tail.edge() == edgeOpposite) {
@@ -530,7 +737,7 @@ class HMeshImpl implements HMesh {
 		HVertex v2 = edge2Next.head();
 
 		// Operation de suture :
-		HEdgeImpl.link(edge1, edge1NextNext);
+		link(edge1, edge1NextNext);
 		HEdgeImpl.setVertex(edge1, v1);
 
 		// Suppression reference a la demi-arete qui va etre supprimee
@@ -542,7 +749,7 @@ class HMeshImpl implements HMesh {
 			HFaceImpl.setEdge(edge1Next.face(), edge1);
 		}
 
-		HEdgeImpl.link(edge2, edge2NextNext);
+		link(edge2, edge2NextNext);
 		HEdgeImpl.setVertex(edge2, v2);
 
 		if (v2.edge() == edge2Next) {
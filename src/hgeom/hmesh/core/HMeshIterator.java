@@ -53,9 +53,14 @@ abstract class HMeshIterator<E extends HElement>
 	private final int expectedModCount;
 
 	/**
-	 *
+	 * Marques reprises du maillage et rendues a la fin du parcours
+	 */
+	private final HMeshVisitMarks elementVisited;
+
+	/**
+	 * Epoque des marques de ce parcours
 	 */
-	private final HMeshElementFlags elementVisited;
+	private final int epoch;
 
 	/**
 	 *
@@ -80,12 +85,20 @@ abstract class HMeshIterator<E extends HElement>
 		this.mesh = Objects.requireNonNull(mesh);
 		this.seed = Objects.requireNonNull(seed);
 		expectedModCount = mesh.modCount();
-		elementVisited = new HMeshElementFlags(mesh);
+		elementVisited = mesh.acquireVisitMarks();
+		epoch = elementVisited.epoch();
 	}
 
 	@Override
 	public final boolean isVisited(E e) {
-		return elementVisited.get(e);
+
+		// Marques reprises par un autre parcours apres la fin de celui-ci
+		if (elementVisited.epoch() != epoch) {
+			throw new IllegalStateException(
+					"Walk over: visit marks reused by another walk");
+		}
+
+		return elementVisited.isMarked(e);
 	}
 
 	@Override
@@ -118,7 +131,7 @@ abstract class HMeshIterator<E extends HElement>
 		}
 
 		if (e != null) {
-			elementVisited.set(e);
+			elementVisited.mark(e);
 			numVisits++;
 		}
 
@@ -126,6 +139,7 @@ abstract class HMeshIterator<E extends HElement>
 
 		if (isIterationOver(e)) {
 			state = State.FINISHED;
+			mesh.releaseVisitMarks(elementVisited);
 		}
 
 		return e;
@@ -0,0 +1,228 @@
+package hgeom.hmesh.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import hgeom.hmesh.core.HMeshTreeWalker.BreadthFirstLayers;
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HElement;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.sequence.Sequence;
+
+/**
+ * Parcours en largeur parallele, niveau par niveau
+ * <p>
+ * Les elements d'un niveau (le front) sont repartis en blocs traites en
+ * parallele dans le pool fork/join commun. Un enfant est retenu par le seul
+ * bloc qui le marque le premier : les marques de visite sont un tableau
+ * atomique indice par identifiant. Ce bloc ecrit alors la profondeur et le
+ * parent de l'enfant dans les couches de donnees, dimensionnees au prealable
+ * afin que ces ecritures concurrentes portent sur des cases distinctes d'un
+ * meme tableau. Les blocs du niveau termine, leurs enfants forment le front
+ * suivant
+ *
+ * @author Pierre B.
+ * @param <E> type des elements parcourus
+ */
+final class HMeshLevelSynchronousWalk<E extends HElement> {
+
+	/**
+	 * Nombre d'elements d'un bloc du front. En-dessous, le front est traite
+	 * sequentiellement
+	 */
+	private static final int CHUNK_SIZE = 1024;
+
+	/**
+	 *
+	 */
+	private final Function<E, Sequence<E>> childrenSupplier;
+
+	/**
+	 *
+	 */
+	private final int maxDepth;
+
+	/**
+	 * Marques de visite indicees par identifiant : 1 si visite
+	 */
+	private final AtomicIntegerArray visited;
+
+	/**
+	 *
+	 */
+	private final HIDataImpl<E> depths;
+
+	/**
+	 *
+	 */
+	private final HDataImpl<E, E> parents;
+
+	/**
+	 * @param mesh
+	 * @param root
+	 * @param childrenSupplier
+	 * @param maxDepth
+	 */
+	private HMeshLevelSynchronousWalk(HMeshImpl mesh, E root,
+			Function<E, Sequence<E>> childrenSupplier, int maxDepth) {
+
+		this.childrenSupplier = Objects.requireNonNull(childrenSupplier);
+		this.maxDepth = maxDepth;
+
+		HElementFactory factory = mesh.elementFactory();
+		int idUpperBound;
+
+		if (root instanceof HVertex) {
+			idUpperBound = factory.vertexCount();
+			depths = cast(factory.createVertexIntData(mesh));
+			parents = cast(factory.createVertexData(mesh));
+		}
+
+		else if (root instanceof HEdge) {
+			idUpperBound = factory.edgeCount();
+			depths = cast(factory.createEdgeIntData(mesh));
+			parents = cast(factory.createEdgeData(mesh));
+		}
+
+		else {
+			idUpperBound = factory.faceCount();
+			depths = cast(factory.createFaceIntData(mesh));
+			parents = cast(factory.createFaceData(mesh));
+		}
+
+		visited = new AtomicIntegerArray(idUpperBound);
+		depths.fill(-1, idUpperBound);
+		parents.reserve(idUpperBound);
+	}
+
+	/**
+	 * Parcourt le maillage a partir de la racine
+	 *
+	 * @param mesh
+	 * @param root
+	 * @param childrenSupplier
+	 * @param maxDepth         profondeur maximale ou -1 si aucune
+	 * @return les couches de profondeur et de parent
+	 */
+	static <E extends HElement> BreadthFirstLayers<E> walk(HMeshImpl mesh,
+			E root, Function<E, Sequence<E>> childrenSupplier, int maxDepth) {
+
+		HElementImpl.requireValid(root, HElementImpl.class);
+
+		return new HMeshLevelSynchronousWalk<>(mesh, root, childrenSupplier,
+				maxDepth).walk(root);
+	}
+
+	/**
+	 * @param root
+	 * @return
+	 */
+	private BreadthFirstLayers<E> walk(E root) {
+		visited.set(((HElementImpl) root).id(), 1);
+		depths.set(root, 0);
+
+		List<E> frontier = new ArrayList<>();
+		frontier.add(root);
+
+		int depth = 0;
+		int count = 1;
+
+		while (maxDepth == -1 || depth < maxDepth) {
+			frontier = expand(frontier, depth);
+
+			if (frontier.isEmpty()) {
+				break;
+			}
+
+			depth++;
+			count += frontier.size();
+		}
+
+		return new BreadthFirstLayers<>(depths, parents, depth, count);
+	}
+
+	/**
+	 * Calcule le front suivant
+	 *
+	 * @param frontier
+	 * @param depth    profondeur des elements du front
+	 * @return
+	 */
+	private List<E> expand(List<E> frontier, int depth) {
+		int numChunks = (frontier.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+		if (numChunks == 1) {
+			return expand(frontier, 0, frontier.size(), depth);
+		}
+
+		// Chaque bloc remplit sa propre liste : aucune synchronisation autre
+		// que les marques de visite. Les listes restent dans l'ordre des blocs
+		List<List<E>> children = IntStream.range(0, numChunks).parallel()
+				.mapToObj(chunk -> {
+					int from = chunk * CHUNK_SIZE;
+					int to = Math.min(from + CHUNK_SIZE, frontier.size());
+					return expand(frontier, from, to, depth);
+				}).collect(Collectors.toList());
+
+		int size = 0;
+
+		for (List<E> list : children) {
+			size += list.size();
+		}
+
+		List<E> next = new ArrayList<>(size);
+
+		for (List<E> list : children) {
+			next.addAll(list);
+		}
+
+		return next;
+	}
+
+	/**
+	 * Calcule les enfants non visites d'un bloc du front
+	 *
+	 * @param frontier
+	 * @param from
+	 * @param to
+	 * @param depth
+	 * @return
+	 */
+	private List<E> expand(List<E> frontier, int from, int to, int depth) {
+		List<E> children = new ArrayList<>();
+
+		for (int i = from; i < to; i++) {
+			E parent = frontier.get(i);
+
+			childrenSupplier.apply(parent).forEach(child -> {
+				int id = ((HElementImpl) child).id();
+
+				if (visited.compareAndSet(id, 0, 1)) {
+					depths.set(child, depth + 1);
+					parents.set(child, parent);
+					children.add(child);
+				}
+			});
+		}
+
+		return children;
+	}
+
+	/**
+	 * Les couches creees par la fabrique sont typees par la sorte d'element
+	 * de la racine, qui est aussi celle de E
+	 *
+	 * @param data
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T cast(Object data) {
+		return (T) data;
+	}
+}
@@ -0,0 +1,293 @@
+package hgeom.hmesh.core;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.elements.SpaceFillingCurve;
+
+/**
+ * Ordres de renumerotation des sommets d'un maillage
+ * <p>
+ * Les sommets sont ordonnes soit par Cuthill-McKee inverse sur le graphe des
+ * sommets, soit le long d'une courbe remplissant l'espace. Dans le second
+ * cas, les coordonnees sont quantifiees sur une grille reguliere englobant
+ * les sommets, puis chaque sommet recoit la position de sa cellule le long de
+ * la courbe. Les faces et les demi-aretes sont ensuite ordonnees a partir des
+ * sommets par {@link HMeshImpl#renumber(HVertex[])}
+ *
+ * @author Pierre B.
+ */
+final class HMeshReordering {
+
+	/**
+	 *
+	 */
+	private HMeshReordering() {
+	}
+
+	/**
+	 * @param mesh
+	 * @return les sommets par ordre de Cuthill-McKee inverse
+	 */
+	static HVertex[] reverseCuthillMcKee(HMeshImpl mesh) {
+		HMeshAdjacency adjacency = HMeshAdjacency.of(mesh);
+		int n = adjacency.numVertices();
+		int[] starts = new int[n + 1];
+
+		for (int v = 0; v < n; v++) {
+			starts[v + 1] = starts[v] + adjacency.numVertexNeighbors(v);
+		}
+
+		int[] cols = new int[starts[n]];
+
+		for (int v = 0; v < n; v++) {
+			for (int k = 0; k < adjacency.numVertexNeighbors(v); k++) {
+				cols[starts[v] + k] = adjacency.vertexNeighbor(v, k);
+			}
+		}
+
+		int[] order = reverseCuthillMcKee(n, starts, cols);
+		HVertex[] vertices = new HVertex[n];
+
+		for (int i = 0; i < n; i++) {
+			vertices[i] = adjacency.vertex(order[i]);
+		}
+
+		return vertices;
+	}
+
+	/**
+	 * Renumerotation de Cuthill-McKee inverse d'un graphe au format CSR.
+	 * Chaque composante connexe est parcourue en largeur a partir d'un sommet
+	 * de degre minimal, les voisins etant visites par degres croissants
+	 *
+	 * @param n      nombre de sommets
+	 * @param starts debut des voisins de chaque sommet dans cols
+	 * @param cols   voisins des sommets
+	 * @return l'ancien indice de chaque sommet renumerote
+	 */
+	private static int[] reverseCuthillMcKee(int n, int[] starts,
+			int[] cols) {
+
+		int[] degrees = new int[n];
+		int maxDegree = 0;
+
+		for (int i = 0; i < n; i++) {
+			degrees[i] = starts[i + 1] - starts[i];
+			maxDegree = Math.max(maxDegree, degrees[i]);
+		}
+
+		// Lignes par degres croissants : racines candidates. Tri par
+		// denombrement, stable
+		int[] degreeStarts = new int[maxDegree + 2];
+
+		for (int i = 0; i < n; i++) {
+			degreeStarts[degrees[i] + 1]++;
+		}
+
+		for (int d = 0; d <= maxDegree; d++) {
+			degreeStarts[d + 1] += degreeStarts[d];
+		}
+
+		int[] byDegree = new int[n];
+
+		for (int i = 0; i < n; i++) {
+			byDegree[degreeStarts[degrees[i]]++] = i;
+		}
+
+		int[] order = new int[n];
+		boolean[] visited = new boolean[n];
+		int[] neighbors = new int[0];
+		int size = 0;
+
+		for (int root : byDegree) {
+			if (visited[root]) {
+				continue;
+			}
+
+			visited[root] = true;
+			order[size++] = root;
+
+			for (int head = size - 1; head < size; head++) {
+				int row = order[head];
+				int count = 0;
+
+				if (neighbors.length < starts[row + 1] - starts[row]) {
+					neighbors = new int[starts[row + 1] - starts[row]];
+				}
+
+				for (int k = starts[row]; k < starts[row + 1]; k++) {
+					int col = cols[k];
+
+					if (!visited[col]) {
+						visited[col] = true;
+						neighbors[count++] = col;
+					}
+				}
+
+				// Tri par insertion : quelques voisins seulement
+				for (int a = 1; a < count; a++) {
+					int col = neighbors[a];
+					int b = a - 1;
+
+					while (b >= 0 && degrees[neighbors[b]] > degrees[col]) {
+						neighbors[b + 1] = neighbors[b];
+						b--;
+					}
+
+					neighbors[b + 1] = col;
+				}
+
+				System.arraycopy(neighbors, 0, order, size, count);
+				size += count;
+			}
+		}
+
+		for (int i = 0, j = n - 1; i < j; i++, j--) {
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+		}
+
+		return order;
+	}
+
+	/**
+	 * @param mesh
+	 * @param curve
+	 * @param coords une couche par coordonnee (2 ou 3)
+	 * @return les sommets ordonnes le long de la courbe
+	 */
+	@SafeVarargs
+	static HVertex[] alongCurve(HMeshImpl mesh, SpaceFillingCurve curve,
+			HDData<HVertex>... coords) {
+
+		HVertex[] vertices = mesh.vertices().toArray(HVertex[]::new);
+		int n = vertices.length;
+		int dim = coords.length;
+
+		// Bits par coordonnee quantifiee : la position le long de la courbe
+		// tient dans un long
+		int bits = dim == 2 ? 31 : 21;
+
+		// Boite englobante
+		double[] min = new double[dim];
+		double[] scale = new double[dim];
+
+		for (int d = 0; d < dim; d++) {
+			HDData<HVertex> layer = coords[d];
+
+			double lo = Arrays.stream(vertices).mapToDouble(layer::get).min()
+					.orElse(0);
+
+			double hi = Arrays.stream(vertices).mapToDouble(layer::get).max()
+					.orElse(0);
+
+			min[d] = lo;
+			scale[d] = hi > lo ? ((1L << bits) - 1) / (hi - lo) : 0;
+		}
+
+		long[] keys = new long[n];
+
+		IntStream.range(0, n).parallel().forEach(i -> {
+			int[] cell = new int[dim];
+
+			for (int d = 0; d < dim; d++) {
+				cell[d] = (int) ((coords[d].get(vertices[i]) - min[d])
+						* scale[d]);
+			}
+
+			if (curve == SpaceFillingCurve.HILBERT) {
+				toHilbertTranspose(cell, bits);
+			}
+
+			keys[i] = interleave(cell, bits);
+		});
+
+		Integer[] order = new Integer[n];
+
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+
+		Arrays.parallelSort(order, (i, j) -> Long.compare(keys[i], keys[j]));
+
+		HVertex[] sorted = new HVertex[n];
+
+		for (int i = 0; i < n; i++) {
+			sorted[i] = vertices[order[i]];
+		}
+
+		return sorted;
+	}
+
+	/**
+	 * Entrelace les bits des coordonnees, du bit de poids fort au bit de
+	 * poids faible, la premiere coordonnee en tete
+	 *
+	 * @param cell
+	 * @param bits
+	 * @return
+	 */
+	private static long interleave(int[] cell, int bits) {
+		long key = 0;
+
+		for (int b = bits - 1; b >= 0; b--) {
+			for (int coord : cell) {
+				key = key << 1 | (coord >>> b) & 1;
+			}
+		}
+
+		return key;
+	}
+
+	/**
+	 * Transforme les coordonnees d'une cellule en la forme transposee de sa
+	 * position le long de la courbe de Hilbert : une fois entrelaces, leurs
+	 * bits donnent cette position (J. Skilling, Programming the Hilbert curve,
+	 * 2004)
+	 *
+	 * @param cell
+	 * @param bits
+	 */
+	private static void toHilbertTranspose(int[] cell, int bits) {
+		int dim = cell.length;
+		int m = 1 << bits - 1;
+
+		// Inversions et echanges des sous-cubes
+		for (int q = m; q > 1; q >>>= 1) {
+			int p = q - 1;
+
+			for (int d = 0; d < dim; d++) {
+				if ((cell[d] & q) != 0) {
+					cell[0] ^= p;
+				}
+
+				else {
+					int t = (cell[0] ^ cell[d]) & p;
+					cell[0] ^= t;
+					cell[d] ^= t;
+				}
+			}
+		}
+
+		// Codage de Gray
+		for (int d = 1; d < dim; d++) {
+			cell[d] ^= cell[d - 1];
+		}
+
+		int t = 0;
+
+		for (int q = m; q > 1; q >>>= 1) {
+			if ((cell[dim - 1] & q) != 0) {
+				t ^= q - 1;
+			}
+		}
+
+		for (int d = 0; d < dim; d++) {
+			cell[d] ^= t;
+		}
+	}
+}
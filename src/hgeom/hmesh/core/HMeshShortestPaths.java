@@ -0,0 +1,586 @@
+package hgeom.hmesh.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.data.HData;
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HElement;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HFace.Status;
+import hgeom.hmesh.elements.HMesh;
+import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * Shortest paths within a {@link HMesh half-edge data structure}, either
+ * between its vertices along its edges, or between its
+ * {@link Status#INTERIOR interior} faces across their shared edges (the dual
+ * graph of the mesh)
+ * <p>
+ * The length of an edge is either given by a data layer, or computed from the
+ * coordinates of a {@link HMesh2D} or a {@link HMesh3D}. In the latter case,
+ * moving from a face to a neighbor face costs the distance between their
+ * centroids. When given by a layer, the weight of a half-edge is the cost of
+ * moving from its tail to its head, or from its face to the face of its
+ * opposite
+ * <p>
+ * The searches are Dijkstra searches from one or several sources, or A*
+ * searches from a source to a target. Both write the distances and the
+ * predecessors of the reached elements into data layers:
+ *
+ * <pre>
+ * <code>
+ * {@code
+ *
+ * HMesh3D mesh = ...
+ * ShortestPaths<HVertex> paths = new HMeshShortestPaths(mesh).fromVertex(v);
+ *
+ * double d = paths.distance(w);
+ * List<HVertex> path = paths.path(w);
+ * }
+ * </code>
+ * </pre>
+ *
+ * The mesh must not be modified during a search
+ *
+ * @author Pierre B.
+ */
+public final class HMeshShortestPaths {
+
+	/**
+	 * Result of a shortest path search
+	 *
+	 * @param <E> type of the elements
+	 */
+	public static final class ShortestPaths<E> {
+
+		/**
+		 *
+		 */
+		private final HDData<E> distances;
+
+		/**
+		 *
+		 */
+		private final HData<E, E> predecessors;
+
+		/**
+		 *
+		 */
+		private final int numSettled;
+
+		/**
+		 * @param distances
+		 * @param predecessors
+		 * @param numSettled
+		 */
+		ShortestPaths(HDData<E> distances, HData<E, E> predecessors,
+				int numSettled) {
+
+			this.distances = distances;
+			this.predecessors = predecessors;
+			this.numSettled = numSettled;
+		}
+
+		/**
+		 * @return the distance from the closest source to each element.
+		 *         {@link Double#POSITIVE_INFINITY} for the elements which
+		 *         have not been reached. After a search towards a target, only
+		 *         the distances of the elements whose shortest path has been
+		 *         settled are exact; the others are upper bounds
+		 */
+		public HDData<E> distances() {
+			return distances;
+		}
+
+		/**
+		 * @return the predecessor of each reached element on its shortest
+		 *         path. {@code null} for the sources and for the elements
+		 *         which have not been reached
+		 */
+		public HData<E, E> predecessors() {
+			return predecessors;
+		}
+
+		/**
+		 * @param e an element
+		 * @return the distance from the closest source to the element or
+		 *         {@link Double#POSITIVE_INFINITY} if not reached
+		 */
+		public double distance(E e) {
+			return distances.get(e);
+		}
+
+		/**
+		 * @param target an element
+		 * @return the elements of the shortest path from the closest source to
+		 *         the target, both included. An empty list if the target has
+		 *         not been reached
+		 */
+		public List<E> path(E target) {
+			if (distances.get(target) == Double.POSITIVE_INFINITY) {
+				return Collections.emptyList();
+			}
+
+			List<E> path = new ArrayList<>();
+
+			for (E e = target; e != null; e = predecessors.get(e)) {
+				path.add(e);
+			}
+
+			Collections.reverse(path);
+			return path;
+		}
+
+		/**
+		 * @return the number of elements whose shortest path has been settled
+		 *         during the search
+		 */
+		public int numSettled() {
+			return numSettled;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private final HMeshImpl mesh;
+
+	/**
+	 * Poids des demi-aretes. {@code null} si longueurs calculees a partir des
+	 * coordonnees
+	 */
+	private final HDData<HEdge> weights;
+
+	/**
+	 * Coordonnees des sommets. {@code null} si poids des aretes donnes
+	 */
+	private final HDData<HVertex> xs;
+
+	/**
+	 *
+	 */
+	private final HDData<HVertex> ys;
+
+	/**
+	 * {@code null} pour un maillage 2D
+	 */
+	private final HDData<HVertex> zs;
+
+	/**
+	 * Constructs a shortest paths finder whose edge weights are given by the
+	 * specified data layer
+	 *
+	 * @param mesh    the mesh
+	 * @param weights the weight of each half-edge. The weights must not be
+	 *                negative
+	 */
+	public HMeshShortestPaths(HMesh mesh, HDData<HEdge> weights) {
+		this.mesh = (HMeshImpl) Objects.requireNonNull(mesh);
+		this.weights = Objects.requireNonNull(weights);
+		xs = ys = zs = null;
+	}
+
+	/**
+	 * Constructs a shortest paths finder whose edge weights are the lengths of
+	 * the edges of the specified 2D mesh
+	 *
+	 * @param mesh the mesh
+	 */
+	public HMeshShortestPaths(HMesh2D mesh) {
+		this.mesh = (HMeshImpl) Objects.requireNonNull(mesh);
+		weights = null;
+		xs = mesh.vertexXs();
+		ys = mesh.vertexYs();
+		zs = null;
+	}
+
+	/**
+	 * Constructs a shortest paths finder whose edge weights are the lengths of
+	 * the edges of the specified 3D mesh
+	 *
+	 * @param mesh the mesh
+	 */
+	public HMeshShortestPaths(HMesh3D mesh) {
+		this.mesh = (HMeshImpl) Objects.requireNonNull(mesh);
+		weights = null;
+		xs = mesh.vertexXs();
+		ys = mesh.vertexYs();
+		zs = mesh.vertexZs();
+	}
+
+	/**
+	 * Computes the shortest paths from the specified vertex to all the
+	 * vertices of the mesh
+	 *
+	 * @param source the source vertex
+	 * @return the distances and predecessors of the vertices
+	 * @throws IllegalArgumentException if a negative weight is met
+	 */
+	public ShortestPaths<HVertex> fromVertex(HVertex source) {
+		return fromVertices(Collections.singletonList(source));
+	}
+
+	/**
+	 * Computes the shortest paths from the closest of the specified vertices
+	 * to all the vertices of the mesh
+	 *
+	 * @param sources the source vertices
+	 * @return the distances and predecessors of the vertices
+	 * @throws IllegalArgumentException if a negative weight is met
+	 */
+	public ShortestPaths<HVertex> fromVertices(Collection<HVertex> sources) {
+		return search(sources, null, null, false);
+	}
+
+	/**
+	 * Computes a shortest path from a vertex to another with an A* search.
+	 * The heuristic is the euclidean distance to the target if the edge
+	 * weights are computed from the coordinates of the mesh; otherwise no
+	 * heuristic is used and the search is a Dijkstra search stopped at the
+	 * target
+	 *
+	 * @param source the source vertex
+	 * @param target the target vertex
+	 * @return the distances and predecessors of the vertices reached by the
+	 *         search
+	 * @throws IllegalArgumentException if a negative weight is met
+	 */
+	public ShortestPaths<HVertex> fromVertex(HVertex source, HVertex target) {
+		if (xs == null) {
+			return fromVertex(source, target, v -> 0);
+		}
+
+		double[] targetXYZ = position(target, new double[3]);
+		double[] xyz = new double[3];
+
+		return fromVertex(source, target,
+				v -> distance(position(v, xyz), targetXYZ));
+	}
+
+	/**
+	 * Computes a shortest path from a vertex to another with an A* search
+	 * guided by the specified heuristic
+	 *
+	 * @param source    the source vertex
+	 * @param target    the target vertex
+	 * @param heuristic an estimation of the distance from each vertex to the
+	 *                  target. Must not overestimate the actual distance
+	 * @return the distances and predecessors of the vertices reached by the
+	 *         search
+	 * @throws IllegalArgumentException if a negative weight is met
+	 */
+	public ShortestPaths<HVertex> fromVertex(HVertex source, HVertex target,
+			ToDoubleFunction<? super HVertex> heuristic) {
+
+		return search(Collections.singletonList(source),
+				Objects.requireNonNull(target), Objects.requireNonNull(heuristic),
+				false);
+	}
+
+	/**
+	 * Computes the shortest paths from the specified face to all the
+	 * {@link Status#INTERIOR interior} faces of the mesh
+	 *
+	 * @param source the source face
+	 * @return the distances and predecessors of the faces
+	 * @throws IllegalArgumentException if a negative weight is met
+	 */
+	public ShortestPaths<HFace> fromFace(HFace source) {
+		return fromFaces(Collections.singletonList(source));
+	}
+
+	/**
+	 * Computes the shortest paths from the closest of the specified faces to
+	 * all the {@link Status#INTERIOR interior} faces of the mesh
+	 *
+	 * @param sources the source faces
+	 * @return the distances and predecessors of the faces
+	 * @throws IllegalArgumentException if a negative weight is met
+	 */
+	public ShortestPaths<HFace> fromFaces(Collection<HFace> sources) {
+		return search(sources, null, null, true);
+	}
+
+	/**
+	 * Computes a shortest path from a face to another with an A* search. The
+	 * heuristic is the euclidean distance between the face centroids if the
+	 * edge weights are computed from the coordinates of the mesh; otherwise no
+	 * heuristic is used and the search is a Dijkstra search stopped at the
+	 * target
+	 *
+	 * @param source the source face
+	 * @param target the target face
+	 * @return the distances and predecessors of the faces reached by the
+	 *         search
+	 * @throws IllegalArgumentException if a negative weight is met
+	 */
+	public ShortestPaths<HFace> fromFace(HFace source, HFace target) {
+		if (xs == null) {
+			return fromFace(source, target, f -> 0);
+		}
+
+		double[] targetXYZ = centroid(HFaceImpl.requireValid(target),
+				new double[3], new double[3]);
+
+		double[] xyz = new double[3];
+		double[] tmp = new double[3];
+
+		return fromFace(source, target, f -> distance(
+				centroid((HFaceImpl) f, xyz, tmp), targetXYZ));
+	}
+
+	/**
+	 * Computes a shortest path from a face to another with an A* search guided
+	 * by the specified heuristic
+	 *
+	 * @param source    the source face
+	 * @param target    the target face
+	 * @param heuristic an estimation of the distance from each face to the
+	 *                  target. Must not overestimate the actual distance
+	 * @return the distances and predecessors of the faces reached by the
+	 *         search
+	 * @throws IllegalArgumentException if a negative weight is met
+	 */
+	public ShortestPaths<HFace> fromFace(HFace source, HFace target,
+			ToDoubleFunction<? super HFace> heuristic) {
+
+		return search(Collections.singletonList(source),
+				Objects.requireNonNull(target), Objects.requireNonNull(heuristic),
+				true);
+	}
+
+	/**
+	 * Recherche de Dijkstra, ou A* si une cible est donnee. Les cles du tas
+	 * sont les distances depuis les sources augmentees de l'heuristique. Un
+	 * element peut etre rouvert si sa distance diminue apres son retrait du
+	 * tas (heuristique admissible mais non monotone)
+	 *
+	 * @param sources
+	 * @param target    {@code null} si aucune
+	 * @param heuristic {@code null} si aucune cible
+	 * @param faces     true si parcours des faces, false si des sommets
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private <E extends HElement> ShortestPaths<E> search(
+			Collection<? extends E> sources, E target,
+			ToDoubleFunction<? super E> heuristic, boolean faces) {
+
+		HElementFactory factory = mesh.elementFactory();
+		int idUpperBound;
+		HDDataImpl<E> distances;
+		HDataImpl<E, E> predecessors;
+
+		if (faces) {
+			idUpperBound = factory.faceCount();
+			distances = (HDDataImpl<E>) (Object) factory
+					.createFaceDoubleData(mesh);
+			predecessors = (HDataImpl<E, E>) (Object) factory
+					.createFaceData(mesh);
+		}
+
+		else {
+			idUpperBound = factory.vertexCount();
+			distances = (HDDataImpl<E>) (Object) factory
+					.createVertexDoubleData(mesh);
+			predecessors = (HDataImpl<E, E>) (Object) factory
+					.createVertexData(mesh);
+		}
+
+		// Distances, predecesseurs et elements atteints, indices par
+		// identifiant. Recopies dans les couches a la fin de la recherche
+		double[] dists = new double[idUpperBound];
+		HElementImpl[] preds = new HElementImpl[idUpperBound];
+		HElementImpl[] elements = new HElementImpl[idUpperBound];
+		IndexedMinHeap heap = new IndexedMinHeap(idUpperBound);
+
+		Arrays.fill(dists, Double.POSITIVE_INFINITY);
+
+		for (E source : sources) {
+			HElementImpl e = HElementImpl.requireValid(source,
+					HElementImpl.class);
+
+			dists[e.id()] = 0;
+			elements[e.id()] = e;
+			heap.offer(e.id(),
+					heuristic == null ? 0 : heuristic.applyAsDouble(source));
+		}
+
+		int numSettled = 0;
+		double[] xyz = faces && xs != null ? new double[3] : null;
+		double[] tmp = faces && xs != null ? new double[3] : null;
+
+		while (!heap.isEmpty()) {
+			HElementImpl e = elements[heap.poll()];
+			numSettled++;
+
+			if (e == target) {
+				break;
+			}
+
+			double distance = dists[e.id()];
+
+			// Relaxation des voisins : sommets en tete des aretes sortantes ou
+			// faces interieures de l'autre cote des aretes du bord
+			HEdgeImpl first = faces ? ((HFaceImpl) e).edge
+					: ((HVertexImpl) e).edge.opposite;
+
+			HEdgeImpl edge = first;
+
+			if (xyz != null) {
+				centroid((HFaceImpl) e, xyz, tmp);
+			}
+
+			do {
+				HElementImpl neighbor;
+				double weight;
+
+				if (faces) {
+					HFaceImpl face = edge.opposite.face;
+					neighbor = face;
+
+					if (face.status() != Status.INTERIOR || face == e) {
+						neighbor = null;
+						weight = 0;
+					}
+
+					else if (xyz != null) {
+						weight = distance(centroid(face, tmp, tmp), xyz);
+					}
+
+					else {
+						weight = weights.get(edge);
+					}
+				}
+
+				else {
+					neighbor = edge.head;
+					weight = weights != null ? weights.get(edge)
+							: length(edge);
+				}
+
+				if (neighbor != null) {
+					if (weight < 0) {
+						throw new IllegalArgumentException(
+								"Negative weight " + weight + ": " + edge);
+					}
+
+					double neighborDistance = distance + weight;
+
+					int id = neighbor.id();
+
+					if (neighborDistance < dists[id]) {
+						dists[id] = neighborDistance;
+						preds[id] = e;
+						elements[id] = neighbor;
+
+						heap.offer(id, neighborDistance
+								+ (heuristic == null ? 0
+										: heuristic.applyAsDouble(
+												(E) neighbor)));
+					}
+				}
+
+				edge = faces ? edge.next : edge.opposite.next;
+			} while (edge != first);
+		}
+
+		distances.fill(Double.POSITIVE_INFINITY, idUpperBound);
+		predecessors.reserve(idUpperBound);
+
+		for (int id = 0; id < idUpperBound; id++) {
+			if (elements[id] != null) {
+				distances.set((E) elements[id], dists[id]);
+				predecessors.set((E) elements[id], (E) preds[id]);
+			}
+		}
+
+		return new ShortestPaths<>(distances, predecessors, numSettled);
+	}
+
+	/**
+	 * @param edge
+	 * @return la longueur de l'arete
+	 */
+	private double length(HEdgeImpl edge) {
+		HVertex head = edge.head;
+		HVertex tail = edge.opposite.head;
+
+		double d = square(xs.get(head) - xs.get(tail))
+				+ square(ys.get(head) - ys.get(tail));
+
+		if (zs != null) {
+			d += square(zs.get(head) - zs.get(tail));
+		}
+
+		return Math.sqrt(d);
+	}
+
+	/**
+	 * @param v
+	 * @param xyz
+	 * @return xyz rempli avec les coordonnees du sommet. z nul en 2D
+	 */
+	private double[] position(HVertex v, double[] xyz) {
+		xyz[0] = xs.get(v);
+		xyz[1] = ys.get(v);
+		xyz[2] = zs == null ? 0 : zs.get(v);
+		return xyz;
+	}
+
+	/**
+	 * @param face
+	 * @param xyz tableau recevant le centre
+	 * @param tmp tableau de travail, eventuellement xyz lui-meme
+	 * @return xyz rempli avec le centre de gravite des sommets de la face
+	 */
+	private double[] centroid(HFaceImpl face, double[] xyz, double[] tmp) {
+		double x = 0;
+		double y = 0;
+		double z = 0;
+		int count = 0;
+		HEdgeImpl first = face.edge;
+		HEdgeImpl e = first;
+
+		do {
+			position(e.head, tmp);
+			x += tmp[0];
+			y += tmp[1];
+			z += tmp[2];
+			count++;
+			e = e.next;
+		} while (e != first);
+
+		xyz[0] = x / count;
+		xyz[1] = y / count;
+		xyz[2] = z / count;
+		return xyz;
+	}
+
+	/**
+	 * @param xyz1
+	 * @param xyz2
+	 * @return
+	 */
+	private static double distance(double[] xyz1, double[] xyz2) {
+		return Math.sqrt(square(xyz1[0] - xyz2[0]) + square(xyz1[1] - xyz2[1])
+				+ square(xyz1[2] - xyz2[2]));
+	}
+
+	/**
+	 * @param d
+	 * @return
+	 */
+	private static double square(double d) {
+		return d * d;
+	}
+}
@@ -11,6 +11,8 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import hgeom.hmesh.core.HMeshWalker.Monitor;
+import hgeom.hmesh.data.HData;
+import hgeom.hmesh.data.HIData;
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HElement;
 import hgeom.hmesh.elements.HFace;
@@ -81,6 +83,83 @@ public final class HMeshTreeWalker {
 		void get(E parent, TreeMonitor<E> monitor, Collection<E> children);
 	}
 
+	/**
+	 * Result of a {@link HMeshTreeWalker#walkInParallel(HElement, Function)
+	 * parallel breadth-first walk}: the depth and the parent of each visited
+	 * element, stored in data layers of the walked mesh
+	 *
+	 * @param <E> type of the visited elements
+	 */
+	public static final class BreadthFirstLayers<E> {
+
+		/**
+		 *
+		 */
+		private final HIData<E> depths;
+
+		/**
+		 *
+		 */
+		private final HData<E, E> parents;
+
+		/**
+		 *
+		 */
+		private final int maxDepth;
+
+		/**
+		 *
+		 */
+		private final int numVisited;
+
+		/**
+		 * @param depths
+		 * @param parents
+		 * @param maxDepth
+		 * @param numVisited
+		 */
+		BreadthFirstLayers(HIData<E> depths, HData<E, E> parents, int maxDepth,
+				int numVisited) {
+
+			this.depths = depths;
+			this.parents = parents;
+			this.maxDepth = maxDepth;
+			this.numVisited = numVisited;
+		}
+
+		/**
+		 * @return the depth of each element: {@code 0} for the tree root,
+		 *         {@code 1} for its children, etc. {@code -1} for the elements
+		 *         which have not been visited
+		 */
+		public HIData<E> depths() {
+			return depths;
+		}
+
+		/**
+		 * @return the parent of each visited element in the tree.
+		 *         {@code null} for the tree root and for the elements which
+		 *         have not been visited
+		 */
+		public HData<E, E> parents() {
+			return parents;
+		}
+
+		/**
+		 * @return the depth of the deepest visited elements
+		 */
+		public int maxDepth() {
+			return maxDepth;
+		}
+
+		/**
+		 * @return the number of visited elements, including the tree root
+		 */
+		public int numVisited() {
+			return numVisited;
+		}
+	}
+
 	/**
 	 *
 	 */
@@ -240,6 +319,88 @@ public final class HMeshTreeWalker {
 				treeMaxDepth, treeRoot, childrenSupplier));
 	}
 
+	/**
+	 * Starts from the specified {@link HVertex vertex} and walks within the
+	 * underlying {@link HMesh} along a breadth-first tree made up of vertices,
+	 * using all the available cores. Children of a {@link HVertex vertex} in
+	 * the tree are its {@link HVertex#neighbors() neighbors} in the
+	 * {@link HMesh}
+	 *
+	 * @param treeRoot the root of the tree
+	 * @return the depth and parent of each vertex
+	 * @see #walkInParallel(HElement, Function)
+	 */
+	public BreadthFirstLayers<HVertex> walkInParallel(HVertex treeRoot) {
+		return walkInParallel(treeRoot, HVertex::neighbors);
+	}
+
+	/**
+	 * Starts from the specified {@link HEdge edge} and walks within the
+	 * underlying {@link HMesh} along a breadth-first tree made up of edges,
+	 * using all the available cores. Children of a {@link HEdge edge} in the
+	 * tree are the {@link HEdge#outgoingEdges() edges going out} of it in the
+	 * {@link HMesh}
+	 *
+	 * @param treeRoot the root of the tree
+	 * @return the depth and parent of each edge
+	 * @see #walkInParallel(HElement, Function)
+	 */
+	public BreadthFirstLayers<HEdge> walkInParallel(HEdge treeRoot) {
+		return walkInParallel(treeRoot, HEdge::outgoingEdges);
+	}
+
+	/**
+	 * Starts from the specified {@link HFace face} and walks within the
+	 * underlying {@link HMesh} along a breadth-first tree made up of faces,
+	 * using all the available cores. Children of a {@link HFace face} in the
+	 * tree are its {@link HFace#neighbors() neighbors} in the {@link HMesh}
+	 *
+	 * @param treeRoot the root of the tree
+	 * @return the depth and parent of each face
+	 * @see #walkInParallel(HElement, Function)
+	 */
+	public BreadthFirstLayers<HFace> walkInParallel(HFace treeRoot) {
+		return walkInParallel(treeRoot, HFace::neighbors);
+	}
+
+	/**
+	 * Starts from the specified element and walks through a breadth-first tree
+	 * whose nodes are elements of the underlying mesh, using all the available
+	 * cores
+	 * <p>
+	 * The tree is expanded one depth at a time: the elements of the current
+	 * depth are split into chunks whose children are collected in parallel.
+	 * Instead of a stream, the walk returns the depth and the parent of each
+	 * element as data layers of the mesh. The depths are the same as the ones
+	 * of a sequential {@link TreePathType#BREADTH_FIRST breadth-first} walk;
+	 * when an element is the child of several elements of the previous depth,
+	 * its parent is any of them
+	 * <p>
+	 * The children supplier is called concurrently and must not modify the
+	 * mesh. The mesh must not be modified during the walk
+	 *
+	 * @param treeRoot         the root of the tree
+	 * @param childrenSupplier a operator for supplying the children of each
+	 *                         node of the tree
+	 * @return the depth and parent of each element
+	 * @throws NullPointerException  if the root or the children operator is
+	 *                               {@code null}
+	 * @throws IllegalStateException if this walker does not walk along
+	 *                               {@link TreePathType#BREADTH_FIRST
+	 *                               breadth-first} paths
+	 */
+	public <E extends HElement> BreadthFirstLayers<E> walkInParallel(
+			E treeRoot, Function<E, Sequence<E>> childrenSupplier) {
+
+		if (pathType != TreePathType.BREADTH_FIRST) {
+			throw new IllegalStateException(
+					"Parallel walks are breadth-first only");
+		}
+
+		return HMeshLevelSynchronousWalk.walk((HMeshImpl) mesh, treeRoot,
+				childrenSupplier, treeMaxDepth);
+	}
+
 	/**
 	 * @param iterator
 	 * @return
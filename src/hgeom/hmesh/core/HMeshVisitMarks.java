@@ -0,0 +1,83 @@
+package hgeom.hmesh.core;
+
+import java.util.Arrays;
+
+import hgeom.hmesh.elements.HElement;
+
+/**
+ * Marques de visite des elements d'un maillage lors d'un parcours
+ * <p>
+ * Un element est marque en lui associant, par son identifiant, l'epoque
+ * courante. Demarrer un nouveau parcours revient a incrementer l'epoque :
+ * toutes les marques precedentes deviennent caduques en O(1). Les marques
+ * sont ainsi reutilisees d'un parcours a l'autre sans reallocation
+ * <p>
+ * Un parcours ne marque qu'un seul type d'elements (sommets, aretes ou
+ * faces) : un seul tableau d'epoques suffit. Les marques ne sont pas
+ * partagees entre threads
+ *
+ * @author Pierre B.
+ * @see HMeshImpl#acquireVisitMarks()
+ */
+final class HMeshVisitMarks {
+
+	/**
+	 * Taille initiale du tableau d'epoques
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * Epoque de marquage de chaque element, indicee par identifiant
+	 */
+	private int[] stamps = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Epoque du parcours courant. Jamais 0 : valeur des elements non marques
+	 */
+	private int epoch;
+
+	/**
+	 * Demarre un nouveau parcours : efface toutes les marques
+	 */
+	void reset() {
+		epoch++;
+
+		// Debordement : les anciennes epoques pourraient etre reprises
+		if (epoch == 0) {
+			Arrays.fill(stamps, 0);
+			epoch = 1;
+		}
+	}
+
+	/**
+	 * @return l'epoque du parcours courant
+	 */
+	int epoch() {
+		return epoch;
+	}
+
+	/**
+	 * @param e
+	 * @return true si l'element est marque dans le parcours courant
+	 */
+	boolean isMarked(HElement e) {
+		int id = ((HElementImpl) e).id();
+		return id >= 0 && id < stamps.length && stamps[id] == epoch;
+	}
+
+	/**
+	 * Marque un element
+	 *
+	 * @param e
+	 */
+	void mark(HElement e) {
+		int id = ((HElementImpl) e).id();
+
+		if (id >= stamps.length) {
+			stamps = Arrays.copyOf(stamps,
+					Math.max(id + 1, stamps.length + (stamps.length >> 1)));
+		}
+
+		stamps[id] = epoch;
+	}
+}
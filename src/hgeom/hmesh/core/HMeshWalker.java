@@ -41,6 +41,8 @@ public final class HMeshWalker {
 		 *          being visited by the walker
 		 * @return {@code true} if the given element has already been visited by
 		 *         the walker; {@code false} otherwise
+		 * @throws IllegalStateException if the walk is over and another walk
+		 *                               of the mesh has started since
 		 */
 		boolean isVisited(E e);
 	}
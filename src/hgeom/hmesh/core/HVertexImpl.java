@@ -59,10 +59,10 @@ class HVertexImpl extends HElementImpl implements HVertex {
 
 	/**
 	 * demi-arete pointant vers le sommet. Jamais null sauf lors de la
-	 * construction et pour indiquer que le sommet est declassifiee
-	 *
+	 * construction et pour indiquer que le sommet est declassifiee. Lu
+	 * directement par les parcours du paquetage
 	 */
-	private HEdge edge;
+	HEdgeImpl edge;
 
 	/**
 	 * @param id
@@ -145,7 +145,8 @@ class HVertexImpl extends HElementImpl implements HVertex {
 
 	@Override
 	public final Sequence<HVertex> neighbors() {
-		return outgoingEdges().map(HEdge::head);
+		requireNotDiscarded();
+		return new HEdgeRing.VertexNeighbors(this);
 	}
 
 	@Override
@@ -156,12 +157,13 @@ class HVertexImpl extends HElementImpl implements HVertex {
 
 	@Override
 	public final Sequence<HEdge> incomingEdges() {
-		return Loop.createLoop(this, HVertex::edge, NEXT_INCOMING_EDGE);
+		requireNotDiscarded();
+		return new HEdgeRing.IncomingEdges(this);
 	}
 
 	@Override
 	public final Sequence<HEdge> outgoingEdges() {
-		return Loop.createLoop(this, v -> v.edge().opposite(),
-				NEXT_OUTGOING_EDGE);
+		requireNotDiscarded();
+		return new HEdgeRing.OutgoingEdges(this);
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package hgeom.hmesh.core;
+
+import java.util.Arrays;
+
+/**
+ * Tas binaire minimal d'indices entiers associes a des cles reelles
+ * <p>
+ * Les indices sont des identifiants d'elements : la position de chaque indice
+ * dans le tas est conservee dans un tableau, ce qui permet de diminuer la cle
+ * d'un indice deja present en O(log n). Aucun objet n'est alloue par les
+ * operations du tas
+ *
+ * @author Pierre B.
+ */
+final class IndexedMinHeap {
+
+	/**
+	 * Indices ranges selon l'ordre du tas
+	 */
+	private int[] heap;
+
+	/**
+	 * Position de chaque indice dans le tas. -1 si absent
+	 */
+	private int[] positions;
+
+	/**
+	 * Cle de chaque indice present
+	 */
+	private double[] keys;
+
+	/**
+	 *
+	 */
+	private int size;
+
+	/**
+	 * @param capacity borne superieure exclusive des indices
+	 */
+	IndexedMinHeap(int capacity) {
+		heap = new int[Math.max(capacity, 16)];
+		positions = new int[heap.length];
+		keys = new double[heap.length];
+		Arrays.fill(positions, -1);
+	}
+
+	/**
+	 * @return true si le tas est vide
+	 */
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Ajoute un indice ou diminue sa cle s'il est deja present. Sans effet si
+	 * la cle de l'indice present est inferieure ou egale
+	 *
+	 * @param index
+	 * @param key
+	 * @return true si l'indice a ete ajoute ou sa cle diminuee
+	 */
+	boolean offer(int index, double key) {
+		if (index >= positions.length) {
+			int capacity = Math.max(index + 1,
+					positions.length + (positions.length >> 1));
+
+			int oldCapacity = positions.length;
+			heap = Arrays.copyOf(heap, capacity);
+			keys = Arrays.copyOf(keys, capacity);
+			positions = Arrays.copyOf(positions, capacity);
+			Arrays.fill(positions, oldCapacity, capacity, -1);
+		}
+
+		int position = positions[index];
+
+		if (position == -1) {
+			position = size++;
+		}
+
+		else if (keys[index] <= key) {
+			return false;
+		}
+
+		keys[index] = key;
+		siftUp(index, position);
+		return true;
+	}
+
+	/**
+	 * Retire l'indice de cle minimale
+	 *
+	 * @return l'indice retire
+	 */
+	int poll() {
+		int min = heap[0];
+		positions[min] = -1;
+
+		int last = heap[--size];
+
+		if (size > 0) {
+			siftDown(last, 0);
+		}
+
+		return min;
+	}
+
+	/**
+	 * Remonte un indice depuis une position jusqu'a sa place
+	 *
+	 * @param index
+	 * @param position
+	 */
+	private void siftUp(int index, int position) {
+		double key = keys[index];
+
+		while (position > 0) {
+			int parentPosition = (position - 1) >>> 1;
+			int parent = heap[parentPosition];
+
+			if (keys[parent] <= key) {
+				break;
+			}
+
+			heap[position] = parent;
+			positions[parent] = position;
+			position = parentPosition;
+		}
+
+		heap[position] = index;
+		positions[index] = position;
+	}
+
+	/**
+	 * Descend un indice depuis une position jusqu'a sa place
+	 *
+	 * @param index
+	 * @param position
+	 */
+	private void siftDown(int index, int position) {
+		double key = keys[index];
+		int half = size >>> 1;
+
+		while (position < half) {
+			int childPosition = 2 * position + 1;
+			int child = heap[childPosition];
+			int rightPosition = childPosition + 1;
+
+			if (rightPosition < size && keys[heap[rightPosition]] < keys[child]) {
+				childPosition = rightPosition;
+				child = heap[childPosition];
+			}
+
+			if (key <= keys[child]) {
+				break;
+			}
+
+			heap[position] = child;
+			positions[child] = position;
+			position = childPosition;
+		}
+
+		heap[position] = index;
+		positions[index] = position;
+	}
+}
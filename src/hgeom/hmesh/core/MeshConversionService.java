@@ -0,0 +1,365 @@
+package hgeom.hmesh.core;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import hgeom.hmesh.elements.Coord2DSource;
+import hgeom.hmesh.elements.Coord3DSource;
+import hgeom.hmesh.elements.EdgeSource;
+import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.HMesh;
+import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
+
+/**
+ * Service converting many independent collections of faces or edges into
+ * half-edge data structures
+ * <p>
+ * Each job is made of a loader, which supplies the source to convert, and of
+ * a conversion. The loaders may block, on I/O for instance: each job runs on
+ * its own thread, a virtual thread when the runtime supports them (Java 21
+ * and later), and loaders do not count against the concurrency limit. The
+ * conversions themselves are CPU-bound: no more than a fixed number of them
+ * run at the same time
+ * <p>
+ * The {@link ToHMeshConverter converters} and their internal buffers are
+ * reused from one conversion to the next. There are never more converters
+ * than the concurrency limit
+ * <p>
+ * The result of a job is provided as a {@link CompletableFuture} completed
+ * with an {@link Optional} on the generated {@link HConversion}, or with
+ * {@link Optional#empty()} in case the conversion failed. The future is
+ * completed exceptionally if the loader or the conversion throws an exception
+ * or an error
+ * <p>
+ * Cancelling the future of a job stops its conversion: the
+ * {@link ToHMeshConverter#setMonitor(ConversionMonitor) monitor} of the
+ * converter cancels the conversion as soon as the future is cancelled, unless
+ * the conversion installs its own monitor. A loader already running is not
+ * interrupted, but its source is not converted. The monitor of a converter is
+ * reset to {@link ConversionMonitor#NONE} before the converter is reused
+ *
+ * @author Pierre B.
+ * @see ToHMeshConverter
+ */
+public final class MeshConversionService implements AutoCloseable {
+
+	/**
+	 * Limitation du nombre de conversions simultanees
+	 */
+	private final Semaphore permits;
+
+	/**
+	 *
+	 */
+	private final int maxConcurrentConversions;
+
+	/**
+	 * Convertisseurs disponibles. Au plus maxConcurrentConversions
+	 */
+	private final Queue<ToHMeshConverter> converters = new ConcurrentLinkedQueue<>();
+
+	/**
+	 *
+	 */
+	private final Supplier<ToHMeshConverter> converterFactory;
+
+	/**
+	 *
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 *
+	 */
+	private final boolean virtualThreads;
+
+	/**
+	 * Constructs a service running as many conversions at the same time as
+	 * there are available processors
+	 */
+	public MeshConversionService() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructs a service running at most the specified number of conversions
+	 * at the same time, with converters created with default parameters
+	 *
+	 * @param maxConcurrentConversions the maximal number of conversions
+	 *                                 running at the same time
+	 * @throws IllegalArgumentException if {@code maxConcurrentConversions} is
+	 *                                  not positive
+	 */
+	public MeshConversionService(int maxConcurrentConversions) {
+		this(maxConcurrentConversions, ToHMeshConverter::new);
+	}
+
+	/**
+	 * Constructs a service running at most the specified number of conversions
+	 * at the same time, with converters created by the specified factory
+	 *
+	 * @param maxConcurrentConversions the maximal number of conversions
+	 *                                 running at the same time
+	 * @param converterFactory         the factory of the converters
+	 * @throws IllegalArgumentException if {@code maxConcurrentConversions} is
+	 *                                  not positive
+	 */
+	public MeshConversionService(int maxConcurrentConversions,
+			Supplier<ToHMeshConverter> converterFactory) {
+
+		if (maxConcurrentConversions < 1) {
+			throw new IllegalArgumentException(
+					"max concurrent conversions: " + maxConcurrentConversions);
+		}
+
+		this.maxConcurrentConversions = maxConcurrentConversions;
+		this.converterFactory = Objects.requireNonNull(converterFactory);
+		permits = new Semaphore(maxConcurrentConversions);
+
+		ExecutorService virtualThreadExecutor = virtualThreadExecutor();
+		virtualThreads = virtualThreadExecutor != null;
+
+		executor = virtualThreads ? virtualThreadExecutor
+				: Executors.newCachedThreadPool(runnable -> {
+					Thread thread = new Thread(runnable, "mesh-conversion");
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * @return un executeur de threads virtuels ou {@code null} si non
+	 *         disponibles (avant Java 21)
+	 */
+	private static ExecutorService virtualThreadExecutor() {
+		try {
+			Method factory = Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor");
+
+			return (ExecutorService) factory.invoke(null);
+		}
+
+		catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return the maximal number of conversions running at the same time
+	 */
+	public int maxConcurrentConversions() {
+		return maxConcurrentConversions;
+	}
+
+	/**
+	 * @return true if the jobs run on virtual threads
+	 */
+	public boolean usesVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Submits a job converting a collection of faces into a {@link HMesh}
+	 *
+	 * @param faceLoader the loader of the collection of faces
+	 * @return a future completed with the result of the conversion
+	 * @see ToHMeshConverter#convert(FaceSource)
+	 */
+	public CompletableFuture<Optional<HConversion<HMesh>>> convertFaces(
+			Callable<FaceSource> faceLoader) {
+
+		return submit(faceLoader, ToHMeshConverter::convert);
+	}
+
+	/**
+	 * Submits a job converting a collection of faces and a collection of 2D
+	 * coordinates into a {@link HMesh2D}
+	 *
+	 * @param faceLoader   the loader of the collection of faces
+	 * @param vertexCoords the collection of 2D coordinates
+	 * @return a future completed with the result of the conversion
+	 * @see ToHMeshConverter#convert(FaceSource, Coord2DSource)
+	 */
+	public CompletableFuture<Optional<HConversion<HMesh2D>>> convertFaces(
+			Callable<FaceSource> faceLoader, Coord2DSource vertexCoords) {
+
+		Objects.requireNonNull(vertexCoords);
+
+		return submit(faceLoader,
+				(converter, faces) -> converter.convert(faces, vertexCoords));
+	}
+
+	/**
+	 * Submits a job converting a collection of faces and a collection of 3D
+	 * coordinates into a {@link HMesh3D}
+	 *
+	 * @param faceLoader   the loader of the collection of faces
+	 * @param vertexCoords the collection of 3D coordinates
+	 * @return a future completed with the result of the conversion
+	 * @see ToHMeshConverter#convert(FaceSource, Coord3DSource)
+	 */
+	public CompletableFuture<Optional<HConversion<HMesh3D>>> convertFaces(
+			Callable<FaceSource> faceLoader, Coord3DSource vertexCoords) {
+
+		Objects.requireNonNull(vertexCoords);
+
+		return submit(faceLoader,
+				(converter, faces) -> converter.convert(faces, vertexCoords));
+	}
+
+	/**
+	 * Submits a job converting a collection of edges and a collection of 2D
+	 * coordinates into a {@link HMesh2D}
+	 *
+	 * @param edgeLoader   the loader of the collection of edges
+	 * @param vertexCoords the collection of 2D coordinates
+	 * @return a future completed with the result of the conversion
+	 * @see ToHMeshConverter#convert(EdgeSource, Coord2DSource)
+	 */
+	public CompletableFuture<Optional<HConversion<HMesh2D>>> convertEdges(
+			Callable<EdgeSource> edgeLoader, Coord2DSource vertexCoords) {
+
+		Objects.requireNonNull(vertexCoords);
+
+		return submit(edgeLoader,
+				(converter, edges) -> converter.convert(edges, vertexCoords));
+	}
+
+	/**
+	 * Submits a job converting a collection of edges and a collection of 3D
+	 * coordinates into a {@link HMesh3D}
+	 *
+	 * @param edgeLoader   the loader of the collection of edges
+	 * @param vertexCoords the collection of 3D coordinates
+	 * @return a future completed with the result of the conversion
+	 * @see ToHMeshConverter#convert(EdgeSource, Coord3DSource)
+	 */
+	public CompletableFuture<Optional<HConversion<HMesh3D>>> convertEdges(
+			Callable<EdgeSource> edgeLoader, Coord3DSource vertexCoords) {
+
+		Objects.requireNonNull(vertexCoords);
+
+		return submit(edgeLoader,
+				(converter, edges) -> converter.convert(edges, vertexCoords));
+	}
+
+	/**
+	 * Submits a job made of a loader and of any conversion performed by a
+	 * {@link ToHMeshConverter}. The converter provided to the conversion must
+	 * not be used once the conversion returns
+	 *
+	 * @param loader     the loader of the source to convert
+	 * @param conversion the conversion of the source by a converter
+	 * @return a future completed with the result of the conversion
+	 * @throws java.util.concurrent.RejectedExecutionException if this service
+	 *                                                         is closed
+	 */
+	public <S, M extends HMesh> CompletableFuture<Optional<HConversion<M>>> submit(
+			Callable<? extends S> loader,
+			BiFunction<ToHMeshConverter, ? super S, Optional<HConversion<M>>> conversion) {
+
+		Objects.requireNonNull(loader);
+		Objects.requireNonNull(conversion);
+
+		CompletableFuture<Optional<HConversion<M>>> result = new CompletableFuture<>();
+
+		executor.execute(() -> {
+
+			// Job annule avant son execution
+			if (result.isDone()) {
+				return;
+			}
+
+			try {
+				S source = loader.call();
+
+				// Job annule pendant le chargement
+				if (!result.isDone()) {
+					result.complete(convert(source, conversion, result));
+				}
+			}
+
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				result.completeExceptionally(e);
+			}
+
+			catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		});
+
+		return result;
+	}
+
+	/**
+	 * Conversion apres obtention d'un jeton et d'un convertisseur. Le
+	 * convertisseur est surveille par un moniteur annulant la conversion des
+	 * que le resultat est annule
+	 *
+	 * @param source
+	 * @param conversion
+	 * @param result
+	 * @return
+	 * @throws InterruptedException
+	 */
+	private <S, M extends HMesh> Optional<HConversion<M>> convert(S source,
+			BiFunction<ToHMeshConverter, ? super S, Optional<HConversion<M>>> conversion,
+			CompletableFuture<?> result) throws InterruptedException {
+
+		ConversionMonitor monitor = new ConversionMonitor() {
+
+			@Override
+			public boolean isCancelled() {
+				return result.isCancelled();
+			}
+		};
+
+		permits.acquire();
+
+		try {
+			ToHMeshConverter converter = converters.poll();
+
+			if (converter == null) {
+				converter = converterFactory.get();
+			}
+
+			converter.setMonitor(monitor);
+
+			try {
+				return conversion.apply(converter, source);
+			}
+
+			finally {
+				// Aucun moniteur ni element d'un job ne doit survivre au job
+				converter.setMonitor(ConversionMonitor.NONE);
+				converter.release();
+				converters.offer(converter);
+			}
+		}
+
+		finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Closes this service. The jobs already submitted are completed but no new
+	 * job is accepted
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+}
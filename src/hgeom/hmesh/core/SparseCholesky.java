@@ -0,0 +1,562 @@
+package hgeom.hmesh.core;
+
+import java.util.Arrays;
+
+/**
+ * Factorisation de Cholesky d'une matrice creuse symetrique definie positive
+ * <p>
+ * Les lignes sont d'abord renumerotees par dissection emboitee : le graphe de
+ * la matrice est coupe recursivement en deux par un separateur, une couche
+ * d'un parcours en largeur, et les separateurs sont elimines en dernier. Le
+ * remplissage reste ainsi de l'ordre de n log(n) coefficients et le calcul de
+ * l'ordre de n^1.5 operations pour le graphe d'un maillage surfacique de n
+ * sommets
+ * <p>
+ * Le facteur L est ensuite stocke par colonnes, sur le seul motif de ses
+ * coefficients non nuls. Ce motif est obtenu a partir de l'arbre
+ * d'elimination, puis L est calcule ligne par ligne (T. Davis, <i>Direct
+ * Methods for Sparse Linear Systems</i>, 2006)
+ * <p>
+ * Une fois construite, la factorisation peut resoudre un nombre quelconque de
+ * systemes, sans allocation autre que le vecteur de travail
+ *
+ * @author Pierre B.
+ */
+final class SparseCholesky {
+
+	/**
+	 * Taille en dessous de laquelle une partie n'est plus coupee
+	 */
+	private static final int LEAF_SIZE = 64;
+
+	/**
+	 * Nombre de lignes
+	 */
+	private final int n;
+
+	/**
+	 * Ancien indice de chaque ligne renumerotee
+	 */
+	private final int[] perm;
+
+	/**
+	 * Debut de chaque colonne de L dans rows et factor (n + 1 elements). La
+	 * diagonale est le premier coefficient de chaque colonne
+	 */
+	private final int[] colStarts;
+
+	/**
+	 * Ligne de chaque coefficient de L
+	 */
+	private final int[] rows;
+
+	/**
+	 * Coefficients de L colonne par colonne
+	 */
+	private final double[] factor;
+
+	/**
+	 * Factorise une matrice donnee au format CSR. Chaque ligne contient sa
+	 * diagonale et les coefficients non nuls hors diagonale des deux moities
+	 * de la matrice
+	 *
+	 * @param n      nombre de lignes
+	 * @param starts debut de chaque ligne dans cols et values (n + 1
+	 *               elements)
+	 * @param cols   colonnes des coefficients
+	 * @param values coefficients
+	 * @throws IllegalArgumentException si la matrice n'est pas definie
+	 *                                  positive ou si le facteur depasse la
+	 *                                  taille d'un tableau
+	 */
+	SparseCholesky(int n, int[] starts, int[] cols, double[] values) {
+		this.n = n;
+		perm = nestedDissection(n, starts, cols);
+
+		int[] inv = new int[n];
+
+		for (int i = 0; i < n; i++) {
+			inv[perm[i]] = i;
+		}
+
+		int[] parents = eliminationTree(starts, cols, inv);
+
+		// Nombre de coefficients de chaque colonne de L : la ligne k de L a
+		// pour motif le sous-arbre de l'arbre d'elimination atteint depuis
+		// les colonnes de la ligne k de la matrice renumerotee
+		int[] marks = new int[n];
+		int[] stack = new int[n];
+		long[] counts = new long[n];
+
+		Arrays.fill(marks, -1);
+
+		for (int k = 0; k < n; k++) {
+			counts[k]++;
+
+			for (int top = reach(k, starts, cols, inv, parents, marks,
+					stack); top < n; top++) {
+
+				counts[stack[top]]++;
+			}
+		}
+
+		colStarts = new int[n + 1];
+		long size = 0;
+
+		for (int k = 0; k < n; k++) {
+			colStarts[k] = (int) size;
+			size += counts[k];
+
+			if (size > Integer.MAX_VALUE - 8) {
+				throw new IllegalArgumentException(
+						"Cholesky factor too large: " + n + " rows");
+			}
+		}
+
+		colStarts[n] = (int) size;
+		rows = new int[(int) size];
+		factor = new double[(int) size];
+
+		factorize(starts, cols, values, inv, parents, marks, stack);
+	}
+
+	/**
+	 * Resout le systeme A x = b
+	 *
+	 * @param b second membre, remplace par la solution
+	 */
+	void solve(double[] b) {
+		double[] y = new double[n];
+
+		for (int i = 0; i < n; i++) {
+			y[i] = b[perm[i]];
+		}
+
+		// Descente : L z = y, par colonnes de L
+		for (int j = 0; j < n; j++) {
+			double z = y[j] / factor[colStarts[j]];
+			y[j] = z;
+
+			for (int p = colStarts[j] + 1; p < colStarts[j + 1]; p++) {
+				y[rows[p]] -= factor[p] * z;
+			}
+		}
+
+		// Remontee : tL x = z, par lignes de tL (colonnes de L)
+		for (int j = n - 1; j >= 0; j--) {
+			double sum = y[j];
+
+			for (int p = colStarts[j] + 1; p < colStarts[j + 1]; p++) {
+				sum -= factor[p] * y[rows[p]];
+			}
+
+			y[j] = sum / factor[colStarts[j]];
+		}
+
+		for (int i = 0; i < n; i++) {
+			b[perm[i]] = y[i];
+		}
+	}
+
+	/**
+	 * Cholesky par lignes : la ligne k de L est obtenue par une descente sur
+	 * les lignes deja calculees, restreinte a son motif
+	 *
+	 * @param starts
+	 * @param cols
+	 * @param values
+	 * @param inv
+	 * @param parents
+	 * @param marks
+	 * @param stack
+	 */
+	private void factorize(int[] starts, int[] cols, double[] values,
+			int[] inv, int[] parents, int[] marks, int[] stack) {
+
+		// Prochaine position libre de chaque colonne de L
+		int[] next = Arrays.copyOf(colStarts, n);
+		double[] x = new double[n];
+
+		Arrays.fill(marks, -1);
+
+		for (int k = 0; k < n; k++) {
+			int top = reach(k, starts, cols, inv, parents, marks, stack);
+			int old = perm[k];
+
+			// Ligne k de la moitie inferieure, dispersee dans x
+			for (int p = starts[old]; p < starts[old + 1]; p++) {
+				int i = inv[cols[p]];
+
+				if (i <= k) {
+					x[i] += values[p];
+				}
+			}
+
+			double diagonal = x[k];
+			x[k] = 0;
+
+			for (; top < n; top++) {
+				int i = stack[top];
+				double lki = x[i] / factor[colStarts[i]];
+				x[i] = 0;
+
+				for (int p = colStarts[i] + 1; p < next[i]; p++) {
+					x[rows[p]] -= factor[p] * lki;
+				}
+
+				diagonal -= lki * lki;
+
+				int p = next[i]++;
+				rows[p] = k;
+				factor[p] = lki;
+			}
+
+			if (diagonal <= 0) {
+				throw new IllegalArgumentException(
+						"Matrix not positive definite");
+			}
+
+			int p = next[k]++;
+			rows[p] = k;
+			factor[p] = Math.sqrt(diagonal);
+		}
+	}
+
+	/**
+	 * Motif de la ligne k de L, hors diagonale : lignes atteintes dans
+	 * l'arbre d'elimination en remontant depuis chaque colonne non nulle de
+	 * la ligne k de la matrice renumerotee
+	 *
+	 * @param k
+	 * @param starts
+	 * @param cols
+	 * @param inv
+	 * @param parents
+	 * @param marks   marques des lignes deja atteintes pour la ligne k
+	 * @param stack   rempli a partir de la fin avec le motif, dans un ordre
+	 *                topologique
+	 * @return le debut du motif dans stack
+	 */
+	private int reach(int k, int[] starts, int[] cols, int[] inv,
+			int[] parents, int[] marks, int[] stack) {
+
+		int top = n;
+		int old = perm[k];
+		marks[k] = k;
+
+		for (int p = starts[old]; p < starts[old + 1]; p++) {
+			int i = inv[cols[p]];
+
+			if (i > k) {
+				continue;
+			}
+
+			// Chemin jusqu'a une ligne deja atteinte, empile a l'envers
+			int length = 0;
+
+			for (; marks[i] != k; i = parents[i]) {
+				stack[length++] = i;
+				marks[i] = k;
+			}
+
+			while (length > 0) {
+				stack[--top] = stack[--length];
+			}
+		}
+
+		return top;
+	}
+
+	/**
+	 * Arbre d'elimination de la matrice renumerotee, avec compression des
+	 * chemins vers les ancetres
+	 *
+	 * @param starts
+	 * @param cols
+	 * @param inv
+	 * @return le parent de chaque ligne, -1 pour une racine
+	 */
+	private int[] eliminationTree(int[] starts, int[] cols, int[] inv) {
+		int[] parents = new int[n];
+		int[] ancestors = new int[n];
+
+		for (int k = 0; k < n; k++) {
+			parents[k] = -1;
+			ancestors[k] = -1;
+			int old = perm[k];
+
+			for (int p = starts[old]; p < starts[old + 1]; p++) {
+				int i = inv[cols[p]];
+
+				while (i != -1 && i < k) {
+					int ancestor = ancestors[i];
+					ancestors[i] = k;
+
+					if (ancestor == -1) {
+						parents[i] = k;
+					}
+
+					i = ancestor;
+				}
+			}
+		}
+
+		return parents;
+	}
+
+	/**
+	 * Renumerotation par dissection emboitee. Chaque partie connexe est
+	 * parcourue en largeur a partir d'un sommet pseudo-peripherique; la
+	 * couche mediane du parcours la coupe en deux, placees avant elle. Une
+	 * partie non connexe est d'abord coupee en ses composantes
+	 *
+	 * @param n
+	 * @param starts
+	 * @param cols
+	 * @return l'ancien indice de chaque ligne renumerotee
+	 */
+	private static int[] nestedDissection(int n, int[] starts, int[] cols) {
+		int[] order = new int[n];
+
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+
+		// Partie courante de chaque ligne. -1 une fois placee
+		int[] parts = new int[n];
+		int[] levels = new int[n];
+		int[] queue = new int[n];
+
+		// Lignes de la partie coupee
+		int[] segment = new int[n];
+
+		// Parties restant a couper : debut et fin dans order
+		int[] tasks = new int[64];
+		int numTasks = 0;
+		int numParts = 1;
+
+		if (n > 0) {
+			tasks[numTasks++] = 0;
+			tasks[numTasks++] = n;
+		}
+
+		while (numTasks > 0) {
+			int to = tasks[--numTasks];
+			int from = tasks[--numTasks];
+			int size = to - from;
+			int part = parts[order[from]];
+
+			if (numTasks + 2 * size > tasks.length) {
+				tasks = Arrays.copyOf(tasks,
+						Math.max(2 * tasks.length, numTasks + 2 * size));
+			}
+
+			System.arraycopy(order, from, segment, 0, size);
+
+			int reached = size <= LEAF_SIZE ? 0
+					: breadthFirst(segment[0], part, starts, cols, parts,
+							levels, queue);
+
+			// Partie non coupee
+			if (reached == 0 || reached == size
+					&& levels[queue[size - 1]] < 2) {
+
+				for (int i = 0; i < size; i++) {
+					parts[segment[i]] = -1;
+				}
+
+				continue;
+			}
+
+			// Partie non connexe : une nouvelle partie par composante
+			if (reached < size) {
+				int position = from;
+
+				for (int i = 0; i < size; i++) {
+					if (parts[segment[i]] != part) {
+						continue;
+					}
+
+					int count = breadthFirst(segment[i], part, starts, cols,
+							parts, levels, queue);
+
+					int component = count <= LEAF_SIZE ? -1 : numParts++;
+
+					for (int q = 0; q < count; q++) {
+						parts[queue[q]] = component;
+						order[position + q] = queue[q];
+					}
+
+					if (component != -1) {
+						tasks[numTasks++] = position;
+						tasks[numTasks++] = position + count;
+					}
+
+					position += count;
+				}
+
+				continue;
+			}
+
+			// Sommet pseudo-peripherique : le plus eloigne du premier
+			// parcours. Separateur : lignes d'une couche mediane ayant un
+			// voisin dans la couche suivante
+			breadthFirst(queue[size - 1], part, starts, cols, parts, levels,
+					queue);
+
+			int separatorLevel = separatorLevel(size, levels, queue);
+			int first = numParts++;
+			int second = numParts++;
+			int numFirst = 0;
+			int numSeparator = 0;
+
+			// Les couches etant traitees dans l'ordre, les lignes de la couche
+			// suivant le separateur sont encore dans la partie
+			for (int q = 0; q < size; q++) {
+				int v = queue[q];
+
+				if (levels[v] < separatorLevel
+						|| levels[v] == separatorLevel
+								&& !touchesLevel(v, separatorLevel + 1,
+										part, starts, cols, parts, levels)) {
+
+					parts[v] = first;
+					numFirst++;
+				}
+
+				else if (levels[v] == separatorLevel) {
+					parts[v] = -1;
+					numSeparator++;
+				}
+
+				else {
+					parts[v] = second;
+				}
+			}
+
+			// Ordre : premiere partie, seconde partie, separateur
+			int numSecond = size - numFirst - numSeparator;
+			int[] positions = { from, from + numFirst,
+					from + numFirst + numSecond };
+
+			for (int i = 0; i < size; i++) {
+				int v = segment[i];
+				int p = parts[v] == first ? 0 : parts[v] == second ? 1 : 2;
+				order[positions[p]++] = v;
+			}
+
+			tasks[numTasks++] = from;
+			tasks[numTasks++] = from + numFirst;
+			tasks[numTasks++] = from + numFirst;
+			tasks[numTasks++] = from + numFirst + numSecond;
+		}
+
+		return order;
+	}
+
+	/**
+	 * Couche la plus petite parmi celles laissant au moins un tiers des
+	 * lignes de chaque cote, a defaut la couche mediane. Ni la premiere ni la
+	 * derniere couche, pour que les deux parties soient non vides
+	 *
+	 * @param size
+	 * @param levels
+	 * @param queue  lignes par couches croissantes, au moins 3 couches
+	 * @return
+	 */
+	private static int separatorLevel(int size, int[] levels, int[] queue) {
+		int lastLevel = levels[queue[size - 1]];
+		int best = Math.min(Math.max(levels[queue[size / 2]], 1),
+				lastLevel - 1);
+
+		int bestSize = Integer.MAX_VALUE;
+
+		for (int q = 0; q < size;) {
+			int level = levels[queue[q]];
+			int end = q;
+
+			while (end < size && levels[queue[end]] == level) {
+				end++;
+			}
+
+			if (level > 0 && level < lastLevel && 3 * q >= size
+					&& 3 * end <= 2 * size && end - q < bestSize) {
+
+				best = level;
+				bestSize = end - q;
+			}
+
+			q = end;
+		}
+
+		return best;
+	}
+
+	/**
+	 * Parcours en largeur restreint a une partie
+	 *
+	 * @param root
+	 * @param part
+	 * @param starts
+	 * @param cols
+	 * @param parts
+	 * @param levels rempli avec la couche de chaque ligne atteinte
+	 * @param queue  rempli avec les lignes atteintes, par couches croissantes
+	 * @return le nombre de lignes atteintes
+	 */
+	private static int breadthFirst(int root, int part, int[] starts,
+			int[] cols, int[] parts, int[] levels, int[] queue) {
+
+		// Marque temporaire des lignes atteintes : partie opposee
+		int visited = -part - 2;
+		int size = 0;
+
+		queue[size++] = root;
+		parts[root] = visited;
+		levels[root] = 0;
+
+		for (int head = 0; head < size; head++) {
+			int row = queue[head];
+
+			for (int k = starts[row]; k < starts[row + 1]; k++) {
+				int col = cols[k];
+
+				if (parts[col] == part) {
+					parts[col] = visited;
+					levels[col] = levels[row] + 1;
+					queue[size++] = col;
+				}
+			}
+		}
+
+		for (int q = 0; q < size; q++) {
+			parts[queue[q]] = part;
+		}
+
+		return size;
+	}
+
+	/**
+	 * @param row
+	 * @param level
+	 * @param part
+	 * @param starts
+	 * @param cols
+	 * @param parts
+	 * @param levels
+	 * @return true si la ligne a un voisin de la partie dans la couche
+	 */
+	private static boolean touchesLevel(int row, int level, int part,
+			int[] starts, int[] cols, int[] parts, int[] levels) {
+
+		for (int k = starts[row]; k < starts[row + 1]; k++) {
+			int col = cols[k];
+
+			if (parts[col] == part && levels[col] == level) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
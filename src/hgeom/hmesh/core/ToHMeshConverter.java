@@ -4,22 +4,27 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
 import java.util.function.ObjIntConsumer;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.IntStream;
 
+import hgeom.hmesh.core.ConversionStats.Phase;
 import hgeom.hmesh.data.HIData;
 import hgeom.hmesh.elements.Coord2DSource;
 import hgeom.hmesh.elements.Coord3DSource;
 import hgeom.hmesh.elements.EdgeSource;
 import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.GridSource;
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HFace;
 import hgeom.hmesh.elements.HMesh;
 import hgeom.hmesh.elements.HMesh2D;
 import hgeom.hmesh.elements.HMesh3D;
 import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.elements.TriangleSoup;
 import hgeom.hmesh.winding.PolygonWindingProvider;
 
 /**
@@ -52,7 +57,12 @@ public final class ToHMeshConverter {
 	/**
 	 *
 	 */
-	private final List<HVertex> vertices = new ArrayList<>();
+	private final boolean parallel;
+
+	/**
+	 *
+	 */
+	private List<HVertex> vertices = new ArrayList<>();
 
 	/**
 	 *
@@ -74,6 +84,26 @@ public final class ToHMeshConverter {
 	 */
 	private HIData<HFace> faceIndices;
 
+	/**
+	 * Statistiques de la derniere conversion
+	 */
+	private ConversionStats stats;
+
+	/**
+	 * Evenement JFR de la conversion en cours
+	 */
+	private ConversionEvent event;
+
+	/**
+	 *
+	 */
+	private ConversionMonitor monitor = ConversionMonitor.NONE;
+
+	/**
+	 * Avancement de la conversion en cours
+	 */
+	private ConversionProgress progress;
+
 	/**
 	 * Constructs a converter with default parameters
 	 */
@@ -128,8 +158,29 @@ public final class ToHMeshConverter {
 	 * @see HFace
 	 */
 	public ToHMeshConverter(boolean linkEdgesToPrevious, boolean debugInfo) {
+		this(linkEdgesToPrevious, debugInfo, false);
+	}
+
+	/**
+	 * Constructs a converter with the specified options
+	 *
+	 * @param linkEdgesToPrevious see
+	 *                            {@link #ToHMeshConverter(boolean, boolean)}
+	 * @param debugInfo           see
+	 *                            {@link #ToHMeshConverter(boolean, boolean)}
+	 * @param parallel            if {@code true}, the conversions from an
+	 *                            {@link EdgeSource} sort the half-edges
+	 *                            around each vertex and trace the face cycles
+	 *                            in parallel. The generated half-edge data
+	 *                            structures have the same faces as those of a
+	 *                            sequential conversion
+	 */
+	public ToHMeshConverter(boolean linkEdgesToPrevious, boolean debugInfo,
+			boolean parallel) {
+
 		this.linkEdgesToPrevious = linkEdgesToPrevious;
 		this.debugInfo = debugInfo;
+		this.parallel = parallel;
 	}
 
 	/**
@@ -167,8 +218,8 @@ public final class ToHMeshConverter {
 
 		init(true);
 
-		return createFaces(faceSource, windingProvider).map(this::createMesh)
-				.map(this::finishConversion);
+		return endConversion(createFaces(faceSource, windingProvider)
+				.map(this::createMesh).map(this::finishConversion));
 	}
 
 	/**
@@ -214,9 +265,9 @@ public final class ToHMeshConverter {
 
 		init(true);
 
-		return createFaces(faceSource, windingProvider)
+		return endConversion(createFaces(faceSource, windingProvider)
 				.map(faces -> createMesh(faces, vertexCoords))
-				.map(this::finishConversion);
+				.map(this::finishConversion));
 	}
 
 	/**
@@ -262,9 +313,92 @@ public final class ToHMeshConverter {
 
 		init(true);
 
-		return createFaces(faceSource, windingProvider)
+		return endConversion(createFaces(faceSource, windingProvider)
 				.map(faces -> createMesh(faces, vertexCoords))
-				.map(this::finishConversion);
+				.map(this::finishConversion));
+	}
+
+	/**
+	 * Generates a {@link HMesh3D 3D half-edge data structure} from a triangle
+	 * soup. The vertices of the soup closer than the specified tolerance are
+	 * welded in a single pass before the generation. The winding of the
+	 * triangles is kept
+	 * <p>
+	 * In the generated {@link HConversion}, the index of a face is the index of
+	 * its triangle in the soup and the index of a vertex is its rank among the
+	 * welded vertices, in order of first appearance in the soup. Triangles
+	 * degenerated by the welding are ignored
+	 *
+	 * @param soup      the triangle soup
+	 * @param tolerance the maximal distance between welded vertices. With a
+	 *                  tolerance of 0, only vertices with identical coordinates
+	 *                  are welded
+	 * @return an {@link Optional} on a {@link HConversion} containing the
+	 *         generated {@link HMesh half-edge data structure} or
+	 *         {@link Optional#empty()} in case the generation failed
+	 * @throws IllegalArgumentException if {@code tolerance} is negative
+	 * @see HConversion
+	 * @see HMesh3D
+	 */
+	public Optional<HConversion<HMesh3D>> convert(TriangleSoup soup,
+			double tolerance) {
+
+		VertexWelder welder = new VertexWelder(soup, tolerance);
+		welder.weld();
+
+		return convert(welder.faceSource(), welder.coordSource(), null);
+	}
+
+	/**
+	 * Generates a {@link HMesh half-edge data structure} from a structured
+	 * grid. The links between the half-edges are computed from their positions
+	 * in the grid: the generation cannot fail and is much faster than the
+	 * generation from the equivalent {@link FaceSource}
+	 * <p>
+	 * In the generated {@link HConversion}, the indices of the vertices and the
+	 * faces are those defined by the grid source
+	 *
+	 * @param grid the grid source
+	 * @return a {@link HConversion} containing the generated {@link HMesh
+	 *         half-edge data structure}
+	 * @see GridSource
+	 */
+	public HConversion<HMesh> convert(GridSource grid) {
+		return endConversion(finishConversion(createMesh(createFaces(grid))));
+	}
+
+	/**
+	 * Generates a {@link HMesh2D 2D half-edge data structure} from a
+	 * structured grid and a collection of 2D coordinates
+	 *
+	 * @param grid         the grid source
+	 * @param vertexCoords the collection of 2D coordinates
+	 * @return a {@link HConversion} containing the generated {@link HMesh2D
+	 *         half-edge data structure}
+	 * @see #convert(GridSource)
+	 */
+	public HConversion<HMesh2D> convert(GridSource grid,
+			Coord2DSource vertexCoords) {
+
+		return endConversion(
+				finishConversion(createMesh(createFaces(grid), vertexCoords)));
+	}
+
+	/**
+	 * Generates a {@link HMesh3D 3D half-edge data structure} from a
+	 * structured grid and a collection of 3D coordinates
+	 *
+	 * @param grid         the grid source
+	 * @param vertexCoords the collection of 3D coordinates
+	 * @return a {@link HConversion} containing the generated {@link HMesh3D
+	 *         half-edge data structure}
+	 * @see #convert(GridSource)
+	 */
+	public HConversion<HMesh3D> convert(GridSource grid,
+			Coord3DSource vertexCoords) {
+
+		return endConversion(
+				finishConversion(createMesh(createFaces(grid), vertexCoords)));
 	}
 
 	/**
@@ -283,8 +417,8 @@ public final class ToHMeshConverter {
 
 		init(false);
 
-		return createFaces(edgeSource, windingProvider).map(this::createMesh)
-				.map(this::finishConversion);
+		return endConversion(createFaces(edgeSource, windingProvider)
+				.map(this::createMesh).map(this::finishConversion));
 	}
 
 	/**
@@ -320,9 +454,9 @@ public final class ToHMeshConverter {
 
 		init(false);
 
-		return createFaces(edgeSource, windingProvider)
+		return endConversion(createFaces(edgeSource, windingProvider)
 				.map(faces -> createMesh(faces, vertexCoords))
-				.map(this::finishConversion);
+				.map(this::finishConversion));
 	}
 
 	/**
@@ -358,15 +492,110 @@ public final class ToHMeshConverter {
 
 		init(false);
 
-		return createFaces(edgeSource, windingProvider)
+		return endConversion(createFaces(edgeSource, windingProvider)
 				.map(faces -> createMesh(faces, vertexCoords))
-				.map(this::finishConversion);
+				.map(this::finishConversion));
+	}
+
+	/**
+	 * Creates a subscriber that generates a {@link HMesh half-edge data
+	 * structure} from a stream of faces. Each face is defined as an array of
+	 * indices to vertices; its index is its rank in the stream. The faces are
+	 * added to the structure under construction as they arrive and are
+	 * requested from the publisher by batches of the specified size, so that
+	 * no more than one batch is ever pending. The conversion is available
+	 * through {@link ToHMeshSubscriber#result()} once the stream completes
+	 * <p>
+	 * This converter must not be used for another conversion until the
+	 * subscriber's result is completed
+	 *
+	 * @param batchSize the number of faces requested at a time from the
+	 *                  publisher
+	 * @return a subscriber to be subscribed to a publisher of faces
+	 * @throws IllegalArgumentException if {@code batchSize} is not positive
+	 * @see #convert(FaceSource)
+	 */
+	public ToHMeshSubscriber<HMesh> subscriber(int batchSize) {
+		return subscriber(null, this::createMesh, batchSize);
+	}
+
+	/**
+	 * Creates a subscriber that generates a {@link HMesh2D 2D half-edge data
+	 * structure} from a stream of faces and a collection of 2D coordinates.
+	 * The coordinates of a vertex are only read once the stream completes
+	 *
+	 * @param vertexCoords the collection of 2D coordinates
+	 * @param batchSize    the number of faces requested at a time from the
+	 *                     publisher
+	 * @return a subscriber to be subscribed to a publisher of faces
+	 * @throws IllegalArgumentException if {@code batchSize} is not positive
+	 * @see #subscriber(int)
+	 */
+	public ToHMeshSubscriber<HMesh2D> subscriber(Coord2DSource vertexCoords,
+			int batchSize) {
+
+		return subscriber(vertexCoords.windingProvider(),
+				faces -> createMesh(faces, vertexCoords), batchSize);
+	}
+
+	/**
+	 * Creates a subscriber that generates a {@link HMesh3D 3D half-edge data
+	 * structure} from a stream of faces and a collection of 3D coordinates.
+	 * The coordinates of a vertex are only read once the stream completes
+	 *
+	 * @param vertexCoords the collection of 3D coordinates
+	 * @param batchSize    the number of faces requested at a time from the
+	 *                     publisher
+	 * @return a subscriber to be subscribed to a publisher of faces
+	 * @throws IllegalArgumentException if {@code batchSize} is not positive
+	 * @see #subscriber(int)
+	 */
+	public ToHMeshSubscriber<HMesh3D> subscriber(Coord3DSource vertexCoords,
+			int batchSize) {
+
+		return subscriber(vertexCoords.xyWindingProvider(),
+				faces -> createMesh(faces, vertexCoords), batchSize);
+	}
+
+	/**
+	 * Sets the monitor of the next conversions performed by this converter.
+	 * The monitor is informed of the progress of each conversion and can
+	 * cancel it. A cancelled conversion throws a
+	 * {@link CancellationException} and the partial half-edge data structure
+	 * is released
+	 * <p>
+	 * The conversions from a {@link GridSource} are not monitored
+	 *
+	 * @param monitor the monitor of the next conversions. Use
+	 *                {@link ConversionMonitor#NONE} for unmonitored
+	 *                conversions
+	 * @see ConversionMonitor
+	 */
+	public void setMonitor(ConversionMonitor monitor) {
+		this.monitor = Objects.requireNonNull(monitor);
+	}
+
+	/**
+	 * Returns the statistics of the last conversion performed by this
+	 * converter, whether it succeeded or not. For a subscriber, the statistics
+	 * are those of the conversion in progress
+	 *
+	 * @return an {@link Optional} on the statistics of the last conversion or
+	 *         {@link Optional#empty()} if no conversion has been performed
+	 * @see ConversionStats
+	 */
+	public Optional<ConversionStats> stats() {
+		return Optional.ofNullable(stats);
 	}
 
 	/**
 	 * @param forFaceSource
 	 */
 	private void init(boolean forFaceSource) {
+		stats = new ConversionStats();
+		event = new ConversionEvent();
+		event.begin();
+		progress = new ConversionProgress(monitor);
 		vertices.clear();
 		elementFactory = new HElementFactory(linkEdgesToPrevious, debugInfo);
 		vertexIndices = elementFactory.createVertexIntData(null);
@@ -390,25 +619,88 @@ public final class ToHMeshConverter {
 	private Optional<List<HFace>> createFaces(FaceSource source,
 			PolygonWindingProvider windingProvider) {
 
+		return cancellable(() -> {
+			try (IntStream indices = source.faceIndices()) {
+				Supplier<CycleGraph> supplier = () -> createCycleGraph(
+						windingProvider);
+
+				ObjIntConsumer<CycleGraph> accumulator = (cycleGraph,
+						faceIndex) -> cycleGraph.addCycle(faceIndex,
+								source.face(faceIndex),
+								source.winding(faceIndex));
+
+				CycleGraph cycleGraph = stats.time(Phase.EDGE_PAIRING,
+						() -> indices.sequential().collect(supplier,
+								accumulator, ToHMeshConverter::uncombinable));
+
+				return createFaces(cycleGraph, windingProvider);
+			}
+		});
+	}
+
+	/**
+	 * @param grid
+	 * @return
+	 */
+	private List<HFace> createFaces(GridSource grid) {
+		init(true);
+
+		return stats.time(Phase.FACE_CREATION,
+				() -> new GridToHFaces(elementFactory, this::vertex,
+						faceIndices).convert(grid));
+	}
+
+	/**
+	 * @param windingProvider
+	 * @return un graphe vide dans lequel ajouter les faces
+	 */
+	private CycleGraph createCycleGraph(PolygonWindingProvider windingProvider) {
+		progress.start(Phase.EDGE_PAIRING, -1);
+
+		return new CycleGraph(elementFactory, this::vertex, windingProvider,
+				stats, progress);
+	}
+
+	/**
+	 * @param cycleGraph      le graphe contenant toutes les faces
+	 * @param windingProvider
+	 * @return
+	 */
+	private Optional<List<HFace>> createFaces(CycleGraph cycleGraph,
+			PolygonWindingProvider windingProvider) {
+
 		ArrowSorter arrowSorter = windingProvider == null ? null
 				: new ArrowSorter(windingProvider, vertexIndices::get);
 
-		try (IntStream indices = source.faceIndices()) {
-			Supplier<CycleGraph> supplier = () -> new CycleGraph(elementFactory,
-					this::vertex, windingProvider);
-
-			ObjIntConsumer<CycleGraph> accumulator = (cycleGraph,
-					faceIndex) -> cycleGraph.addCycle(faceIndex,
-							source.face(faceIndex));
+		CycleGraphToHFaces cycleGraphToHFaces = new CycleGraphToHFaces(
+				elementFactory, arrowSorter, faceIndices, stats, progress);
 
-			CycleGraph cycleGraph = indices.collect(supplier, accumulator,
-					null);
+		return cycleGraphToHFaces.convert(cycleGraph);
+	}
 
-			CycleGraphToHFaces cycleGraphToHFaces = new CycleGraphToHFaces(
-					elementFactory, arrowSorter, faceIndices);
+	/**
+	 * @param windingProvider
+	 * @param meshCreator     creation du maillage a partir des faces
+	 * @param batchSize
+	 * @return
+	 */
+	private <M extends HMesh> ToHMeshSubscriber<M> subscriber(
+			PolygonWindingProvider windingProvider,
+			Function<List<HFace>, M> meshCreator, int batchSize) {
 
-			return cycleGraphToHFaces.convert(cycleGraph);
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batch size: " + batchSize);
 		}
+
+		init(true);
+
+		CycleGraph cycleGraph = createCycleGraph(windingProvider);
+
+		return new ToHMeshSubscriber<>(cycleGraph,
+				graph -> endConversion(cancellable(
+						() -> createFaces(graph, windingProvider))
+								.map(meshCreator).map(this::finishConversion)),
+				this::failConversion, stats, batchSize);
 	}
 
 	/**
@@ -424,18 +716,92 @@ public final class ToHMeshConverter {
 		ArrowSorter arrowSorter = new ArrowSorter(windingProvider,
 				vertexIndices::get);
 
-		try (IntStream indices = source.edgeIndices()) {
-			ObjIntConsumer<ArrowGraph> accumulator = (arrowGraph,
-					edgeIndex) -> addArrows(source, arrowGraph, edgeIndex);
+		return cancellable(() -> {
+			try (IntStream indices = source.edgeIndices()) {
+				ObjIntConsumer<ArrowGraph> accumulator = (arrowGraph,
+						edgeIndex) -> {
+					progress.step();
+					addArrows(source, arrowGraph, edgeIndex);
+				};
+
+				progress.start(Phase.EDGE_PAIRING, -1);
+
+				ArrowGraph arrowGraph = stats.time(Phase.EDGE_PAIRING,
+						() -> indices.sequential().collect(ArrowGraph::new,
+								accumulator, ToHMeshConverter::uncombinable));
 
-			ArrowGraph arrowGraph = indices.collect(ArrowGraph::new,
-					accumulator, null);
+				ArrowGraphToHFaces arrowGraphToHFaces = new ArrowGraphToHFaces(
+						elementFactory, arrowSorter, parallel);
 
-			ArrowGraphToHFaces arrowGraphToHFaces = new ArrowGraphToHFaces(
-					elementFactory, arrowSorter);
+				progress.start(Phase.CYCLE_CREATION, -1);
+
+				return stats.time(Phase.CYCLE_CREATION,
+						() -> arrowGraphToHFaces.convert(arrowGraph));
+			}
+		});
+	}
 
-			return arrowGraphToHFaces.convert(arrowGraph);
+	/**
+	 * Execution d'une partie de conversion pouvant etre annulee. En cas
+	 * d'annulation, la structure partielle est liberee
+	 *
+	 * @param conversion
+	 * @return
+	 * @throws CancellationException
+	 */
+	private <T> T cancellable(Supplier<T> conversion) {
+		try {
+			return conversion.get();
 		}
+
+		catch (CancellationException e) {
+			failConversion(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Fin d'une conversion annulee ou en echec : enregistrement des
+	 * statistiques et liberation des elements crees. Sans effet si la
+	 * conversion a deja ete liberee
+	 *
+	 * @param cause
+	 */
+	private void failConversion(Throwable cause) {
+		if (elementFactory == null) {
+			return;
+		}
+
+		if (cause instanceof CancellationException) {
+			stats.setCancelled();
+		}
+
+		endConversion(Optional.empty());
+		release();
+	}
+
+	/**
+	 * Liberation des elements crees par la derniere conversion. Seules les
+	 * statistiques sont conservees
+	 */
+	void release() {
+		vertices = new ArrayList<>();
+		elementFactory = null;
+		vertexIndices = null;
+		edgeIndices = null;
+		faceIndices = null;
+		progress = null;
+	}
+
+	/**
+	 * Combineur requis par {@link IntStream#collect} (non {@code null} depuis
+	 * Java 9). Jamais appele : l'accumulation est sequentielle
+	 *
+	 * @param graph1
+	 * @param graph2
+	 */
+	private static <G> void uncombinable(G graph1, G graph2) {
+		throw new IllegalStateException("cannot combine graphs");
 	}
 
 	/**
@@ -498,7 +864,8 @@ public final class ToHMeshConverter {
 	 * @return
 	 */
 	private HMesh createMesh(List<HFace> faces) {
-		return new HMeshImpl(faces, elementFactory);
+		return stats.time(Phase.FACE_CREATION,
+				() -> new HMeshImpl(faces, elementFactory));
 	}
 
 	/**
@@ -507,9 +874,13 @@ public final class ToHMeshConverter {
 	 * @return
 	 */
 	private HMesh2D createMesh(List<HFace> faces, Coord2DSource vertexCoords) {
-		HMesh2DImpl mesh = new HMesh2DImpl(faces, elementFactory);
+		HMesh2DImpl mesh = stats.time(Phase.FACE_CREATION,
+				() -> new HMesh2DImpl(faces, elementFactory));
+
+		long start = System.nanoTime();
 		mesh.vertexXs().setAll(v -> vertexCoords.x(vertexIndices.get(v)));
 		mesh.vertexYs().setAll(v -> vertexCoords.y(vertexIndices.get(v)));
+		stats.addDuration(Phase.COORD_ASSIGNMENT, System.nanoTime() - start);
 		return mesh;
 	}
 
@@ -519,10 +890,14 @@ public final class ToHMeshConverter {
 	 * @return
 	 */
 	private HMesh3D createMesh(List<HFace> faces, Coord3DSource vertexCoords) {
-		HMesh3DImpl mesh = new HMesh3DImpl(faces, elementFactory);
+		HMesh3DImpl mesh = stats.time(Phase.FACE_CREATION,
+				() -> new HMesh3DImpl(faces, elementFactory));
+
+		long start = System.nanoTime();
 		mesh.vertexXs().setAll(v -> vertexCoords.x(vertexIndices.get(v)));
 		mesh.vertexYs().setAll(v -> vertexCoords.y(vertexIndices.get(v)));
 		mesh.vertexZs().setAll(v -> vertexCoords.z(vertexIndices.get(v)));
+		stats.addDuration(Phase.COORD_ASSIGNMENT, System.nanoTime() - start);
 		return mesh;
 	}
 
@@ -535,6 +910,49 @@ public final class ToHMeshConverter {
 			mesh.vertices().forEach(v -> HVertexImpl.setMesh(v, mesh));
 		}
 
-		return new HConversion<>(mesh, vertexIndices, edgeIndices, faceIndices);
+		// La liste des sommets est cedee a la conversion
+		HConversion<M> conversion = new HConversion<>(mesh, vertexIndices,
+				edgeIndices, faceIndices, vertices, stats);
+
+		vertices = new ArrayList<>();
+		return conversion;
+	}
+
+	/**
+	 * @param conversion
+	 * @return
+	 */
+	private <M extends HMesh> HConversion<M> endConversion(
+			HConversion<M> conversion) {
+
+		endConversion(Optional.of(conversion));
+		return conversion;
+	}
+
+	/**
+	 * Enregistrement des statistiques de la conversion. Les cycles rejetes
+	 * font l'objet d'une seule trace
+	 *
+	 * @param conversion
+	 * @return
+	 */
+	private <M extends HMesh> Optional<HConversion<M>> endConversion(
+			Optional<HConversion<M>> conversion) {
+
+		stats.setSuccessful(conversion.isPresent());
+
+		if (stats.numRejectedCycles() > 0) {
+			LOGGER.warning(() -> stats.numRejectedCycles()
+					+ " rejected cycles: " + stats.rejectionsToString());
+		}
+
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.set(stats);
+			event.commit();
+		}
+
+		return conversion;
 	}
 }
@@ -0,0 +1,200 @@
+package hgeom.hmesh.core;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import hgeom.hmesh.core.ConversionStats.Phase;
+import hgeom.hmesh.elements.HMesh;
+
+/**
+ * Subscriber that generates a {@link HMesh half-edge data structure} from a
+ * stream of faces. Each face is defined as an array of indices to vertices and
+ * is identified by its rank in the stream
+ * <p>
+ * The faces are added to the structure under construction as they arrive.
+ * They are requested from the publisher by batches: no more than one batch of
+ * faces is pending at a time. The generated {@link HConversion} is provided
+ * through {@link #result()} when the stream completes
+ * <p>
+ * A subscriber is obtained from a {@link ToHMeshConverter} and can only be
+ * subscribed once
+ *
+ * @author Pierre B.
+ * @param <M> the type of the generated half-edge data structure
+ * @see ToHMeshConverter#subscriber(int)
+ */
+public final class ToHMeshSubscriber<M extends HMesh>
+		implements Flow.Subscriber<int[]> {
+
+	/**
+	 *
+	 */
+	private final CycleGraph cycleGraph;
+
+	/**
+	 * Conversion du graphe une fois toutes les faces recues
+	 */
+	private final Function<CycleGraph, Optional<HConversion<M>>> finisher;
+
+	/**
+	 * Fin et liberation de la conversion en cas d'annulation ou d'echec
+	 */
+	private final Consumer<Throwable> failureHandler;
+
+	/**
+	 *
+	 */
+	private final ConversionStats stats;
+
+	/**
+	 *
+	 */
+	private final int batchSize;
+
+	/**
+	 *
+	 */
+	private final CompletableFuture<Optional<HConversion<M>>> result = new CompletableFuture<>();
+
+	/**
+	 *
+	 */
+	private Flow.Subscription subscription;
+
+	/**
+	 * Index de la prochaine face
+	 */
+	private int faceIndex;
+
+	/**
+	 * Nombre de faces restant a recevoir dans le lot en cours
+	 */
+	private int pending;
+
+	/**
+	 * Debut de l'appariement des aretes, mesure une seule fois pour tout le
+	 * flux
+	 */
+	private long start;
+
+	/**
+	 * @param cycleGraph
+	 * @param finisher
+	 * @param failureHandler
+	 * @param stats
+	 * @param batchSize
+	 */
+	ToHMeshSubscriber(CycleGraph cycleGraph,
+			Function<CycleGraph, Optional<HConversion<M>>> finisher,
+			Consumer<Throwable> failureHandler, ConversionStats stats,
+			int batchSize) {
+
+		this.cycleGraph = Objects.requireNonNull(cycleGraph);
+		this.finisher = Objects.requireNonNull(finisher);
+		this.failureHandler = Objects.requireNonNull(failureHandler);
+		this.stats = Objects.requireNonNull(stats);
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * @return a future completed with an {@link Optional} on the generated
+	 *         {@link HConversion} when the stream completes, or with
+	 *         {@link Optional#empty()} in case the generation failed. The
+	 *         future is completed exceptionally if the stream fails, if a
+	 *         face refers to an illegal vertex index or, with a
+	 *         {@link CancellationException}, if the conversion is cancelled
+	 *         by the {@link ConversionMonitor} of the converter
+	 */
+	public CompletableFuture<Optional<HConversion<M>>> result() {
+		return result;
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription newSubscription) {
+		Objects.requireNonNull(newSubscription);
+
+		// Un seul abonnement possible
+		if (subscription != null || result.isDone()) {
+			newSubscription.cancel();
+			return;
+		}
+
+		subscription = newSubscription;
+		start = System.nanoTime();
+		requestBatch();
+	}
+
+	@Override
+	public void onNext(int[] face) {
+		Objects.requireNonNull(face);
+
+		if (result.isDone()) {
+			return;
+		}
+
+		try {
+			cycleGraph.addCycle(faceIndex++, face);
+		}
+
+		catch (RuntimeException e) {
+			subscription.cancel();
+			fail(e);
+			return;
+		}
+
+		if (--pending == 0) {
+			requestBatch();
+		}
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		Objects.requireNonNull(throwable);
+
+		if (!result.isDone()) {
+			fail(throwable);
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		if (result.isDone()) {
+			return;
+		}
+
+		stats.addDuration(Phase.EDGE_PAIRING, System.nanoTime() - start);
+
+		try {
+			result.complete(finisher.apply(cycleGraph));
+		}
+
+		catch (RuntimeException e) {
+			failureHandler.accept(e);
+			result.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Echec du flux avant sa fin : la conversion est terminee et liberee
+	 *
+	 * @param cause
+	 */
+	private void fail(Throwable cause) {
+		stats.addDuration(Phase.EDGE_PAIRING, System.nanoTime() - start);
+		failureHandler.accept(cause);
+		result.completeExceptionally(cause);
+	}
+
+	/**
+	 *
+	 */
+	private void requestBatch() {
+		pending = batchSize;
+		subscription.request(batchSize);
+	}
+}
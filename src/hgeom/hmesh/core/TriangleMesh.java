@@ -0,0 +1,783 @@
+package hgeom.hmesh.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.HMesh;
+
+/**
+ * Compact half-edge data structure dedicated to triangle meshes. Vertices,
+ * half-edges and faces are identified by integers; no object is created per
+ * element
+ * <p>
+ * The half-edge 3f + i (0 &lt;= i &lt; 3) is the i-th half-edge of the face f:
+ * the face of a half-edge and the next and previous half-edges in its face are
+ * computed arithmetically. Only the head vertex and the opposite half-edge of
+ * each half-edge are stored, plus one incoming half-edge per vertex. The
+ * opposite of a half-edge on a boundary is -1. When a vertex is on a boundary,
+ * its incoming half-edge is a boundary half-edge
+ * <p>
+ * Unlike a {@link HMesh}, whose editing operations apply to arbitrary
+ * polygons, the editing operations of this structure keep all the faces
+ * triangular. Removed faces and vertices are discarded: their identifiers are
+ * not reused
+ * <p>
+ * The mesh must be an orientable manifold: an edge is shared by at most 2
+ * faces with opposite orientations and the faces around a vertex form a single
+ * fan
+ *
+ * @author Pierre B.
+ * @see HMesh
+ */
+public final class TriangleMesh {
+
+	/**
+	 * Sommet d'arrivee de chaque demi-arete. -1 si la face est supprimee
+	 */
+	private int[] heads;
+
+	/**
+	 * Demi-arete opposee de chaque demi-arete. -1 sur un bord
+	 */
+	private int[] opposites;
+
+	/**
+	 * Une demi-arete arrivant sur chaque sommet, de bord si le sommet est sur
+	 * un bord. -1 si le sommet est supprime ou isole
+	 */
+	private int[] vertexEdges;
+
+	/**
+	 * Nombre de faces, supprimees comprises
+	 */
+	private int faceCount;
+
+	/**
+	 * Nombre de sommets, supprimes compris
+	 */
+	private int vertexCount;
+
+	/**
+	 *
+	 */
+	private int numFaces;
+
+	/**
+	 *
+	 */
+	private int numVertices;
+
+	/**
+	 * Constructs a triangle mesh from an array of triangles. Each triangle is
+	 * defined by 3 consecutive indices to vertices: [t0v0 t0v1 t0v2 t1v0 ...].
+	 * The face f of the mesh is the triangle of index f in the array and its
+	 * half-edge 3f + i goes from the vertex i to the vertex i + 1 (modulo 3)
+	 * of the triangle
+	 *
+	 * @param triangles   the array of triangles. Its length must be a multiple
+	 *                    of 3
+	 * @param numVertices the number of vertices. The vertex indices must be in
+	 *                    [0, numVertices[
+	 * @throws IllegalArgumentException if a triangle refers to an illegal
+	 *                                  vertex index or twice to the same
+	 *                                  vertex, or if an edge is shared by more
+	 *                                  than 2 triangles or by 2 triangles with
+	 *                                  the same orientation
+	 */
+	public TriangleMesh(int[] triangles, int numVertices) {
+		Objects.requireNonNull(triangles);
+
+		if (triangles.length % 3 != 0) {
+			throw new IllegalArgumentException(
+					"Number of indices not a multiple of 3: "
+							+ triangles.length);
+		}
+
+		faceCount = triangles.length / 3;
+		vertexCount = numVertices;
+		heads = new int[triangles.length];
+		opposites = new int[triangles.length];
+		vertexEdges = new int[numVertices];
+		Arrays.fill(vertexEdges, -1);
+
+		for (int f = 0; f < faceCount; f++) {
+			for (int i = 0; i < 3; i++) {
+				int v = triangles[3 * f + (i + 1) % 3];
+
+				if (v < 0 || v >= numVertices) {
+					throw new IllegalArgumentException(
+							"Illegal vertex index: " + v);
+				}
+
+				heads[3 * f + i] = v;
+			}
+
+			if (heads[3 * f] == heads[3 * f + 1]
+					|| heads[3 * f + 1] == heads[3 * f + 2]
+					|| heads[3 * f + 2] == heads[3 * f]) {
+
+				throw new IllegalArgumentException(
+						"Triangle with twice the same vertex: " + f);
+			}
+		}
+
+		linkOpposites();
+
+		// Sommets : une demi-arete entrante, de bord si possible
+		for (int h = 0; h < heads.length; h++) {
+			int v = heads[h];
+
+			if (vertexEdges[v] == -1 || opposites[h] == -1) {
+				vertexEdges[v] = h;
+			}
+		}
+
+		this.numFaces = faceCount;
+		this.numVertices = (int) Arrays.stream(vertexEdges)
+				.filter(h -> h != -1).count();
+	}
+
+	/**
+	 * Appariement des demi-aretes opposees a l'aide d'une table a adressage
+	 * ouvert indexee par les couples (origine, arrivee)
+	 */
+	private void linkOpposites() {
+		int numHalfEdges = heads.length;
+		int capacity = Integer.highestOneBit(Math.max(numHalfEdges, 1)) * 4;
+		int mask = capacity - 1;
+		long[] keys = new long[capacity];
+		int[] values = new int[capacity];
+		Arrays.fill(values, -1);
+
+		for (int h = 0; h < numHalfEdges; h++) {
+			long key = key(tail(h), heads[h]);
+			int slot = slot(keys, values, key, mask);
+
+			if (values[slot] != -1) {
+				throw new IllegalArgumentException(
+						"Edge shared by 2 faces with the same orientation "
+								+ "or by more than 2 faces: " + tail(h)
+								+ " -> " + heads[h]);
+			}
+
+			keys[slot] = key;
+			values[slot] = h;
+		}
+
+		for (int h = 0; h < numHalfEdges; h++) {
+			int slot = slot(keys, values, key(heads[h], tail(h)), mask);
+			opposites[h] = values[slot];
+		}
+	}
+
+	/**
+	 * @param keys
+	 * @param values
+	 * @param key
+	 * @param mask
+	 * @return la position de la cle ou la position libre ou l'inserer
+	 */
+	private static int slot(long[] keys, int[] values, long key, int mask) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		int slot = (int) (h ^ h >>> 32) & mask;
+
+		while (values[slot] != -1 && keys[slot] != key) {
+			slot = slot + 1 & mask;
+		}
+
+		return slot;
+	}
+
+	/**
+	 * @param tail
+	 * @param head
+	 * @return
+	 */
+	private static long key(int tail, int head) {
+		return (long) tail << 32 | head & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Constructs a triangle mesh from a face source. All the faces of the
+	 * source must be triangles
+	 *
+	 * @param faceSource  the face source
+	 * @param numVertices the number of vertices
+	 * @return the triangle mesh. The face f of the mesh is the f-th face
+	 *         supplied by the source
+	 * @throws IllegalArgumentException if a face is not a triangle
+	 * @see #TriangleMesh(int[], int)
+	 */
+	public static TriangleMesh of(FaceSource faceSource, int numVertices) {
+		int[] triangles;
+
+		try (IntStream indices = faceSource.faceIndices()) {
+			triangles = indices.sequential().mapToObj(faceSource::face)
+					.flatMapToInt(face -> {
+						if (face.length != 3) {
+							throw new IllegalArgumentException(
+									"Not a triangle: " + Arrays.toString(face));
+						}
+
+						return Arrays.stream(face);
+					}).toArray();
+		}
+
+		return new TriangleMesh(triangles, numVertices);
+	}
+
+	/**
+	 * @return a face source supplying the faces of this mesh that are not
+	 *         discarded. A face index in the source is a face of this mesh
+	 */
+	public FaceSource toFaceSource() {
+		return new FaceSource(
+				f -> new int[] { heads[3 * f + 2], heads[3 * f],
+						heads[3 * f + 1] },
+				this::faces);
+	}
+
+	/**
+	 * @return the number of faces of this mesh, discarded faces excluded
+	 */
+	public int numFaces() {
+		return numFaces;
+	}
+
+	/**
+	 * @return the number of vertices of this mesh, discarded and isolated
+	 *         vertices excluded
+	 */
+	public int numVertices() {
+		return numVertices;
+	}
+
+	/**
+	 * @return the faces of this mesh, discarded faces excluded
+	 */
+	public IntStream faces() {
+		return IntStream.range(0, faceCount).filter(f -> heads[3 * f] != -1);
+	}
+
+	/**
+	 * @return the half-edges of this mesh, half-edges of discarded faces
+	 *         excluded
+	 */
+	public IntStream halfEdges() {
+		return IntStream.range(0, 3 * faceCount).filter(h -> heads[h] != -1);
+	}
+
+	/**
+	 * @return the vertices of this mesh, discarded and isolated vertices
+	 *         excluded
+	 */
+	public IntStream vertices() {
+		return IntStream.range(0, vertexCount)
+				.filter(v -> vertexEdges[v] != -1);
+	}
+
+	/**
+	 * @param face a face
+	 * @return true if the face has been removed from this mesh
+	 */
+	public boolean isFaceDiscarded(int face) {
+		return heads[3 * face] == -1;
+	}
+
+	/**
+	 * @param vertex a vertex
+	 * @return true if the vertex has been removed from this mesh or is not
+	 *         connected to any face
+	 */
+	public boolean isVertexDiscarded(int vertex) {
+		return vertexEdges[vertex] == -1;
+	}
+
+	/**
+	 * @param face a face
+	 * @return the first half-edge of the face
+	 */
+	public static int faceEdge(int face) {
+		return 3 * face;
+	}
+
+	/**
+	 * @param halfEdge a half-edge
+	 * @return the face of the half-edge
+	 */
+	public static int face(int halfEdge) {
+		return halfEdge / 3;
+	}
+
+	/**
+	 * @param halfEdge a half-edge
+	 * @return the next half-edge in the face of the half-edge
+	 */
+	public static int next(int halfEdge) {
+		return halfEdge % 3 == 2 ? halfEdge - 2 : halfEdge + 1;
+	}
+
+	/**
+	 * @param halfEdge a half-edge
+	 * @return the previous half-edge in the face of the half-edge
+	 */
+	public static int previous(int halfEdge) {
+		return halfEdge % 3 == 0 ? halfEdge + 2 : halfEdge - 1;
+	}
+
+	/**
+	 * @param halfEdge a half-edge
+	 * @return the opposite half-edge or -1 if the half-edge is on a boundary
+	 */
+	public int opposite(int halfEdge) {
+		return opposites[halfEdge];
+	}
+
+	/**
+	 * @param halfEdge a half-edge
+	 * @return the vertex the half-edge points to
+	 */
+	public int head(int halfEdge) {
+		return heads[halfEdge];
+	}
+
+	/**
+	 * @param halfEdge a half-edge
+	 * @return the vertex the half-edge starts from
+	 */
+	public int tail(int halfEdge) {
+		return heads[previous(halfEdge)];
+	}
+
+	/**
+	 * @param vertex a vertex
+	 * @return a half-edge pointing to the vertex or -1 if the vertex is
+	 *         discarded. If the vertex is on a boundary, the half-edge is a
+	 *         boundary half-edge
+	 */
+	public int vertexEdge(int vertex) {
+		return vertexEdges[vertex];
+	}
+
+	/**
+	 * @param vertex a vertex
+	 * @return true if the vertex is on a boundary
+	 */
+	public boolean isBoundary(int vertex) {
+		int h = vertexEdges[vertex];
+		return h != -1 && opposites[h] == -1;
+	}
+
+	/**
+	 * @param vertex a vertex
+	 * @return the half-edges pointing to the vertex
+	 */
+	public IntStream incomingEdges(int vertex) {
+		IntStream.Builder builder = IntStream.builder();
+		int start = vertexEdges[vertex];
+
+		if (start != -1) {
+			int h = start;
+
+			do {
+				builder.add(h);
+				h = opposites[next(h)];
+			} while (h != -1 && h != start);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * @param vertex a vertex
+	 * @return the vertices connected to the vertex by an edge
+	 */
+	public IntStream neighbors(int vertex) {
+		int start = vertexEdges[vertex];
+
+		if (start == -1) {
+			return IntStream.empty();
+		}
+
+		// Sur un bord, le dernier voisin est l'extremite de la demi-arete de
+		// bord sortante
+		IntStream.Builder builder = IntStream.builder();
+		int h = start;
+		int last;
+
+		do {
+			builder.add(tail(h));
+			last = h;
+			h = opposites[next(h)];
+		} while (h != -1 && h != start);
+
+		if (h == -1) {
+			builder.add(heads[next(last)]);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Splits a face into 3 triangles connected to a new vertex. The face keeps
+	 * its first half-edge; 2 new faces are created
+	 *
+	 * @param face the face to split
+	 * @return the new vertex
+	 * @throws IllegalStateException if the face is discarded
+	 */
+	public int splitFace(int face) {
+		requireFace(face);
+
+		int f0 = 3 * face;
+		int f1 = f0 + 1;
+		int f2 = f0 + 2;
+		int v0 = heads[f2];
+		int v1 = heads[f0];
+		int v2 = heads[f1];
+		int p = addVertex();
+		int g0 = 3 * addFace();
+		int k0 = 3 * addFace();
+
+		// Faces (v0 v1 p), (v1 v2 p) et (v2 v0 p)
+		setFace(f0, v1, p, v0);
+		setFace(g0, v2, p, v1);
+		setFace(k0, v0, p, v2);
+
+		// Les aretes du triangle initial autres que la premiere changent de
+		// face
+		link(g0, opposites[f1]);
+		link(k0, opposites[f2]);
+		link(f1, g0 + 2);
+		link(g0 + 1, k0 + 2);
+		link(k0 + 1, f2);
+
+		if (vertexEdges[v2] == f1) {
+			vertexEdges[v2] = g0;
+		}
+
+		if (vertexEdges[v0] == f2) {
+			vertexEdges[v0] = k0;
+		}
+
+		vertexEdges[p] = f1;
+		return p;
+	}
+
+	/**
+	 * Flips an interior edge: the 2 triangles sharing the edge are replaced by
+	 * the 2 triangles sharing the other diagonal of the quadrilateral they
+	 * form. The faces and the half-edges keep their identifiers
+	 *
+	 * @param halfEdge a half-edge of the edge to flip
+	 * @return {@code true} if successful flip; {@code false} if the edge is on
+	 *         a boundary or if the other diagonal is already an edge
+	 * @throws IllegalStateException if the half-edge is discarded
+	 */
+	public boolean flipEdge(int halfEdge) {
+		requireHalfEdge(halfEdge);
+
+		int h = halfEdge;
+		int o = opposites[h];
+
+		if (o == -1) {
+			return false;
+		}
+
+		// h : a -> b dans (a b c), o : b -> a dans (b a d)
+		int hn = next(h);
+		int hp = previous(h);
+		int on = next(o);
+		int op = previous(o);
+		int a = heads[o];
+		int b = heads[h];
+		int c = heads[hn];
+		int d = heads[on];
+
+		if (c == d || neighbors(c).anyMatch(v -> v == d)) {
+			return false;
+		}
+
+		int oppBC = opposites[hn];
+		int oppCA = opposites[hp];
+		int oppAD = opposites[on];
+		int oppDB = opposites[op];
+
+		// Faces (c d b) et (d c a). h et o ne sont pas forcement les premieres
+		// demi-aretes de leurs faces
+		heads[h] = d;
+		heads[hn] = b;
+		heads[hp] = c;
+		heads[o] = c;
+		heads[on] = a;
+		heads[op] = d;
+
+		link(h, o);
+		link(hn, oppDB);
+		link(hp, oppBC);
+		link(on, oppCA);
+		link(op, oppAD);
+
+		// Les aretes du quadrilatere ont change de position
+		for (int v : new int[] { a, b, c, d }) {
+			int e = vertexEdges[v];
+
+			if (e == hn) {
+				vertexEdges[v] = hp;
+			}
+
+			else if (e == hp) {
+				vertexEdges[v] = on;
+			}
+
+			else if (e == on) {
+				vertexEdges[v] = op;
+			}
+
+			else if (e == op) {
+				vertexEdges[v] = hn;
+			}
+
+			else if (e == h) {
+				vertexEdges[v] = hn;
+			}
+
+			else if (e == o) {
+				vertexEdges[v] = on;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Collapses a half-edge (and its opposite). The head of the half-edge is
+	 * removed and its incoming half-edges are reconnected to the tail. The
+	 * faces of the half-edge and of its opposite are removed
+	 *
+	 * @param halfEdge the half-edge to collapse
+	 * @return {@code true} if successful collapse; {@code false} otherwise. The
+	 *         collapse does not take place if it would make the mesh
+	 *         non-manifold: the vertices of the edge must not share other
+	 *         neighbors than the third vertices of the faces of the edge
+	 *         (link condition), an interior edge must not connect 2 boundary
+	 *         vertices, and a removed face must not be connected to the rest
+	 *         of the mesh only by the collapsed edge
+	 * @throws IllegalStateException if the half-edge is discarded
+	 */
+	public boolean collapseEdge(int halfEdge) {
+		requireHalfEdge(halfEdge);
+
+		// h : t -> r dans (t r c), o : r -> t dans (r t d)
+		int h = halfEdge;
+		int o = opposites[h];
+		int hn = next(h);
+		int hp = previous(h);
+		int t = heads[hp];
+		int r = heads[h];
+		int c = heads[hn];
+		int d = o == -1 ? -1 : heads[next(o)];
+
+		if (!canCollapse(h, o, t, r, c, d)) {
+			return false;
+		}
+
+		int[] rEdges = incomingEdges(r).toArray();
+
+		int oppRC = opposites[hn];
+		int oppCT = opposites[hp];
+		link(oppRC, oppCT);
+		int oppTD = -1;
+		int oppDR = -1;
+
+		if (o != -1) {
+			oppTD = opposites[next(o)];
+			oppDR = opposites[previous(o)];
+			link(oppTD, oppDR);
+		}
+
+		// Reconnexion des demi-aretes arrivant sur le sommet supprime
+		for (int e : rEdges) {
+			heads[e] = t;
+		}
+
+		discardFace(face(h));
+
+		if (o != -1) {
+			discardFace(face(o));
+		}
+
+		vertexEdges[r] = -1;
+		numVertices--;
+
+		// Demi-aretes de reference des sommets des faces supprimees
+		resetVertexEdge(c, oppCT != -1 ? oppCT : previous(oppRC));
+		resetVertexEdge(t, oppRC != -1 ? oppRC : previous(oppCT));
+
+		if (o != -1) {
+			resetVertexEdge(d, oppDR != -1 ? oppDR : previous(oppTD));
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param h
+	 * @param o
+	 * @param t
+	 * @param r
+	 * @param c
+	 * @param d
+	 * @return
+	 */
+	private boolean canCollapse(int h, int o, int t, int r, int c, int d) {
+
+		// Face supprimee reliee au reste du maillage par la seule arete
+		if (opposites[next(h)] == -1 && opposites[previous(h)] == -1) {
+			return false;
+		}
+
+		if (o != -1) {
+			if (opposites[next(o)] == -1 && opposites[previous(o)] == -1) {
+				return false;
+			}
+
+			// Arete interieure reliant 2 bords ou maillage ferme reduit a 2
+			// faces
+			if (isBoundary(t) && isBoundary(r) || numFaces <= 4) {
+				return false;
+			}
+		}
+
+		// Condition de lien : voisins communs limites aux sommets opposes
+		int[] tNeighbors = neighbors(t).toArray();
+
+		return neighbors(r).filter(v -> v != c && v != d)
+				.noneMatch(v -> contains(tNeighbors, v));
+	}
+
+	/**
+	 * Choix d'une demi-arete de reference pour un sommet : parcours des
+	 * demi-aretes entrantes jusqu'a un bord
+	 *
+	 * @param vertex
+	 * @param incoming une demi-arete arrivant sur le sommet
+	 */
+	private void resetVertexEdge(int vertex, int incoming) {
+		int h = incoming;
+
+		while (opposites[h] != -1) {
+			int previous = previous(opposites[h]);
+
+			if (previous == incoming) {
+				break;
+			}
+
+			h = previous;
+		}
+
+		vertexEdges[vertex] = h;
+	}
+
+	/**
+	 * @param face
+	 */
+	private void discardFace(int face) {
+		for (int h = 3 * face; h < 3 * face + 3; h++) {
+			heads[h] = -1;
+			opposites[h] = -1;
+		}
+
+		numFaces--;
+	}
+
+	/**
+	 * @param h0 la premiere demi-arete de la face
+	 * @param v0 arrivee de la premiere demi-arete
+	 * @param v1 arrivee de la deuxieme demi-arete
+	 * @param v2 arrivee de la troisieme demi-arete
+	 */
+	private void setFace(int h0, int v0, int v1, int v2) {
+		heads[h0] = v0;
+		heads[h0 + 1] = v1;
+		heads[h0 + 2] = v2;
+	}
+
+	/**
+	 * @param h1
+	 * @param h2 demi-arete opposee ou -1
+	 */
+	private void link(int h1, int h2) {
+		if (h1 != -1) {
+			opposites[h1] = h2;
+		}
+
+		if (h2 != -1) {
+			opposites[h2] = h1;
+		}
+	}
+
+	/**
+	 * @return le nouveau sommet
+	 */
+	private int addVertex() {
+		if (vertexCount == vertexEdges.length) {
+			vertexEdges = Arrays.copyOf(vertexEdges,
+					Math.max(8, 2 * vertexCount));
+		}
+
+		numVertices++;
+		return vertexCount++;
+	}
+
+	/**
+	 * @return la nouvelle face
+	 */
+	private int addFace() {
+		if (3 * faceCount == heads.length) {
+			int capacity = 3 * Math.max(8, 2 * faceCount);
+			heads = Arrays.copyOf(heads, capacity);
+			opposites = Arrays.copyOf(opposites, capacity);
+		}
+
+		numFaces++;
+		return faceCount++;
+	}
+
+	/**
+	 * @param face
+	 */
+	private void requireFace(int face) {
+		if (face < 0 || face >= faceCount || heads[3 * face] == -1) {
+			throw new IllegalStateException("Discarded face: " + face);
+		}
+	}
+
+	/**
+	 * @param halfEdge
+	 */
+	private void requireHalfEdge(int halfEdge) {
+		if (halfEdge < 0 || halfEdge >= 3 * faceCount
+				|| heads[halfEdge] == -1) {
+
+			throw new IllegalStateException("Discarded half-edge: " + halfEdge);
+		}
+	}
+
+	/**
+	 * @param array
+	 * @param value
+	 * @return
+	 */
+	private static boolean contains(int[] array, int value) {
+		for (int element : array) {
+			if (element == value) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
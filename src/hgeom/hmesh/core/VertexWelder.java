@@ -0,0 +1,311 @@
+package hgeom.hmesh.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import hgeom.hmesh.elements.Coord3DSource;
+import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.TriangleSoup;
+
+/**
+ * Soudure des sommets d'une soupe de triangles. Les sommets distants de moins
+ * de la tolerance sont fusionnes en un seul sommet
+ * <p>
+ * Les sommets sont ranges dans une table de hachage de cellules de cote egal a
+ * la tolerance. Les cellules et leurs codes de hachage sont calcules en
+ * parallele. La soudure est ensuite effectuee en une seule passe : un sommet
+ * est compare aux sommets retenus des 27 cellules voisines. Table a adressage
+ * ouvert sur des tableaux d'entiers : pas d'objet par sommet
+ *
+ * @author Pierre B.
+ */
+final class VertexWelder {
+
+	/**
+	 *
+	 */
+	private static final Logger LOGGER = Logger
+			.getLogger(VertexWelder.class.getName());
+
+	/**
+	 *
+	 */
+	private final TriangleSoup soup;
+
+	/**
+	 *
+	 */
+	private final double tolerance;
+
+	/**
+	 * Les coordonnees de cellule (3 par sommet de la soupe)
+	 */
+	private long[] cells;
+
+	/**
+	 * Les codes de hachage des cellules des sommets de la soupe
+	 */
+	private int[] hashes;
+
+	/**
+	 * Table a adressage ouvert : pour chaque cellule, le dernier sommet retenu
+	 * dans cette cellule ou -1
+	 */
+	private int[] slots;
+
+	/**
+	 * Chainage des sommets retenus d'une meme cellule
+	 */
+	private int[] nextInCell;
+
+	/**
+	 * Index soude de chaque sommet de la soupe
+	 */
+	private int[] weldedIndices;
+
+	/**
+	 *
+	 */
+	private double[] xs;
+
+	/**
+	 *
+	 */
+	private double[] ys;
+
+	/**
+	 *
+	 */
+	private double[] zs;
+
+	/**
+	 * Index des triangles non degeneres apres soudure
+	 */
+	private int[] triangleIndices;
+
+	/**
+	 * @param soup
+	 * @param tolerance
+	 */
+	public VertexWelder(TriangleSoup soup, double tolerance) {
+		if (!(tolerance >= 0)) {
+			throw new IllegalArgumentException("tolerance: " + tolerance);
+		}
+
+		this.soup = Objects.requireNonNull(soup);
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 *
+	 */
+	public void weld() {
+		int numVertices = soup.numVertices();
+		computeCells(numVertices);
+
+		int capacity = Integer.highestOneBit(Math.max(numVertices, 1)) * 4;
+		slots = new int[capacity];
+		Arrays.fill(slots, -1);
+		nextInCell = new int[numVertices];
+		weldedIndices = new int[numVertices];
+		xs = new double[numVertices];
+		ys = new double[numVertices];
+		zs = new double[numVertices];
+
+		int numWelded = 0;
+		int range = tolerance == 0 ? 0 : 1;
+
+		for (int iVertex = 0; iVertex < numVertices; iVertex++) {
+			int match = findMatch(iVertex, range);
+
+			if (match != -1) {
+				weldedIndices[iVertex] = weldedIndices[match];
+			}
+
+			else {
+				// Nouveau sommet retenu : ajout en tete de sa cellule
+				int slot = slot(cells[3 * iVertex], cells[3 * iVertex + 1],
+						cells[3 * iVertex + 2], hashes[iVertex]);
+
+				nextInCell[iVertex] = slots[slot];
+				slots[slot] = iVertex;
+
+				weldedIndices[iVertex] = numWelded;
+				xs[numWelded] = soup.x(iVertex);
+				ys[numWelded] = soup.y(iVertex);
+				zs[numWelded] = soup.z(iVertex);
+				numWelded++;
+			}
+		}
+
+		xs = Arrays.copyOf(xs, numWelded);
+		ys = Arrays.copyOf(ys, numWelded);
+		zs = Arrays.copyOf(zs, numWelded);
+
+		// Liberation des structures de recherche
+		cells = null;
+		hashes = null;
+		slots = null;
+		nextInCell = null;
+
+		triangleIndices = IntStream.range(0, soup.numTriangles())
+				.filter(this::isValid).toArray();
+
+		int numDegenerated = soup.numTriangles() - triangleIndices.length;
+
+		if (numDegenerated > 0) {
+			LOGGER.warning(() -> numDegenerated
+					+ " triangles degenerated by welding ignored");
+		}
+	}
+
+	/**
+	 * Calcul parallele des cellules et des codes de hachage
+	 *
+	 * @param numVertices
+	 */
+	private void computeCells(int numVertices) {
+		cells = new long[3 * numVertices];
+		hashes = new int[numVertices];
+
+		IntStream.range(0, numVertices).parallel().forEach(iVertex -> {
+			long cx = cell(soup.x(iVertex));
+			long cy = cell(soup.y(iVertex));
+			long cz = cell(soup.z(iVertex));
+			cells[3 * iVertex] = cx;
+			cells[3 * iVertex + 1] = cy;
+			cells[3 * iVertex + 2] = cz;
+			hashes[iVertex] = hash(cx, cy, cz);
+		});
+	}
+
+	/**
+	 * @param coord
+	 * @return la coordonnee de cellule. Sans tolerance, la cellule est la
+	 *         valeur exacte de la coordonnee
+	 */
+	private long cell(double coord) {
+		if (tolerance == 0) {
+			return Double.doubleToLongBits(coord + 0.0);
+		}
+
+		return (long) Math.floor(coord / tolerance);
+	}
+
+	/**
+	 * @param iVertex
+	 * @param range   0 pour la seule cellule du sommet, 1 pour les 27
+	 *                cellules voisines
+	 * @return un sommet retenu proche du sommet ou -1
+	 */
+	private int findMatch(int iVertex, int range) {
+		long cx = cells[3 * iVertex];
+		long cy = cells[3 * iVertex + 1];
+		long cz = cells[3 * iVertex + 2];
+
+		for (int dx = -range; dx <= range; dx++) {
+			for (int dy = -range; dy <= range; dy++) {
+				for (int dz = -range; dz <= range; dz++) {
+					int hash = dx == 0 && dy == 0 && dz == 0 ? hashes[iVertex]
+							: hash(cx + dx, cy + dy, cz + dz);
+
+					int candidate = slots[slot(cx + dx, cy + dy, cz + dz,
+							hash)];
+
+					for (; candidate != -1; candidate = nextInCell[candidate]) {
+						if (isClose(iVertex, candidate)) {
+							return candidate;
+						}
+					}
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @param cx
+	 * @param cy
+	 * @param cz
+	 * @param hash
+	 * @return la position de la cellule dans la table ou la position libre ou
+	 *         l'inserer
+	 */
+	private int slot(long cx, long cy, long cz, int hash) {
+		int mask = slots.length - 1;
+		int slot = hash & mask;
+
+		for (;; slot = slot + 1 & mask) {
+			int vertex = slots[slot];
+
+			if (vertex == -1 || cells[3 * vertex] == cx
+					&& cells[3 * vertex + 1] == cy
+					&& cells[3 * vertex + 2] == cz) {
+
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * @param v1
+	 * @param v2
+	 * @return
+	 */
+	private boolean isClose(int v1, int v2) {
+		double dx = soup.x(v1) - soup.x(v2);
+		double dy = soup.y(v1) - soup.y(v2);
+		double dz = soup.z(v1) - soup.z(v2);
+		return dx * dx + dy * dy + dz * dz <= tolerance * tolerance;
+	}
+
+	/**
+	 * @param cx
+	 * @param cy
+	 * @param cz
+	 * @return
+	 */
+	private static int hash(long cx, long cy, long cz) {
+		long h = cx * 0x9E3779B97F4A7C15L ^ cy * 0xC2B2AE3D27D4EB4FL
+				^ cz * 0x165667B19E3779F9L;
+
+		h ^= h >>> 29;
+		return (int) (h ^ h >>> 32);
+	}
+
+	/**
+	 * @param triangleIndex
+	 * @return faux si 2 sommets du triangle ont ete soudes
+	 */
+	private boolean isValid(int triangleIndex) {
+		int v0 = weldedIndices[3 * triangleIndex];
+		int v1 = weldedIndices[3 * triangleIndex + 1];
+		int v2 = weldedIndices[3 * triangleIndex + 2];
+		return v0 != v1 && v1 != v2 && v2 != v0;
+	}
+
+	/**
+	 * @return les triangles definis par les index des sommets soudes. L'index
+	 *         d'un triangle est son index dans la soupe. Les triangles
+	 *         degeneres par la soudure sont exclus
+	 */
+	public FaceSource faceSource() {
+		int[] indices = triangleIndices;
+		int[] welded = weldedIndices;
+
+		return new FaceSource(
+				i -> new int[] { welded[3 * i], welded[3 * i + 1],
+						welded[3 * i + 2] },
+				() -> Arrays.stream(indices));
+	}
+
+	/**
+	 * @return les coordonnees des sommets soudes
+	 */
+	public Coord3DSource coordSource() {
+		return new Coord3DSource(xs, ys, zs);
+	}
+}
@@ -26,6 +26,17 @@ public final class Coord2DSource {
 	 */
 	private final IntToDoubleFunction ys;
 
+	/**
+	 * Coordonnees x si la source est construite a partir de tableaux,
+	 * {@code null} sinon
+	 */
+	private final double[] xArray;
+
+	/**
+	 *
+	 */
+	private final double[] yArray;
+
 	/**
 	 * Constructs a 2D coords source from the sepcified list of 2D coordinates
 	 *
@@ -55,7 +66,8 @@ public final class Coord2DSource {
 	 * @param ys an array containing the y coordinates
 	 */
 	public Coord2DSource(double[] xs, double[] ys) {
-		this(i -> xs[i], i -> ys[i]);
+		this(i -> xs[i], i -> ys[i], Objects.requireNonNull(xs),
+				Objects.requireNonNull(ys));
 	}
 
 	/**
@@ -77,8 +89,22 @@ public final class Coord2DSource {
 	 * @param ys a function returning a y coordinate according to an index
 	 */
 	public Coord2DSource(IntToDoubleFunction xs, IntToDoubleFunction ys) {
+		this(xs, ys, null, null);
+	}
+
+	/**
+	 * @param xs
+	 * @param ys
+	 * @param xArray
+	 * @param yArray
+	 */
+	private Coord2DSource(IntToDoubleFunction xs, IntToDoubleFunction ys,
+			double[] xArray, double[] yArray) {
+
 		this.xs = Objects.requireNonNull(xs);
 		this.ys = Objects.requireNonNull(ys);
+		this.xArray = xArray;
+		this.yArray = yArray;
 	}
 
 	/**
@@ -105,11 +131,17 @@ public final class Coord2DSource {
 
 	/**
 	 * Generates and returns a {@link PolygonWindingProvider} based upon the 2D
-	 * coords of this source
+	 * coords of this source. The provider reads the coordinate arrays directly
+	 * when this source is built from arrays of x and y coordinates
 	 *
 	 * @return a polygon winding provider based on the 2D coords of this source
 	 */
 	public PolygonWindingProvider windingProvider() {
+		if (xArray != null) {
+			return vertexIndices -> Winding.ofPolygon2D(vertexIndices, xArray,
+					yArray);
+		}
+
 		return vertexIndices -> Winding.ofPolygon2D(vertexIndices.length,
 				i -> x(vertexIndices[i]), i -> y(vertexIndices[i]));
 	}
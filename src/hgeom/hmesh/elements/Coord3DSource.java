@@ -31,6 +31,22 @@ public final class Coord3DSource {
 	 */
 	private final IntToDoubleFunction zs;
 
+	/**
+	 * Coordonnees x si la source est construite a partir de tableaux,
+	 * {@code null} sinon
+	 */
+	private final double[] xArray;
+
+	/**
+	 *
+	 */
+	private final double[] yArray;
+
+	/**
+	 *
+	 */
+	private final double[] zArray;
+
 	/**
 	 * Creates a vertex supplier from a list of vertex coordinates .
 	 *
@@ -59,7 +75,8 @@ public final class Coord3DSource {
 	 * @param zs an array containing the z coordinates
 	 */
 	public Coord3DSource(double[] xs, double[] ys, double[] zs) {
-		this(i -> xs[i], i -> ys[i], i -> zs[i]);
+		this(i -> xs[i], i -> ys[i], i -> zs[i], Objects.requireNonNull(xs),
+				Objects.requireNonNull(ys), Objects.requireNonNull(zs));
 	}
 
 	/**
@@ -85,9 +102,27 @@ public final class Coord3DSource {
 	public Coord3DSource(IntToDoubleFunction xs, IntToDoubleFunction ys,
 			IntToDoubleFunction zs) {
 
+		this(xs, ys, zs, null, null, null);
+	}
+
+	/**
+	 * @param xs
+	 * @param ys
+	 * @param zs
+	 * @param xArray
+	 * @param yArray
+	 * @param zArray
+	 */
+	private Coord3DSource(IntToDoubleFunction xs, IntToDoubleFunction ys,
+			IntToDoubleFunction zs, double[] xArray, double[] yArray,
+			double[] zArray) {
+
 		this.xs = Objects.requireNonNull(xs);
 		this.ys = Objects.requireNonNull(ys);
 		this.zs = Objects.requireNonNull(zs);
+		this.xArray = xArray;
+		this.yArray = yArray;
+		this.zArray = zArray;
 	}
 
 	/**
@@ -131,6 +166,11 @@ public final class Coord3DSource {
 	 *         source
 	 */
 	public PolygonWindingProvider xyWindingProvider() {
+		if (xArray != null) {
+			return vertexIndices -> Winding.ofPolygon2D(vertexIndices, xArray,
+					yArray);
+		}
+
 		return vertexIndices -> Winding.ofPolygon2D(vertexIndices.length,
 				i -> x(vertexIndices[i]), i -> y(vertexIndices[i]));
 	}
@@ -143,6 +183,11 @@ public final class Coord3DSource {
 	 *         source
 	 */
 	public PolygonWindingProvider xzWindingProvider() {
+		if (xArray != null) {
+			return vertexIndices -> Winding.ofPolygon2D(vertexIndices, xArray,
+					zArray);
+		}
+
 		return vertexIndices -> Winding.ofPolygon2D(vertexIndices.length,
 				i -> x(vertexIndices[i]), i -> z(vertexIndices[i]));
 	}
@@ -155,6 +200,11 @@ public final class Coord3DSource {
 	 *         source
 	 */
 	public PolygonWindingProvider yzWindingProvider() {
+		if (yArray != null) {
+			return vertexIndices -> Winding.ofPolygon2D(vertexIndices, yArray,
+					zArray);
+		}
+
 		return vertexIndices -> Winding.ofPolygon2D(vertexIndices.length,
 				i -> y(vertexIndices[i]), i -> z(vertexIndices[i]));
 	}
@@ -9,6 +9,7 @@ import java.util.stream.IntStream;
 
 import hgeom.hmesh.core.HConversion;
 import hgeom.hmesh.core.ToHMeshConverter;
+import hgeom.hmesh.winding.Winding;
 
 /**
  * Supplier of an indexed collection of faces. Each face is defined as an array
@@ -28,6 +29,11 @@ public final class FaceSource {
 	 */
 	private final Supplier<IntStream> indexSupplier;
 
+	/**
+	 * Orientations connues des faces, {@code null} si inconnues
+	 */
+	private final IntFunction<Winding> windings;
+
 	/**
 	 * Constructs a face source from the specified list of faces
 	 *
@@ -81,8 +87,37 @@ public final class FaceSource {
 	public FaceSource(IntFunction<int[]> faces,
 			Supplier<IntStream> faceIndexSupplier) {
 
+		this(faces, faceIndexSupplier, null);
+	}
+
+	/**
+	 * @param faces
+	 * @param faceIndexSupplier
+	 * @param windings
+	 */
+	private FaceSource(IntFunction<int[]> faces,
+			Supplier<IntStream> faceIndexSupplier,
+			IntFunction<Winding> windings) {
+
 		this.faces = Objects.requireNonNull(faces);
 		this.indexSupplier = Objects.requireNonNull(faceIndexSupplier);
+		this.windings = windings;
+	}
+
+	/**
+	 * Returns a face source supplying the same faces as this source along with
+	 * their precomputed windings. During a conversion, a known winding spares
+	 * the computation of the winding of a face from the coordinates of its
+	 * vertices and allows to orient the faces without any coordinates
+	 *
+	 * @param faceWindings a function returning the winding of a face, as
+	 *                     defined by the order of its vertices, according to
+	 *                     its index. {@link Winding#UNDETERMINED} if unknown
+	 * @return a face source with precomputed windings
+	 */
+	public FaceSource withWindings(IntFunction<Winding> faceWindings) {
+		return new FaceSource(faces, indexSupplier,
+				Objects.requireNonNull(faceWindings));
 	}
 
 	/**
@@ -133,6 +168,19 @@ public final class FaceSource {
 		return faces.apply(faceIndex);
 	}
 
+	/**
+	 * Returns the precomputed winding of the face with the specified index
+	 *
+	 * @param faceIndex index of the face
+	 * @return the winding of the face or {@link Winding#UNDETERMINED} if no
+	 *         winding has been supplied
+	 * @see #withWindings(IntFunction)
+	 */
+	public Winding winding(int faceIndex) {
+		return windings == null ? Winding.UNDETERMINED
+				: windings.apply(faceIndex);
+	}
+
 	/**
 	 * @return a stream on this source face indices
 	 */
@@ -0,0 +1,198 @@
+package hgeom.hmesh.elements;
+
+import hgeom.hmesh.core.ToHMeshConverter;
+
+/**
+ * Supplier of a structured grid of faces. The grid is made of numI x numJ
+ * quadrilateral cells, optionally split into 2 triangles each. Its topology is
+ * implicit: a half-edge data structure is built from a grid source without the
+ * cycle reconstruction needed by a {@link FaceSource}
+ * <p>
+ * The vertex (i, j), with 0 &lt;= i &lt;= numI and 0 &lt;= j &lt;= numJ, has
+ * the index j * (numI + 1) + i. The quadrilateral cell (i, j) has the index j
+ * * numI + i and is defined by the vertices (i, j), (i + 1, j), (i + 1, j + 1)
+ * and (i, j + 1). When triangulated, the cell (i, j) is split along its
+ * diagonal from (i, j) to (i + 1, j + 1) into the triangles of indices 2 * (j
+ * * numI + i) and 2 * (j * numI + i) + 1
+ *
+ * @author Pierre B.
+ * @see ToHMeshConverter#convert(GridSource)
+ */
+public final class GridSource {
+
+	/**
+	 *
+	 */
+	private final int numI;
+
+	/**
+	 *
+	 */
+	private final int numJ;
+
+	/**
+	 *
+	 */
+	private final boolean triangulated;
+
+	/**
+	 * Constructs a grid source of quadrilateral cells
+	 *
+	 * @param numI the number of cells along the i axis
+	 * @param numJ the number of cells along the j axis
+	 * @throws IllegalArgumentException if a number of cells is not positive or
+	 *                                  if the grid has more than
+	 *                                  {@link Integer#MAX_VALUE} vertices,
+	 *                                  faces or half-edges
+	 */
+	public GridSource(int numI, int numJ) {
+		this(numI, numJ, false);
+	}
+
+	/**
+	 * Constructs a grid source of quadrilateral or triangular cells
+	 *
+	 * @param numI         the number of cells along the i axis
+	 * @param numJ         the number of cells along the j axis
+	 * @param triangulated if true, each quadrilateral cell is split into 2
+	 *                     triangles
+	 * @throws IllegalArgumentException if a number of cells is not positive or
+	 *                                  if the grid has more than
+	 *                                  {@link Integer#MAX_VALUE} vertices,
+	 *                                  faces or half-edges
+	 */
+	public GridSource(int numI, int numJ, boolean triangulated) {
+		if (numI < 1 || numJ < 1) {
+			throw new IllegalArgumentException(
+					"Illegal grid size: " + numI + " x " + numJ);
+		}
+
+		long numCells = (long) numI * numJ;
+		long numVertices = (numI + 1L) * (numJ + 1L);
+		long numFaces = triangulated ? 2 * numCells : numCells;
+
+		// Aretes horizontales, verticales puis diagonales
+		long numHalfEdges = 2 * ((long) numI * (numJ + 1L)
+				+ (numI + 1L) * numJ + (triangulated ? numCells : 0));
+
+		if (numVertices > Integer.MAX_VALUE || numFaces > Integer.MAX_VALUE
+				|| numHalfEdges > Integer.MAX_VALUE) {
+
+			throw new IllegalArgumentException(
+					"Illegal grid size: " + numI + " x " + numJ);
+		}
+
+		this.numI = numI;
+		this.numJ = numJ;
+		this.triangulated = triangulated;
+	}
+
+	/**
+	 * Builds a half-edge data structure based on this grid source
+	 *
+	 * @return a {@link HMesh} representing the half-edge data structure
+	 */
+	public HMesh toHMesh() {
+		return new ToHMeshConverter().convert(this).mesh();
+	}
+
+	/**
+	 * Builds a 2D half-edge data structure based on this grid source and on the
+	 * specified {@link Coord2DSource 2D coords source}
+	 *
+	 * @param coordsSource a 2D coords supplier for the coords of the vertices
+	 *                     of the 2D half-edge data structure
+	 * @return a {@link HMesh2D} representing the 2D half-edge data structure
+	 */
+	public HMesh2D toHMesh(Coord2DSource coordsSource) {
+		return new ToHMeshConverter().convert(this, coordsSource).mesh();
+	}
+
+	/**
+	 * Builds a 3D half-edge data structure based on this grid source and on the
+	 * specified {@link Coord3DSource 3D coords source}
+	 *
+	 * @param coordsSource a 3D coords supplier for the coords of the vertices
+	 *                     of the 3D half-edge data structure
+	 * @return a {@link HMesh3D} representing the 3D half-edge data structure
+	 */
+	public HMesh3D toHMesh(Coord3DSource coordsSource) {
+		return new ToHMeshConverter().convert(this, coordsSource).mesh();
+	}
+
+	/**
+	 * @return the number of cells along the i axis
+	 */
+	public int numI() {
+		return numI;
+	}
+
+	/**
+	 * @return the number of cells along the j axis
+	 */
+	public int numJ() {
+		return numJ;
+	}
+
+	/**
+	 * @return true if each quadrilateral cell is split into 2 triangles
+	 */
+	public boolean isTriangulated() {
+		return triangulated;
+	}
+
+	/**
+	 * @return the number of vertices of the grid
+	 */
+	public int numVertices() {
+		return Math.multiplyExact(numI + 1, numJ + 1);
+	}
+
+	/**
+	 * @return the number of faces of the grid
+	 */
+	public int numFaces() {
+		int numCells = Math.multiplyExact(numI, numJ);
+		return triangulated ? Math.multiplyExact(2, numCells) : numCells;
+	}
+
+	/**
+	 * @param i the position of the vertex along the i axis
+	 * @param j the position of the vertex along the j axis
+	 * @return the index of the vertex
+	 */
+	public int vertexIndex(int i, int j) {
+		return j * (numI + 1) + i;
+	}
+
+	/**
+	 * Returns the faces of this grid as a {@link FaceSource}. The face indices
+	 * and the vertex indices are those of this grid
+	 *
+	 * @return a face source supplying the faces of this grid
+	 */
+	public FaceSource toFaceSource() {
+		return new FaceSource(this::face, 0, numFaces());
+	}
+
+	/**
+	 * @param faceIndex
+	 * @return
+	 */
+	private int[] face(int faceIndex) {
+		int cellIndex = triangulated ? faceIndex / 2 : faceIndex;
+		int i = cellIndex % numI;
+		int j = cellIndex / numI;
+		int v00 = vertexIndex(i, j);
+		int v10 = v00 + 1;
+		int v11 = v10 + numI + 1;
+		int v01 = v00 + numI + 1;
+
+		if (!triangulated) {
+			return new int[] { v00, v10, v11, v01 };
+		}
+
+		return faceIndex % 2 == 0 ? new int[] { v00, v10, v11 }
+				: new int[] { v00, v11, v01 };
+	}
+}
@@ -158,6 +158,42 @@ public interface HMesh {
 	 */
 	boolean removeVertex(HVertex vertex);
 
+	/**
+	 * Returns the half-edge whose next is the specified half-edge. Same as
+	 * {@link HEdge#previous()}, but in constant time when the half-edges of
+	 * this mesh are linked to their previous
+	 *
+	 * @param edge a half-edge of this mesh
+	 * @return the previous half-edge
+	 * @throws IllegalStateException if the half-edge is discarded
+	 * @see #linkEdgesToPrevious(boolean)
+	 */
+	HEdge previous(HEdge edge);
+
+	/**
+	 * Enables or disables the links from the half-edges of this mesh to their
+	 * previous. While enabled, the links are kept in a data layer of this mesh
+	 * updated by the topological operations. {@link #previous(HEdge)} and the
+	 * operations which need previous half-edges ({@link #mergeFaces},
+	 * {@link #collapseEdge}) then find them in constant time instead of
+	 * turning around a vertex
+	 * <p>
+	 * Enabling costs a pass over the half-edges and a reference per half-edge
+	 * until the links are disabled. Without effect if the half-edges have been
+	 * created linked to their previous at conversion time
+	 *
+	 * @param link true to enable the links, false to disable them
+	 * @see hgeom.hmesh.core.ToHMeshConverter#ToHMeshConverter(boolean)
+	 */
+	void linkEdgesToPrevious(boolean link);
+
+	/**
+	 * @return true if the previous of the half-edges of this mesh are found in
+	 *         constant time
+	 * @see #linkEdgesToPrevious(boolean)
+	 */
+	boolean areEdgesLinkedToPrevious();
+
 	/**
 	 * Creates and returns a {@link HDData} for associating data to this mesh's
 	 * vertices
@@ -254,6 +290,17 @@ public interface HMesh {
 	 */
 	HDData<HFace> createFaceDoubleData();
 
+	/**
+	 * Renumbers the vertices of this mesh in reverse Cuthill-McKee order of
+	 * their connectivity, then its faces in the order in which they are met
+	 * around the renumbered vertices, then its half-edges face by face. The
+	 * values stored in all the data layers of this mesh follow their elements.
+	 * Neighbor elements thus get close ids, which improves memory locality of
+	 * the subsequent traversals of this mesh and of its data layers. Garbage
+	 * data are removed as by {@link #trim()}
+	 */
+	void reorder();
+
 	/**
 	 * Minimize the memory usage of this mesh to its smallest size by removing
 	 * garbage data that have been internally accumulated. Garbage data are
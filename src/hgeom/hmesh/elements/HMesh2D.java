@@ -18,6 +18,16 @@ public interface HMesh2D extends HMesh {
 	 */
 	HDData<HVertex> vertexXs();
 
+	/**
+	 * Renumbers the vertices of this mesh along the specified space-filling
+	 * curve of their coordinates, then its faces and its half-edges as
+	 * {@link HMesh#reorder()} does. Vertices close in space thus get close
+	 * ids, as well as the faces and half-edges around them
+	 *
+	 * @param curve the curve ordering the vertices
+	 */
+	void reorder(SpaceFillingCurve curve);
+
 	/**
 	 * Gets the {@link HDData} containing the y coordinates of the vertices of
 	 * this mesh
@@ -0,0 +1,23 @@
+package hgeom.hmesh.elements;
+
+/**
+ * Space-filling curves along which the elements of a mesh can be renumbered
+ *
+ * @author Pierre B.
+ * @see HMesh2D#reorder(SpaceFillingCurve)
+ * @see HMesh3D#reorder(SpaceFillingCurve)
+ */
+public enum SpaceFillingCurve {
+
+	/**
+	 * The Hilbert curve. Consecutive cells along the curve are always
+	 * neighbors
+	 */
+	HILBERT,
+
+	/**
+	 * The Morton (Z-order) curve. Cheaper to compute than the Hilbert curve,
+	 * but jumps between distant cells at the boundaries of its quadrants
+	 */
+	MORTON
+}
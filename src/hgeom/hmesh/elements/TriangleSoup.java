@@ -0,0 +1,99 @@
+package hgeom.hmesh.elements;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import hgeom.hmesh.core.HConversion;
+import hgeom.hmesh.core.ToHMeshConverter;
+
+/**
+ * Collection of triangles defined by the coordinates of their vertices. The
+ * triangles do not share vertices: each triangle has its own 3 vertices, as in
+ * the output of most scanners. Vertices with close coordinates are welded when
+ * building a half-edge data structure
+ *
+ * @author Pierre B.
+ * @see ToHMeshConverter#convert(TriangleSoup, double)
+ */
+public final class TriangleSoup {
+
+	/**
+	 *
+	 */
+	private final double[] coords;
+
+	/**
+	 * Constructs a triangle soup from the specified array of coordinates. The
+	 * array contains the coordinates of the 3 vertices of each triangle, one
+	 * triangle after the other: [x0 y0 z0 x1 y1 z1 x2 y2 z2 x3 ...]
+	 *
+	 * @param coords the array of coordinates. Its length must be a multiple of
+	 *               9
+	 * @throws IllegalArgumentException if the length of the array is not a
+	 *                                  multiple of 9
+	 */
+	public TriangleSoup(double[] coords) {
+		this.coords = Objects.requireNonNull(coords);
+
+		if (coords.length % 9 != 0) {
+			throw new IllegalArgumentException(
+					"Number of coordinates not a multiple of 9: "
+							+ coords.length);
+		}
+	}
+
+	/**
+	 * Builds a 3D half-edge data structure based on this triangle soup.
+	 * Vertices closer than the specified tolerance are welded
+	 *
+	 * @param tolerance the maximal distance between welded vertices
+	 * @return an optional on a {@link HMesh3D} representing the 3D half-edge
+	 *         data structure; {@link Optional#empty()} if the building failed
+	 */
+	public Optional<HMesh3D> toHMesh(double tolerance) {
+		return new ToHMeshConverter().convert(this, tolerance)
+				.map(HConversion::mesh);
+	}
+
+	/**
+	 * @return the number of triangles of this soup
+	 */
+	public int numTriangles() {
+		return coords.length / 9;
+	}
+
+	/**
+	 * @return the number of vertices of this soup, i.e. 3 times the number of
+	 *         triangles
+	 */
+	public int numVertices() {
+		return coords.length / 3;
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex. The vertices of the triangle of
+	 *                    index i have the indices 3i, 3i+1 and 3i+2
+	 * @return the x coordinate of the vertex
+	 */
+	public double x(int vertexIndex) {
+		return coords[3 * vertexIndex];
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex
+	 * @return the y coordinate of the vertex
+	 * @see #x(int)
+	 */
+	public double y(int vertexIndex) {
+		return coords[3 * vertexIndex + 1];
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex
+	 * @return the z coordinate of the vertex
+	 * @see #x(int)
+	 */
+	public double z(int vertexIndex) {
+		return coords[3 * vertexIndex + 2];
+	}
+}
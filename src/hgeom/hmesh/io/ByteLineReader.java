@@ -0,0 +1,251 @@
+package hgeom.hmesh.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lecture en flux de lignes de texte et de donnees binaires a partir d'un
+ * canal NIO ou d'un tampon contenant tout le fichier (fichier projete en
+ * memoire)
+ * <p>
+ * Les octets lus sont conserves dans un tampon de taille fixe, agrandi
+ * uniquement si une ligne ne tient pas dans le tampon
+ *
+ * @author Pierre B.
+ */
+final class ByteLineReader {
+
+	/**
+	 * Analyse du contenu d'un fichier
+	 *
+	 * @param <T> le type du resultat
+	 */
+	@FunctionalInterface
+	interface Parser<T> {
+
+		/**
+		 * @param reader
+		 * @return
+		 * @throws IOException
+		 */
+		T parse(ByteLineReader reader) throws IOException;
+	}
+
+	/**
+	 * Taille a partir de laquelle les fichiers sont projetes en memoire
+	 */
+	static final long MAPPING_THRESHOLD = 1 << 24;
+
+	/**
+	 *
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Canal lu. {@code null} si tout le fichier est dans le tampon
+	 */
+	private final ReadableByteChannel channel;
+
+	/**
+	 * Octets non encore consommes entre position et limit
+	 */
+	private ByteBuffer buffer;
+
+	/**
+	 *
+	 */
+	private boolean endOfChannel;
+
+	/**
+	 * Nombre d'octets consommes et retires du tampon
+	 */
+	private long discarded;
+
+	/**
+	 * @param channel
+	 */
+	ByteLineReader(ReadableByteChannel channel) {
+		this.channel = channel;
+		buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.limit(0);
+	}
+
+	/**
+	 * @param content le contenu complet du fichier
+	 */
+	ByteLineReader(ByteBuffer content) {
+		channel = null;
+		buffer = content.duplicate();
+		endOfChannel = true;
+	}
+
+	/**
+	 * Analyse un fichier. Les fichiers plus grands que le seuil (et d'au plus
+	 * 2Go) sont projetes en memoire; les autres sont lus en flux
+	 *
+	 * @param path
+	 * @param mappingThreshold
+	 * @param parser
+	 * @return
+	 * @throws IOException
+	 */
+	static <T> T read(Path path, long mappingThreshold, Parser<T> parser)
+			throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.READ)) {
+
+			long size = channel.size();
+
+			if (size > mappingThreshold && size <= Integer.MAX_VALUE) {
+				return parser.parse(new ByteLineReader(
+						channel.map(FileChannel.MapMode.READ_ONLY, 0, size)));
+			}
+
+			return parser.parse(new ByteLineReader(channel));
+		}
+	}
+
+	/**
+	 * @return le tampon contenant tout le fichier, positionne sur les octets
+	 *         non encore consommes; {@code null} si le fichier est lu en flux
+	 */
+	ByteBuffer content() {
+		return channel == null ? buffer : null;
+	}
+
+	/**
+	 * @return le nombre d'octets consommes depuis le debut du fichier
+	 */
+	long offset() {
+		return discarded + buffer.position();
+	}
+
+	/**
+	 * Saute des octets
+	 *
+	 * @param n
+	 * @throws IOException
+	 */
+	void skip(long n) throws IOException {
+		long remaining = n;
+
+		while (remaining > buffer.remaining()) {
+			remaining -= buffer.remaining();
+			buffer.position(buffer.limit());
+
+			if (!fill()) {
+				throw new EOFException();
+			}
+		}
+
+		buffer.position(buffer.position() + (int) remaining);
+	}
+
+	/**
+	 * Positionne l'analyseur sur la prochaine ligne
+	 *
+	 * @param line
+	 * @return false si la fin du fichier est atteinte
+	 * @throws IOException
+	 */
+	boolean nextLine(LineScanner line) throws IOException {
+		int lineEnd = buffer.position();
+
+		while (true) {
+			int limit = buffer.limit();
+
+			while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+				lineEnd++;
+			}
+
+			if (lineEnd < limit) {
+				line.reset(buffer, buffer.position(), lineEnd);
+				buffer.position(lineEnd + 1);
+				return true;
+			}
+
+			int lineLength = lineEnd - buffer.position();
+
+			// Ligne incomplete : lecture de la suite
+			if (!fill()) {
+				if (lineLength == 0) {
+					return false;
+				}
+
+				line.reset(buffer, buffer.position(), buffer.limit());
+				buffer.position(buffer.limit());
+				return true;
+			}
+
+			lineEnd = buffer.position() + lineLength;
+		}
+	}
+
+	/**
+	 * Garantit qu'au moins n octets sont disponibles
+	 *
+	 * @param n
+	 * @param order l'ordre des octets des valeurs binaires
+	 * @return le tampon positionne sur les octets. Les valeurs sont lues par
+	 *         acces relatifs
+	 * @throws IOException
+	 */
+	ByteBuffer require(int n, ByteOrder order) throws IOException {
+		while (buffer.remaining() < n) {
+			if (!fill()) {
+				throw new EOFException();
+			}
+		}
+
+		return buffer.order(order);
+	}
+
+	/**
+	 * Lit des octets supplementaires a la suite des octets non consommes
+	 *
+	 * @return false si aucun octet n'a pu etre lu
+	 * @throws IOException
+	 */
+	private boolean fill() throws IOException {
+		if (endOfChannel) {
+			return false;
+		}
+
+		int remaining = buffer.remaining();
+		discarded += buffer.position();
+
+		if (remaining == buffer.capacity()) {
+			ByteBuffer larger = ByteBuffer.allocate(2 * buffer.capacity())
+					.order(buffer.order());
+
+			larger.put(buffer);
+			buffer = larger;
+		}
+
+		else {
+			buffer.compact();
+		}
+
+		int numRead = 0;
+
+		while (numRead == 0) {
+			numRead = channel.read(buffer);
+		}
+
+		buffer.flip();
+
+		if (numRead < 0) {
+			endOfChannel = true;
+			return false;
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,196 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Tampon d'octets extensible dans lequel sont formates du texte ASCII et des
+ * valeurs binaires petit-boutistes
+ * <p>
+ * Les entiers sont formates sans objet intermediaire. Les doubles entiers de
+ * valeur absolue inferieure a 2^53 sont formates comme des entiers suivis de
+ * ".0"; les autres par {@link Double#toString(double)}
+ *
+ * @author Pierre B.
+ */
+final class ByteSink {
+
+	/**
+	 * Plus grand entier represente exactement par un double
+	 */
+	private static final double MAX_EXACT_LONG = 0x1p53;
+
+	/**
+	 *
+	 */
+	private byte[] bytes;
+
+	/**
+	 *
+	 */
+	private int size;
+
+	/**
+	 * Chiffres d'un entier, en ordre inverse
+	 */
+	private final byte[] digits = new byte[20];
+
+	/**
+	 * @param capacity
+	 */
+	ByteSink(int capacity) {
+		bytes = new byte[Math.max(capacity, 16)];
+	}
+
+	/**
+	 * @return le nombre d'octets du tampon
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param s une chaine ASCII
+	 * @return
+	 */
+	ByteSink ascii(String s) {
+		ensure(s.length());
+
+		for (int i = 0; i < s.length(); i++) {
+			bytes[size++] = (byte) s.charAt(i);
+		}
+
+		return this;
+	}
+
+	/**
+	 * @param c un caractere ASCII
+	 * @return
+	 */
+	ByteSink ascii(char c) {
+		ensure(1);
+		bytes[size++] = (byte) c;
+		return this;
+	}
+
+	/**
+	 * @param value
+	 * @return
+	 */
+	ByteSink number(long value) {
+		ensure(20);
+
+		if (value < 0) {
+			bytes[size++] = '-';
+
+			// Long.MIN_VALUE : pas d'oppose
+			if (value == Long.MIN_VALUE) {
+				return ascii(Long.toString(value).substring(1));
+			}
+
+			value = -value;
+		}
+
+		int numDigits = 0;
+
+		do {
+			digits[numDigits++] = (byte) ('0' + value % 10);
+			value /= 10;
+		} while (value != 0);
+
+		while (numDigits > 0) {
+			bytes[size++] = digits[--numDigits];
+		}
+
+		return this;
+	}
+
+	/**
+	 * @param value
+	 * @return
+	 */
+	ByteSink number(double value) {
+		if (value == Math.rint(value) && Math.abs(value) < MAX_EXACT_LONG
+				&& !(value == 0 && Double.doubleToRawLongBits(value) != 0)) {
+
+			return number((long) value).ascii(".0");
+		}
+
+		return ascii(Double.toString(value));
+	}
+
+	/**
+	 * @param value
+	 * @return
+	 */
+	ByteSink int8(int value) {
+		ensure(1);
+		bytes[size++] = (byte) value;
+		return this;
+	}
+
+	/**
+	 * @param value
+	 * @return
+	 */
+	ByteSink int32(int value) {
+		ensure(4);
+		bytes[size++] = (byte) value;
+		bytes[size++] = (byte) (value >>> 8);
+		bytes[size++] = (byte) (value >>> 16);
+		bytes[size++] = (byte) (value >>> 24);
+		return this;
+	}
+
+	/**
+	 * @param value
+	 * @return
+	 */
+	ByteSink int64(long value) {
+		return int32((int) value).int32((int) (value >>> 32));
+	}
+
+	/**
+	 * @param value
+	 * @return
+	 */
+	ByteSink float32(float value) {
+		return int32(Float.floatToRawIntBits(value));
+	}
+
+	/**
+	 * @param value
+	 * @return
+	 */
+	ByteSink float64(double value) {
+		return int64(Double.doubleToRawLongBits(value));
+	}
+
+	/**
+	 * Ecrit le contenu du tampon dans le canal et vide le tampon
+	 *
+	 * @param channel
+	 * @throws IOException
+	 */
+	void drainTo(WritableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, size);
+
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+
+		size = 0;
+	}
+
+	/**
+	 * @param n
+	 */
+	private void ensure(int n) {
+		if (size + n > bytes.length) {
+			bytes = Arrays.copyOf(bytes,
+					Math.max(size + n, 2 * bytes.length));
+		}
+	}
+}
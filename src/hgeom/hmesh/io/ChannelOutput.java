@@ -0,0 +1,138 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Ecriture tamponnee dans un canal. Les lignes d'une section (une ligne par
+ * sommet ou par face) peuvent etre formatees en parallele : elles sont
+ * regroupees en blocs formates chacun dans son propre tampon, par vagues de
+ * plusieurs blocs. Les blocs d'une vague sont ensuite ecrits dans l'ordre
+ *
+ * @author Pierre B.
+ */
+final class ChannelOutput {
+
+	/**
+	 * Formatage d'une ligne
+	 */
+	@FunctionalInterface
+	interface LineFormatter {
+
+		/**
+		 * @param index l'indice de la ligne dans la section
+		 * @param sink  le tampon recevant la ligne
+		 */
+		void format(int index, ByteSink sink);
+	}
+
+	/**
+	 * Taille a partir de laquelle le tampon est ecrit dans le canal
+	 */
+	private static final int FLUSH_SIZE = 1 << 16;
+
+	/**
+	 * Nombre de lignes d'un bloc formate en parallele
+	 */
+	private static final int BLOCK_SIZE = 1 << 12;
+
+	/**
+	 *
+	 */
+	private final WritableByteChannel channel;
+
+	/**
+	 *
+	 */
+	private final boolean parallel;
+
+	/**
+	 *
+	 */
+	private final ByteSink sink = new ByteSink(FLUSH_SIZE + 256);
+
+	/**
+	 * @param channel
+	 * @param parallel
+	 */
+	ChannelOutput(WritableByteChannel channel, boolean parallel) {
+		this.channel = channel;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * @return le tampon courant. Le tampon doit etre ecrit regulierement par
+	 *         {@link #flushIfFull()}
+	 */
+	ByteSink sink() {
+		return sink;
+	}
+
+	/**
+	 * Ecrit le tampon dans le canal s'il est plein
+	 *
+	 * @throws IOException
+	 */
+	void flushIfFull() throws IOException {
+		if (sink.size() >= FLUSH_SIZE) {
+			sink.drainTo(channel);
+		}
+	}
+
+	/**
+	 * Ecrit le tampon dans le canal
+	 *
+	 * @throws IOException
+	 */
+	void flush() throws IOException {
+		sink.drainTo(channel);
+	}
+
+	/**
+	 * Formate et ecrit une section de lignes
+	 *
+	 * @param numLines
+	 * @param formatter
+	 * @throws IOException
+	 */
+	void lines(int numLines, LineFormatter formatter) throws IOException {
+		if (!parallel || numLines <= BLOCK_SIZE) {
+			for (int i = 0; i < numLines; i++) {
+				formatter.format(i, sink);
+				flushIfFull();
+			}
+
+			return;
+		}
+
+		flush();
+
+		int numBlocks = (numLines + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		int waveSize = 4 * ForkJoinPool.getCommonPoolParallelism();
+		ByteSink[] blocks = new ByteSink[waveSize];
+
+		for (int wave = 0; wave < numBlocks; wave += waveSize) {
+			int firstBlock = wave;
+			int numWaveBlocks = Math.min(waveSize, numBlocks - wave);
+
+			IntStream.range(0, numWaveBlocks).parallel().forEach(b -> {
+				if (blocks[b] == null) {
+					blocks[b] = new ByteSink(FLUSH_SIZE);
+				}
+
+				int from = (firstBlock + b) * BLOCK_SIZE;
+				int to = Math.min(from + BLOCK_SIZE, numLines);
+
+				for (int i = from; i < to; i++) {
+					formatter.format(i, blocks[b]);
+				}
+			});
+
+			for (int b = 0; b < numWaveBlocks; b++) {
+				blocks[b].drainTo(channel);
+			}
+		}
+	}
+}
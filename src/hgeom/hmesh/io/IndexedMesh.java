@@ -0,0 +1,208 @@
+package hgeom.hmesh.io;
+
+import java.util.Arrays;
+
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HMesh;
+import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * Numerotation dense des sommets et des faces d'un {@link HMesh} a ecrire.
+ * Les elements supprimes et les faces de bord ne sont pas numerotes. Les
+ * indices des sommets des faces sont ranges a la suite dans un seul tableau
+ *
+ * @author Pierre B.
+ */
+final class IndexedMesh {
+
+	/**
+	 *
+	 */
+	private final HVertex[] vertices;
+
+	/**
+	 *
+	 */
+	private final HFace[] faces;
+
+	/**
+	 * Debut de chaque face dans faceVertices. numFaces + 1 elements
+	 */
+	private final int[] faceOffsets;
+
+	/**
+	 *
+	 */
+	private final int[] faceVertices;
+
+	/**
+	 *
+	 */
+	private final HDData<HVertex> xs;
+
+	/**
+	 *
+	 */
+	private final HDData<HVertex> ys;
+
+	/**
+	 * {@code null} si maillage 2D
+	 */
+	private final HDData<HVertex> zs;
+
+	/**
+	 * @param mesh
+	 */
+	IndexedMesh(HMesh2D mesh) {
+		this(mesh, mesh.vertexXs(), mesh.vertexYs(), null);
+	}
+
+	/**
+	 * @param mesh
+	 */
+	IndexedMesh(HMesh3D mesh) {
+		this(mesh, mesh.vertexXs(), mesh.vertexYs(), mesh.vertexZs());
+	}
+
+	/**
+	 * @param mesh
+	 * @param xs
+	 * @param ys
+	 * @param zs
+	 */
+	private IndexedMesh(HMesh mesh, HDData<HVertex> xs, HDData<HVertex> ys,
+			HDData<HVertex> zs) {
+
+		this.xs = xs;
+		this.ys = ys;
+		this.zs = zs;
+
+		vertices = mesh.vertices().toArray(HVertex[]::new);
+		faces = mesh.faces().filter(f -> f.status() != HFace.Status.BOUNDARY)
+				.toArray(HFace[]::new);
+
+		HIData<HVertex> vertexIndices = mesh.createVertexIntData();
+
+		for (int i = 0; i < vertices.length; i++) {
+			vertexIndices.set(vertices[i], i);
+		}
+
+		faceOffsets = new int[faces.length + 1];
+		int[] indices = new int[4 * faces.length];
+		int numIndices = 0;
+
+		for (int i = 0; i < faces.length; i++) {
+			HEdge first = faces[i].edge();
+			HEdge edge = first;
+
+			do {
+				if (numIndices == indices.length) {
+					indices = Arrays.copyOf(indices, 2 * numIndices + 1);
+				}
+
+				indices[numIndices++] = vertexIndices.get(edge.head());
+				edge = edge.next();
+			} while (edge != first);
+
+			faceOffsets[i + 1] = numIndices;
+		}
+
+		faceVertices = Arrays.copyOf(indices, numIndices);
+	}
+
+	/**
+	 * @return 2 ou 3
+	 */
+	int dimension() {
+		return zs == null ? 2 : 3;
+	}
+
+	/**
+	 * @return
+	 */
+	int numVertices() {
+		return vertices.length;
+	}
+
+	/**
+	 * @return
+	 */
+	int numFaces() {
+		return faces.length;
+	}
+
+	/**
+	 * @param index
+	 * @return
+	 */
+	HVertex vertex(int index) {
+		return vertices[index];
+	}
+
+	/**
+	 * @param index
+	 * @return
+	 */
+	HFace face(int index) {
+		return faces[index];
+	}
+
+	/**
+	 * @param vertex
+	 * @return
+	 */
+	double x(int vertex) {
+		return xs.get(vertices[vertex]);
+	}
+
+	/**
+	 * @param vertex
+	 * @return
+	 */
+	double y(int vertex) {
+		return ys.get(vertices[vertex]);
+	}
+
+	/**
+	 * @param vertex
+	 * @return 0 si maillage 2D
+	 */
+	double z(int vertex) {
+		return zs == null ? 0 : zs.get(vertices[vertex]);
+	}
+
+	/**
+	 * @param face
+	 * @return le nombre de sommets de la face
+	 */
+	int faceSize(int face) {
+		return faceOffsets[face + 1] - faceOffsets[face];
+	}
+
+	/**
+	 * @param face
+	 * @param i
+	 * @return l'indice du i-eme sommet de la face
+	 */
+	int faceVertex(int face, int i) {
+		return faceVertices[faceOffsets[face] + i];
+	}
+
+	/**
+	 * @return le plus grand nombre de sommets d'une face
+	 */
+	int maxFaceSize() {
+		int max = 0;
+
+		for (int i = 0; i < faces.length; i++) {
+			max = Math.max(max, faceSize(i));
+		}
+
+		return max;
+	}
+}
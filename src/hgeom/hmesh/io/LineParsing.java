@@ -0,0 +1,225 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Analyse ligne a ligne du corps d'un fichier texte (apres son entete)
+ * <p>
+ * Chaque ligne non vide et hors commentaire est confiee a un
+ * {@link LineParser} avec son rang parmi ces lignes. En mode parallele, le
+ * contenu est decoupe en morceaux limites par des sauts de ligne. Une premiere
+ * passe parallele compte les lignes de chaque morceau afin de connaitre le
+ * rang de leur premiere ligne. Une seconde passe parallele analyse chaque
+ * morceau dans son propre {@link MeshDataBuilder}. Les morceaux sont enfin
+ * concatenes dans l'ordre du fichier
+ *
+ * @author Pierre B.
+ */
+final class LineParsing {
+
+	/**
+	 * Analyse d'une ligne
+	 */
+	@FunctionalInterface
+	interface LineParser {
+
+		/**
+		 * @param line      la ligne
+		 * @param lineIndex le rang de la ligne parmi les lignes non vides et
+		 *                  hors commentaire du corps du fichier
+		 * @param mesh      le constructeur dans lequel ajouter sommets et faces
+		 * @throws IOException si la ligne est mal formee
+		 */
+		void parse(LineScanner line, long lineIndex, MeshDataBuilder mesh)
+				throws IOException;
+	}
+
+	/**
+	 *
+	 */
+	private LineParsing() {
+	}
+
+	/**
+	 * Analyse les lignes restantes du lecteur. L'analyse est parallele si le
+	 * lecteur contient tout le fichier et si la taille des morceaux est
+	 * strictement positive
+	 *
+	 * @param reader
+	 * @param chunkSize taille approximative en octets des morceaux analyses en
+	 *                  parallele; 0 pour une analyse sequentielle
+	 * @param mesh      le constructeur recevant les sommets et les faces
+	 * @param parser
+	 * @throws IOException
+	 */
+	static void parse(ByteLineReader reader, int chunkSize,
+			MeshDataBuilder mesh, LineParser parser) throws IOException {
+
+		ByteBuffer content = reader.content();
+
+		if (content == null || chunkSize <= 0) {
+			LineScanner line = new LineScanner();
+			long lineIndex = 0;
+
+			while (reader.nextLine(line)) {
+				if (line.hasNext()) {
+					parser.parse(line, lineIndex++, mesh);
+				}
+			}
+		}
+
+		else {
+			parseInParallel(content, chunkSize, mesh, parser);
+			content.position(content.limit());
+		}
+	}
+
+	/**
+	 * @param content
+	 * @param chunkSize
+	 * @param mesh
+	 * @param parser
+	 * @throws IOException
+	 */
+	private static void parseInParallel(ByteBuffer content, int chunkSize,
+			MeshDataBuilder mesh, LineParser parser) throws IOException {
+
+		int[] bounds = chunkBounds(content, chunkSize);
+		int numChunks = bounds.length - 1;
+
+		// Rang de la premiere ligne de chaque morceau
+		long[] firstLines = new long[numChunks + 1];
+
+		IntStream.range(0, numChunks).parallel()
+				.forEach(i -> firstLines[i + 1] = countLines(content,
+						bounds[i], bounds[i + 1]));
+
+		for (int i = 0; i < numChunks; i++) {
+			firstLines[i + 1] += firstLines[i];
+		}
+
+		MeshDataBuilder[] parts = new MeshDataBuilder[numChunks];
+
+		try {
+			IntStream.range(0, numChunks).parallel().forEach(i -> {
+				parts[i] = new MeshDataBuilder();
+
+				try {
+					parseChunk(content, bounds[i], bounds[i + 1],
+							firstLines[i], parts[i], parser);
+				}
+
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		for (MeshDataBuilder part : parts) {
+			mesh.append(part);
+		}
+	}
+
+	/**
+	 * @param content
+	 * @param chunkSize
+	 * @return les bornes des morceaux. Chaque morceau, sauf le dernier, se
+	 *         termine juste apres un saut de ligne
+	 */
+	private static int[] chunkBounds(ByteBuffer content, int chunkSize) {
+		List<Integer> bounds = new ArrayList<>();
+		int bound = content.position();
+		int end = content.limit();
+		bounds.add(bound);
+
+		while (bound < end) {
+			bound = end - bound <= chunkSize ? end : bound + chunkSize;
+
+			while (bound < end && content.get(bound - 1) != '\n') {
+				bound++;
+			}
+
+			bounds.add(bound);
+		}
+
+		return bounds.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * @param content
+	 * @param from
+	 * @param to
+	 * @return le nombre de lignes non vides et hors commentaire
+	 */
+	private static long countLines(ByteBuffer content, int from, int to) {
+		LineScanner line = new LineScanner();
+		long numLines = 0;
+
+		for (int lineStart = from; lineStart < to;) {
+			int lineEnd = lineEnd(content, lineStart, to);
+			line.reset(content, lineStart, lineEnd);
+
+			if (line.hasNext()) {
+				numLines++;
+			}
+
+			lineStart = lineEnd + 1;
+		}
+
+		return numLines;
+	}
+
+	/**
+	 * @param content
+	 * @param from
+	 * @param to
+	 * @param firstLine
+	 * @param part
+	 * @param parser
+	 * @throws IOException
+	 */
+	private static void parseChunk(ByteBuffer content, int from, int to,
+			long firstLine, MeshDataBuilder part, LineParser parser)
+			throws IOException {
+
+		LineScanner line = new LineScanner();
+		long lineIndex = firstLine;
+
+		for (int lineStart = from; lineStart < to;) {
+			int lineEnd = lineEnd(content, lineStart, to);
+			line.reset(content, lineStart, lineEnd);
+
+			if (line.hasNext()) {
+				parser.parse(line, lineIndex++, part);
+			}
+
+			lineStart = lineEnd + 1;
+		}
+	}
+
+	/**
+	 * @param content
+	 * @param from
+	 * @param to
+	 * @return la position du saut de ligne terminant la ligne commencant en
+	 *         from, ou to
+	 */
+	private static int lineEnd(ByteBuffer content, int from, int to) {
+		int lineEnd = from;
+
+		while (lineEnd < to && content.get(lineEnd) != '\n') {
+			lineEnd++;
+		}
+
+		return lineEnd;
+	}
+}
@@ -0,0 +1,384 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecture des nombres et des mots d'une ligne de texte ASCII contenue dans un
+ * {@link ByteBuffer}. Les octets sont lus par acces absolu : plusieurs
+ * analyseurs peuvent lire le meme tampon en parallele
+ * <p>
+ * Un '#' termine le contenu de la ligne (commentaire)
+ *
+ * @author Pierre B.
+ */
+final class LineScanner {
+
+	/**
+	 * Puissances de 10 representees exactement par un double
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4,
+			1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+			1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * Plus grande mantisse representee exactement par un double
+	 */
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+	/**
+	 *
+	 */
+	private ByteBuffer buffer;
+
+	/**
+	 *
+	 */
+	private int start;
+
+	/**
+	 *
+	 */
+	private int position;
+
+	/**
+	 *
+	 */
+	private int end;
+
+	/**
+	 * Positionne l'analyseur sur une ligne. Le saut de ligne n'est pas compris
+	 * dans l'intervalle
+	 *
+	 * @param lineBuffer
+	 * @param lineStart
+	 * @param lineEnd
+	 */
+	void reset(ByteBuffer lineBuffer, int lineStart, int lineEnd) {
+		buffer = lineBuffer;
+		start = lineStart;
+		position = lineStart;
+		end = lineEnd;
+	}
+
+	/**
+	 * @return true s'il reste un mot a lire sur la ligne
+	 */
+	boolean hasNext() {
+		skipBlanks();
+		return position < end && buffer.get(position) != '#';
+	}
+
+	/**
+	 * @param keyword
+	 * @return true si le prochain mot est le mot-cle specifie. Dans ce cas, le
+	 *         mot-cle est consomme
+	 */
+	boolean nextIs(String keyword) {
+		if (!hasNext()) {
+			return false;
+		}
+
+		int length = keyword.length();
+
+		if (position + length > end) {
+			return false;
+		}
+
+		for (int i = 0; i < length; i++) {
+			if (buffer.get(position + i) != keyword.charAt(i)) {
+				return false;
+			}
+		}
+
+		if (position + length < end
+				&& !isBlank(buffer.get(position + length))) {
+			return false;
+		}
+
+		position += length;
+		return true;
+	}
+
+	/**
+	 * @return true si le prochain mot commence par une lettre (mot-cle). Le
+	 *         mot n'est pas consomme
+	 */
+	boolean nextIsWord() {
+		if (!hasNext()) {
+			return false;
+		}
+
+		byte b = buffer.get(position);
+		return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+	}
+
+	/**
+	 * @return le prochain mot
+	 * @throws IOException
+	 */
+	String next() throws IOException {
+		if (!hasNext()) {
+			throw malformed();
+		}
+
+		int tokenStart = position;
+		skipToken();
+
+		return new String(bytes(tokenStart, position),
+				StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Saute le prochain mot
+	 *
+	 * @throws IOException
+	 */
+	void skip() throws IOException {
+		if (!hasNext()) {
+			throw malformed();
+		}
+
+		skipToken();
+	}
+
+	/**
+	 * @return le prochain mot interprete comme un entier
+	 * @throws IOException
+	 */
+	int nextInt() throws IOException {
+		int value = nextIntPrefix();
+
+		if (position < end && !isBlank(buffer.get(position))) {
+			throw malformed();
+		}
+
+		return value;
+	}
+
+	/**
+	 * Lit l'entier au debut du prochain mot et ignore la suite du mot (les
+	 * indices de texture et de normale des faces OBJ : 1/2/3)
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	int nextIntIgnoringSuffix() throws IOException {
+		int value = nextIntPrefix();
+		skipToken();
+		return value;
+	}
+
+	/**
+	 * @return
+	 * @throws IOException
+	 */
+	private int nextIntPrefix() throws IOException {
+		if (!hasNext()) {
+			throw malformed();
+		}
+
+		boolean negative = false;
+		byte b = buffer.get(position);
+
+		if (b == '-' || b == '+') {
+			negative = b == '-';
+			position++;
+		}
+
+		int digitsStart = position;
+		long value = 0;
+
+		while (position < end) {
+			int digit = buffer.get(position) - '0';
+
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+
+			value = 10 * value + digit;
+
+			if (value > Integer.MAX_VALUE) {
+				throw malformed();
+			}
+
+			position++;
+		}
+
+		if (position == digitsStart) {
+			throw malformed();
+		}
+
+		return (int) (negative ? -value : value);
+	}
+
+	/**
+	 * Lit le prochain mot comme un double. Les mantisses d'au plus 53 bits avec
+	 * un exposant decimal d'au plus 22 en valeur absolue sont converties
+	 * directement : une seule multiplication ou division exacte, correctement
+	 * arrondie. Les autres valeurs sont confiees a
+	 * {@link Double#parseDouble(String)}
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	double nextDouble() throws IOException {
+		if (!hasNext()) {
+			throw malformed();
+		}
+
+		int tokenStart = position;
+		boolean negative = false;
+		byte b = buffer.get(position);
+
+		if (b == '-' || b == '+') {
+			negative = b == '-';
+			position++;
+		}
+
+		long mantissa = 0;
+		int exponent = 0;
+		int numDigits = 0;
+		boolean exact = true;
+
+		// Partie entiere puis partie decimale
+		for (boolean fraction = false; position < end; position++) {
+			b = buffer.get(position);
+
+			if (b == '.' && !fraction) {
+				fraction = true;
+				continue;
+			}
+
+			int digit = b - '0';
+
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+
+			numDigits++;
+
+			if (mantissa < MAX_EXACT_MANTISSA / 10) {
+				mantissa = 10 * mantissa + digit;
+
+				if (fraction) {
+					exponent--;
+				}
+			}
+
+			else {
+				exact = false;
+			}
+		}
+
+		if (numDigits == 0) {
+			exact = false;
+		}
+
+		// Exposant
+		if (exact && position < end && (buffer.get(position) == 'e'
+				|| buffer.get(position) == 'E')) {
+
+			position++;
+			boolean negativeExponent = false;
+
+			if (position < end && (buffer.get(position) == '-'
+					|| buffer.get(position) == '+')) {
+
+				negativeExponent = buffer.get(position) == '-';
+				position++;
+			}
+
+			int exponentStart = position;
+			int value = 0;
+
+			while (position < end && value < 1000) {
+				int digit = buffer.get(position) - '0';
+
+				if (digit < 0 || digit > 9) {
+					break;
+				}
+
+				value = 10 * value + digit;
+				position++;
+			}
+
+			exact = position > exponentStart;
+			exponent += negativeExponent ? -value : value;
+		}
+
+		if (exact && (position == end || isBlank(buffer.get(position)))
+				&& Math.abs(exponent) < POWERS_OF_TEN.length) {
+
+			double value = exponent < 0
+					? mantissa / POWERS_OF_TEN[-exponent]
+					: mantissa * POWERS_OF_TEN[exponent];
+
+			return negative ? -value : value;
+		}
+
+		// Cas general
+		position = tokenStart;
+		skipToken();
+
+		try {
+			return Double.parseDouble(new String(bytes(tokenStart, position),
+					StandardCharsets.US_ASCII));
+		}
+
+		catch (NumberFormatException e) {
+			throw malformed();
+		}
+	}
+
+	/**
+	 * @return une exception signalant une ligne mal formee
+	 */
+	IOException malformed() {
+		return new IOException("Malformed line: "
+				+ new String(bytes(start, end), StandardCharsets.US_ASCII)
+						.trim());
+	}
+
+	/**
+	 *
+	 */
+	private void skipBlanks() {
+		while (position < end && isBlank(buffer.get(position))) {
+			position++;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private void skipToken() {
+		while (position < end && !isBlank(buffer.get(position))) {
+			position++;
+		}
+	}
+
+	/**
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	private byte[] bytes(int from, int to) {
+		byte[] bytes = new byte[to - from];
+
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(from + i);
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * @param b
+	 * @return
+	 */
+	private static boolean isBlank(byte b) {
+		return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+	}
+}
@@ -0,0 +1,313 @@
+package hgeom.hmesh.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Lecture des mots-cles et des valeurs d'un fichier MEdit ASCII
+ * ({@code .mesh}, {@code .sol}) ou binaire ({@code .meshb}, {@code .solb})
+ * <p>
+ * Un fichier binaire commence par l'entier 1, qui donne l'ordre des octets,
+ * suivi de la version. Chaque mot-cle est suivi de la position du mot-cle
+ * suivant. Selon la version :
+ * <ul>
+ * <li>1 : reels sur 4 octets, positions sur 4 octets</li>
+ * <li>2 : reels sur 8 octets, positions sur 4 octets</li>
+ * <li>3 : reels sur 8 octets, positions sur 8 octets</li>
+ * <li>4 : comme 3, entiers (nombres, indices, references) sur 8 octets</li>
+ * </ul>
+ * Un fichier ASCII est lu mot par mot, independamment des sauts de ligne
+ *
+ * @author Pierre B.
+ */
+final class MEditInput {
+
+	/**
+	 * Mot-cle inconnu (fichier ASCII)
+	 */
+	static final int UNKNOWN = 0;
+
+	/**
+	 *
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 *
+	 */
+	static final int DIMENSION = 3;
+
+	/**
+	 *
+	 */
+	static final int VERTICES = 4;
+
+	/**
+	 *
+	 */
+	static final int TRIANGLES = 6;
+
+	/**
+	 *
+	 */
+	static final int QUADRILATERALS = 7;
+
+	/**
+	 *
+	 */
+	static final int END = 54;
+
+	/**
+	 *
+	 */
+	static final int SOL_AT_VERTICES = 62;
+
+	/**
+	 * Mots-cles ASCII reconnus, indices par leur code
+	 */
+	private static final String[] KEYWORDS = new String[SOL_AT_VERTICES + 1];
+
+	static {
+		KEYWORDS[VERSION] = "MeshVersionFormatted";
+		KEYWORDS[DIMENSION] = "Dimension";
+		KEYWORDS[VERTICES] = "Vertices";
+		KEYWORDS[TRIANGLES] = "Triangles";
+		KEYWORDS[QUADRILATERALS] = "Quadrilaterals";
+		KEYWORDS[END] = "End";
+		KEYWORDS[SOL_AT_VERTICES] = "SolAtVertices";
+	}
+
+	/**
+	 *
+	 */
+	private final ByteLineReader reader;
+
+	/**
+	 * Ligne courante (fichier ASCII)
+	 */
+	private final LineScanner line = new LineScanner();
+
+	/**
+	 * {@code null} si fichier ASCII
+	 */
+	private final ByteOrder order;
+
+	/**
+	 *
+	 */
+	private final int version;
+
+	/**
+	 * Position du prochain mot-cle (fichier binaire). 0 si aucun
+	 */
+	private long nextPosition = -1;
+
+	/**
+	 * Lecture de l'entete
+	 *
+	 * @param reader
+	 * @throws IOException
+	 */
+	MEditInput(ByteLineReader reader) throws IOException {
+		this.reader = reader;
+
+		ByteBuffer buffer;
+
+		try {
+			buffer = reader.require(4, ByteOrder.LITTLE_ENDIAN);
+		}
+
+		catch (EOFException e) {
+			throw new IOException("Empty MEdit file");
+		}
+
+		int code = buffer.getInt(buffer.position());
+
+		if (code == 1) {
+			order = ByteOrder.LITTLE_ENDIAN;
+		}
+
+		else if (code == Integer.reverseBytes(1)) {
+			order = ByteOrder.BIG_ENDIAN;
+		}
+
+		else {
+			order = null;
+		}
+
+		if (order != null) {
+			buffer = reader.require(8, order);
+			buffer.getInt();
+			version = buffer.getInt();
+
+			if (version < 1 || version > 4) {
+				throw new IOException("Unsupported MEdit version: " + version);
+			}
+		}
+
+		else {
+			if (nextKeyword() != VERSION) {
+				throw new IOException("Not a MEdit file");
+			}
+
+			version = readSmallInt();
+		}
+	}
+
+	/**
+	 * @return true si le fichier est binaire
+	 */
+	boolean binary() {
+		return order != null;
+	}
+
+	/**
+	 * Lit le prochain mot-cle. Dans un fichier binaire, la fin de la section
+	 * courante est sautee si elle n'a pas ete lue. Dans un fichier ASCII, les
+	 * valeurs non lues de la section courante sont sautees
+	 *
+	 * @return le code du mot-cle ; {@link #END} a la fin du fichier
+	 * @throws IOException
+	 */
+	int nextKeyword() throws IOException {
+		if (order != null) {
+			if (nextPosition == 0) {
+				return END;
+			}
+
+			if (nextPosition > 0) {
+				long gap = nextPosition - reader.offset();
+
+				if (gap < 0) {
+					throw new IOException("Invalid MEdit keyword position: "
+							+ nextPosition);
+				}
+
+				reader.skip(gap);
+			}
+
+			ByteBuffer buffer = reader.require(4, order);
+			int keyword = buffer.getInt();
+
+			if (keyword == END) {
+				return END;
+			}
+
+			nextPosition = version < 3 ? reader.require(4, order).getInt()
+					: reader.require(8, order).getLong();
+
+			return keyword;
+		}
+
+		while (true) {
+			while (!line.hasNext()) {
+				if (!reader.nextLine(line)) {
+					return END;
+				}
+			}
+
+			if (!line.nextIsWord()) {
+				line.skip();
+				continue;
+			}
+
+			String word = line.next();
+
+			for (int code = 0; code < KEYWORDS.length; code++) {
+				if (word.equals(KEYWORDS[code])) {
+					return code;
+				}
+			}
+
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * Lit un entier toujours code sur 4 octets (dimension, types de solution)
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	int readSmallInt() throws IOException {
+		if (order != null) {
+			return reader.require(4, order).getInt();
+		}
+
+		return token().nextInt();
+	}
+
+	/**
+	 * Lit un nombre d'elements
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	int readCount() throws IOException {
+		long count = readLong();
+
+		if (count < 0 || count > Integer.MAX_VALUE) {
+			throw new IOException("Invalid MEdit count: " + count);
+		}
+
+		return (int) count;
+	}
+
+	/**
+	 * Lit un indice de sommet (a partir de 1) ou une reference
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	int readInt() throws IOException {
+		long value = readLong();
+
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new IOException("MEdit integer out of range: " + value);
+		}
+
+		return (int) value;
+	}
+
+	/**
+	 * @return
+	 * @throws IOException
+	 */
+	double readReal() throws IOException {
+		if (order == null) {
+			return token().nextDouble();
+		}
+
+		return version == 1 ? reader.require(4, order).getFloat()
+				: reader.require(8, order).getDouble();
+	}
+
+	/**
+	 * @return
+	 * @throws IOException
+	 */
+	private long readLong() throws IOException {
+		if (order == null) {
+			return token().nextInt();
+		}
+
+		return version < 4 ? reader.require(4, order).getInt()
+				: reader.require(8, order).getLong();
+	}
+
+	/**
+	 * @return la ligne positionnee sur la prochaine valeur (fichier ASCII)
+	 * @throws IOException
+	 */
+	private LineScanner token() throws IOException {
+		while (!line.hasNext()) {
+			if (!reader.nextLine(line)) {
+				throw new IOException("Truncated MEdit file");
+			}
+		}
+
+		return line;
+	}
+}
@@ -0,0 +1,111 @@
+package hgeom.hmesh.io;
+
+/**
+ * Ecriture de l'entete et des mots-cles d'un fichier MEdit ASCII ou binaire
+ * <p>
+ * Les fichiers binaires sont ecrits en version 3 : reels et positions sur 8
+ * octets, entiers sur 4 octets, ordre des octets little endian. Chaque
+ * mot-cle est suivi de la position du mot-cle suivant, calculee a partir de
+ * la taille de la section annoncee par l'appelant
+ *
+ * @author Pierre B.
+ */
+final class MEditOutput {
+
+	/**
+	 *
+	 */
+	private final ByteSink sink;
+
+	/**
+	 *
+	 */
+	private final boolean binary;
+
+	/**
+	 * Position du prochain mot-cle (fichier binaire)
+	 */
+	private long position;
+
+	/**
+	 * @param sink
+	 * @param binary
+	 */
+	MEditOutput(ByteSink sink, boolean binary) {
+		this.sink = sink;
+		this.binary = binary;
+	}
+
+	/**
+	 * @return true si le fichier est binaire
+	 */
+	boolean binary() {
+		return binary;
+	}
+
+	/**
+	 * Ecrit la version et la dimension
+	 *
+	 * @param dimension
+	 */
+	void begin(int dimension) {
+		if (binary) {
+			sink.int32(1).int32(3);
+			position = 8;
+			keyword(MEditInput.DIMENSION, "Dimension", 4);
+			sink.int32(dimension);
+		}
+
+		else {
+			sink.ascii("MeshVersionFormatted 2\nDimension ").number(dimension)
+					.ascii('\n');
+		}
+	}
+
+	/**
+	 * Ecrit un mot-cle
+	 *
+	 * @param code
+	 * @param name
+	 * @param sectionSize le nombre d'octets de la section suivant le mot-cle
+	 *                    et la position (fichier binaire)
+	 */
+	void keyword(int code, String name, long sectionSize) {
+		if (binary) {
+			position += 4 + 8 + sectionSize;
+			sink.int32(code).int64(position);
+		}
+
+		else {
+			sink.ascii('\n').ascii(name).ascii('\n');
+		}
+	}
+
+	/**
+	 * Ecrit un entier de l'entete d'une section (nombre d'elements...)
+	 *
+	 * @param value
+	 */
+	void integer(int value) {
+		if (binary) {
+			sink.int32(value);
+		}
+
+		else {
+			sink.number(value).ascii('\n');
+		}
+	}
+
+	/**
+	 * Ecrit le mot-cle de fin
+	 */
+	void end() {
+		if (binary) {
+			sink.int32(MEditInput.END).int64(0);
+		}
+
+		else {
+			sink.ascii("\nEnd\n");
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+
+/**
+ * Reader of MEdit mesh files, either ASCII ({@code .mesh}) or binary
+ * ({@code .meshb}, versions 1 to 4, little or big endian). The format is
+ * detected from the first bytes of the file
+ * <p>
+ * The {@code Vertices}, {@code Triangles} and {@code Quadrilaterals} are read,
+ * the triangles before the quadrilaterals when both are present. The z
+ * coordinates of the vertices of a mesh of dimension 2 are 0. The references
+ * and the other keywords (edges, volume elements, normals...) are ignored.
+ * Large files are mapped in memory but always parsed sequentially
+ *
+ * @author Pierre B.
+ * @see MEditWriter
+ * @see MEditSolutionReader
+ */
+public final class MEditReader extends MeshReader {
+
+	/**
+	 * Constructs a reader
+	 */
+	public MEditReader() {
+		super(0);
+	}
+
+	@Override
+	MeshData read(ByteLineReader reader, int bodyChunkSize)
+			throws IOException {
+
+		MEditInput input = new MEditInput(reader);
+		MeshDataBuilder mesh = new MeshDataBuilder();
+		int dimension = 3;
+
+		// Les triangles sont conserves a part pour etre places avant les
+		// quadrangles
+		MeshDataBuilder triangles = new MeshDataBuilder();
+		MeshDataBuilder quads = new MeshDataBuilder();
+
+		for (int keyword = input.nextKeyword(); keyword != MEditInput.END;
+				keyword = input.nextKeyword()) {
+
+			switch (keyword) {
+
+			case MEditInput.DIMENSION:
+				dimension = input.readSmallInt();
+
+				if (dimension != 2 && dimension != 3) {
+					throw new IOException("Invalid MEdit dimension: "
+							+ dimension);
+				}
+
+				break;
+
+			case MEditInput.VERTICES:
+				readVertices(input, dimension, mesh);
+				break;
+
+			case MEditInput.TRIANGLES:
+				readFaces(input, 3, triangles);
+				break;
+
+			case MEditInput.QUADRILATERALS:
+				readFaces(input, 4, quads);
+				break;
+
+			default:
+				break;
+			}
+		}
+
+		mesh.append(triangles);
+		mesh.append(quads);
+
+		return mesh.build();
+	}
+
+	/**
+	 * @param input
+	 * @param dimension
+	 * @param mesh
+	 * @throws IOException
+	 */
+	private static void readVertices(MEditInput input, int dimension,
+			MeshDataBuilder mesh) throws IOException {
+
+		int numVertices = input.readCount();
+
+		for (int i = 0; i < numVertices; i++) {
+			double x = input.readReal();
+			double y = input.readReal();
+			double z = dimension == 3 ? input.readReal() : 0;
+
+			input.readInt();
+			mesh.addVertex(x, y, z);
+		}
+	}
+
+	/**
+	 * @param input
+	 * @param size
+	 * @param faces
+	 * @throws IOException
+	 */
+	private static void readFaces(MEditInput input, int size,
+			MeshDataBuilder faces) throws IOException {
+
+		int numFaces = input.readCount();
+
+		for (int i = 0; i < numFaces; i++) {
+
+			// Indices a partir de 1
+			for (int j = 0; j < size; j++) {
+				faces.addFaceVertex(input.readInt() - 1);
+			}
+
+			input.readInt();
+			faces.endFace();
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package hgeom.hmesh.io;
+
+import java.util.Objects;
+
+import hgeom.hmesh.core.HConversion;
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * Solution fields associated with the vertices of a mesh, read from a MEdit
+ * {@code .sol} or {@code .solb} file ({@code SolAtVertices} keyword)
+ * <p>
+ * Each vertex holds the same sequence of fields. A field is made of one or
+ * several real components depending on its {@link FieldType type} and on the
+ * dimension of the solution. The values are stored in a flat primitive array
+ * <p>
+ * The vertices of the solution are those of the companion mesh file, in the
+ * same order. Mapping a field to the vertices of the half-edge data structure
+ * built from the mesh file is done through the {@link HConversion} of the
+ * mesh:
+ *
+ * <pre>
+ * <code>
+ * {@code
+ *
+ * MeshData data = new MEditReader().read(meshPath);
+ * HConversion<HMesh3D> conversion = new ToHMeshConverter()
+ *     .convert(data.faceSource(), data.coordSource()).orElseThrow(...);
+ *
+ * MEditSolution solution = new MEditSolutionReader().read(solPath);
+ * HDData<HVertex> temperature = solution.toVertexData(conversion, 0, 0);
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Pierre B.
+ * @see MEditSolutionReader
+ * @see MEditSolutionWriter
+ */
+public final class MEditSolution {
+
+	/**
+	 * Type of a solution field
+	 */
+	public enum FieldType {
+
+		/**
+		 * A single real value
+		 */
+		SCALAR(1),
+
+		/**
+		 * A vector of {@code dimension} real values
+		 */
+		VECTOR(2),
+
+		/**
+		 * A symmetric matrix of {@code dimension (dimension + 1) / 2} real
+		 * values
+		 */
+		SYMMETRIC_MATRIX(3),
+
+		/**
+		 * A full matrix of {@code dimension * dimension} real values
+		 */
+		MATRIX(4);
+
+		/**
+		 * Code MEdit
+		 */
+		private final int code;
+
+		/**
+		 * @param code
+		 */
+		FieldType(int code) {
+			this.code = code;
+		}
+
+		/**
+		 * @return the MEdit code of this type
+		 */
+		public int code() {
+			return code;
+		}
+
+		/**
+		 * @param dimension the dimension of the solution (2 or 3)
+		 * @return the number of real components of a field of this type
+		 */
+		public int size(int dimension) {
+			switch (this) {
+
+			case SCALAR:
+				return 1;
+
+			case VECTOR:
+				return dimension;
+
+			case SYMMETRIC_MATRIX:
+				return dimension * (dimension + 1) / 2;
+
+			default:
+				return dimension * dimension;
+			}
+		}
+
+		/**
+		 * @param code
+		 * @return le type de code specifie ; {@code null} si code inconnu
+		 */
+		static FieldType of(int code) {
+			for (FieldType type : values()) {
+				if (type.code == code) {
+					return type;
+				}
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private final int dimension;
+
+	/**
+	 *
+	 */
+	private final int numVertices;
+
+	/**
+	 *
+	 */
+	private final FieldType[] types;
+
+	/**
+	 * Rang de la premiere composante de chaque champ dans les valeurs d'un
+	 * sommet. numFields + 1 elements
+	 */
+	private final int[] offsets;
+
+	/**
+	 * Valeurs des champs, les sommets a la suite les uns des autres
+	 */
+	private final double[] values;
+
+	/**
+	 * @param dimension
+	 * @param numVertices
+	 * @param types
+	 * @param values
+	 */
+	MEditSolution(int dimension, int numVertices, FieldType[] types,
+			double[] values) {
+
+		this.dimension = dimension;
+		this.numVertices = numVertices;
+		this.types = types;
+		this.values = values;
+
+		offsets = new int[types.length + 1];
+
+		for (int i = 0; i < types.length; i++) {
+			offsets[i + 1] = offsets[i] + types[i].size(dimension);
+		}
+	}
+
+	/**
+	 * @return the dimension of the solution (2 or 3)
+	 */
+	public int dimension() {
+		return dimension;
+	}
+
+	/**
+	 * @return the number of vertices
+	 */
+	public int numVertices() {
+		return numVertices;
+	}
+
+	/**
+	 * @return the number of fields of each vertex
+	 */
+	public int numFields() {
+		return types.length;
+	}
+
+	/**
+	 * @param field the index of the field
+	 * @return the type of the field
+	 */
+	public FieldType fieldType(int field) {
+		return types[field];
+	}
+
+	/**
+	 * @param field the index of the field
+	 * @return the number of real components of the field
+	 */
+	public int fieldSize(int field) {
+		return offsets[field + 1] - offsets[field];
+	}
+
+	/**
+	 * @param vertexIndex the index of the vertex
+	 * @param field       the index of the field
+	 * @param component   the index of the component in the field
+	 * @return the value of the component of the field at the vertex
+	 * @throws IndexOutOfBoundsException if the component is not in the field
+	 */
+	public double value(int vertexIndex, int field, int component) {
+		return values[index(vertexIndex, field, component)];
+	}
+
+	/**
+	 * Maps a component of a field to the vertices of the half-edge data
+	 * structure built from the companion mesh file
+	 *
+	 * @param conversion the conversion of the faces of the mesh file into a
+	 *                   half-edge data structure
+	 * @param field      the index of the field
+	 * @param component  the index of the component in the field
+	 * @return the values of the component associated with the vertices of the
+	 *         half-edge data structure
+	 * @throws IndexOutOfBoundsException if the component is not in the field
+	 */
+	public HDData<HVertex> toVertexData(HConversion<?> conversion, int field,
+			int component) {
+
+		Objects.requireNonNull(conversion);
+		index(0, field, component);
+
+		return conversion.meshVertexDoubleData(
+				i -> values[index(i, field, component)]);
+	}
+
+	/**
+	 * @param vertexIndex
+	 * @param field
+	 * @param component
+	 * @return
+	 */
+	private int index(int vertexIndex, int field, int component) {
+		if (component < 0 || component >= fieldSize(field)) {
+			throw new IndexOutOfBoundsException("component: " + component);
+		}
+
+		return vertexIndex * offsets[types.length] + offsets[field] + component;
+	}
+}
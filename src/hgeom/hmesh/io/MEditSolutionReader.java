@@ -0,0 +1,138 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import hgeom.hmesh.io.MEditSolution.FieldType;
+
+/**
+ * Reader of MEdit solution files, either ASCII ({@code .sol}) or binary
+ * ({@code .solb}, versions 1 to 4, little or big endian). The format is
+ * detected from the first bytes of the file
+ * <p>
+ * The fields of the first {@code SolAtVertices} keyword are read. The other
+ * keywords are ignored. Large files are mapped in memory
+ *
+ * @author Pierre B.
+ * @see MEditSolution
+ * @see MEditReader
+ */
+public final class MEditSolutionReader {
+
+	/**
+	 * Reads the specified solution file
+	 *
+	 * @param path the path of the file
+	 * @return the solution fields
+	 * @throws IOException if the file cannot be read, is malformed or has no
+	 *                     {@code SolAtVertices} keyword
+	 */
+	public MEditSolution read(Path path) throws IOException {
+		return ByteLineReader.read(path, ByteLineReader.MAPPING_THRESHOLD,
+				MEditSolutionReader::read);
+	}
+
+	/**
+	 * Reads a solution from the specified stream. The stream is not closed
+	 *
+	 * @param stream the stream
+	 * @return the solution fields
+	 * @throws IOException if the stream cannot be read, is malformed or has no
+	 *                     {@code SolAtVertices} keyword
+	 */
+	public MEditSolution read(InputStream stream) throws IOException {
+		return read(Channels.newChannel(Objects.requireNonNull(stream)));
+	}
+
+	/**
+	 * Reads a solution from the specified channel. The channel is not closed
+	 *
+	 * @param channel the channel
+	 * @return the solution fields
+	 * @throws IOException if the channel cannot be read, is malformed or has
+	 *                     no {@code SolAtVertices} keyword
+	 */
+	public MEditSolution read(ReadableByteChannel channel) throws IOException {
+		return read(new ByteLineReader(Objects.requireNonNull(channel)));
+	}
+
+	/**
+	 * @param reader
+	 * @return
+	 * @throws IOException
+	 */
+	private static MEditSolution read(ByteLineReader reader)
+			throws IOException {
+
+		MEditInput input = new MEditInput(reader);
+		int dimension = 3;
+
+		for (int keyword = input.nextKeyword(); keyword != MEditInput.END;
+				keyword = input.nextKeyword()) {
+
+			if (keyword == MEditInput.DIMENSION) {
+				dimension = input.readSmallInt();
+
+				if (dimension != 2 && dimension != 3) {
+					throw new IOException("Invalid MEdit dimension: "
+							+ dimension);
+				}
+			}
+
+			else if (keyword == MEditInput.SOL_AT_VERTICES) {
+				return readFields(input, dimension);
+			}
+		}
+
+		throw new IOException("No SolAtVertices in MEdit file");
+	}
+
+	/**
+	 * @param input
+	 * @param dimension
+	 * @return
+	 * @throws IOException
+	 */
+	private static MEditSolution readFields(MEditInput input, int dimension)
+			throws IOException {
+
+		int numVertices = input.readCount();
+		int numFields = input.readSmallInt();
+
+		if (numFields < 0) {
+			throw new IOException("Invalid number of MEdit fields: "
+					+ numFields);
+		}
+
+		FieldType[] types = new FieldType[numFields];
+		long stride = 0;
+
+		for (int i = 0; i < numFields; i++) {
+			int code = input.readSmallInt();
+			types[i] = FieldType.of(code);
+
+			if (types[i] == null) {
+				throw new IOException("Unknown MEdit field type: " + code);
+			}
+
+			stride += types[i].size(dimension);
+		}
+
+		if (stride * numVertices > Integer.MAX_VALUE - 8) {
+			throw new IOException("Too many MEdit values: "
+					+ stride * numVertices);
+		}
+
+		double[] values = new double[(int) (stride * numVertices)];
+
+		for (int i = 0; i < values.length; i++) {
+			values[i] = input.readReal();
+		}
+
+		return new MEditSolution(dimension, numVertices, types, values);
+	}
+}
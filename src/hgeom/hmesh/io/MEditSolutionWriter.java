@@ -0,0 +1,190 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.io.MEditSolution.FieldType;
+
+/**
+ * Writer of MEdit solution files, either ASCII ({@code .sol}, the default) or
+ * binary ({@code .solb}, version 3, little endian)
+ * <p>
+ * The written mesh is not stored: its vertex data layers added as fields are
+ * written under the {@code SolAtVertices} keyword, in the order of the
+ * vertices of the mesh file written by a {@link MEditWriter} from the same
+ * mesh
+ * <p>
+ * The number of components of a field must match its {@link FieldType type}
+ * and the dimension of the written mesh: writing a mesh of another dimension
+ * throws an {@link IllegalArgumentException}
+ *
+ * @author Pierre B.
+ * @see MEditSolutionReader
+ */
+public final class MEditSolutionWriter extends MeshWriter {
+
+	/**
+	 * Champ ecrit
+	 */
+	private static final class Field {
+
+		/**
+		 *
+		 */
+		private final FieldType type;
+
+		/**
+		 *
+		 */
+		private final List<HDData<HVertex>> components;
+
+		/**
+		 * @param type
+		 * @param components
+		 */
+		Field(FieldType type, List<HDData<HVertex>> components) {
+			this.type = type;
+			this.components = components;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private final List<Field> fields = new ArrayList<>();
+
+	/**
+	 *
+	 */
+	private boolean binary;
+
+	/**
+	 * Constructs a writer formatting the values sequentially
+	 */
+	public MEditSolutionWriter() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a writer with the specified option
+	 *
+	 * @param parallel if {@code true}, the vertex lines are formatted in
+	 *                 parallel
+	 */
+	public MEditSolutionWriter(boolean parallel) {
+		super(parallel);
+	}
+
+	/**
+	 * Sets the format of the written files
+	 *
+	 * @param binary if {@code true}, the files are written in the binary
+	 *               format; otherwise in the ASCII format
+	 */
+	public void setBinary(boolean binary) {
+		this.binary = binary;
+	}
+
+	/**
+	 * Adds a field made of the specified vertex data layers
+	 *
+	 * @param type       the type of the field
+	 * @param components the data layers containing the components of the
+	 *                   field. A scalar field has one component
+	 * @throws IllegalArgumentException if no component is specified
+	 */
+	@SafeVarargs
+	public final void addField(FieldType type,
+			HDData<HVertex>... components) {
+
+		Objects.requireNonNull(type);
+
+		if (components.length == 0) {
+			throw new IllegalArgumentException("No component");
+		}
+
+		List<HDData<HVertex>> copy = new ArrayList<>(components.length);
+
+		for (HDData<HVertex> component : components) {
+			copy.add(Objects.requireNonNull(component));
+		}
+
+		fields.add(new Field(type, copy));
+	}
+
+	@Override
+	void write(IndexedMesh mesh, ChannelOutput output) throws IOException {
+		int dimension = mesh.dimension();
+		int stride = 0;
+
+		for (Field field : fields) {
+			if (field.components.size() != field.type.size(dimension)) {
+				throw new IllegalArgumentException(field.type + " field of "
+						+ field.components.size()
+						+ " components in dimension " + dimension);
+			}
+
+			stride += field.components.size();
+		}
+
+		MEditOutput medit = new MEditOutput(output.sink(), binary);
+
+		medit.begin(dimension);
+		medit.keyword(MEditInput.SOL_AT_VERTICES, "SolAtVertices",
+				8 + 4L * fields.size() + 8L * stride * mesh.numVertices());
+
+		medit.integer(mesh.numVertices());
+
+		ByteSink header = output.sink();
+
+		if (binary) {
+			header.int32(fields.size());
+
+			for (Field field : fields) {
+				header.int32(field.type.code());
+			}
+		}
+
+		else {
+			header.number(fields.size());
+
+			for (Field field : fields) {
+				header.ascii(' ').number(field.type.code());
+			}
+
+			header.ascii('\n');
+		}
+
+		output.lines(mesh.numVertices(), (v, sink) -> {
+			HVertex vertex = mesh.vertex(v);
+			boolean first = true;
+
+			for (Field field : fields) {
+				for (HDData<HVertex> component : field.components) {
+					if (binary) {
+						sink.float64(component.get(vertex));
+					}
+
+					else {
+						if (!first) {
+							sink.ascii(' ');
+						}
+
+						sink.number(component.get(vertex));
+						first = false;
+					}
+				}
+			}
+
+			if (!binary) {
+				sink.ascii('\n');
+			}
+		});
+
+		medit.end();
+	}
+}
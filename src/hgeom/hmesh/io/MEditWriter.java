@@ -0,0 +1,233 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * Writer of MEdit mesh files, either ASCII ({@code .mesh}, the default) or
+ * binary ({@code .meshb}, version 3, little endian)
+ * <p>
+ * The faces with 3 vertices are written as {@code Triangles}, those with 4
+ * vertices as {@code Quadrilaterals}. The faces with more vertices are split
+ * into fans of triangles. The faces with less than 3 vertices are not
+ * written. {@link HMesh2D 2D meshes} are written with dimension 2
+ * <p>
+ * The references of the vertices and of the faces, 0 by default, can be read
+ * from int data layers
+ *
+ * @author Pierre B.
+ * @see MEditReader
+ * @see MEditSolutionWriter
+ */
+public final class MEditWriter extends MeshWriter {
+
+	/**
+	 * References des sommets. {@code null} si nulles
+	 */
+	private HIData<HVertex> vertexReferences;
+
+	/**
+	 * References des faces. {@code null} si nulles
+	 */
+	private HIData<HFace> faceReferences;
+
+	/**
+	 *
+	 */
+	private boolean binary;
+
+	/**
+	 * Constructs a writer formatting the text sequentially
+	 */
+	public MEditWriter() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a writer with the specified option
+	 *
+	 * @param parallel if {@code true}, the vertex and element lines are
+	 *                 formatted in parallel
+	 */
+	public MEditWriter(boolean parallel) {
+		super(parallel);
+	}
+
+	/**
+	 * Sets the data layer containing the references of the vertices
+	 *
+	 * @param references the references of the vertices
+	 */
+	public void setVertexReferences(HIData<HVertex> references) {
+		vertexReferences = Objects.requireNonNull(references);
+	}
+
+	/**
+	 * Sets the data layer containing the references of the faces. The
+	 * triangles split from a face have the reference of the face
+	 *
+	 * @param references the references of the faces
+	 */
+	public void setFaceReferences(HIData<HFace> references) {
+		faceReferences = Objects.requireNonNull(references);
+	}
+
+	/**
+	 * Sets the format of the written files
+	 *
+	 * @param binary if {@code true}, the files are written in the binary
+	 *               format; otherwise in the ASCII format
+	 */
+	public void setBinary(boolean binary) {
+		this.binary = binary;
+	}
+
+	@Override
+	void write(IndexedMesh mesh, ChannelOutput output) throws IOException {
+		int dimension = mesh.dimension();
+		MEditOutput medit = new MEditOutput(output.sink(), binary);
+
+		medit.begin(dimension);
+		medit.keyword(MEditInput.VERTICES, "Vertices",
+				4 + (long) mesh.numVertices() * (8 * dimension + 4));
+
+		medit.integer(mesh.numVertices());
+
+		output.lines(mesh.numVertices(), (v, sink) -> {
+			int reference = vertexReferences == null ? 0
+					: vertexReferences.get(mesh.vertex(v));
+
+			if (binary) {
+				sink.float64(mesh.x(v)).float64(mesh.y(v));
+
+				if (dimension == 3) {
+					sink.float64(mesh.z(v));
+				}
+
+				sink.int32(reference);
+				return;
+			}
+
+			sink.number(mesh.x(v)).ascii(' ').number(mesh.y(v)).ascii(' ');
+
+			if (dimension == 3) {
+				sink.number(mesh.z(v)).ascii(' ');
+			}
+
+			sink.number(reference).ascii('\n');
+		});
+
+		// Triangles : face et rang du triangle dans l'eventail de la face
+		int numTriangles = 0;
+		int numQuads = 0;
+
+		for (int f = 0; f < mesh.numFaces(); f++) {
+			int size = mesh.faceSize(f);
+
+			if (size == 4) {
+				numQuads++;
+			}
+
+			else if (size >= 3) {
+				numTriangles += size - 2;
+			}
+		}
+
+		int[] triangleFaces = new int[numTriangles];
+		int[] triangleRanks = new int[numTriangles];
+		int[] quadFaces = new int[numQuads];
+		numTriangles = 0;
+		numQuads = 0;
+
+		for (int f = 0; f < mesh.numFaces(); f++) {
+			int size = mesh.faceSize(f);
+
+			if (size == 4) {
+				quadFaces[numQuads++] = f;
+			}
+
+			else {
+				for (int rank = 0; rank < size - 2; rank++) {
+					triangleFaces[numTriangles] = f;
+					triangleRanks[numTriangles++] = rank;
+				}
+			}
+		}
+
+		// Indices a partir de 1
+		if (numTriangles > 0) {
+			medit.keyword(MEditInput.TRIANGLES, "Triangles",
+					4 + 16L * numTriangles);
+
+			medit.integer(numTriangles);
+
+			output.lines(numTriangles, (t, sink) -> {
+				int face = triangleFaces[t];
+				int rank = triangleRanks[t];
+
+				writeIndex(mesh.faceVertex(face, 0), sink);
+				writeIndex(mesh.faceVertex(face, rank + 1), sink);
+				writeIndex(mesh.faceVertex(face, rank + 2), sink);
+				writeFaceReference(mesh, face, sink);
+			});
+		}
+
+		if (numQuads > 0) {
+			medit.keyword(MEditInput.QUADRILATERALS, "Quadrilaterals",
+					4 + 20L * numQuads);
+
+			medit.integer(numQuads);
+
+			output.lines(numQuads, (q, sink) -> {
+				int face = quadFaces[q];
+
+				for (int i = 0; i < 4; i++) {
+					writeIndex(mesh.faceVertex(face, i), sink);
+				}
+
+				writeFaceReference(mesh, face, sink);
+			});
+		}
+
+		medit.end();
+	}
+
+	/**
+	 * @param vertex
+	 * @param sink
+	 */
+	private void writeIndex(int vertex, ByteSink sink) {
+		if (binary) {
+			sink.int32(vertex + 1);
+		}
+
+		else {
+			sink.number(vertex + 1).ascii(' ');
+		}
+	}
+
+	/**
+	 * @param mesh
+	 * @param face
+	 * @param sink
+	 */
+	private void writeFaceReference(IndexedMesh mesh, int face,
+			ByteSink sink) {
+
+		int reference = faceReferences == null ? 0
+				: faceReferences.get(mesh.face(face));
+
+		if (binary) {
+			sink.int32(reference);
+		}
+
+		else {
+			sink.number(reference).ascii('\n');
+		}
+	}
+}
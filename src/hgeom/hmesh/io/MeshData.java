@@ -0,0 +1,145 @@
+package hgeom.hmesh.io;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import hgeom.hmesh.core.HConversion;
+import hgeom.hmesh.core.ToHMeshConverter;
+import hgeom.hmesh.elements.Coord3DSource;
+import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.HMesh3D;
+
+/**
+ * Collection of faces and of 3D vertex coordinates read from a mesh file.
+ * Coordinates and faces are stored in flat primitive arrays
+ *
+ * @author Pierre B.
+ * @see MeshReader
+ */
+public final class MeshData {
+
+	/**
+	 *
+	 */
+	private final double[] xs;
+
+	/**
+	 *
+	 */
+	private final double[] ys;
+
+	/**
+	 *
+	 */
+	private final double[] zs;
+
+	/**
+	 * Debut de chaque face dans faceVertices. numFaces + 1 elements
+	 */
+	private final int[] faceOffsets;
+
+	/**
+	 * Indices des sommets des faces, les faces a la suite les unes des autres
+	 */
+	private final int[] faceVertices;
+
+	/**
+	 * @param xs
+	 * @param ys
+	 * @param zs
+	 * @param faceOffsets
+	 * @param faceVertices
+	 */
+	MeshData(double[] xs, double[] ys, double[] zs, int[] faceOffsets,
+			int[] faceVertices) {
+
+		this.xs = xs;
+		this.ys = ys;
+		this.zs = zs;
+		this.faceOffsets = faceOffsets;
+		this.faceVertices = faceVertices;
+	}
+
+	/**
+	 * @return the number of vertices
+	 */
+	public int numVertices() {
+		return xs.length;
+	}
+
+	/**
+	 * @return the number of faces
+	 */
+	public int numFaces() {
+		return faceOffsets.length - 1;
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex
+	 * @return the x coordinate of the vertex
+	 */
+	public double x(int vertexIndex) {
+		return xs[vertexIndex];
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex
+	 * @return the y coordinate of the vertex
+	 */
+	public double y(int vertexIndex) {
+		return ys[vertexIndex];
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex
+	 * @return the z coordinate of the vertex
+	 */
+	public double z(int vertexIndex) {
+		return zs[vertexIndex];
+	}
+
+	/**
+	 * @param faceIndex the index of a face
+	 * @return the number of vertices of the face
+	 */
+	public int faceSize(int faceIndex) {
+		return faceOffsets[faceIndex + 1] - faceOffsets[faceIndex];
+	}
+
+	/**
+	 * @param faceIndex the index of a face
+	 * @return a new array containing the indices of the vertices of the face.
+	 *         Vertex indices start at 0
+	 */
+	public int[] face(int faceIndex) {
+		return Arrays.copyOfRange(faceVertices, faceOffsets[faceIndex],
+				faceOffsets[faceIndex + 1]);
+	}
+
+	/**
+	 * @return a {@link FaceSource} supplying the faces of this mesh data
+	 */
+	public FaceSource faceSource() {
+		return new FaceSource(this::face, 0, numFaces());
+	}
+
+	/**
+	 * @return a {@link Coord3DSource} supplying the vertex coordinates of this
+	 *         mesh data
+	 */
+	public Coord3DSource coordSource() {
+		return new Coord3DSource(xs, ys, zs);
+	}
+
+	/**
+	 * Builds a 3D half-edge data structure based on the faces and vertex
+	 * coordinates of this mesh data
+	 *
+	 * @return an optional on a {@link HMesh3D} representing the 3D half-edge
+	 *         data structure; {@link Optional#empty()} if the building failed
+	 */
+	public Optional<HMesh3D> toHMesh() {
+		return new ToHMeshConverter().convert(faceSource(), coordSource())
+				.map(HConversion::mesh);
+	}
+}
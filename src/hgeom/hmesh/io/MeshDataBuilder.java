@@ -0,0 +1,247 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Construction d'un {@link MeshData} dans des tableaux primitifs extensibles
+ * <p>
+ * Les indices relatifs (indices negatifs des fichiers OBJ) sont resolus par
+ * rapport aux sommets deja ajoutes a ce constructeur. Leurs positions sont
+ * memorisees afin de les decaler lorsque ce constructeur est concatene a un
+ * autre ({@link #append(MeshDataBuilder)})
+ *
+ * @author Pierre B.
+ */
+final class MeshDataBuilder {
+
+	/**
+	 *
+	 */
+	private double[] xs;
+
+	/**
+	 *
+	 */
+	private double[] ys;
+
+	/**
+	 *
+	 */
+	private double[] zs;
+
+	/**
+	 *
+	 */
+	private int numVertices;
+
+	/**
+	 *
+	 */
+	private int[] faceOffsets;
+
+	/**
+	 *
+	 */
+	private int numFaces;
+
+	/**
+	 *
+	 */
+	private int[] faceVertices;
+
+	/**
+	 *
+	 */
+	private int numFaceVertices;
+
+	/**
+	 * Positions dans faceVertices des indices relatifs
+	 */
+	private int[] relativePositions = new int[0];
+
+	/**
+	 *
+	 */
+	private int numRelativePositions;
+
+	/**
+	 *
+	 */
+	MeshDataBuilder() {
+		this(16, 16);
+	}
+
+	/**
+	 * @param vertexCapacity
+	 * @param faceCapacity
+	 */
+	MeshDataBuilder(int vertexCapacity, int faceCapacity) {
+		int numVerticesHint = Math.max(vertexCapacity, 1);
+		int numFacesHint = Math.max(faceCapacity, 1);
+
+		xs = new double[numVerticesHint];
+		ys = new double[numVerticesHint];
+		zs = new double[numVerticesHint];
+		faceOffsets = new int[numFacesHint + 1];
+		faceVertices = new int[3 * numFacesHint];
+	}
+
+	/**
+	 * @return
+	 */
+	int numVertices() {
+		return numVertices;
+	}
+
+	/**
+	 * @return
+	 */
+	int numFaces() {
+		return numFaces;
+	}
+
+	/**
+	 * @param x
+	 * @param y
+	 * @param z
+	 */
+	void addVertex(double x, double y, double z) {
+		if (numVertices == xs.length) {
+			int capacity = grow(numVertices);
+			xs = Arrays.copyOf(xs, capacity);
+			ys = Arrays.copyOf(ys, capacity);
+			zs = Arrays.copyOf(zs, capacity);
+		}
+
+		xs[numVertices] = x;
+		ys[numVertices] = y;
+		zs[numVertices] = z;
+		numVertices++;
+	}
+
+	/**
+	 * Ajoute un indice de sommet a la face en cours
+	 *
+	 * @param vertexIndex
+	 */
+	void addFaceVertex(int vertexIndex) {
+		if (numFaceVertices == faceVertices.length) {
+			faceVertices = Arrays.copyOf(faceVertices,
+					grow(numFaceVertices));
+		}
+
+		faceVertices[numFaceVertices++] = vertexIndex;
+	}
+
+	/**
+	 * Ajoute un indice relatif a la face en cours : -1 designe le dernier
+	 * sommet ajoute
+	 *
+	 * @param relativeIndex
+	 */
+	void addRelativeFaceVertex(int relativeIndex) {
+		if (numRelativePositions == relativePositions.length) {
+			relativePositions = Arrays.copyOf(relativePositions,
+					grow(numRelativePositions));
+		}
+
+		relativePositions[numRelativePositions++] = numFaceVertices;
+		addFaceVertex(numVertices + relativeIndex);
+	}
+
+	/**
+	 * Termine la face en cours
+	 */
+	void endFace() {
+		if (numFaces + 1 == faceOffsets.length) {
+			faceOffsets = Arrays.copyOf(faceOffsets, grow(numFaces + 1));
+		}
+
+		faceOffsets[++numFaces] = numFaceVertices;
+	}
+
+	/**
+	 * Ajoute a la suite les sommets et les faces d'un autre constructeur. Les
+	 * indices relatifs de l'autre constructeur sont decales du nombre de
+	 * sommets de ce constructeur
+	 *
+	 * @param other
+	 */
+	void append(MeshDataBuilder other) {
+		int vertexShift = numVertices;
+		int faceVertexShift = numFaceVertices;
+
+		int numAllVertices = numVertices + other.numVertices;
+
+		if (numAllVertices > xs.length) {
+			xs = Arrays.copyOf(xs, numAllVertices);
+			ys = Arrays.copyOf(ys, numAllVertices);
+			zs = Arrays.copyOf(zs, numAllVertices);
+		}
+
+		System.arraycopy(other.xs, 0, xs, numVertices, other.numVertices);
+		System.arraycopy(other.ys, 0, ys, numVertices, other.numVertices);
+		System.arraycopy(other.zs, 0, zs, numVertices, other.numVertices);
+		numVertices = numAllVertices;
+
+		int numAllFaceVertices = numFaceVertices + other.numFaceVertices;
+
+		if (numAllFaceVertices > faceVertices.length) {
+			faceVertices = Arrays.copyOf(faceVertices, numAllFaceVertices);
+		}
+
+		System.arraycopy(other.faceVertices, 0, faceVertices, numFaceVertices,
+				other.numFaceVertices);
+
+		numFaceVertices = numAllFaceVertices;
+
+		for (int i = 0; i < other.numRelativePositions; i++) {
+			faceVertices[faceVertexShift
+					+ other.relativePositions[i]] += vertexShift;
+		}
+
+		int numAllFaces = numFaces + other.numFaces;
+
+		if (numAllFaces + 1 > faceOffsets.length) {
+			faceOffsets = Arrays.copyOf(faceOffsets, numAllFaces + 1);
+		}
+
+		for (int i = 1; i <= other.numFaces; i++) {
+			faceOffsets[numFaces + i] = faceVertexShift + other.faceOffsets[i];
+		}
+
+		numFaces = numAllFaces;
+	}
+
+	/**
+	 * @return
+	 * @throws IOException si une face designe un sommet inexistant
+	 */
+	MeshData build() throws IOException {
+		for (int f = 0; f < numFaces; f++) {
+			for (int i = faceOffsets[f]; i < faceOffsets[f + 1]; i++) {
+				int vertexIndex = faceVertices[i];
+
+				if (vertexIndex < 0 || vertexIndex >= numVertices) {
+					throw new IOException("Malformed face " + f
+							+ ": vertex index " + vertexIndex
+							+ " out of range [0, " + numVertices + ")");
+				}
+			}
+		}
+
+		return new MeshData(Arrays.copyOf(xs, numVertices),
+				Arrays.copyOf(ys, numVertices), Arrays.copyOf(zs, numVertices),
+				Arrays.copyOf(faceOffsets, numFaces + 1),
+				Arrays.copyOf(faceVertices, numFaceVertices));
+	}
+
+	/**
+	 * @param size
+	 * @return
+	 */
+	private static int grow(int size) {
+		return size + (size >> 1) + 1;
+	}
+}
@@ -0,0 +1,125 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+import hgeom.hmesh.elements.HMesh3D;
+
+/**
+ * Reader of mesh files producing {@link MeshData} made of flat primitive
+ * arrays of vertex coordinates and faces
+ * <p>
+ * Files are read in a streaming way through NIO byte buffers, without any
+ * intermediate string per line or per token. Large files read from a
+ * {@link Path} are mapped in memory. The bodies of large text files can be
+ * parsed in parallel: they are then split into chunks of lines parsed by the
+ * common {@link java.util.concurrent.ForkJoinPool fork-join pool}. Files
+ * larger than 2GB and files read from a stream or a channel are always parsed
+ * sequentially
+ *
+ * @author Pierre B.
+ * @see OffReader
+ * @see ObjReader
+ * @see PlyReader
+ * @see MEditReader
+ */
+public abstract class MeshReader {
+
+	/**
+	 * Taille par defaut des morceaux analyses en parallele
+	 */
+	private static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+	/**
+	 * Taille des morceaux analyses en parallele. 0 si analyse sequentielle
+	 */
+	private final int chunkSize;
+
+	/**
+	 * @param parallel
+	 */
+	MeshReader(boolean parallel) {
+		this(parallel ? DEFAULT_CHUNK_SIZE : 0);
+	}
+
+	/**
+	 * @param chunkSize
+	 */
+	MeshReader(int chunkSize) {
+		if (chunkSize < 0) {
+			throw new IllegalArgumentException("chunk size: " + chunkSize);
+		}
+
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Reads the specified mesh file
+	 *
+	 * @param path the path of the file
+	 * @return the faces and the vertex coordinates of the mesh
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public final MeshData read(Path path) throws IOException {
+		long mappingThreshold = chunkSize > 0
+				? Math.min(chunkSize, ByteLineReader.MAPPING_THRESHOLD)
+				: ByteLineReader.MAPPING_THRESHOLD;
+
+		return ByteLineReader.read(path, mappingThreshold,
+				reader -> read(reader, chunkSize));
+	}
+
+	/**
+	 * Reads a mesh from the specified stream. The stream is not closed
+	 *
+	 * @param stream the stream
+	 * @return the faces and the vertex coordinates of the mesh
+	 * @throws IOException if the stream cannot be read or is malformed
+	 */
+	public final MeshData read(InputStream stream) throws IOException {
+		return read(Channels.newChannel(Objects.requireNonNull(stream)));
+	}
+
+	/**
+	 * Reads a mesh from the specified channel. The channel is not closed
+	 *
+	 * @param channel the channel
+	 * @return the faces and the vertex coordinates of the mesh
+	 * @throws IOException if the channel cannot be read or is malformed
+	 */
+	public final MeshData read(ReadableByteChannel channel)
+			throws IOException {
+
+		return read(new ByteLineReader(Objects.requireNonNull(channel)), 0);
+	}
+
+	/**
+	 * Reads the specified mesh file and builds a 3D half-edge data structure
+	 * from its faces and vertex coordinates
+	 *
+	 * @param path the path of the file
+	 * @return an optional on a {@link HMesh3D} representing the 3D half-edge
+	 *         data structure; {@link Optional#empty()} if the building failed
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public final Optional<HMesh3D> readHMesh(Path path) throws IOException {
+		return read(path).toHMesh();
+	}
+
+	/**
+	 * Lecture de l'entete et du corps du fichier
+	 *
+	 * @param reader
+	 * @param bodyChunkSize taille des morceaux du corps analyses en parallele;
+	 *                      0 pour une analyse sequentielle
+	 * @return
+	 * @throws IOException
+	 */
+	abstract MeshData read(ByteLineReader reader, int bodyChunkSize)
+			throws IOException;
+}
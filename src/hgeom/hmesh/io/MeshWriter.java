@@ -0,0 +1,170 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HMesh;
+import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
+
+/**
+ * Writer of {@link HMesh half-edge data structures} into mesh files
+ * <p>
+ * The vertices and the faces are renumbered densely before being written: the
+ * discarded elements are skipped and the {@link HFace.Status#BOUNDARY
+ * boundary faces} are not written. The vertex indices of the written faces
+ * are those of the renumbering
+ * <p>
+ * The files are written in a streaming way through a buffered channel,
+ * without any intermediate string per element. The text of the vertex and
+ * face lines can be formatted in parallel by the common
+ * {@link java.util.concurrent.ForkJoinPool fork-join pool}
+ *
+ * @author Pierre B.
+ * @see OffWriter
+ * @see ObjWriter
+ * @see PlyWriter
+ * @see MEditWriter
+ * @see MEditSolutionWriter
+ */
+public abstract class MeshWriter {
+
+	/**
+	 *
+	 */
+	private final boolean parallel;
+
+	/**
+	 * @param parallel
+	 */
+	MeshWriter(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Writes the specified 2D mesh into the specified file. The z coordinates
+	 * of the vertices are 0 unless the format supports 2D meshes
+	 *
+	 * @param mesh the mesh
+	 * @param path the path of the file. The file is created or replaced
+	 * @throws IOException if the file cannot be written
+	 */
+	public final void write(HMesh2D mesh, Path path) throws IOException {
+		write(new IndexedMesh(Objects.requireNonNull(mesh)), path);
+	}
+
+	/**
+	 * Writes the specified 3D mesh into the specified file
+	 *
+	 * @param mesh the mesh
+	 * @param path the path of the file. The file is created or replaced
+	 * @throws IOException if the file cannot be written
+	 */
+	public final void write(HMesh3D mesh, Path path) throws IOException {
+		write(new IndexedMesh(Objects.requireNonNull(mesh)), path);
+	}
+
+	/**
+	 * Writes the specified 2D mesh into the specified stream. The stream is
+	 * not closed
+	 *
+	 * @param mesh   the mesh
+	 * @param stream the stream
+	 * @throws IOException if the stream cannot be written
+	 * @see #write(HMesh2D, Path)
+	 */
+	public final void write(HMesh2D mesh, OutputStream stream)
+			throws IOException {
+
+		write(mesh, Channels.newChannel(Objects.requireNonNull(stream)));
+	}
+
+	/**
+	 * Writes the specified 3D mesh into the specified stream. The stream is
+	 * not closed
+	 *
+	 * @param mesh   the mesh
+	 * @param stream the stream
+	 * @throws IOException if the stream cannot be written
+	 */
+	public final void write(HMesh3D mesh, OutputStream stream)
+			throws IOException {
+
+		write(mesh, Channels.newChannel(Objects.requireNonNull(stream)));
+	}
+
+	/**
+	 * Writes the specified 2D mesh into the specified channel. The channel is
+	 * not closed
+	 *
+	 * @param mesh    the mesh
+	 * @param channel the channel
+	 * @throws IOException if the channel cannot be written
+	 * @see #write(HMesh2D, Path)
+	 */
+	public final void write(HMesh2D mesh, WritableByteChannel channel)
+			throws IOException {
+
+		write(new IndexedMesh(Objects.requireNonNull(mesh)),
+				Objects.requireNonNull(channel));
+	}
+
+	/**
+	 * Writes the specified 3D mesh into the specified channel. The channel is
+	 * not closed
+	 *
+	 * @param mesh    the mesh
+	 * @param channel the channel
+	 * @throws IOException if the channel cannot be written
+	 */
+	public final void write(HMesh3D mesh, WritableByteChannel channel)
+			throws IOException {
+
+		write(new IndexedMesh(Objects.requireNonNull(mesh)),
+				Objects.requireNonNull(channel));
+	}
+
+	/**
+	 * @param mesh
+	 * @param path
+	 * @throws IOException
+	 */
+	private void write(IndexedMesh mesh, Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+
+			write(mesh, channel);
+		}
+	}
+
+	/**
+	 * @param mesh
+	 * @param channel
+	 * @throws IOException
+	 */
+	private void write(IndexedMesh mesh, WritableByteChannel channel)
+			throws IOException {
+
+		ChannelOutput output = new ChannelOutput(channel, parallel);
+		write(mesh, output);
+		output.flush();
+	}
+
+	/**
+	 * Ecriture du maillage renumerote
+	 *
+	 * @param mesh
+	 * @param output
+	 * @throws IOException
+	 */
+	abstract void write(IndexedMesh mesh, ChannelOutput output)
+			throws IOException;
+}
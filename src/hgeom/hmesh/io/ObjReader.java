@@ -0,0 +1,92 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+
+/**
+ * Reader of Wavefront OBJ files
+ * <p>
+ * Only the vertex lines ({@code v x y z}) and the face lines ({@code f ...})
+ * are read. The texture and normal indices of the faces ({@code f 1/1/1 ...})
+ * are ignored. Negative vertex indices, relative to the last vertex defined,
+ * are supported. All other statements (normals, texture coordinates, groups,
+ * materials...) are ignored
+ * <p>
+ * The vertex indices of the generated faces start at 0
+ *
+ * @author Pierre B.
+ */
+public final class ObjReader extends MeshReader {
+
+	/**
+	 * Constructs a reader parsing large files in parallel
+	 */
+	public ObjReader() {
+		this(true);
+	}
+
+	/**
+	 * Constructs a reader with the specified option
+	 *
+	 * @param parallel if {@code true}, large files read from a path are parsed
+	 *                 in parallel
+	 */
+	public ObjReader(boolean parallel) {
+		super(parallel);
+	}
+
+	/**
+	 * Constructs a reader parsing in parallel the files larger than the
+	 * specified chunk size
+	 *
+	 * @param chunkSize the approximative size in bytes of the chunks of lines
+	 *                  parsed in parallel; 0 for a sequential parsing
+	 * @throws IllegalArgumentException if {@code chunkSize} is negative
+	 */
+	public ObjReader(int chunkSize) {
+		super(chunkSize);
+	}
+
+	@Override
+	MeshData read(ByteLineReader reader, int bodyChunkSize)
+			throws IOException {
+
+		MeshDataBuilder mesh = new MeshDataBuilder();
+		LineParsing.parse(reader, bodyChunkSize, mesh, ObjReader::readLine);
+		return mesh.build();
+	}
+
+	/**
+	 * @param line
+	 * @param lineIndex
+	 * @param mesh
+	 * @throws IOException
+	 */
+	private static void readLine(LineScanner line, long lineIndex,
+			MeshDataBuilder mesh) throws IOException {
+
+		if (line.nextIs("v")) {
+			mesh.addVertex(line.nextDouble(), line.nextDouble(),
+					line.nextDouble());
+		}
+
+		else if (line.nextIs("f")) {
+			while (line.hasNext()) {
+				int index = line.nextIntIgnoringSuffix();
+
+				if (index > 0) {
+					mesh.addFaceVertex(index - 1);
+				}
+
+				else if (index < 0) {
+					mesh.addRelativeFaceVertex(index);
+				}
+
+				else {
+					throw line.malformed();
+				}
+			}
+
+			mesh.endFace();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+
+/**
+ * Writer of Wavefront OBJ files. Only the vertex lines ({@code v x y z}) and
+ * the face lines ({@code f ...}) are written
+ *
+ * @author Pierre B.
+ */
+public final class ObjWriter extends MeshWriter {
+
+	/**
+	 * Constructs a writer formatting the text sequentially
+	 */
+	public ObjWriter() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a writer with the specified option
+	 *
+	 * @param parallel if {@code true}, the vertex and face lines are formatted
+	 *                 in parallel
+	 */
+	public ObjWriter(boolean parallel) {
+		super(parallel);
+	}
+
+	@Override
+	void write(IndexedMesh mesh, ChannelOutput output) throws IOException {
+		output.lines(mesh.numVertices(),
+				(v, sink) -> sink.ascii("v ").number(mesh.x(v)).ascii(' ')
+						.number(mesh.y(v)).ascii(' ').number(mesh.z(v))
+						.ascii('\n'));
+
+		// Indices a partir de 1
+		output.lines(mesh.numFaces(), (f, sink) -> {
+			sink.ascii('f');
+
+			for (int i = 0; i < mesh.faceSize(f); i++) {
+				sink.ascii(' ').number(mesh.faceVertex(f, i) + 1);
+			}
+
+			sink.ascii('\n');
+		});
+	}
+}
@@ -0,0 +1,143 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+
+/**
+ * Reader of ASCII OFF (Object File Format) files
+ * <p>
+ * The header keyword may carry prefixes (COFF, NOFF, STOFF...): the vertex
+ * lines are then expected to start with the x y z coordinates, additional
+ * values being ignored. Colors following the vertex indices of a face are
+ * ignored. Comments start with '#'
+ *
+ * @author Pierre B.
+ */
+public final class OffReader extends MeshReader {
+
+	/**
+	 * Constructs a reader parsing large files in parallel
+	 */
+	public OffReader() {
+		this(true);
+	}
+
+	/**
+	 * Constructs a reader with the specified option
+	 *
+	 * @param parallel if {@code true}, large files read from a path are parsed
+	 *                 in parallel
+	 */
+	public OffReader(boolean parallel) {
+		super(parallel);
+	}
+
+	/**
+	 * Constructs a reader parsing in parallel the files larger than the
+	 * specified chunk size
+	 *
+	 * @param chunkSize the approximative size in bytes of the chunks of lines
+	 *                  parsed in parallel; 0 for a sequential parsing
+	 * @throws IllegalArgumentException if {@code chunkSize} is negative
+	 */
+	public OffReader(int chunkSize) {
+		super(chunkSize);
+	}
+
+	@Override
+	MeshData read(ByteLineReader reader, int bodyChunkSize)
+			throws IOException {
+
+		LineScanner line = new LineScanner();
+
+		if (!nextLine(reader, line)) {
+			throw new IOException("Empty OFF file");
+		}
+
+		String keyword = line.next();
+
+		if (!keyword.endsWith("OFF")) {
+			throw new IOException("Not an OFF file: " + keyword);
+		}
+
+		// Nombres de sommets et de faces sur la ligne suivante ou a la suite
+		// du mot-cle
+		if (!line.hasNext() && !nextLine(reader, line)) {
+			throw new IOException("Missing OFF counts");
+		}
+
+		if (line.nextIs("BINARY")) {
+			throw new IOException("Binary OFF files not supported");
+		}
+
+		int numVertices = line.nextInt();
+		int numFaces = line.nextInt();
+
+		if (numVertices < 0 || numFaces < 0) {
+			throw line.malformed();
+		}
+
+		MeshDataBuilder mesh = new MeshDataBuilder(numVertices, numFaces);
+
+		LineParsing.parse(reader, bodyChunkSize, mesh,
+				(body, lineIndex, part) -> {
+
+					if (lineIndex < numVertices) {
+						part.addVertex(body.nextDouble(), body.nextDouble(),
+								body.nextDouble());
+					}
+
+					else if (lineIndex < (long) numVertices + numFaces) {
+						readFace(body, part);
+					}
+				});
+
+		if (mesh.numVertices() != numVertices || mesh.numFaces() != numFaces) {
+			throw new IOException("Truncated OFF file: " + mesh.numVertices()
+					+ " vertices, " + mesh.numFaces() + " faces");
+		}
+
+		return mesh.build();
+	}
+
+	/**
+	 * @param line
+	 * @param mesh
+	 * @throws IOException
+	 */
+	private static void readFace(LineScanner line, MeshDataBuilder mesh)
+			throws IOException {
+
+		int size = line.nextInt();
+
+		if (size < 0) {
+			throw line.malformed();
+		}
+
+		for (int i = 0; i < size; i++) {
+			mesh.addFaceVertex(line.nextInt());
+		}
+
+		mesh.endFace();
+	}
+
+	/**
+	 * Positionne l'analyseur sur la prochaine ligne non vide et hors
+	 * commentaire
+	 *
+	 * @param reader
+	 * @param line
+	 * @return
+	 * @throws IOException
+	 */
+	private static boolean nextLine(ByteLineReader reader, LineScanner line)
+			throws IOException {
+
+		while (reader.nextLine(line)) {
+			if (line.hasNext()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
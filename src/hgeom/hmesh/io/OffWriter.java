@@ -0,0 +1,50 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+
+/**
+ * Writer of ASCII OFF (Object File Format) files
+ *
+ * @author Pierre B.
+ */
+public final class OffWriter extends MeshWriter {
+
+	/**
+	 * Constructs a writer formatting the text sequentially
+	 */
+	public OffWriter() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a writer with the specified option
+	 *
+	 * @param parallel if {@code true}, the vertex and face lines are formatted
+	 *                 in parallel
+	 */
+	public OffWriter(boolean parallel) {
+		super(parallel);
+	}
+
+	@Override
+	void write(IndexedMesh mesh, ChannelOutput output) throws IOException {
+		output.sink().ascii("OFF\n").number(mesh.numVertices()).ascii(' ')
+				.number(mesh.numFaces()).ascii(" 0\n");
+
+		output.lines(mesh.numVertices(),
+				(v, sink) -> sink.number(mesh.x(v)).ascii(' ')
+						.number(mesh.y(v)).ascii(' ').number(mesh.z(v))
+						.ascii('\n'));
+
+		output.lines(mesh.numFaces(), (f, sink) -> {
+			int size = mesh.faceSize(f);
+			sink.number(size);
+
+			for (int i = 0; i < size; i++) {
+				sink.ascii(' ').number(mesh.faceVertex(f, i));
+			}
+
+			sink.ascii('\n');
+		});
+	}
+}
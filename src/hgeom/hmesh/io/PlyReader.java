@@ -0,0 +1,652 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of PLY (Polygon File Format) files, in ASCII or binary (little or big
+ * endian) format
+ * <p>
+ * The coordinates are read from the x, y and z properties of the element
+ * {@code vertex}; the faces from the list property {@code vertex_indices} (or
+ * {@code vertex_index}) of the element {@code face}. All other elements and
+ * properties are ignored. Only the bodies of ASCII files are parsed in
+ * parallel
+ *
+ * @author Pierre B.
+ */
+public final class PlyReader extends MeshReader {
+
+	/**
+	 * Types des proprietes
+	 */
+	private enum PlyType {
+
+		/**
+		 *
+		 */
+		CHAR(1, "char", "int8"),
+
+		/**
+		 *
+		 */
+		UCHAR(1, "uchar", "uint8"),
+
+		/**
+		 *
+		 */
+		SHORT(2, "short", "int16"),
+
+		/**
+		 *
+		 */
+		USHORT(2, "ushort", "uint16"),
+
+		/**
+		 *
+		 */
+		INT(4, "int", "int32"),
+
+		/**
+		 *
+		 */
+		UINT(4, "uint", "uint32"),
+
+		/**
+		 *
+		 */
+		FLOAT(4, "float", "float32"),
+
+		/**
+		 *
+		 */
+		DOUBLE(8, "double", "float64");
+
+		/**
+		 * Taille en octets
+		 */
+		private final int size;
+
+		/**
+		 *
+		 */
+		private final String[] names;
+
+		/**
+		 * @param size
+		 * @param names
+		 */
+		PlyType(int size, String... names) {
+			this.size = size;
+			this.names = names;
+		}
+
+		/**
+		 * @param name
+		 * @return
+		 * @throws IOException
+		 */
+		static PlyType of(String name) throws IOException {
+			for (PlyType type : values()) {
+				for (String typeName : type.names) {
+					if (typeName.equals(name)) {
+						return type;
+					}
+				}
+			}
+
+			throw new IOException("Unknown PLY type: " + name);
+		}
+
+		/**
+		 * @param buffer
+		 * @return
+		 */
+		double readDouble(ByteBuffer buffer) {
+			switch (this) {
+			case FLOAT:
+				return buffer.getFloat();
+			case DOUBLE:
+				return buffer.getDouble();
+			case UINT:
+				return buffer.getInt() & 0xFFFFFFFFL;
+			default:
+				return readInt(buffer);
+			}
+		}
+
+		/**
+		 * @param buffer
+		 * @return
+		 */
+		int readInt(ByteBuffer buffer) {
+			switch (this) {
+			case CHAR:
+				return buffer.get();
+			case UCHAR:
+				return buffer.get() & 0xFF;
+			case SHORT:
+				return buffer.getShort();
+			case USHORT:
+				return buffer.getShort() & 0xFFFF;
+			case INT:
+			case UINT:
+				return buffer.getInt();
+			case FLOAT:
+				return (int) buffer.getFloat();
+			default:
+				return (int) buffer.getDouble();
+			}
+		}
+	}
+
+	/**
+	 * Propriete d'un element
+	 */
+	private static final class Property {
+
+		/**
+		 *
+		 */
+		private final String name;
+
+		/**
+		 * Type des valeurs
+		 */
+		private final PlyType type;
+
+		/**
+		 * Type du nombre de valeurs d'une liste. {@code null} si la propriete
+		 * n'est pas une liste
+		 */
+		private final PlyType countType;
+
+		/**
+		 * @param name
+		 * @param type
+		 * @param countType
+		 */
+		Property(String name, PlyType type, PlyType countType) {
+			this.name = name;
+			this.type = type;
+			this.countType = countType;
+		}
+	}
+
+	/**
+	 * Element declare dans l'entete
+	 */
+	private static final class Element {
+
+		/**
+		 *
+		 */
+		private final String name;
+
+		/**
+		 *
+		 */
+		private final int count;
+
+		/**
+		 *
+		 */
+		private final List<Property> properties = new ArrayList<>();
+
+		/**
+		 * @param name
+		 * @param count
+		 */
+		Element(String name, int count) {
+			this.name = name;
+			this.count = count;
+		}
+
+		/**
+		 * @param propertyName
+		 * @return l'indice de la propriete ou -1
+		 */
+		int indexOf(String propertyName) {
+			for (int i = 0; i < properties.size(); i++) {
+				if (properties.get(i).name.equals(propertyName)) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+
+		/**
+		 * @return la taille en octets d'un enregistrement binaire; -1 si
+		 *         l'element contient des listes
+		 */
+		int recordSize() {
+			int size = 0;
+
+			for (Property property : properties) {
+				if (property.countType != null) {
+					return -1;
+				}
+
+				size += property.type.size;
+			}
+
+			return size;
+		}
+	}
+
+	/**
+	 * Indices des proprietes lues
+	 */
+	private static final class Layout {
+
+		/**
+		 *
+		 */
+		private final Element vertex;
+
+		/**
+		 *
+		 */
+		private final Element face;
+
+		/**
+		 *
+		 */
+		private final int[] xyz;
+
+		/**
+		 *
+		 */
+		private final int faceVertices;
+
+		/**
+		 * @param elements
+		 * @throws IOException
+		 */
+		Layout(List<Element> elements) throws IOException {
+			vertex = find(elements, "vertex");
+			face = find(elements, "face");
+
+			xyz = new int[] { vertex.indexOf("x"), vertex.indexOf("y"),
+					vertex.indexOf("z") };
+
+			for (int index : xyz) {
+				if (index < 0
+						|| vertex.properties.get(index).countType != null) {
+					throw new IOException("Missing PLY vertex coordinates");
+				}
+			}
+
+			int index = face.indexOf("vertex_indices");
+
+			if (index < 0) {
+				index = face.indexOf("vertex_index");
+			}
+
+			if (index < 0 || face.properties.get(index).countType == null) {
+				throw new IOException("Missing PLY face vertex indices");
+			}
+
+			faceVertices = index;
+		}
+
+		/**
+		 * @param elements
+		 * @param name
+		 * @return
+		 * @throws IOException
+		 */
+		private static Element find(List<Element> elements, String name)
+				throws IOException {
+
+			for (Element element : elements) {
+				if (element.name.equals(name)) {
+					return element;
+				}
+			}
+
+			throw new IOException("Missing PLY element: " + name);
+		}
+	}
+
+	/**
+	 * Constructs a reader parsing large ASCII files in parallel
+	 */
+	public PlyReader() {
+		this(true);
+	}
+
+	/**
+	 * Constructs a reader with the specified option
+	 *
+	 * @param parallel if {@code true}, large ASCII files read from a path are
+	 *                 parsed in parallel
+	 */
+	public PlyReader(boolean parallel) {
+		super(parallel);
+	}
+
+	/**
+	 * Constructs a reader parsing in parallel the ASCII files larger than the
+	 * specified chunk size
+	 *
+	 * @param chunkSize the approximative size in bytes of the chunks of lines
+	 *                  parsed in parallel; 0 for a sequential parsing
+	 * @throws IllegalArgumentException if {@code chunkSize} is negative
+	 */
+	public PlyReader(int chunkSize) {
+		super(chunkSize);
+	}
+
+	@Override
+	MeshData read(ByteLineReader reader, int bodyChunkSize)
+			throws IOException {
+
+		LineScanner line = new LineScanner();
+
+		if (!reader.nextLine(line) || !line.nextIs("ply")) {
+			throw new IOException("Not a PLY file");
+		}
+
+		String format = null;
+		List<Element> elements = new ArrayList<>();
+
+		// Entete
+		while (true) {
+			if (!reader.nextLine(line)) {
+				throw new IOException("Missing PLY end_header");
+			}
+
+			if (line.nextIs("end_header")) {
+				break;
+			}
+
+			else if (line.nextIs("format")) {
+				format = line.next();
+			}
+
+			else if (line.nextIs("element")) {
+				elements.add(new Element(line.next(), line.nextInt()));
+			}
+
+			else if (line.nextIs("property")) {
+				if (elements.isEmpty()) {
+					throw line.malformed();
+				}
+
+				elements.get(elements.size() - 1).properties
+						.add(property(line));
+			}
+		}
+
+		if (format == null) {
+			throw new IOException("Missing PLY format");
+		}
+
+		Layout layout = new Layout(elements);
+
+		MeshDataBuilder mesh = new MeshDataBuilder(layout.vertex.count,
+				layout.face.count);
+
+		switch (format) {
+		case "ascii":
+			readAscii(reader, bodyChunkSize, elements, layout, mesh);
+			break;
+		case "binary_little_endian":
+			readBinary(reader, ByteOrder.LITTLE_ENDIAN, elements, layout,
+					mesh);
+			break;
+		case "binary_big_endian":
+			readBinary(reader, ByteOrder.BIG_ENDIAN, elements, layout, mesh);
+			break;
+		default:
+			throw new IOException("Unknown PLY format: " + format);
+		}
+
+		if (mesh.numVertices() != layout.vertex.count
+				|| mesh.numFaces() != layout.face.count) {
+
+			throw new IOException("Truncated PLY file: " + mesh.numVertices()
+					+ " vertices, " + mesh.numFaces() + " faces");
+		}
+
+		return mesh.build();
+	}
+
+	/**
+	 * @param line la ligne de declaration de la propriete, apres le mot-cle
+	 *             property
+	 * @return
+	 * @throws IOException
+	 */
+	private static Property property(LineScanner line) throws IOException {
+		if (line.nextIs("list")) {
+			PlyType countType = PlyType.of(line.next());
+			PlyType type = PlyType.of(line.next());
+			return new Property(line.next(), type, countType);
+		}
+
+		PlyType type = PlyType.of(line.next());
+		return new Property(line.next(), type, null);
+	}
+
+	/**
+	 * Lecture d'un corps ASCII : une ligne par enregistrement
+	 *
+	 * @param reader
+	 * @param bodyChunkSize
+	 * @param elements
+	 * @param layout
+	 * @param mesh
+	 * @throws IOException
+	 */
+	private static void readAscii(ByteLineReader reader, int bodyChunkSize,
+			List<Element> elements, Layout layout, MeshDataBuilder mesh)
+			throws IOException {
+
+		// Rang de la premiere ligne de chaque element
+		long[] firstLines = new long[elements.size() + 1];
+
+		for (int i = 0; i < elements.size(); i++) {
+			firstLines[i + 1] = firstLines[i] + elements.get(i).count;
+		}
+
+		LineParsing.parse(reader, bodyChunkSize, mesh,
+				(line, lineIndex, part) -> {
+
+					int elementIndex = 0;
+
+					while (elementIndex < elements.size()
+							&& lineIndex >= firstLines[elementIndex + 1]) {
+
+						elementIndex++;
+					}
+
+					if (elementIndex == elements.size()) {
+						return;
+					}
+
+					Element element = elements.get(elementIndex);
+
+					if (element == layout.vertex) {
+						readAsciiVertex(line, layout, part);
+					}
+
+					else if (element == layout.face) {
+						readAsciiFace(line, layout, part);
+					}
+				});
+	}
+
+	/**
+	 * @param line
+	 * @param layout
+	 * @param mesh
+	 * @throws IOException
+	 */
+	private static void readAsciiVertex(LineScanner line, Layout layout,
+			MeshDataBuilder mesh) throws IOException {
+
+		double[] xyz = new double[3];
+		List<Property> properties = layout.vertex.properties;
+
+		for (int i = 0; i < properties.size(); i++) {
+			if (properties.get(i).countType != null) {
+				skipAsciiList(line);
+			}
+
+			else if (i == layout.xyz[0] || i == layout.xyz[1]
+					|| i == layout.xyz[2]) {
+
+				double value = line.nextDouble();
+
+				for (int c = 0; c < 3; c++) {
+					if (i == layout.xyz[c]) {
+						xyz[c] = value;
+					}
+				}
+			}
+
+			else {
+				line.skip();
+			}
+		}
+
+		mesh.addVertex(xyz[0], xyz[1], xyz[2]);
+	}
+
+	/**
+	 * @param line
+	 * @param layout
+	 * @param mesh
+	 * @throws IOException
+	 */
+	private static void readAsciiFace(LineScanner line, Layout layout,
+			MeshDataBuilder mesh) throws IOException {
+
+		List<Property> properties = layout.face.properties;
+
+		for (int i = 0; i < properties.size(); i++) {
+			if (i == layout.faceVertices) {
+				int size = line.nextInt();
+
+				if (size < 0) {
+					throw line.malformed();
+				}
+
+				for (int j = 0; j < size; j++) {
+					mesh.addFaceVertex(line.nextInt());
+				}
+
+				mesh.endFace();
+			}
+
+			else if (properties.get(i).countType != null) {
+				skipAsciiList(line);
+			}
+
+			else {
+				line.skip();
+			}
+		}
+	}
+
+	/**
+	 * @param line
+	 * @throws IOException
+	 */
+	private static void skipAsciiList(LineScanner line) throws IOException {
+		int size = line.nextInt();
+
+		for (int j = 0; j < size; j++) {
+			line.skip();
+		}
+	}
+
+	/**
+	 * Lecture sequentielle d'un corps binaire
+	 *
+	 * @param reader
+	 * @param order
+	 * @param elements
+	 * @param layout
+	 * @param mesh
+	 * @throws IOException
+	 */
+	private static void readBinary(ByteLineReader reader, ByteOrder order,
+			List<Element> elements, Layout layout, MeshDataBuilder mesh)
+			throws IOException {
+
+		double[] xyz = new double[3];
+
+		for (Element element : elements) {
+			List<Property> properties = element.properties;
+			int recordSize = element.recordSize();
+
+			for (int r = 0; r < element.count; r++) {
+				ByteBuffer buffer = recordSize >= 0
+						? reader.require(recordSize, order)
+						: null;
+
+				for (int i = 0; i < properties.size(); i++) {
+					Property property = properties.get(i);
+
+					if (recordSize < 0) {
+						buffer = reader.require(
+								property.countType == null ? property.type.size
+										: property.countType.size,
+								order);
+					}
+
+					if (property.countType == null) {
+						if (element == layout.vertex) {
+							double value = property.type.readDouble(buffer);
+
+							for (int c = 0; c < 3; c++) {
+								if (i == layout.xyz[c]) {
+									xyz[c] = value;
+								}
+							}
+						}
+
+						else {
+							buffer.position(
+									buffer.position() + property.type.size);
+						}
+
+						continue;
+					}
+
+					int size = property.countType.readInt(buffer);
+
+					if (size < 0) {
+						throw new IOException("Negative PLY list size");
+					}
+
+					buffer = reader.require(size * property.type.size, order);
+
+					if (element == layout.face && i == layout.faceVertices) {
+						for (int j = 0; j < size; j++) {
+							mesh.addFaceVertex(property.type.readInt(buffer));
+						}
+
+						mesh.endFace();
+					}
+
+					else {
+						buffer.position(
+								buffer.position() + size * property.type.size);
+					}
+				}
+
+				if (element == layout.vertex) {
+					mesh.addVertex(xyz[0], xyz[1], xyz[2]);
+				}
+			}
+		}
+	}
+}
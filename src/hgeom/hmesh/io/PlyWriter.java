@@ -0,0 +1,246 @@
+package hgeom.hmesh.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HMesh;
+import hgeom.hmesh.elements.HVertex;
+
+/**
+ * Writer of binary little endian PLY (Polygon File Format) files
+ * <p>
+ * The coordinates are written as the double properties x, y and z of the
+ * element {@code vertex}, the faces as the list property
+ * {@code vertex_indices} of the element {@code face}. Data layers of the
+ * {@link HMesh mesh} can be added as extra vertex or face properties
+ *
+ * @author Pierre B.
+ */
+public final class PlyWriter extends MeshWriter {
+
+	/**
+	 * Couche de donnees ecrite comme propriete
+	 *
+	 * @param <E>
+	 */
+	private static final class Layer<E> {
+
+		/**
+		 *
+		 */
+		private final String name;
+
+		/**
+		 * {@code null} si couche d'entiers
+		 */
+		private final HDData<E> doubles;
+
+		/**
+		 * {@code null} si couche de doubles
+		 */
+		private final HIData<E> ints;
+
+		/**
+		 * @param name
+		 * @param doubles
+		 * @param ints
+		 */
+		Layer(String name, HDData<E> doubles, HIData<E> ints) {
+			this.name = name;
+			this.doubles = doubles;
+			this.ints = ints;
+		}
+
+		/**
+		 * @param element
+		 * @param sink
+		 */
+		void write(E element, ByteSink sink) {
+			if (doubles != null) {
+				sink.float64(doubles.get(element));
+			}
+
+			else {
+				sink.int32(ints.get(element));
+			}
+		}
+	}
+
+	/**
+	 *
+	 */
+	private final List<Layer<HVertex>> vertexLayers = new ArrayList<>();
+
+	/**
+	 *
+	 */
+	private final List<Layer<HFace>> faceLayers = new ArrayList<>();
+
+	/**
+	 * Constructs a writer formatting the records sequentially
+	 */
+	public PlyWriter() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a writer with the specified option
+	 *
+	 * @param parallel if {@code true}, the vertex and face records are
+	 *                 formatted in parallel
+	 */
+	public PlyWriter(boolean parallel) {
+		super(parallel);
+	}
+
+	/**
+	 * Adds a vertex data layer written as a double property of the element
+	 * {@code vertex}
+	 *
+	 * @param name   the name of the property
+	 * @param values the data layer
+	 * @throws IllegalArgumentException if the name is not a valid and unused
+	 *                                  property name
+	 */
+	public void addVertexProperty(String name, HDData<HVertex> values) {
+		checkName(name, vertexLayers, "x", "y", "z");
+		vertexLayers.add(new Layer<>(name, Objects.requireNonNull(values),
+				null));
+	}
+
+	/**
+	 * Adds a vertex data layer written as an int property of the element
+	 * {@code vertex}
+	 *
+	 * @param name   the name of the property
+	 * @param values the data layer
+	 * @throws IllegalArgumentException if the name is not a valid and unused
+	 *                                  property name
+	 */
+	public void addVertexProperty(String name, HIData<HVertex> values) {
+		checkName(name, vertexLayers, "x", "y", "z");
+		vertexLayers.add(new Layer<>(name, null,
+				Objects.requireNonNull(values)));
+	}
+
+	/**
+	 * Adds a face data layer written as a double property of the element
+	 * {@code face}
+	 *
+	 * @param name   the name of the property
+	 * @param values the data layer
+	 * @throws IllegalArgumentException if the name is not a valid and unused
+	 *                                  property name
+	 */
+	public void addFaceProperty(String name, HDData<HFace> values) {
+		checkName(name, faceLayers, "vertex_indices");
+		faceLayers.add(new Layer<>(name, Objects.requireNonNull(values),
+				null));
+	}
+
+	/**
+	 * Adds a face data layer written as an int property of the element
+	 * {@code face}
+	 *
+	 * @param name   the name of the property
+	 * @param values the data layer
+	 * @throws IllegalArgumentException if the name is not a valid and unused
+	 *                                  property name
+	 */
+	public void addFaceProperty(String name, HIData<HFace> values) {
+		checkName(name, faceLayers, "vertex_indices");
+		faceLayers.add(new Layer<>(name, null,
+				Objects.requireNonNull(values)));
+	}
+
+	@Override
+	void write(IndexedMesh mesh, ChannelOutput output) throws IOException {
+		boolean smallFaces = mesh.maxFaceSize() <= 0xFF;
+
+		ByteSink header = output.sink()
+				.ascii("ply\nformat binary_little_endian 1.0\n")
+				.ascii("element vertex ").number(mesh.numVertices())
+				.ascii("\nproperty double x\nproperty double y\n")
+				.ascii("property double z\n");
+
+		writeProperties(header, vertexLayers);
+
+		header.ascii("element face ").number(mesh.numFaces())
+				.ascii(smallFaces ? "\nproperty list uchar int"
+						: "\nproperty list int int")
+				.ascii(" vertex_indices\n");
+
+		writeProperties(header, faceLayers);
+		header.ascii("end_header\n");
+
+		output.lines(mesh.numVertices(), (v, sink) -> {
+			sink.float64(mesh.x(v)).float64(mesh.y(v)).float64(mesh.z(v));
+
+			for (Layer<HVertex> layer : vertexLayers) {
+				layer.write(mesh.vertex(v), sink);
+			}
+		});
+
+		output.lines(mesh.numFaces(), (f, sink) -> {
+			int size = mesh.faceSize(f);
+
+			if (smallFaces) {
+				sink.int8(size);
+			}
+
+			else {
+				sink.int32(size);
+			}
+
+			for (int i = 0; i < size; i++) {
+				sink.int32(mesh.faceVertex(f, i));
+			}
+
+			for (Layer<HFace> layer : faceLayers) {
+				layer.write(mesh.face(f), sink);
+			}
+		});
+	}
+
+	/**
+	 * @param header
+	 * @param layers
+	 */
+	private static void writeProperties(ByteSink header,
+			List<? extends Layer<?>> layers) {
+
+		for (Layer<?> layer : layers) {
+			header.ascii(layer.doubles != null ? "property double "
+					: "property int ").ascii(layer.name).ascii('\n');
+		}
+	}
+
+	/**
+	 * @param name
+	 * @param layers
+	 * @param reservedNames
+	 */
+	private static void checkName(String name, List<? extends Layer<?>> layers,
+			String... reservedNames) {
+
+		boolean valid = !name.isEmpty() && name.chars()
+				.allMatch(c -> c > ' ' && c < 0x7F);
+
+		for (String reservedName : reservedNames) {
+			valid &= !reservedName.equals(name);
+		}
+
+		for (Layer<?> layer : layers) {
+			valid &= !layer.name.equals(name);
+		}
+
+		if (!valid) {
+			throw new IllegalArgumentException("Invalid property name: " + name);
+		}
+	}
+}
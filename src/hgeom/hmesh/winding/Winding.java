@@ -61,22 +61,80 @@ public enum Winding {
 			IntToDoubleFunction vertexIndexToX,
 			IntToDoubleFunction vertexIndexToY) {
 
-		if (numVertices < 3) {
-			throw new IllegalArgumentException(
-					"insufficient n. of points: " + numVertices);
+		checkNumVertices(numVertices);
+
+		// Chaque sommet n'est lu qu'une fois : le sommet precedent est
+		// conserve d'une iteration a l'autre
+		double firstX = vertexIndexToX.applyAsDouble(0);
+		double firstY = vertexIndexToY.applyAsDouble(0);
+		double x0 = firstX;
+		double y0 = firstY;
+		double signedArea = 0;
+
+		for (int i = 1; i < numVertices; i++) {
+			double x1 = vertexIndexToX.applyAsDouble(i);
+			double y1 = vertexIndexToY.applyAsDouble(i);
+			signedArea += y0 * x1 - x0 * y1;
+			x0 = x1;
+			y0 = y1;
 		}
 
+		signedArea += y0 * firstX - x0 * firstY;
+		return ofSignedArea(signedArea);
+	}
+
+	/**
+	 * Calculate the winding of a 2D polygon whose vertex coordinates are
+	 * stored in arrays. Equivalent to, but faster than,
+	 * {@link #ofPolygon2D(int, IntToDoubleFunction, IntToDoubleFunction)}
+	 *
+	 * @param vertexIndices the indices of the vertices composing the polygon
+	 * @param xs            the x coordinates of all the vertices
+	 * @param ys            the y coordinates of all the vertices
+	 * @return the winding
+	 */
+	public static Winding ofPolygon2D(int[] vertexIndices, double[] xs,
+			double[] ys) {
+
+		int numVertices = vertexIndices.length;
+		checkNumVertices(numVertices);
+
+		int first = vertexIndices[0];
+		double firstX = xs[first];
+		double firstY = ys[first];
+		double x0 = firstX;
+		double y0 = firstY;
 		double signedArea = 0;
 
-		for (int i = 0; i < numVertices; i++) {
-			double x0 = vertexIndexToX.applyAsDouble(i);
-			double y0 = vertexIndexToY.applyAsDouble(i);
-			int nextI = (i + 1) % numVertices;
-			double x1 = vertexIndexToX.applyAsDouble(nextI);
-			double y1 = vertexIndexToY.applyAsDouble(nextI);
+		for (int i = 1; i < numVertices; i++) {
+			int vIndex = vertexIndices[i];
+			double x1 = xs[vIndex];
+			double y1 = ys[vIndex];
 			signedArea += y0 * x1 - x0 * y1;
+			x0 = x1;
+			y0 = y1;
 		}
 
+		signedArea += y0 * firstX - x0 * firstY;
+		return ofSignedArea(signedArea);
+	}
+
+	/**
+	 * @param numVertices
+	 */
+	private static void checkNumVertices(int numVertices) {
+		if (numVertices < 3) {
+			throw new IllegalArgumentException(
+					"insufficient n. of points: " + numVertices);
+		}
+	}
+
+	/**
+	 * @param signedArea
+	 * @return
+	 */
+	private static Winding ofSignedArea(double signedArea) {
+
 		// Epsilon ?
 		if (signedArea > 0) {
 			return Winding.CLOCKWISE;
@@ -1,25 +1,50 @@
 package hgeom.hmesh.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
+import hgeom.hmesh.core.ConversionMonitor;
+import hgeom.hmesh.core.ConversionStats;
+import hgeom.hmesh.core.ConversionStats.Phase;
+import hgeom.hmesh.core.ConversionStats.Rejection;
 import hgeom.hmesh.core.HConversion;
+import hgeom.hmesh.core.MeshConversionService;
 import hgeom.hmesh.core.ToHMeshConverter;
+import hgeom.hmesh.core.ToHMeshSubscriber;
 import hgeom.hmesh.data.HData;
+import hgeom.hmesh.data.HIData;
 import hgeom.hmesh.elements.Coord2DSource;
 import hgeom.hmesh.elements.EdgeSource;
 import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.GridSource;
+import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HFace;
 import hgeom.hmesh.elements.HFace.Status;
 import hgeom.hmesh.elements.HMesh;
 import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
 import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.elements.TriangleSoup;
 import hgeom.hmesh.examples.EdgesToHMesh;
 import hgeom.hmesh.examples.FacesToHMesh;
 import hgeom.hmesh.test.Importer.ImportResult;
@@ -488,6 +513,91 @@ public final class HMeshBuildingTests {
 		RunDuration.of(runnable, 5).printOut("build from faces");
 	}
 
+	/**
+	 * Performance d'une construction a partir d'une grille structuree de meme
+	 * taille que dans {@link #facesPerformance()}
+	 */
+	@Test
+	public void gridPerformance() {
+		GridSource grid = new GridSource(500, 1000);
+		Coord2DSource coords = new Coord2DSource(i -> i % 501, i -> i / 501);
+		Runnable runnable = () -> grid.toHMesh(coords);
+		RunDuration.of(runnable, 5).printOut("build from grid");
+	}
+
+	/**
+	 * Construction a partir de grilles structurees comparee a la construction
+	 * a partir des faces equivalentes
+	 */
+	@Test
+	public void gridSource() {
+		for (boolean triangulated : new boolean[] { false, true }) {
+			GridSource grid = new GridSource(7, 4, triangulated);
+
+			Coord2DSource coords = new Coord2DSource(
+					i -> i % (grid.numI() + 1), i -> i / (grid.numI() + 1));
+
+			HConversion<HMesh2D> conversion = new ToHMeshConverter()
+					.convert(grid, coords);
+
+			HMesh2D mesh = conversion.mesh();
+			HMesh2D expected = Assertions
+					.present(grid.toFaceSource().toHMesh(coords));
+
+			HMeshTester.check(mesh).numInteriorFaces(grid.numFaces())
+					.numExteriorFaces(1)
+					.numEdges((int) expected.edges().count())
+					.numVertices(grid.numVertices());
+
+			// Faces orientees dans le sens trigonometrique
+			HIData<HFace> faceIndices = conversion.meshFaceIntData(i -> i);
+			HIData<HVertex> vertexIndices = conversion
+					.meshVertexIntData(i -> i);
+
+			mesh.faces().filter(f -> f.status() == Status.INTERIOR)
+					.forEach(f -> {
+						int[] face = grid.toFaceSource()
+								.face(faceIndices.get(f));
+
+						HVertex v0 = f.edge().head();
+						int i0 = Arrays.stream(face).boxed().toList()
+								.indexOf(vertexIndices.get(v0));
+
+						assertEquals(face[(i0 + 1) % face.length],
+								vertexIndices.get(f.edge().next().head()));
+					});
+
+			mesh.vertices().forEach(v -> assertEquals(
+					vertexIndices.get(v) % (grid.numI() + 1), mesh.vertexX(v),
+					0));
+		}
+	}
+
+	/**
+	 * Grilles dont le nombre de sommets, de faces ou de demi-aretes depasse la
+	 * capacite d'un int
+	 */
+	@Test
+	public void gridSourceSize() {
+		GridSource grid = new GridSource(30000, 10000, true);
+		assertEquals(30001 * 10001, grid.numVertices());
+		assertEquals(2 * 30000 * 10000, grid.numFaces());
+
+		int[][] sizes = { { 46341, 46341, 0 }, { 40000, 30000, 1 },
+				{ 30000, 30000, 0 } };
+
+		for (int[] size : sizes) {
+			try {
+				new GridSource(size[0], size[1], size[2] == 1);
+				assertTrue(false);
+			}
+
+			catch (IllegalArgumentException e) {
+				// Taille rejetee
+			}
+		}
+	}
+
 	/**
 	 *
 	 */
@@ -671,6 +781,565 @@ public final class HMeshBuildingTests {
 				.export("greenland");
 	}
 
+	/**
+	 * Ajout incremental de faces a un maillage issu d'une conversion. Les
+	 * faces ajoutees dans un ordre en damier scindent puis fusionnent les bords
+	 */
+	@Test
+	public void appendFaces() {
+		int numI = 6;
+		int numJ = 6;
+		double[][] vertexCoords = new double[(numI + 1) * (numJ + 1)][];
+
+		for (int j = 0; j <= numJ; j++) {
+			for (int i = 0; i <= numI; i++) {
+				vertexCoords[j * (numI + 1) + i] = new double[] { i, j };
+			}
+		}
+
+		List<int[]> firstFaces = new ArrayList<>();
+		List<int[]> evenFaces = new ArrayList<>();
+		List<int[]> oddFaces = new ArrayList<>();
+
+		for (int j = 0; j < numJ; j++) {
+			for (int i = 0; i < numI; i++) {
+				int v0 = j * (numI + 1) + i;
+				int[] face = { v0, v0 + 1, v0 + numI + 2, v0 + numI + 1 };
+
+				if (j == 0) {
+					firstFaces.add(face);
+				}
+
+				else if ((i + j) % 2 == 0) {
+					evenFaces.add(face);
+				}
+
+				else {
+					oddFaces.add(face);
+				}
+			}
+		}
+
+		Coord2DSource coord2DSource = new Coord2DSource(vertexCoords);
+
+		HConversion<HMesh2D> conversion = Assertions.present(
+				new ToHMeshConverter().convert(new FaceSource(firstFaces),
+						coord2DSource));
+
+		HMesh2D mesh = conversion.mesh();
+
+		assertEquals(evenFaces.size(), conversion
+				.appendFaces(new FaceSource(evenFaces), coord2DSource).size());
+
+		// Les faces en damier forment plusieurs bords. Le coin superieur gauche
+		// n'appartient qu'a une face impaire
+		HMeshTester.check(mesh).numInteriorFaces(numI + evenFaces.size())
+				.numVertices(vertexCoords.length - 1);
+
+		assertEquals(oddFaces.size(), conversion
+				.appendFaces(new FaceSource(oddFaces), coord2DSource).size());
+
+		HMeshTester.check(mesh).numInteriorFaces(numI * numJ)
+				.numExteriorFaces(1).numFaces(numI * numJ + 1)
+				.numEdges(4 * numI * numJ + 2 * (numI + numJ))
+				.numVertices(vertexCoords.length);
+
+		// Chaque demi-arete reference la face dont elle forme le bord
+		assertEquals(mesh.edges().count(), mesh.faces()
+				.mapToInt(f -> f.edges().filter(e -> e.face() == f).count())
+				.sum());
+
+		// Coordonnees des nouveaux sommets renseignees
+		HIData<HVertex> vertexIndices = conversion.meshVertexIntData(i -> i);
+
+		mesh.vertices().forEach(v -> assertEquals(
+				vertexCoords[vertexIndices.get(v)][0], mesh.vertexX(v), 0));
+	}
+
+	/**
+	 * Ajout de faces apres la scission d'une arete. Le sommet cree par la
+	 * scission n'a pas d'index initial et ne doit pas etre repris pour un
+	 * sommet absent du maillage
+	 */
+	@Test
+	public void appendFacesAfterSplitEdge() {
+		double[][] vertexCoords = new double[9][];
+
+		for (int j = 0; j <= 2; j++) {
+			for (int i = 0; i <= 2; i++) {
+				vertexCoords[j * 3 + i] = new double[] { i, j };
+			}
+		}
+
+		Coord2DSource coord2DSource = new Coord2DSource(vertexCoords);
+
+		HConversion<HMesh2D> conversion = Assertions.present(
+				new ToHMeshConverter().convert(
+						new FaceSource(List.of(new int[] { 1, 2, 5, 4 })),
+						coord2DSource));
+
+		HMesh2D mesh = conversion.mesh();
+
+		HEdge edge = mesh.edges()
+				.filter(e -> mesh.vertexX(e.tail()) == 2
+						&& mesh.vertexY(e.tail()) == 0
+						&& mesh.vertexX(e.head()) == 2
+						&& mesh.vertexY(e.head()) == 1)
+				.findFirst().get();
+
+		HVertex split = mesh.splitEdge(edge, 2, 0.5);
+
+		List<HFace> faces = conversion.appendFaces(
+				new FaceSource(List.of(new int[] { 0, 1, 4, 3 })),
+				coord2DSource);
+
+		assertEquals(1, faces.size());
+		assertTrue(faces.get(0).vertices().allMatch(v -> v != split));
+
+		HMeshTester.check(mesh).numInteriorFaces(2).numVertices(7);
+	}
+
+	/**
+	 * Construction a partir d'un flux de faces recues par lots
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void facesSubscriber() throws Exception {
+		int numI = 20;
+		int numJ = 15;
+		double[][] vertexCoords = new double[(numI + 1) * (numJ + 1)][];
+		List<int[]> faces = new ArrayList<>();
+
+		for (int j = 0; j <= numJ; j++) {
+			for (int i = 0; i <= numI; i++) {
+				int v0 = j * (numI + 1) + i;
+				vertexCoords[v0] = new double[] { i, j };
+
+				if (i < numI && j < numJ) {
+					faces.add(new int[] { v0, v0 + 1, v0 + numI + 2,
+							v0 + numI + 1 });
+				}
+			}
+		}
+
+		Coord2DSource coord2DSource = new Coord2DSource(vertexCoords);
+
+		ToHMeshSubscriber<HMesh2D> subscriber = new ToHMeshConverter()
+				.subscriber(coord2DSource, 16);
+
+		try (SubmissionPublisher<int[]> publisher = new SubmissionPublisher<>(
+				ForkJoinPool.commonPool(), 8)) {
+
+			publisher.subscribe(subscriber);
+			faces.forEach(publisher::submit);
+		}
+
+		HConversion<HMesh2D> conversion = Assertions
+				.present(subscriber.result().get(1, TimeUnit.MINUTES));
+
+		HMeshTester.check(conversion.mesh()).numInteriorFaces(faces.size())
+				.numExteriorFaces(1).numVertices(vertexCoords.length)
+				.numEdges(4 * numI * numJ + 2 * (numI + numJ));
+
+		// Index des faces : rang dans le flux
+		HIData<HFace> faceIndices = conversion.meshFaceIntData(i -> i);
+		HIData<HVertex> vertexIndices = conversion.meshVertexIntData(i -> i);
+
+		conversion.mesh().faces().filter(f -> f.status() == Status.INTERIOR)
+				.forEach(f -> {
+					int[] face = faces.get(faceIndices.get(f));
+
+					assertTrue(f.vertices().allMatch(v -> Arrays.stream(face)
+							.anyMatch(i -> i == vertexIndices.get(v))));
+				});
+	}
+
+	/**
+	 * Flux de faces en echec avant sa fin : le resultat est en echec et la
+	 * conversion est terminee
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void facesSubscriberError() throws Exception {
+		ToHMeshConverter converter = new ToHMeshConverter();
+		ToHMeshSubscriber<HMesh> subscriber = converter.subscriber(2);
+		IllegalStateException failure = new IllegalStateException("failure");
+
+		try (SubmissionPublisher<int[]> publisher = new SubmissionPublisher<>(
+				ForkJoinPool.commonPool(), 8)) {
+
+			publisher.subscribe(subscriber);
+			publisher.submit(new int[] { 0, 1, 4, 3 });
+			publisher.submit(new int[] { 1, 2, 5, 4 });
+			publisher.closeExceptionally(failure);
+		}
+
+		try {
+			subscriber.result().get(1, TimeUnit.MINUTES);
+			assertTrue(false);
+		}
+
+		catch (ExecutionException e) {
+			assertEquals(failure, e.getCause());
+		}
+
+		ConversionStats stats = converter.stats().get();
+		assertFalse(stats.isSuccessful());
+		assertFalse(stats.isCancelled());
+		assertFalse(stats.duration(Phase.EDGE_PAIRING).isZero());
+
+		// Le convertisseur reste utilisable
+		Assertions.present(converter.convert(
+				new FaceSource(List.of(new int[] { 0, 1, 2 }))));
+	}
+
+	/**
+	 * Construction a partir d'une soupe de triangles dont les sommets communs
+	 * sont dupliques et legerement decales
+	 */
+	@Test
+	public void triangleSoup() {
+		int numI = 12;
+		int numJ = 9;
+		double[] coords = new double[numI * numJ * 2 * 9];
+		double[] exactCoords = new double[coords.length];
+		int[][] corners = { { 0, 0 }, { 1, 0 }, { 1, 1 }, { 0, 0 }, { 1, 1 },
+				{ 0, 1 } };
+
+		int iCoord = 0;
+
+		for (int j = 0; j < numJ; j++) {
+			for (int i = 0; i < numI; i++) {
+				for (int[] corner : corners) {
+					double x = i + corner[0];
+					double y = j + corner[1];
+					double jitter = iCoord % 7 * 1e-9;
+					exactCoords[iCoord] = x;
+					coords[iCoord++] = x + jitter;
+					exactCoords[iCoord] = y;
+					coords[iCoord++] = y - jitter;
+					exactCoords[iCoord] = x * y;
+					coords[iCoord++] = x * y + jitter;
+				}
+			}
+		}
+
+		HMesh3D mesh = Assertions
+				.present(new TriangleSoup(coords).toHMesh(1e-6));
+
+		HMeshTester.check(mesh).numInteriorFaces(2 * numI * numJ)
+				.numExteriorFaces(1).numVertices((numI + 1) * (numJ + 1))
+				.numEdges(2 * (3 * numI * numJ + numI + numJ));
+
+		mesh.vertices().forEach(v -> assertEquals(
+				mesh.vertexX(v) * mesh.vertexY(v), mesh.vertexZ(v), 1e-6));
+
+		// Sans tolerance, seuls les sommets identiques sont soudes
+		HMeshTester.check(new TriangleSoup(exactCoords).toHMesh(0))
+				.numInteriorFaces(2 * numI * numJ)
+				.numVertices((numI + 1) * (numJ + 1));
+	}
+
+	/**
+	 * Statistiques d'une conversion reussie puis d'une conversion en echec
+	 */
+	@Test
+	public void conversionStats() {
+
+		// 2 groupes de triangles partageant un sommet et des cycles rejetes
+		int[][] faces = { { 0, 1, 2 }, { 0, 2, 5 }, { 0, 3, 4 }, { 0, 1 },
+				{ 1, 2, 1, 3 }, { 2, 0, 6 } };
+
+		double[][] vertexCoords = { { 0, 0 }, { 1, 0 }, { 1, 1 }, { -1, 0 },
+				{ -1, -1 }, { 0, 1 }, { 2, 0 } };
+
+		ToHMeshConverter converter = new ToHMeshConverter();
+
+		HConversion<HMesh2D> conversion = Assertions.present(converter.convert(
+				new FaceSource(faces), new Coord2DSource(vertexCoords)));
+
+		ConversionStats stats = conversion.stats();
+		assertTrue(stats == Assertions.present(converter.stats()));
+		assertTrue(stats.isSuccessful());
+		assertEquals(3, stats.numRejectedCycles());
+		assertEquals(1, stats.numRejectedCycles(Rejection.TOO_FEW_VERTICES));
+		assertEquals(1, stats.numRejectedCycles(Rejection.SELF_CROSSING));
+		assertEquals(1, stats.numRejectedCycles(Rejection.EDGE_IN_TWO_CYCLES));
+		assertEquals(1, stats.numReorientedVertices());
+		assertEquals(1, stats.numExtraBoundaryCycles());
+
+		assertTrue(stats.duration(Phase.EDGE_PAIRING).toNanos() > 0);
+		assertTrue(stats.duration(Phase.COORD_ASSIGNMENT).toNanos() > 0);
+		assertEquals(Arrays.stream(Phase.values()).map(stats::duration)
+				.mapToLong(Duration::toNanos).sum(),
+				stats.totalDuration().toNanos());
+
+		// Echec : sans geometrie, le sommet partage ne peut etre reoriente
+		assertTrue(converter.convert(new FaceSource(faces)).isEmpty());
+
+		stats = Assertions.present(converter.stats());
+		assertFalse(stats.isSuccessful());
+		assertEquals(3, stats.numRejectedCycles());
+	}
+
+	/**
+	 * Suivi de l'avancement puis annulation d'une conversion au debut de la
+	 * completion des cycles
+	 */
+	@Test
+	public void cancelConversion() {
+		GridSource grid = new GridSource(100, 100);
+		FaceSource faceSource = grid.toFaceSource();
+		List<Phase> phases = new ArrayList<>();
+
+		ConversionMonitor monitor = new ConversionMonitor() {
+
+			@Override
+			public void progress(Phase phase, int numProcessed, int numTotal) {
+				if (phases.isEmpty() || phases.get(phases.size() - 1) != phase) {
+					phases.add(phase);
+				}
+
+				assertTrue(numTotal == -1 || numProcessed <= numTotal);
+			}
+
+			@Override
+			public boolean isCancelled() {
+				return phases.contains(Phase.CYCLE_COMPLETION);
+			}
+		};
+
+		ToHMeshConverter converter = new ToHMeshConverter();
+		converter.setMonitor(monitor);
+
+		try {
+			converter.convert(faceSource);
+			assertTrue(false);
+		}
+
+		catch (CancellationException e) {
+			// Attendu
+		}
+
+		assertEquals(Arrays.asList(Phase.EDGE_PAIRING, Phase.CYCLE_CREATION,
+				Phase.CYCLE_COMPLETION), phases);
+
+		ConversionStats stats = Assertions.present(converter.stats());
+		assertTrue(stats.isCancelled());
+		assertFalse(stats.isSuccessful());
+
+		// Le convertisseur reste utilisable
+		converter.setMonitor(ConversionMonitor.NONE);
+
+		HMeshTester.check(converter.convert(faceSource).map(HConversion::mesh))
+				.numInteriorFaces(grid.numFaces());
+	}
+
+	/**
+	 * Conversions simultanees par un {@link MeshConversionService}
+	 */
+	@Test
+	public void conversionService() throws Exception {
+		AtomicInteger numRunning = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		try (MeshConversionService service = new MeshConversionService(2)) {
+			List<CompletableFuture<Optional<HConversion<HMesh>>>> results = new ArrayList<>();
+
+			for (int i = 1; i <= 20; i++) {
+				int size = i;
+
+				results.add(service.submit(() -> {
+					// Chargement bloquant hors de la limite de concurrence
+					Thread.sleep(10);
+					return new GridSource(size, size).toFaceSource();
+				}, (converter, faces) -> {
+					maxRunning.accumulateAndGet(numRunning.incrementAndGet(),
+							Math::max);
+
+					try {
+						return converter.convert(faces);
+					}
+
+					finally {
+						numRunning.decrementAndGet();
+					}
+				}));
+			}
+
+			for (int i = 1; i <= 20; i++) {
+				HMeshTester.check(results.get(i - 1).get().map(HConversion::mesh))
+						.numInteriorFaces(i * i);
+			}
+
+			assertTrue(maxRunning.get() <= 2);
+
+			// Face invalide rejetee
+			FaceSource invalid = new FaceSource(new int[][] { { 0, 1 } });
+
+			HMeshTester.check(service.convertFaces(() -> invalid).get()
+					.map(HConversion::mesh)).empty();
+
+			// Echec du chargement
+			try {
+				service.convertFaces(() -> {
+					throw new IOException("unreadable");
+				}).get();
+
+				assertTrue(false);
+			}
+
+			catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof IOException);
+			}
+
+			// Erreur du chargement
+			try {
+				service.convertFaces(() -> {
+					throw new StackOverflowError();
+				}).get(1, TimeUnit.MINUTES);
+
+				assertTrue(false);
+			}
+
+			catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof StackOverflowError);
+			}
+
+			// Le moniteur installe par une conversion ne survit pas au job
+			ConversionMonitor cancelling = new ConversionMonitor() {
+
+				@Override
+				public boolean isCancelled() {
+					return true;
+				}
+			};
+
+			try {
+				service.submit(() -> new GridSource(4, 4).toFaceSource(),
+						(converter, faces) -> {
+							converter.setMonitor(cancelling);
+							return converter.convert(faces);
+						}).get();
+
+				assertTrue(false);
+			}
+
+			catch (CancellationException e) {
+				assertTrue(e.getMessage().contains("cancelled"));
+			}
+
+			for (int i = 0; i < 4; i++) {
+				HMeshTester.check(service
+						.convertFaces(() -> new GridSource(4, 4).toFaceSource())
+						.get().map(HConversion::mesh)).numInteriorFaces(16);
+			}
+
+			// Annulation d'une conversion en cours
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch cancelled = new CountDownLatch(1);
+			CompletableFuture<Boolean> stopped = new CompletableFuture<>();
+
+			CompletableFuture<Optional<HConversion<HMesh>>> running = service
+					.submit(() -> new GridSource(100, 100).toFaceSource(),
+							(converter, faces) -> {
+								started.countDown();
+
+								try {
+									cancelled.await();
+									return converter.convert(faces);
+								}
+
+								catch (InterruptedException e) {
+									throw new IllegalStateException(e);
+								}
+
+								finally {
+									stopped.complete(converter.stats()
+											.map(ConversionStats::isCancelled)
+											.orElse(false));
+								}
+							});
+
+			started.await();
+			running.cancel(true);
+			cancelled.countDown();
+
+			assertTrue(stopped.get(1, TimeUnit.MINUTES));
+			assertTrue(running.isCancelled());
+		}
+	}
+
+	/**
+	 * La conversion parallele d'une source d'aretes produit les memes faces que
+	 * la conversion sequentielle
+	 */
+	@Test
+	public void parallelEdgeConversion() {
+		int numI = 40;
+		int numJ = 30;
+		GridSource grid = new GridSource(numI, numJ, true);
+		double[][] vertexCoords = new double[grid.numVertices()][];
+		List<int[]> edges = new ArrayList<>();
+
+		for (int j = 0; j <= numJ; j++) {
+			for (int i = 0; i <= numI; i++) {
+				int v = grid.vertexIndex(i, j);
+				vertexCoords[v] = new double[] { i, j + 0.1 * (i % 3) };
+
+				if (i < numI) {
+					edges.add(new int[] { v, v + 1 });
+				}
+
+				if (j < numJ) {
+					edges.add(new int[] { v, v + numI + 1 });
+				}
+
+				if (i < numI && j < numJ) {
+					edges.add(new int[] { v, v + numI + 2 });
+				}
+			}
+		}
+
+		EdgeSource edgeSource = new EdgeSource(edges.toArray(new int[0][]));
+		Coord2DSource coord2DSource = new Coord2DSource(vertexCoords);
+
+		HConversion<HMesh2D> sequential = Assertions.present(
+				new ToHMeshConverter().convert(edgeSource, coord2DSource));
+
+		HConversion<HMesh2D> parallel = Assertions
+				.present(new ToHMeshConverter(false, false, true)
+						.convert(edgeSource, coord2DSource));
+
+		HMeshTester.check(parallel.mesh()).numFaces(grid.numFaces() + 1)
+				.numVertices(grid.numVertices());
+
+		assertEquals(vertexCycles(sequential), vertexCycles(parallel));
+	}
+
+	/**
+	 * @param conversion
+	 * @return les index des sommets de chaque face, a partir du plus petit,
+	 *         tries. L'ordre des faces d'une conversion n'est pas significatif
+	 */
+	private static List<String> vertexCycles(HConversion<?> conversion) {
+		HIData<HVertex> vertexIndices = conversion.meshVertexIntData(i -> i);
+
+		return conversion.mesh().faces().map(f -> {
+			int[] cycle = f.vertices().toList().stream()
+					.mapToInt(vertexIndices::get).toArray();
+
+			int first = IntStream.range(0, cycle.length)
+					.reduce((i1, i2) -> cycle[i2] < cycle[i1] ? i2 : i1)
+					.getAsInt();
+
+			return Arrays.toString(IntStream.range(0, cycle.length)
+					.map(i -> cycle[(first + i) % cycle.length]).toArray());
+		}).sorted().collect(Collectors.toList());
+	}
+
 	/**
 	 * Pour faciliter lecture du code
 	 *
@@ -7,20 +7,36 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 import org.junit.Test;
 
+import hgeom.hmesh.core.HEdgeCursor;
+import hgeom.hmesh.core.HMeshAdjacency;
+import hgeom.hmesh.core.HMeshAdjacency.Rings;
+import hgeom.hmesh.core.HMeshTreeWalker;
+import hgeom.hmesh.core.HMeshTreeWalker.TreePathType;
+import hgeom.hmesh.core.ToHMeshConverter;
+import hgeom.hmesh.data.HBData;
+import hgeom.hmesh.data.HDData;
 import hgeom.hmesh.data.HData;
+import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.Coord2DSource;
+import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.GridSource;
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HFace;
 import hgeom.hmesh.elements.HFace.Status;
 import hgeom.hmesh.elements.HMesh;
 import hgeom.hmesh.elements.HMesh2D;
 import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.elements.SpaceFillingCurve;
 import hgeom.hmesh.examples.HMeshBasicOperations;
 import hgeom.hmesh.sequence.Sequence;
 
@@ -251,6 +267,171 @@ public final class HMeshOperationTests {
 		assertEquals(4, face.neighbors().count());
 	}
 
+	/**
+	 * Sequences specialisees des bords de faces et des voisinages de sommets
+	 * identiques aux boucles generiques
+	 */
+	@Test
+	public void ringSequences() {
+		GridSource grid = new GridSource(5, 4, true);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % 6, i -> i / 6));
+
+		mesh.faces().forEach(face -> {
+			HEdge edge = face.edge();
+			List<HEdge> cycle = edge.cycle().toList();
+
+			assertEquals(cycle, face.edges().toList());
+			assertEquals(cycle.size(), face.edges().count());
+			assertEquals(edge, Assertions.present(face.edges().findFirst()));
+			assertEquals(cycle.stream().map(HEdge::head)
+					.collect(Collectors.toList()), face.vertices().toList());
+
+			List<HVertex> iterated = new ArrayList<>();
+			face.vertices().iterator().forEachRemaining(iterated::add);
+			assertEquals(face.vertices().toList(), iterated);
+
+			assertTrue(face.vertices().allMatch(v -> v.isNeighborOf(
+					face.vertices().filter(u -> u != v).findFirst().get())
+					|| face.vertices().count() > 3));
+		});
+
+		mesh.vertices().forEach(vertex -> {
+			List<HVertex> neighbors = vertex.outgoingEdges().map(HEdge::head)
+					.toList();
+
+			assertEquals(neighbors, vertex.neighbors().toList());
+			assertEquals(vertex.degree(), vertex.neighbors().count());
+			assertEquals(vertex.degree(), vertex.incomingEdges().count());
+			assertEquals(neighbors.size(),
+					vertex.neighbors().toArray(HVertex[]::new).length);
+
+			assertTrue(vertex.incomingEdges().allMatch(e -> e.head() == vertex));
+			assertTrue(vertex.outgoingEdges().allMatch(e -> e.tail() == vertex));
+			assertFalse(vertex.neighbors().anyMatch(v -> v == vertex));
+
+			assertEquals(Integer.valueOf(neighbors.size()), vertex.neighbors()
+					.reduce(0, (count, v) -> count + 1));
+
+			assertEquals(neighbors.get(neighbors.size() - 1), vertex.neighbors()
+					.reduce((v1, v2) -> v2).get());
+		});
+	}
+
+	/**
+	 * Sequences specialisees comparees aux boucles generiques : bord de face
+	 * specialise ({@link HFace#edges()}) contre cycle generique
+	 * ({@link HEdge#cycle()}), voisins specialises contre aretes sortantes
+	 * transformees
+	 */
+	@Test
+	public void ringSequencesPerformance() {
+		GridSource grid = new GridSource(300, 300, true);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % 301,
+				i -> i / 301));
+
+		HFace[] faces = mesh.faces().toArray(HFace[]::new);
+		HVertex[] vertices = mesh.vertices().toArray(HVertex[]::new);
+
+		Runnable genericFaceLoops = () -> {
+			for (HFace face : faces) {
+				face.edge().cycle().forEach(e -> e.head());
+			}
+		};
+
+		Runnable specializedFaceLoops = () -> {
+			for (HFace face : faces) {
+				face.edges().forEach(e -> e.head());
+			}
+		};
+
+		Runnable genericVertexRings = () -> {
+			for (HVertex vertex : vertices) {
+				vertex.outgoingEdges().map(HEdge::head).count();
+			}
+		};
+
+		Runnable specializedVertexRings = () -> {
+			for (HVertex vertex : vertices) {
+				vertex.neighbors().count();
+			}
+		};
+
+		// Compilation des parcours avant les mesures
+		for (int i = 0; i < 3; i++) {
+			RunDuration.of(genericFaceLoops, 10);
+			RunDuration.of(specializedFaceLoops, 10);
+			RunDuration.of(genericVertexRings, 10);
+			RunDuration.of(specializedVertexRings, 10);
+		}
+
+		RunDuration.of(genericFaceLoops, 20).printOut("generic face loops");
+		RunDuration.of(specializedFaceLoops, 20)
+				.printOut("specialized face loops");
+
+		RunDuration.of(genericVertexRings, 20).printOut("generic vertex rings");
+		RunDuration.of(specializedVertexRings, 20)
+				.printOut("specialized vertex rings");
+	}
+
+	/**
+	 * Parcours par curseur identiques aux parcours par sequences
+	 */
+	@Test
+	public void edgeCursor() {
+		GridSource grid = new GridSource(5, 4, true);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % 6, i -> i / 6));
+		HEdgeCursor cursor = new HEdgeCursor();
+
+		assertFalse(cursor.next());
+
+		mesh.faces().forEach(face -> {
+			List<HEdge> edges = new ArrayList<>();
+
+			for (cursor.resetOnFace(face); cursor.next();) {
+				edges.add(cursor.edge());
+				assertEquals(face, cursor.face());
+			}
+
+			assertEquals(face.edges().toList(), edges);
+			assertFalse(cursor.next());
+		});
+
+		mesh.vertices().forEach(vertex -> {
+			List<HVertex> neighbors = new ArrayList<>();
+			List<HEdge> incomingEdges = new ArrayList<>();
+
+			for (cursor.resetOnOutgoingEdges(vertex); cursor.next();) {
+				neighbors.add(cursor.head());
+				assertEquals(vertex, cursor.tail());
+			}
+
+			for (cursor.resetOnIncomingEdges(vertex); cursor.next();) {
+				incomingEdges.add(cursor.edge());
+				assertEquals(cursor.edge(), cursor.opposite().opposite());
+			}
+
+			assertEquals(vertex.neighbors().toList(), neighbors);
+			assertEquals(vertex.incomingEdges().toList(), incomingEdges);
+		});
+
+		HEdge edge = Assertions.present(mesh.edges().findFirst());
+		assertTrue(cursor.resetOnCycle(edge).next());
+		assertEquals(edge, cursor.edge());
+
+		try {
+			while (cursor.next()) {
+				// Fin du cycle
+			}
+
+			cursor.head();
+			assertTrue(false);
+		}
+
+		catch (NoSuchElementException e) {
+			// Curseur hors parcours
+		}
+	}
+
 	/**
 	 *
 	 */
@@ -599,6 +780,438 @@ public final class HMeshOperationTests {
 				.export("meshOperations3_simplified");
 	}
 
+	/**
+	 * Instantane d'adjacence : memes voisinages que le maillage, anneaux
+	 * identiques a ceux d'un parcours en largeur, reconstruction apres
+	 * modification
+	 */
+	@Test
+	public void adjacency() {
+		GridSource grid = new GridSource(30, 20, true);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % 31,
+				i -> i / 31));
+
+		HMeshAdjacency adjacency = HMeshAdjacency.of(mesh);
+
+		assertTrue(adjacency == HMeshAdjacency.of(mesh));
+		assertEquals(grid.numVertices(), adjacency.numVertices());
+		assertEquals(grid.numFaces(), adjacency.numFaces());
+
+		for (int v = 0; v < adjacency.numVertices(); v++) {
+			HVertex vertex = adjacency.vertex(v);
+			assertEquals(v, adjacency.vertexIndex(vertex));
+
+			List<HVertex> neighbors = vertex.neighbors().toList();
+			assertEquals(neighbors.size(), adjacency.numVertexNeighbors(v));
+
+			for (int k = 0; k < neighbors.size(); k++) {
+				assertEquals(neighbors.get(k),
+						adjacency.vertex(adjacency.vertexNeighbor(v, k)));
+			}
+
+			long numFaces = vertex.incomingEdges().map(HEdge::face)
+					.filter(f -> f.status() == Status.INTERIOR).count();
+
+			assertEquals(numFaces, adjacency.numVertexFaces(v));
+		}
+
+		for (int f = 0; f < adjacency.numFaces(); f++) {
+			HFace face = adjacency.face(f);
+			assertEquals(f, adjacency.faceIndex(face));
+
+			long numNeighbors = face.edges().map(e -> e.opposite().face())
+					.filter(n -> n.status() == Status.INTERIOR).count();
+
+			assertEquals(numNeighbors, adjacency.numFaceNeighbors(f));
+
+			for (int k = 0; k < adjacency.numFaceNeighbors(f); k++) {
+				assertTrue(face.isNeighborOf(
+						adjacency.face(adjacency.faceNeighbor(f, k))));
+			}
+		}
+
+		// Anneaux : memes sommets que le parcours en largeur de profondeur 3
+		HMeshTreeWalker walker = new HMeshTreeWalker(mesh,
+				TreePathType.BREADTH_FIRST, 3);
+
+		Rings rings = adjacency.vertexRings();
+
+		for (int v = 0; v < adjacency.numVertices(); v++) {
+			int count = rings.expand(v, 3);
+			HVertex vertex = adjacency.vertex(v);
+
+			assertEquals(walker.walk(vertex).count(), count);
+			assertTrue(walker.walk(vertex).allMatch(
+					n -> rings.contains(adjacency.vertexIndex(n))));
+
+			assertEquals(4, rings.numRings());
+			assertEquals(0, rings.ringStart(0));
+			assertEquals(1, rings.ringStart(1));
+			assertEquals(1 + adjacency.numVertexNeighbors(v),
+					rings.ringStart(2));
+		}
+
+		// Plusieurs graines, expansion arretee faute de faces
+		Rings faceRings = adjacency.faceRings();
+		int[] seeds = { 0, 1, 0 };
+
+		assertEquals(adjacency.numFaces(),
+				faceRings.expand(seeds, seeds.length, 1000));
+
+		assertEquals(2, faceRings.ringStart(1));
+		assertEquals(adjacency.numFaces(),
+				faceRings.ringStart(faceRings.numRings()));
+
+		// Modification : nouvel instantane
+		HVertex newVertex = mesh.splitEdge(
+				Assertions.present(mesh.edges().findFirst()), 0.5, 0.5);
+
+		assertFalse(adjacency.isUpToDate());
+		assertEquals(-1, adjacency.vertexIndex(newVertex));
+
+		HMeshAdjacency newAdjacency = HMeshAdjacency.of(mesh);
+
+		assertTrue(newAdjacency.isUpToDate());
+		assertEquals(grid.numVertices() + 1, newAdjacency.numVertices());
+	}
+
+	/**
+	 * Anneaux de tous les sommets : parcours en largeur du maillage contre
+	 * expansion sur l'instantane d'adjacence
+	 */
+	@Test
+	public void adjacencyPerformance() {
+		GridSource grid = new GridSource(300, 300, true);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % 301,
+				i -> i / 301));
+
+		HMeshTreeWalker walker = new HMeshTreeWalker(mesh,
+				TreePathType.BREADTH_FIRST, 3);
+
+		HVertex[] vertices = mesh.vertices().toArray(HVertex[]::new);
+
+		Runnable walks = () -> {
+			for (HVertex vertex : vertices) {
+				walker.walk(vertex).count();
+			}
+		};
+
+		Runnable expansions = () -> {
+			HMeshAdjacency adjacency = HMeshAdjacency.of(mesh);
+			Rings rings = adjacency.vertexRings();
+
+			for (int v = 0; v < adjacency.numVertices(); v++) {
+				rings.expand(v, 3);
+			}
+		};
+
+		// Compilation des parcours avant les mesures
+		RunDuration.of(walks, 2);
+		RunDuration.of(expansions, 5);
+
+		RunDuration.of(walks, 3).printOut("3-rings by tree walks");
+		RunDuration.of(expansions, 3).printOut("3-rings by adjacency");
+	}
+
+	/**
+	 * Renumerotation d'une grille dont les sommets et les faces ont ete
+	 * melanges : les couches de donnees suivent leurs elements et les faces
+	 * voisines deviennent consecutives
+	 */
+	@Test
+	public void reorder() {
+		HMesh2D mesh = shuffledGrid(40, 30, true);
+
+		// Elements supprimes avant la renumerotation
+		HFace merged = Assertions.present(mesh.faces()
+				.filter(f -> f.status() == Status.INTERIOR).findFirst());
+
+		assertTrue(mesh.mergeFaces(merged, Assertions.present(merged
+				.neighbors().filter(f -> f.status() == Status.INTERIOR)
+				.findFirst())));
+
+		int numVertices = (int) mesh.vertices().count();
+		int numEdges = (int) mesh.edges().count();
+		int numFaces = (int) mesh.faces().count();
+
+		HIData<HVertex> tags = mesh.createVertexIntData();
+		HBData<HVertex> evens = mesh.createVertexBooleanData();
+		HData<HEdge, HVertex> heads = mesh.createEdgeData();
+		HDData<HFace> centroidXs = mesh.createFaceDoubleData();
+
+		tags.setAll(v -> tag(mesh, v));
+		evens.setAll(v -> mesh.vertexX(v) % 2 == 0);
+		heads.setAll(HEdge::head);
+		centroidXs.setAll(f -> centroidX(mesh, f));
+
+		double shuffledSpread = spread(mesh);
+		HMeshAdjacency adjacency = HMeshAdjacency.of(mesh);
+
+		List<Runnable> reorderings = new ArrayList<>();
+		reorderings.add(mesh::reorder);
+		reorderings.add(() -> mesh.reorder(SpaceFillingCurve.HILBERT));
+		reorderings.add(() -> mesh.reorder(SpaceFillingCurve.MORTON));
+
+		for (Runnable reordering : reorderings) {
+			reordering.run();
+
+			assertFalse(adjacency.isUpToDate());
+
+			HMeshTester.check(mesh).numVertices(numVertices)
+					.numEdges(numEdges).numFaces(numFaces);
+
+			assertTrue(mesh.vertices().allMatch(v -> tags.get(v) == tag(mesh,
+					v) && evens.get(v) == (mesh.vertexX(v) % 2 == 0)));
+
+			assertTrue(mesh.edges().allMatch(e -> heads.get(e) == e.head()));
+			assertTrue(mesh.faces().allMatch(
+					f -> centroidXs.get(f) == centroidX(mesh, f)));
+
+			assertTrue(spread(mesh) < shuffledSpread / 4);
+
+			adjacency = HMeshAdjacency.of(mesh);
+		}
+
+		// Nouvelles couches apres renumerotation
+		HIData<HVertex> newTags = mesh.createVertexIntData();
+		newTags.setAll(v -> tag(mesh, v));
+
+		assertTrue(mesh.vertices().allMatch(v -> newTags.get(v) == tags.get(v)));
+	}
+
+	/**
+	 * Somme des coordonnees des sommets de chaque face, selon l'ordre initial
+	 * melange puis apres renumerotation le long de la courbe de Hilbert
+	 */
+	@Test
+	public void reorderPerformance() {
+		HMesh2D mesh = shuffledGrid(300, 300, false);
+		HFace[] faces = mesh.faces().toArray(HFace[]::new);
+
+		Runnable sweep = () -> {
+			double sum = 0;
+
+			for (HFace face : faces) {
+				HEdge edge = face.edge();
+
+				do {
+					sum += mesh.vertexX(edge.head()) + mesh.vertexY(edge.head());
+					edge = edge.next();
+				} while (edge != face.edge());
+			}
+
+			assertTrue(sum > 0);
+		};
+
+		RunDuration.of(sweep, 10);
+		RunDuration.of(sweep, 10).printOut("sweep before reordering");
+
+		RunDuration.of(() -> mesh.reorder(SpaceFillingCurve.HILBERT), 1)
+				.printOut("hilbert reordering");
+
+		HFace[] reordered = mesh.faces().toArray(HFace[]::new);
+		System.arraycopy(reordered, 0, faces, 0, faces.length);
+
+		RunDuration.of(sweep, 10);
+		RunDuration.of(sweep, 10).printOut("sweep after reordering");
+	}
+
+	/**
+	 * Liens vers les demi-aretes precedentes actives sur un maillage deja
+	 * construit, puis tenus a jour par les operations d'edition
+	 */
+	@Test
+	public void previousLinks() {
+		GridSource grid = new GridSource(30, 20);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % 31,
+				i -> i / 31));
+
+		assertFalse(mesh.areEdgesLinkedToPrevious());
+
+		mesh.linkEdgesToPrevious(true);
+
+		assertTrue(mesh.areEdgesLinkedToPrevious());
+		assertTrue(mesh.edges().allMatch(e -> mesh.previous(e) == e.previous()));
+
+		// Scissions de faces et d'aretes
+		List<HFace> quads = mesh.faces()
+				.filter(f -> f.status() == Status.INTERIOR).limit(100)
+				.collect(Collectors.toList());
+
+		for (HFace quad : quads.subList(0, 50)) {
+			List<HVertex> vertices = quad.vertices().toList();
+			Assertions.present(
+					mesh.splitFace(quad, vertices.get(0), vertices.get(2)));
+		}
+
+		List<HVertex> newVertices = new ArrayList<>();
+
+		for (HFace quad : quads.subList(50, 100)) {
+			newVertices.add(mesh.splitEdge(quad.edge(), 0, 0));
+		}
+
+		assertTrue(mesh.edges().allMatch(e -> mesh.previous(e).next() == e));
+
+		// Suppressions de sommets, fusions de faces et effondrements
+		for (HVertex vertex : newVertices.subList(0, 25)) {
+			assertTrue(mesh.removeVertex(vertex));
+		}
+
+		for (HFace quad : quads.subList(0, 50)) {
+			if (!quad.isDiscarded()) {
+				mesh.mergeFaces(quad, quad.edge().opposite().face());
+			}
+		}
+
+		List<HEdge> edges = mesh.edges().filter(e -> e.face()
+				.status() == Status.INTERIOR
+				&& e.opposite().face().status() == Status.INTERIOR)
+				.limit(200).collect(Collectors.toList());
+
+		for (int i = 0; i < edges.size(); i += 10) {
+			if (!edges.get(i).isDiscarded()) {
+				mesh.collapseEdge(edges.get(i));
+			}
+		}
+
+		assertTrue(mesh.edges().allMatch(e -> mesh.previous(e).next() == e
+				&& mesh.previous(e) == e.previous()));
+
+		// Liens conserves par la renumerotation
+		mesh.reorder();
+		assertTrue(mesh.edges().allMatch(e -> mesh.previous(e).next() == e));
+
+		mesh.linkEdgesToPrevious(false);
+
+		assertFalse(mesh.areEdgesLinkedToPrevious());
+		assertTrue(mesh.edges().allMatch(e -> mesh.previous(e).next() == e));
+
+		// Demi-aretes liees a leur precedente des la conversion
+		HMesh2D linked = new ToHMeshConverter(true)
+				.convert(grid, new Coord2DSource(i -> i % 31, i -> i / 31))
+				.mesh();
+
+		assertTrue(linked.areEdgesLinkedToPrevious());
+
+		// Precedentes de toutes les demi-aretes d'une grande grille
+		GridSource bigGrid = new GridSource(300, 300, true);
+		HMesh2D bigMesh = bigGrid.toHMesh(new Coord2DSource(i -> i % 301,
+				i -> i / 301));
+
+		HEdge[] bigEdges = bigMesh.edges().toArray(HEdge[]::new);
+
+		Runnable previous = () -> {
+			for (HEdge edge : bigEdges) {
+				bigMesh.previous(edge);
+			}
+		};
+
+		RunDuration.of(previous, 3);
+		RunDuration.of(previous, 3).printOut("previous by vertex turns");
+
+		RunDuration.of(() -> bigMesh.linkEdgesToPrevious(true), 1)
+				.printOut("previous links");
+
+		RunDuration.of(previous, 3);
+		RunDuration.of(previous, 3).printOut("previous by links");
+	}
+
+	/**
+	 * @param numI
+	 * @param numJ
+	 * @param triangulated
+	 * @return une grille de cote 1 dont les sommets et les faces sont
+	 *         numerotes aleatoirement
+	 */
+	private static HMesh2D shuffledGrid(int numI, int numJ,
+			boolean triangulated) {
+
+		GridSource grid = new GridSource(numI, numJ, triangulated);
+		Random random = new Random(7);
+
+		// Sommet de la grille de chaque sommet melange, et inversement
+		int[] gridVertices = shuffled(grid.numVertices(), random);
+		int[] shuffledVertices = new int[gridVertices.length];
+
+		for (int i = 0; i < gridVertices.length; i++) {
+			shuffledVertices[gridVertices[i]] = i;
+		}
+
+		int[] gridFaces = shuffled(grid.numFaces(), random);
+		int[][] faces = new int[gridFaces.length][];
+
+		for (int i = 0; i < gridFaces.length; i++) {
+			faces[i] = Arrays.stream(grid.toFaceSource().face(gridFaces[i]))
+					.map(v -> shuffledVertices[v]).toArray();
+		}
+
+		return Assertions.present(new FaceSource(faces)
+				.toHMesh(new Coord2DSource(
+						i -> gridVertices[i] % (numI + 1),
+						i -> gridVertices[i] / (numI + 1))));
+	}
+
+	/**
+	 * @param n
+	 * @param random
+	 * @return une permutation aleatoire de 0 a n exclu
+	 */
+	private static int[] shuffled(int n, Random random) {
+		int[] permutation = new int[n];
+
+		for (int i = 0; i < n; i++) {
+			permutation[i] = i;
+		}
+
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int tmp = permutation[i];
+			permutation[i] = permutation[j];
+			permutation[j] = tmp;
+		}
+
+		return permutation;
+	}
+
+	/**
+	 * @param mesh
+	 * @param v
+	 * @return
+	 */
+	private static int tag(HMesh2D mesh, HVertex v) {
+		return (int) mesh.vertexX(v) + 1000 * (int) mesh.vertexY(v);
+	}
+
+	/**
+	 * @param mesh
+	 * @param f
+	 * @return
+	 */
+	private static double centroidX(HMesh2D mesh, HFace f) {
+		return f.vertices().map(mesh::vertexX).reduce(0., Double::sum)
+				/ f.vertices().count();
+	}
+
+	/**
+	 * @param mesh
+	 * @return la distance moyenne entre les premiers sommets de deux faces
+	 *         consecutives du maillage
+	 */
+	private static double spread(HMesh2D mesh) {
+		HVertex[] firsts = mesh.faces().map(f -> f.edge().head())
+				.toArray(HVertex[]::new);
+
+		double sum = 0;
+
+		for (int i = 1; i < firsts.length; i++) {
+			sum += Math.hypot(
+					mesh.vertexX(firsts[i]) - mesh.vertexX(firsts[i - 1]),
+					mesh.vertexY(firsts[i]) - mesh.vertexY(firsts[i - 1]));
+		}
+
+		return sum / (firsts.length - 1);
+	}
+
 	/**
 	 * Pour faciliter lecture du code
 	 *
@@ -1,20 +1,38 @@
 package hgeom.hmesh.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.function.BinaryOperator;
 import java.util.stream.Stream;
 
 import org.junit.Test;
 
+import hgeom.hmesh.core.HMeshConnectedComponents;
+import hgeom.hmesh.core.HMeshConnectedComponents.Components;
+import hgeom.hmesh.core.HMeshGeodesics;
+import hgeom.hmesh.core.HMeshShortestPaths;
+import hgeom.hmesh.core.HMeshShortestPaths.ShortestPaths;
 import hgeom.hmesh.core.HMeshTreeWalker;
+import hgeom.hmesh.core.HMeshTreeWalker.BreadthFirstLayers;
 import hgeom.hmesh.core.HMeshTreeWalker.TreePathType;
 import hgeom.hmesh.core.HMeshWalker;
+import hgeom.hmesh.core.HMeshWalker.Monitor;
+import hgeom.hmesh.data.HBData;
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.elements.Coord2DSource;
+import hgeom.hmesh.elements.Coord3DSource;
+import hgeom.hmesh.elements.GridSource;
 import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HFace;
 import hgeom.hmesh.elements.HMesh;
 import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
 import hgeom.hmesh.elements.HVertex;
 import hgeom.hmesh.test.Importer.ImportResult;
 
@@ -160,4 +178,423 @@ public final class HMeshWalkerTests {
 		assertEquals(50, mesh.vertexX(v), 0);
 		assertEquals(45, mesh.vertexY(v), 0);
 	}
+
+	/**
+	 * Milliers de parcours courts (3-voisinage de chaque sommet) reutilisant
+	 * les marques de visite du maillage
+	 */
+	@Test
+	public void kRings() {
+		int numI = 30;
+		int numJ = 20;
+		GridSource grid = new GridSource(numI, numJ);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % (numI + 1),
+				i -> i / (numI + 1)));
+
+		HMeshTreeWalker walker = new HMeshTreeWalker(mesh,
+				TreePathType.BREADTH_FIRST, 3);
+
+		for (int round = 0; round < 3; round++) {
+			mesh.vertices().forEach(vertex -> {
+				double x = mesh.vertexX(vertex);
+				double y = mesh.vertexY(vertex);
+
+				long expected = mesh.vertices()
+						.filter(v -> Math.abs(mesh.vertexX(v) - x)
+								+ Math.abs(mesh.vertexY(v) - y) <= 3)
+						.count();
+
+				assertEquals(expected, walker.walk(vertex).count());
+			});
+		}
+
+		// Moniteur interroge apres la fin du parcours
+		HVertex vertex = Assertions.present(mesh.vertices().findFirst());
+		List<Monitor<HVertex>> monitors = new ArrayList<>();
+
+		walker.walk(vertex, (v, monitor) -> {
+			monitors.add(monitor);
+			return v.neighbors();
+		}).count();
+
+		assertTrue(monitors.get(0).isVisited(vertex));
+		assertEquals(13, walker.walk(vertex).count());
+
+		try {
+			monitors.get(0).isVisited(vertex);
+			assertTrue(false);
+		}
+
+		catch (IllegalStateException e) {
+			// Marques reprises par le second parcours
+		}
+	}
+
+	/**
+	 * Parcours en largeur parallele : memes profondeurs que le parcours
+	 * sequentiel, parents voisins a la profondeur precedente
+	 */
+	@Test
+	public void parallelBreadthFirst() {
+		int numI = 600;
+		int numJ = 500;
+		GridSource grid = new GridSource(numI, numJ);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % (numI + 1),
+				i -> i / (numI + 1)));
+
+		HVertex root = Assertions.present(mesh.vertices()
+				.filter(v -> mesh.vertexX(v) == 300 && mesh.vertexY(v) == 250)
+				.findFirst());
+
+		// Front de plus de 1000 sommets a partir de la profondeur 250
+		BreadthFirstLayers<HVertex> layers = new HMeshTreeWalker(mesh)
+				.walkInParallel(root);
+
+		assertEquals(grid.numVertices(), layers.numVisited());
+		assertEquals(550, layers.maxDepth());
+		assertEquals(null, layers.parents().get(root));
+
+		assertTrue(mesh.vertices().allMatch(v -> {
+			int depth = layers.depths().get(v);
+			HVertex parent = layers.parents().get(v);
+
+			return depth == Math.abs(mesh.vertexX(v) - 300)
+					+ Math.abs(mesh.vertexY(v) - 250)
+					&& (v == root || parent.neighbors().anyMatch(n -> n == v)
+							&& layers.depths().get(parent) == depth - 1);
+		}));
+
+		// Profondeur bornee
+		BreadthFirstLayers<HVertex> boundedLayers = new HMeshTreeWalker(mesh, TreePathType.BREADTH_FIRST, 3)
+				.walkInParallel(root);
+
+		assertEquals(25, boundedLayers.numVisited());
+		assertEquals(3, boundedLayers.maxDepth());
+		assertEquals(-1, boundedLayers.depths().get(Assertions
+				.present(mesh.vertices().findFirst())));
+
+		// Faces : meme resultat que le parcours sequentiel
+		HFace face = Assertions.present(mesh.faces().findFirst());
+		BreadthFirstLayers<HFace> faceLayers = new HMeshTreeWalker(mesh)
+				.walkInParallel(face);
+
+		assertEquals(new HMeshTreeWalker(mesh).walk(face).count(),
+				faceLayers.numVisited());
+
+		try {
+			new HMeshTreeWalker(mesh, TreePathType.DEPTH_FIRST)
+					.walkInParallel(root);
+
+			assertTrue(false);
+		}
+
+		catch (IllegalStateException e) {
+			// Parcours en profondeur
+		}
+
+		Runnable sequentialWalk = () -> new HMeshTreeWalker(mesh).walk(root)
+				.count();
+
+		Runnable parallelWalk = () -> new HMeshTreeWalker(mesh)
+				.walkInParallel(root);
+
+		RunDuration.of(sequentialWalk, 3).printOut("sequential walk");
+		RunDuration.of(parallelWalk, 3).printOut("parallel walk");
+	}
+
+	/**
+	 * Plus courts chemins sur une grille de quadrangles de cote 1 : la
+	 * distance entre sommets ou entre faces est la distance de Manhattan
+	 */
+	@Test
+	public void shortestPaths() {
+		int numI = 40;
+		int numJ = 30;
+		GridSource grid = new GridSource(numI, numJ);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % (numI + 1),
+				i -> i / (numI + 1)));
+
+		HVertex origin = vertexAt(mesh, 0, 0);
+		HVertex corner = vertexAt(mesh, numI, numJ);
+		HVertex middle = vertexAt(mesh, 20, 10);
+		HMeshShortestPaths shortestPaths = new HMeshShortestPaths(mesh);
+
+		ShortestPaths<HVertex> paths = shortestPaths.fromVertex(origin);
+
+		assertTrue(mesh.vertices().allMatch(v -> paths.distance(v) == mesh
+				.vertexX(v) + mesh.vertexY(v)));
+
+		assertEquals(null, paths.predecessors().get(origin));
+		assertEquals(numI + numJ + 1, paths.path(corner).size());
+		assertEquals(origin, paths.path(corner).get(0));
+
+		// Sources multiples
+		ShortestPaths<HVertex> multiPaths = shortestPaths
+				.fromVertices(Arrays.asList(origin, corner));
+
+		assertTrue(mesh.vertices()
+				.allMatch(v -> multiPaths.distance(v) == Math.min(
+						mesh.vertexX(v) + mesh.vertexY(v),
+						numI + numJ - mesh.vertexX(v) - mesh.vertexY(v))));
+
+		// A* : meme distance, moins de sommets fixes
+		ShortestPaths<HVertex> aStarPaths = shortestPaths.fromVertex(origin,
+				middle);
+
+		assertEquals(30, aStarPaths.distance(middle), 1e-9);
+		assertEquals(31, aStarPaths.path(middle).size());
+		assertTrue(aStarPaths.numSettled() < paths.numSettled());
+
+		// Poids unitaires : distances egales aux profondeurs de parcours en
+		// largeur
+		HMesh2D triangles = new GridSource(numI, numJ, true)
+				.toHMesh(new Coord2DSource(i -> i % (numI + 1),
+						i -> i / (numI + 1)));
+
+		HDData<HEdge> weights = triangles.createEdgeDoubleData();
+		weights.setAll(e -> 1);
+
+		HVertex triangleOrigin = vertexAt(triangles, 0, 0);
+		ShortestPaths<HVertex> hops = new HMeshShortestPaths(triangles, weights)
+				.fromVertex(triangleOrigin);
+
+		BreadthFirstLayers<HVertex> layers = new HMeshTreeWalker(triangles)
+				.walkInParallel(triangleOrigin);
+
+		assertTrue(triangles.vertices().allMatch(
+				v -> hops.distance(v) == layers.depths().get(v)));
+
+		// Faces interieures de la grille de quadrangles
+		HFace firstFace = faceAt(mesh, 0, 0);
+		HFace lastFace = faceAt(mesh, numI - 1, numJ - 1);
+		ShortestPaths<HFace> facePaths = shortestPaths.fromFace(firstFace);
+
+		assertEquals(numI + numJ - 2, facePaths.distance(lastFace), 1e-9);
+		assertEquals(numI + numJ - 1, facePaths.path(lastFace).size());
+		assertEquals(numI + numJ - 2,
+				shortestPaths.fromFace(firstFace, lastFace).distance(lastFace),
+				1e-9);
+
+		assertTrue(mesh.faces().filter(f -> f.status() != HFace.Status.INTERIOR)
+				.allMatch(f -> facePaths.distance(f) == Double.POSITIVE_INFINITY));
+
+		// Poids negatif
+		weights.set(Assertions.present(triangleOrigin.outgoingEdges()
+				.findFirst()), -1);
+
+		try {
+			new HMeshShortestPaths(triangles, weights).fromVertex(triangleOrigin);
+
+			assertTrue(false);
+		}
+
+		catch (IllegalArgumentException e) {
+			// Poids negatif
+		}
+
+		GridSource bigGrid = new GridSource(300, 300, true);
+		HMesh2D bigMesh = bigGrid.toHMesh(new Coord2DSource(i -> i % 301,
+				i -> i / 301));
+
+		HVertex bigOrigin = vertexAt(bigMesh, 0, 0);
+		HVertex bigMiddle = vertexAt(bigMesh, 150, 150);
+		HMeshShortestPaths bigPaths = new HMeshShortestPaths(bigMesh);
+
+		RunDuration.of(() -> bigPaths.fromVertex(bigOrigin), 5)
+				.printOut("dijkstra");
+
+		RunDuration.of(() -> bigPaths.fromVertex(bigOrigin, bigMiddle), 5)
+				.printOut("a*");
+	}
+
+	/**
+	 * Distances geodesiques par la methode de la chaleur sur un carre plan
+	 * triangule : proches des distances euclidiennes
+	 */
+	@Test
+	public void geodesics() {
+		int num = 40;
+		HMesh3D mesh = new GridSource(num, num, true)
+				.toHMesh(new Coord3DSource(i -> (double) (i % (num + 1)) / num,
+						i -> (double) (i / (num + 1)) / num, i -> 0));
+
+		HVertex center = Assertions.present(mesh.vertices()
+				.filter(v -> mesh.vertexX(v) == 0.5 && mesh.vertexY(v) == 0.5)
+				.findFirst());
+
+		HVertex corner = Assertions.present(mesh.vertices()
+				.filter(v -> mesh.vertexX(v) == 0 && mesh.vertexY(v) == 0)
+				.findFirst());
+
+		HMeshGeodesics geodesics = new HMeshGeodesics(mesh);
+		HDData<HVertex> distances = geodesics.distances(center);
+
+		assertEquals(0, distances.get(center), 0);
+		assertTrue(mesh.vertices().allMatch(v -> Math.abs(distances.get(v)
+				- Math.hypot(mesh.vertexX(v) - 0.5, mesh.vertexY(v) - 0.5)) < 0.05));
+
+		// Sources multiples : l'ecart entre les valeurs aux sources, inherent a
+		// la methode, s'ajoute a l'erreur
+		HDData<HVertex> multiDistances = geodesics
+				.distances(Arrays.asList(center, corner));
+
+		assertTrue(multiDistances.get(center) < 0.05);
+		assertTrue(multiDistances.get(corner) < 0.05);
+		assertTrue(mesh.vertices().allMatch(v -> Math.abs(multiDistances.get(v)
+				- Math.min(Math.hypot(mesh.vertexX(v), mesh.vertexY(v)),
+						Math.hypot(mesh.vertexX(v) - 0.5,
+								mesh.vertexY(v) - 0.5))) < 0.1));
+
+		// Coordonnees doublees : factorisations invalidees
+		mesh.vertices().forEach(v -> mesh.setVertexXYZ(v,
+				2 * mesh.vertexX(v), 2 * mesh.vertexY(v), 0));
+
+		geodesics.invalidate();
+		HDData<HVertex> doubled = geodesics.distances(center);
+
+		assertTrue(mesh.vertices().allMatch(
+				v -> Math.abs(doubled.get(v) - 2 * distances.get(v)) < 1e-6));
+
+		// Structure modifiee : nouveau sommet pris en compte
+		HVertex newVertex = mesh.splitEdge(
+				Assertions.present(center.outgoingEdges().findFirst()), 1.025, 1,
+				0);
+
+		assertTrue(geodesics.distances(center).get(newVertex) > 0);
+
+		try {
+			geodesics.distances(Arrays.asList());
+			assertTrue(false);
+		}
+
+		catch (IllegalArgumentException e) {
+			// Aucune source
+		}
+	}
+
+	/**
+	 * Composantes connexes d'une grille de quadrangles de cote 1, coupee ou
+	 * non par des aretes bloquees
+	 */
+	@Test
+	public void connectedComponents() {
+		int numI = 40;
+		int numJ = 30;
+		GridSource grid = new GridSource(numI, numJ);
+		HMesh2D mesh = grid.toHMesh(new Coord2DSource(i -> i % (numI + 1),
+				i -> i / (numI + 1)));
+
+		HMeshConnectedComponents finder = new HMeshConnectedComponents(mesh);
+
+		Components<HVertex> vertexComponents = finder.vertexComponents();
+		Components<HFace> faceComponents = finder.faceComponents();
+
+		assertEquals(1, vertexComponents.numComponents());
+		assertEquals(1, faceComponents.numComponents());
+		assertTrue(mesh.vertices().allMatch(v -> vertexComponents.label(v) == 0));
+		assertTrue(mesh.faces().allMatch(f -> faceComponents
+				.label(f) == (f.status() == HFace.Status.INTERIOR ? 0 : -1)));
+
+		// Aretes verticales x = 20 bloquees par une seule de leurs
+		// demi-aretes : faces coupees en deux, sommets toujours relies
+		HBData<HEdge> vertical = mesh.createEdgeBooleanData();
+
+		mesh.edges().filter(e -> mesh.vertexX(e.head()) == 20
+				&& mesh.vertexX(e.tail()) == 20
+				&& mesh.vertexY(e.head()) > mesh.vertexY(e.tail()))
+				.forEach(e -> vertical.set(e, true));
+
+		Components<HFace> halves = finder.faceComponents(vertical);
+
+		assertEquals(2, halves.numComponents());
+		assertEquals(1, finder.vertexComponents(vertical).numComponents());
+
+		int left = halves.label(faceAt(mesh, 0, 0));
+		int right = halves.label(faceAt(mesh, numI - 1, 0));
+
+		assertTrue(left != right);
+		assertTrue(mesh.faces().filter(f -> f.status() == HFace.Status.INTERIOR)
+				.allMatch(f -> halves.label(f) == (f.vertices()
+						.allMatch(v -> mesh.vertexX(v) <= 20) ? left : right)));
+
+		// Aretes horizontales entre x = 19 et x = 20 bloquees : sommets
+		// coupes en deux, faces toujours reliees
+		HBData<HEdge> horizontal = mesh.createEdgeBooleanData();
+
+		mesh.edges().filter(e -> Math.min(mesh.vertexX(e.head()),
+				mesh.vertexX(e.tail())) == 19
+				&& Math.max(mesh.vertexX(e.head()),
+						mesh.vertexX(e.tail())) == 20)
+				.forEach(e -> horizontal.set(e, true));
+
+		Components<HVertex> vertexHalves = finder
+				.vertexComponents(horizontal);
+
+		assertEquals(2, vertexHalves.numComponents());
+		assertEquals(1, finder.faceComponents(horizontal).numComponents());
+		assertTrue(mesh.vertices().allMatch(v -> vertexHalves
+				.label(v) == vertexHalves.label(vertexAt(mesh,
+						mesh.vertexX(v) < 20 ? 0 : numI, 0))));
+
+		// Faces isolees par le blocage de toutes les aretes
+		HBData<HEdge> all = mesh.createEdgeBooleanData();
+		all.setAll(e -> true);
+
+		Components<HFace> isolated = finder.faceComponents(all);
+
+		assertEquals(grid.numFaces(), isolated.numComponents());
+		assertEquals(grid.numFaces(),
+				mesh.faces().filter(f -> f.status() == HFace.Status.INTERIOR)
+						.mapToInt(isolated::label).distinct().count());
+
+		// Comparaison avec des parcours en largeur depuis les sommets non
+		// encore visites
+		int bigNumI = 600;
+		int bigNumJ = 500;
+		HMesh2D bigMesh = new GridSource(bigNumI, bigNumJ)
+				.toHMesh(new Coord2DSource(i -> i % (bigNumI + 1),
+						i -> i / (bigNumI + 1)));
+
+		Runnable walks = () -> {
+			HMeshTreeWalker walker = new HMeshTreeWalker(bigMesh);
+			HBData<HVertex> visited = bigMesh.createVertexBooleanData();
+
+			bigMesh.vertices().filter(v -> !visited.get(v)).forEach(
+					v -> walker.walk(v).forEach(w -> visited.set(w, true)));
+		};
+
+		Runnable unionFind = () -> new HMeshConnectedComponents(bigMesh)
+				.vertexComponents();
+
+		RunDuration.of(walks, 3).printOut("components by tree walks");
+		RunDuration.of(unionFind, 3).printOut("components by union-find");
+	}
+
+	/**
+	 * @param mesh
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	private static HVertex vertexAt(HMesh2D mesh, double x, double y) {
+		return Assertions.present(mesh.vertices()
+				.filter(v -> mesh.vertexX(v) == x && mesh.vertexY(v) == y)
+				.findFirst());
+	}
+
+	/**
+	 * @param mesh
+	 * @param i
+	 * @param j
+	 * @return la face de la grille de quadrangles de cote 1 dont le coin
+	 *         inferieur gauche est (i, j)
+	 */
+	private static HFace faceAt(HMesh2D mesh, int i, int j) {
+		return Assertions.present(mesh.faces()
+				.filter(f -> f.status() == HFace.Status.INTERIOR)
+				.filter(f -> f.vertices().allMatch(v -> mesh.vertexX(v) >= i
+						&& mesh.vertexX(v) <= i + 1 && mesh.vertexY(v) >= j
+						&& mesh.vertexY(v) <= j + 1))
+				.findFirst());
+	}
 }
@@ -4,15 +4,22 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
+import hgeom.hmesh.core.HConversion;
+import hgeom.hmesh.core.ToHMeshConverter;
+import hgeom.hmesh.elements.Coord2DSource;
+import hgeom.hmesh.elements.FaceSource;
+import hgeom.hmesh.elements.GridSource;
 import hgeom.hmesh.elements.HEdge;
 import hgeom.hmesh.elements.HFace;
 import hgeom.hmesh.elements.HFace.Status;
 import hgeom.hmesh.elements.HMesh2D;
 import hgeom.hmesh.elements.HVertex;
 import hgeom.hmesh.util.Loops;
+import hgeom.hmesh.winding.PolygonWindingProvider;
 import hgeom.hmesh.winding.Winding;
 
 /**
@@ -176,6 +183,77 @@ public final class HMeshWindingTests {
 				.forEach(f -> assertCCW(cwMesh, f));
 	}
 
+	/**
+	 * Orientations calculees a partir de tableaux de coordonnees ou de
+	 * fonctions : resultats identiques
+	 */
+	@Test
+	public void polygonWinding() {
+		Random random = new Random(7);
+		double[] xs = random.doubles(50).toArray();
+		double[] ys = random.doubles(50).toArray();
+		PolygonWindingProvider arrayProvider = new Coord2DSource(xs, ys)
+				.windingProvider();
+
+		PolygonWindingProvider functionProvider = new Coord2DSource(
+				i -> xs[i], i -> ys[i]).windingProvider();
+
+		for (int iPolygon = 0; iPolygon < 200; iPolygon++) {
+			int[] polygon = random.ints(3 + iPolygon % 5, 0, xs.length)
+					.toArray();
+
+			Winding winding = Winding.ofPolygon2D(polygon.length,
+					i -> xs[polygon[i]], i -> ys[polygon[i]]);
+
+			assertTrue(winding == Winding.ofPolygon2D(polygon, xs, ys));
+			assertTrue(winding == arrayProvider.get(polygon));
+			assertTrue(winding == functionProvider.get(polygon));
+		}
+
+		assertTrue(Winding.COUNTERCLOCKWISE == Winding.ofPolygon2D(
+				new int[] { 0, 1, 2 }, new double[] { 0, 1, 0 },
+				new double[] { 0, 0, 1 }));
+	}
+
+	/**
+	 * Faces decrites dans le sens horaire avec orientations fournies par la
+	 * source : l'orienteur n'est jamais sollicite
+	 */
+	@Test
+	public void precomputedWindings() {
+		GridSource grid = new GridSource(8, 6);
+		FaceSource gridFaces = grid.toFaceSource();
+		double[] xs = new double[grid.numVertices()];
+		double[] ys = new double[grid.numVertices()];
+
+		for (int j = 0; j <= grid.numJ(); j++) {
+			for (int i = 0; i <= grid.numI(); i++) {
+				xs[grid.vertexIndex(i, j)] = i;
+				ys[grid.vertexIndex(i, j)] = j;
+			}
+		}
+
+		FaceSource cwFaces = new FaceSource(i -> {
+			int[] face = gridFaces.face(i);
+			int[] reversedFace = new int[face.length];
+			Arrays.setAll(reversedFace, k -> face[face.length - 1 - k]);
+			return reversedFace;
+		}, 0, grid.numFaces()).withWindings(i -> Winding.CLOCKWISE);
+
+		PolygonWindingProvider failingProvider = vertexIndices -> {
+			throw new IllegalStateException();
+		};
+
+		HMesh2D mesh = Assertions.present(new ToHMeshConverter()
+				.convert(cwFaces, new Coord2DSource(xs, ys), failingProvider)
+				.map(HConversion::mesh));
+
+		HMeshTester.check(mesh).numInteriorFaces(grid.numFaces());
+
+		mesh.faces().filter(f -> f.status() == Status.INTERIOR)
+				.forEach(f -> assertCCW(mesh, f));
+	}
+
 	/**
 	 * @param mesh
 	 * @param face
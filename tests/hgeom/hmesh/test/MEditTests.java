@@ -0,0 +1,326 @@
+package hgeom.hmesh.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import hgeom.hmesh.core.HConversion;
+import hgeom.hmesh.core.ToHMeshConverter;
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.elements.Coord2DSource;
+import hgeom.hmesh.elements.Coord3DSource;
+import hgeom.hmesh.elements.GridSource;
+import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
+import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.io.MEditReader;
+import hgeom.hmesh.io.MEditSolution;
+import hgeom.hmesh.io.MEditSolution.FieldType;
+import hgeom.hmesh.io.MEditSolutionReader;
+import hgeom.hmesh.io.MEditSolutionWriter;
+import hgeom.hmesh.io.MEditWriter;
+import hgeom.hmesh.io.MeshData;
+
+/**
+ *
+ * @author Pierre B.
+ */
+public final class MEditTests {
+
+	/**
+	 * Ecriture puis relecture ASCII et binaire d'un maillage 3D de triangles
+	 * et d'un maillage 2D de quadrangles
+	 */
+	@Test
+	public void roundTrips() throws IOException {
+		GridSource triangles = new GridSource(30, 20, true);
+		HMesh3D mesh3D = mesh3D(triangles);
+
+		GridSource quads = new GridSource(20, 10);
+		int numI = quads.numI() + 1;
+		HMesh2D mesh2D = quads.toHMesh(new Coord2DSource(i -> i % numI,
+				i -> 0.5 * (i / numI)));
+
+		for (boolean binary : new boolean[] { false, true }) {
+			MEditWriter writer = new MEditWriter();
+			writer.setBinary(binary);
+
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			writer.write(mesh3D, stream);
+			MeshData data = read(stream.toByteArray());
+
+			assertEquals(triangles.numVertices(), data.numVertices());
+			assertEquals(triangles.numFaces(), data.numFaces());
+
+			HVertex[] vertices = mesh3D.vertices().toArray(HVertex[]::new);
+
+			for (int i = 0; i < vertices.length; i++) {
+				assertEquals(mesh3D.vertexX(vertices[i]), data.x(i), 0);
+				assertEquals(mesh3D.vertexY(vertices[i]), data.y(i), 0);
+				assertEquals(mesh3D.vertexZ(vertices[i]), data.z(i), 0);
+			}
+
+			HMeshTester.check(data.toHMesh())
+					.numInteriorFaces(triangles.numFaces())
+					.numVertices(triangles.numVertices());
+
+			stream = new ByteArrayOutputStream();
+			writer.write(mesh2D, stream);
+			data = read(stream.toByteArray());
+
+			assertEquals(quads.numFaces(), data.numFaces());
+			assertEquals(4, data.faceSize(0));
+			assertEquals(0, data.z(data.numVertices() - 1), 0);
+
+			HMeshTester.check(data.toHMesh()).numInteriorFaces(quads.numFaces())
+					.numVertices(quads.numVertices());
+		}
+	}
+
+	/**
+	 * Fichier binaire big endian en version 1 (reels sur 4 octets) contenant
+	 * un mot-cle inconnu
+	 */
+	@Test
+	public void bigEndianVersion1() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(256)
+				.order(ByteOrder.BIG_ENDIAN);
+
+		buffer.putInt(1).putInt(1);
+		buffer.putInt(3).putInt(buffer.position() + 8).putInt(2);
+
+		// Mot-cle inconnu saute grace a la position du mot-cle suivant
+		buffer.putInt(99).putInt(buffer.position() + 4 + 12).putInt(7)
+				.putInt(8).putInt(9);
+
+		int[][] xys = { { 0, 0 }, { 1, 0 }, { 1, 1 }, { 0, 1 } };
+		buffer.putInt(4).putInt(buffer.position() + 4 + 4 + 4 * 12)
+				.putInt(4);
+
+		for (int[] xy : xys) {
+			buffer.putFloat(xy[0]).putFloat(xy[1]).putInt(0);
+		}
+
+		buffer.putInt(6).putInt(buffer.position() + 4 + 4 + 2 * 16)
+				.putInt(2);
+
+		buffer.putInt(1).putInt(2).putInt(3).putInt(0);
+		buffer.putInt(1).putInt(3).putInt(4).putInt(0);
+		buffer.putInt(54).putInt(0);
+
+		byte[] bytes = new byte[buffer.position()];
+		buffer.flip().get(bytes);
+
+		MeshData data = read(bytes);
+
+		assertEquals(4, data.numVertices());
+		assertEquals(2, data.numFaces());
+		assertEquals(1, data.x(2), 0);
+		assertEquals(1, data.y(2), 0);
+		assertEquals(2, data.face(1)[1]);
+
+		HMeshTester.check(data.toHMesh()).numInteriorFaces(2).numVertices(4);
+	}
+
+	/**
+	 * Fichier ASCII avec mots-cles inconnus, commentaires et nombres sur
+	 * plusieurs lignes
+	 */
+	@Test
+	public void asciiKeywords() throws IOException {
+		String text = "MeshVersionFormatted 2\n# commentaire\nDimension\n3\n"
+				+ "Vertices\n4\n0 0 0 1\n1 0 0 1\n1 1 0 1\n0 1 0 1\n"
+				+ "Edges 2\n1 2 0\n2 3 0\nRidges\n1\n1\n"
+				+ "Quadrilaterals 1\n1 2 3\n4 5\nTriangles 1 1 2 3 0\nEnd\n";
+
+		MeshData data = read(text.getBytes(StandardCharsets.US_ASCII));
+
+		assertEquals(4, data.numVertices());
+		assertEquals(2, data.numFaces());
+
+		// Les triangles avant les quadrangles
+		assertEquals(3, data.faceSize(0));
+		assertEquals(4, data.faceSize(1));
+		assertEquals(3, data.face(1)[3]);
+	}
+
+	/**
+	 * Champs de solution ecrits puis relus en ASCII et en binaire, puis
+	 * associes aux sommets du maillage relu
+	 */
+	@Test
+	public void solutions() throws IOException {
+		GridSource grid = new GridSource(6, 5);
+		HMesh3D mesh = mesh3D(grid);
+
+		HDData<HVertex> heights = mesh.createVertexDoubleData();
+		heights.setAll(mesh::vertexZ);
+
+		HDData<HVertex> xs = mesh.createVertexDoubleData();
+		xs.setAll(mesh::vertexX);
+
+		HDData<HVertex> ys = mesh.createVertexDoubleData();
+		ys.setAll(mesh::vertexY);
+
+		MEditSolutionWriter solutionWriter = new MEditSolutionWriter();
+		solutionWriter.addField(FieldType.SCALAR, heights);
+		solutionWriter.addField(FieldType.VECTOR, xs, ys, heights);
+
+		for (boolean binary : new boolean[] { false, true }) {
+			MEditWriter meshWriter = new MEditWriter();
+			meshWriter.setBinary(binary);
+			solutionWriter.setBinary(binary);
+
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			meshWriter.write(mesh, stream);
+			MeshData data = read(stream.toByteArray());
+
+			stream = new ByteArrayOutputStream();
+			solutionWriter.write(mesh, stream);
+
+			MEditSolution solution = new MEditSolutionReader()
+					.read(new ByteArrayInputStream(stream.toByteArray()));
+
+			assertEquals(3, solution.dimension());
+			assertEquals(grid.numVertices(), solution.numVertices());
+			assertEquals(2, solution.numFields());
+			assertEquals(FieldType.VECTOR, solution.fieldType(1));
+			assertEquals(3, solution.fieldSize(1));
+
+			for (int i = 0; i < data.numVertices(); i++) {
+				assertEquals(data.z(i), solution.value(i, 0, 0), 0);
+				assertEquals(data.y(i), solution.value(i, 1, 1), 0);
+			}
+
+			HConversion<HMesh3D> conversion = new ToHMeshConverter()
+					.convert(data.faceSource(), data.coordSource()).get();
+
+			HMesh3D readMesh = conversion.mesh();
+			HDData<HVertex> readXs = solution.toVertexData(conversion, 1, 0);
+
+			assertTrue(readMesh.vertices().allMatch(
+					v -> readMesh.vertexX(v) == readXs.get(v)));
+
+			try {
+				solution.toVertexData(conversion, 0, 1);
+				assertTrue(false);
+			}
+
+			catch (IndexOutOfBoundsException e) {
+				// Champ scalaire
+			}
+		}
+
+		// Vecteur de 3 composantes ecrit pour un maillage 2D
+		HMesh2D mesh2D = grid.toHMesh(new Coord2DSource(i -> i, i -> i * i));
+
+		try {
+			solutionWriter.write(mesh2D, new ByteArrayOutputStream());
+			assertTrue(false);
+		}
+
+		catch (IllegalArgumentException e) {
+			// Composantes en trop
+		}
+	}
+
+	/**
+	 * Lecture a partir d'un fichier
+	 */
+	@Test
+	public void files() throws IOException {
+		GridSource grid = new GridSource(4, 4, true);
+		HMesh3D mesh = mesh3D(grid);
+		Path path = Files.createTempFile("hgeom", ".meshb");
+
+		try {
+			MEditWriter writer = new MEditWriter(true);
+			writer.setBinary(true);
+			writer.write(mesh, path);
+
+			HMeshTester.check(new MEditReader().readHMesh(path))
+					.numInteriorFaces(grid.numFaces())
+					.numVertices(grid.numVertices());
+		}
+
+		finally {
+			Files.delete(path);
+		}
+	}
+
+	/**
+	 * Fichiers mal formes
+	 */
+	@Test
+	public void failures() {
+		String[] texts = { "", "Vertices 1\n0 0 0 0\nEnd\n",
+				"MeshVersionFormatted 2\nDimension 4\nEnd\n",
+				"MeshVersionFormatted 2\nVertices 2\n0 0 0 0\nEnd\n",
+				"MeshVersionFormatted 2\nTriangles 1\n1 2 x 0\nEnd\n" };
+
+		for (String text : texts) {
+			try {
+				read(text.getBytes(StandardCharsets.US_ASCII));
+				assertTrue(false);
+			}
+
+			catch (IOException e) {
+				// Fichier invalide
+			}
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+				.putInt(1).putInt(7);
+
+		try {
+			read(buffer.array());
+			assertTrue(false);
+		}
+
+		catch (IOException e) {
+			// Version inconnue
+		}
+
+		try {
+			new MEditSolutionReader().read(new ByteArrayInputStream(
+					"MeshVersionFormatted 2\nDimension 3\nEnd\n"
+							.getBytes(StandardCharsets.US_ASCII)));
+
+			assertTrue(false);
+		}
+
+		catch (IOException e) {
+			// Pas de SolAtVertices
+		}
+	}
+
+	/**
+	 * @param grid
+	 * @return
+	 */
+	private static HMesh3D mesh3D(GridSource grid) {
+		int numI = grid.numI() + 1;
+
+		return grid.toHMesh(new Coord3DSource(i -> 0.1 * (i % numI),
+				i -> i / numI, i -> Math.cos(i)));
+	}
+
+	/**
+	 * @param bytes
+	 * @return
+	 * @throws IOException
+	 */
+	private static MeshData read(byte[] bytes) throws IOException {
+		return new MEditReader().read(new ByteArrayInputStream(bytes));
+	}
+}
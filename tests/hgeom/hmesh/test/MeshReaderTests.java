@@ -0,0 +1,288 @@
+package hgeom.hmesh.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.IntFunction;
+
+import org.junit.Test;
+
+import hgeom.hmesh.io.MeshData;
+import hgeom.hmesh.io.MeshReader;
+import hgeom.hmesh.io.ObjReader;
+import hgeom.hmesh.io.OffReader;
+import hgeom.hmesh.io.PlyReader;
+
+/**
+ *
+ * @author Pierre B.
+ */
+public final class MeshReaderTests {
+
+	/**
+	 * Taille de la grille lue
+	 */
+	private static final int SIZE = 20;
+
+	/**
+	 * Lecture d'un fichier OFF, sequentielle et en parallele
+	 */
+	@Test
+	public void off() throws IOException {
+		StringBuilder text = new StringBuilder("OFF\n# grille\n")
+				.append(numVertices()).append(' ').append(numFaces())
+				.append(" 0\n");
+
+		for (int i = 0; i < numVertices(); i++) {
+			text.append(x(i)).append(' ').append(y(i)).append(" 0.5\r\n");
+		}
+
+		for (int i = 0; i < numFaces(); i++) {
+			int[] face = face(i);
+			text.append(face.length);
+
+			for (int v : face) {
+				text.append(' ').append(v);
+			}
+
+			text.append(" 255 0 0\n");
+		}
+
+		checkAll(text.toString(), "off", OffReader::new);
+	}
+
+	/**
+	 * Lecture d'un fichier OBJ avec indices de texture et indices relatifs
+	 */
+	@Test
+	public void obj() throws IOException {
+		StringBuilder text = new StringBuilder("# grille\n");
+
+		for (int i = 0; i < numVertices(); i++) {
+			text.append("v ").append(x(i)).append(' ').append(y(i))
+					.append(" 0.5\nvt 0 0\n");
+		}
+
+		for (int i = 0; i < numFaces(); i++) {
+			int[] face = face(i);
+
+			text.append("f ").append(face[0] + 1).append("/1 ")
+					.append(face[1] + 1).append("//1 ")
+					.append(face[2] - numVertices()).append(' ')
+					.append(face[3] + 1).append('\n');
+		}
+
+		checkAll(text.toString(), "obj", ObjReader::new);
+	}
+
+	/**
+	 * Lecture d'un fichier PLY ASCII avec proprietes ignorees
+	 */
+	@Test
+	public void asciiPly() throws IOException {
+		StringBuilder text = new StringBuilder("ply\nformat ascii 1.0\n")
+				.append("comment grille\n")
+				.append("element vertex " + numVertices() + "\n")
+				.append("property float x\nproperty float y\n")
+				.append("property float z\nproperty list uchar int ids\n")
+				.append("element face " + numFaces() + "\n")
+				.append("property uchar flag\n")
+				.append("property list uchar int vertex_indices\n")
+				.append("end_header\n");
+
+		for (int i = 0; i < numVertices(); i++) {
+			text.append(x(i)).append(' ').append(y(i)).append(" 0.5 2 7 8\n");
+		}
+
+		for (int i = 0; i < numFaces(); i++) {
+			int[] face = face(i);
+			text.append("1 ").append(face.length);
+
+			for (int v : face) {
+				text.append(' ').append(v);
+			}
+
+			text.append('\n');
+		}
+
+		checkAll(text.toString(), "ply", PlyReader::new);
+	}
+
+	/**
+	 * Lecture de fichiers PLY binaires
+	 */
+	@Test
+	public void binaryPly() throws IOException {
+		for (ByteOrder order : new ByteOrder[] { ByteOrder.LITTLE_ENDIAN,
+				ByteOrder.BIG_ENDIAN }) {
+
+			String header = "ply\nformat binary_"
+					+ (order == ByteOrder.LITTLE_ENDIAN ? "little" : "big")
+					+ "_endian 1.0\nelement vertex " + numVertices()
+					+ "\nproperty double x\nproperty double y\n"
+					+ "property float z\nelement face " + numFaces()
+					+ "\nproperty list uchar int vertex_indices\nend_header\n";
+
+			byte[] headerBytes = header.getBytes(StandardCharsets.US_ASCII);
+
+			ByteBuffer content = ByteBuffer
+					.allocate(headerBytes.length + 20 * numVertices()
+							+ 17 * numFaces())
+					.order(order).put(headerBytes);
+
+			for (int i = 0; i < numVertices(); i++) {
+				content.putDouble(x(i)).putDouble(y(i)).putFloat(0.5f);
+			}
+
+			for (int i = 0; i < numFaces(); i++) {
+				content.put((byte) 4);
+
+				for (int v : face(i)) {
+					content.putInt(v);
+				}
+			}
+
+			check(new PlyReader(false)
+					.read(new ByteArrayInputStream(content.array())));
+		}
+	}
+
+	/**
+	 * Fichiers mal formes ou tronques
+	 */
+	@Test
+	public void failures() {
+		assertFailure(new OffReader(), "OFF\n2 1 0\n1 2 3\n1 x 3\n3 0 1 2\n");
+		assertFailure(new OffReader(), "OFF\n3 1 0\n1 2 3\n1 2 3\n");
+		assertFailure(new OffReader(), "PLY\n");
+		assertFailure(new ObjReader(), "v 1 2 3\nf 1 0 1\n");
+
+		// Indices de sommets hors limites
+		assertFailure(new OffReader(),
+				"OFF\n3 1 0\n0 0 0\n1 0 0\n0 1 0\n3 0 1 7\n");
+
+		assertFailure(new ObjReader(),
+				"v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 9\n");
+
+		assertFailure(new ObjReader(), "f -1 -2 -3\nv 0 0 0\n");
+		assertFailure(new ObjReader(), "v 0 0 0\nv 1 0 0\nf -1 -2 -3\n");
+		assertFailure(new PlyReader(), "ply\nelement vertex 0\nend_header\n");
+	}
+
+	/**
+	 * Lecture d'un texte par flux puis d'un fichier, sequentiellement et en
+	 * parallele par petits morceaux
+	 *
+	 * @param text
+	 * @param extension
+	 * @param readers   constructeur de lecteur selon la taille des morceaux
+	 * @throws IOException
+	 */
+	private static void checkAll(String text, String extension,
+			IntFunction<MeshReader> readers)
+			throws IOException {
+
+		byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+		check(readers.apply(0).read(new ByteArrayInputStream(bytes)));
+
+		Path file = Files.createTempFile("mesh", "." + extension);
+
+		try {
+			Files.write(file, bytes);
+
+			for (int chunkSize : new int[] { 0, 64, 1000, bytes.length }) {
+				check(readers.apply(chunkSize).read(file));
+			}
+
+			HMeshTester.check(readers.apply(64).readHMesh(file))
+					.numInteriorFaces(numFaces())
+					.numVertices(numVertices());
+		}
+
+		finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * @param data
+	 */
+	private static void check(MeshData data) {
+		assertEquals(numVertices(), data.numVertices());
+		assertEquals(numFaces(), data.numFaces());
+
+		for (int i = 0; i < numVertices(); i++) {
+			assertEquals(x(i), data.x(i), 0);
+			assertEquals(y(i), data.y(i), 0);
+			assertEquals(0.5, data.z(i), 0);
+		}
+
+		for (int i = 0; i < numFaces(); i++) {
+			assertArrayEquals(face(i), data.face(i));
+		}
+	}
+
+	/**
+	 * @param reader
+	 * @param text
+	 */
+	private static void assertFailure(MeshReader reader, String text) {
+		try {
+			reader.read(new ByteArrayInputStream(
+					text.getBytes(StandardCharsets.US_ASCII)));
+
+			assertTrue(false);
+		}
+
+		catch (IOException e) {
+			// Echec attendu
+		}
+	}
+
+	/**
+	 * @return
+	 */
+	private static int numVertices() {
+		return (SIZE + 1) * (SIZE + 1);
+	}
+
+	/**
+	 * @return
+	 */
+	private static int numFaces() {
+		return SIZE * SIZE;
+	}
+
+	/**
+	 * @param vertex
+	 * @return
+	 */
+	private static double x(int vertex) {
+		return 0.1 * (vertex % (SIZE + 1));
+	}
+
+	/**
+	 * @param vertex
+	 * @return
+	 */
+	private static double y(int vertex) {
+		return vertex / (SIZE + 1);
+	}
+
+	/**
+	 * @param face
+	 * @return
+	 */
+	private static int[] face(int face) {
+		int v = face / SIZE * (SIZE + 1) + face % SIZE;
+		return new int[] { v, v + 1, v + SIZE + 2, v + SIZE + 1 };
+	}
+}
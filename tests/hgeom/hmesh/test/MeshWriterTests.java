@@ -0,0 +1,256 @@
+package hgeom.hmesh.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import hgeom.hmesh.data.HDData;
+import hgeom.hmesh.data.HIData;
+import hgeom.hmesh.elements.Coord2DSource;
+import hgeom.hmesh.elements.Coord3DSource;
+import hgeom.hmesh.elements.GridSource;
+import hgeom.hmesh.elements.HEdge;
+import hgeom.hmesh.elements.HFace;
+import hgeom.hmesh.elements.HMesh2D;
+import hgeom.hmesh.elements.HMesh3D;
+import hgeom.hmesh.elements.HVertex;
+import hgeom.hmesh.io.MEditWriter;
+import hgeom.hmesh.io.MeshData;
+import hgeom.hmesh.io.MeshReader;
+import hgeom.hmesh.io.MeshWriter;
+import hgeom.hmesh.io.ObjReader;
+import hgeom.hmesh.io.ObjWriter;
+import hgeom.hmesh.io.OffReader;
+import hgeom.hmesh.io.OffWriter;
+import hgeom.hmesh.io.PlyReader;
+import hgeom.hmesh.io.PlyWriter;
+
+/**
+ *
+ * @author Pierre B.
+ */
+public final class MeshWriterTests {
+
+	/**
+	 * Ecriture puis relecture aux formats OFF, OBJ et PLY. Formatage
+	 * sequentiel et parallele identiques
+	 */
+	@Test
+	public void roundTrips() throws IOException {
+		GridSource grid = new GridSource(80, 70);
+		HMesh3D mesh = mesh3D(grid);
+
+		checkRoundTrip(mesh, grid, new OffWriter(), new OffWriter(true),
+				new OffReader());
+
+		checkRoundTrip(mesh, grid, new ObjWriter(), new ObjWriter(true),
+				new ObjReader());
+
+		checkRoundTrip(mesh, grid, new PlyWriter(), new PlyWriter(true),
+				new PlyReader());
+	}
+
+	/**
+	 * Couches de donnees ecrites comme proprietes PLY
+	 */
+	@Test
+	public void plyProperties() throws IOException {
+		GridSource grid = new GridSource(4, 3);
+		HMesh3D mesh = mesh3D(grid);
+
+		HDData<HVertex> heights = mesh.createVertexDoubleData();
+		heights.setAll(mesh::vertexZ);
+
+		HIData<HFace> colors = mesh.createFaceIntData();
+		colors.setAll(f -> 7);
+
+		PlyWriter writer = new PlyWriter();
+		writer.addVertexProperty("height", heights);
+		writer.addFaceProperty("color", colors);
+
+		try {
+			writer.addVertexProperty("x", heights);
+			assertTrue(false);
+		}
+
+		catch (IllegalArgumentException e) {
+			// Nom reserve
+		}
+
+		String header = new String(write(writer, mesh),
+				StandardCharsets.ISO_8859_1);
+
+		assertTrue(header.contains("property double height\n"));
+		assertTrue(header.contains("property int color\n"));
+
+		checkData(mesh, grid, read(new PlyReader(), write(writer, mesh)));
+	}
+
+	/**
+	 * Les elements supprimes ne sont pas ecrits et les sommets sont
+	 * renumerotes
+	 */
+	@Test
+	public void discardedElements() throws IOException {
+		GridSource grid = new GridSource(3, 3);
+		HMesh3D mesh = mesh3D(grid);
+
+		// Arete entre 2 sommets interieurs : 1 sommet supprime
+		HEdge edge = mesh.edges()
+				.filter(e -> e.head().neighbors().count() == 4
+						&& e.tail().neighbors().count() == 4)
+				.findFirst().get();
+
+		assertTrue(mesh.collapseEdge(edge));
+
+		// 2 faces voisines fusionnees : 1 face supprimee
+		HFace face = mesh.faces()
+				.filter(f -> f.status() == HFace.Status.INTERIOR)
+				.filter(f -> f.vertices().count() == 4).findFirst().get();
+
+		assertTrue(mesh.mergeFaces(face, face.neighbors()
+				.filter(f -> f.status() == HFace.Status.INTERIOR).findFirst()
+				.get()));
+
+		MeshData data = read(new OffReader(), write(new OffWriter(), mesh));
+
+		assertEquals(grid.numVertices() - 1, data.numVertices());
+		assertEquals(grid.numFaces() - 1, data.numFaces());
+
+		HMeshTester.check(data.toHMesh())
+				.numInteriorFaces(grid.numFaces() - 1)
+				.numVertices(grid.numVertices() - 1);
+	}
+
+	/**
+	 * Ecriture au format MEdit de maillages 2D et 3D
+	 */
+	@Test
+	public void medit() throws IOException {
+		GridSource grid = new GridSource(3, 2);
+		HMesh2D mesh2D = grid.toHMesh(new Coord2DSource(
+				i -> i % 4, i -> i / 4));
+
+		HIData<HVertex> references = mesh2D.createVertexIntData();
+		references.setAll(v -> 5);
+
+		MEditWriter writer = new MEditWriter();
+		writer.setVertexReferences(references);
+
+		String text = new String(write(writer, mesh2D),
+				StandardCharsets.US_ASCII);
+
+		assertTrue(text.startsWith("MeshVersionFormatted 2\nDimension 2\n"));
+		assertTrue(text.contains("\nVertices\n12\n"));
+		assertTrue(text.contains("\nQuadrilaterals\n6\n"));
+		assertTrue(text.contains("3.0 2.0 5\n"));
+		assertTrue(text.endsWith("\nEnd\n"));
+
+		GridSource triangles = new GridSource(3, 2, true);
+		text = new String(write(new MEditWriter(), mesh3D(triangles)),
+				StandardCharsets.US_ASCII);
+
+		assertTrue(text.contains("Dimension 3\n"));
+		assertTrue(text.contains("\nTriangles\n12\n"));
+	}
+
+	/**
+	 * @param mesh
+	 * @param grid
+	 * @param writer
+	 * @param parallelWriter
+	 * @param reader
+	 * @throws IOException
+	 */
+	private static void checkRoundTrip(HMesh3D mesh, GridSource grid,
+			MeshWriter writer, MeshWriter parallelWriter, MeshReader reader)
+			throws IOException {
+
+		byte[] bytes = write(writer, mesh);
+		assertArrayEquals(bytes, write(parallelWriter, mesh));
+
+		MeshData data = read(reader, bytes);
+		checkData(mesh, grid, data);
+
+		HMeshTester.check(data.toHMesh()).numInteriorFaces(grid.numFaces())
+				.numVertices(grid.numVertices());
+	}
+
+	/**
+	 * @param mesh
+	 * @param grid
+	 * @param data
+	 */
+	private static void checkData(HMesh3D mesh, GridSource grid,
+			MeshData data) {
+
+		assertEquals(grid.numVertices(), data.numVertices());
+		assertEquals(grid.numFaces(), data.numFaces());
+
+		HVertex[] vertices = mesh.vertices().toArray(HVertex[]::new);
+
+		for (int i = 0; i < vertices.length; i++) {
+			assertEquals(mesh.vertexX(vertices[i]), data.x(i), 0);
+			assertEquals(mesh.vertexY(vertices[i]), data.y(i), 0);
+			assertEquals(mesh.vertexZ(vertices[i]), data.z(i), 0);
+		}
+	}
+
+	/**
+	 * @param grid
+	 * @return
+	 */
+	private static HMesh3D mesh3D(GridSource grid) {
+		int numI = grid.numI() + 1;
+
+		return grid.toHMesh(new Coord3DSource(i -> 0.1 * (i % numI),
+				i -> i / numI, i -> Math.sin(i)));
+	}
+
+	/**
+	 * @param writer
+	 * @param mesh
+	 * @return
+	 * @throws IOException
+	 */
+	private static byte[] write(MeshWriter writer, HMesh3D mesh)
+			throws IOException {
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		writer.write(mesh, stream);
+		return stream.toByteArray();
+	}
+
+	/**
+	 * @param writer
+	 * @param mesh
+	 * @return
+	 * @throws IOException
+	 */
+	private static byte[] write(MeshWriter writer, HMesh2D mesh)
+			throws IOException {
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		writer.write(mesh, stream);
+		return stream.toByteArray();
+	}
+
+	/**
+	 * @param reader
+	 * @param bytes
+	 * @return
+	 * @throws IOException
+	 */
+	private static MeshData read(MeshReader reader, byte[] bytes)
+			throws IOException {
+
+		return reader.read(new ByteArrayInputStream(bytes));
+	}
+}
@@ -0,0 +1,226 @@
+package hgeom.hmesh.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import hgeom.hmesh.core.TriangleMesh;
+import hgeom.hmesh.elements.GridSource;
+import hgeom.hmesh.elements.HMesh;
+
+/**
+ *
+ * @author Pierre B.
+ */
+public final class TriangleMeshTests {
+
+	/**
+	 * Construction a partir d'une grille triangulee et conversion en
+	 * {@link HMesh}
+	 */
+	@Test
+	public void build() {
+		GridSource grid = new GridSource(5, 4, true);
+		TriangleMesh mesh = mesh(grid);
+
+		assertEquals(grid.numFaces(), mesh.numFaces());
+		assertEquals(grid.numVertices(), mesh.numVertices());
+		assertConsistent(mesh);
+
+		HMesh hMesh = Assertions.present(mesh.toFaceSource().toHMesh());
+
+		HMeshTester.check(hMesh).numInteriorFaces(grid.numFaces())
+				.numVertices(grid.numVertices());
+	}
+
+	/**
+	 * Arete partagee par 2 triangles de meme orientation ou triangle
+	 * referencant 2 fois un sommet impossibles
+	 */
+	@Test
+	public void failures() {
+		assertIllegal(new int[] { 0, 1, 2, 0, 1, 3 }, 4);
+		assertIllegal(new int[] { 0, 1, 1 }, 2);
+		assertIllegal(new int[] { 0, 1, 5 }, 3);
+
+		// Face supprimee
+		TriangleMesh mesh = new TriangleMesh(new int[] { 0, 1, 2, 0, 2, 3 },
+				4);
+
+		assertTrue(mesh.collapseEdge(0));
+
+		try {
+			mesh.splitFace(0);
+			assertTrue(false);
+		}
+
+		catch (IllegalStateException e) {
+			// Attendu
+		}
+	}
+
+	/**
+	 *
+	 */
+	@Test
+	public void splitFace() {
+		GridSource grid = new GridSource(3, 3, true);
+		TriangleMesh mesh = mesh(grid);
+		int[] faces = mesh.faces().toArray();
+
+		for (int face : faces) {
+			int vertex = mesh.splitFace(face);
+			assertEquals(3, mesh.neighbors(vertex).count());
+			assertConsistent(mesh);
+		}
+
+		assertEquals(3 * grid.numFaces(), mesh.numFaces());
+		assertEquals(grid.numVertices() + grid.numFaces(), mesh.numVertices());
+	}
+
+	/**
+	 *
+	 */
+	@Test
+	public void flipEdge() {
+		GridSource grid = new GridSource(4, 3, true);
+		TriangleMesh mesh = mesh(grid);
+
+		// Arete de bord non basculable
+		int boundaryEdge = mesh.halfEdges().filter(h -> mesh.opposite(h) == -1)
+				.findFirst().getAsInt();
+
+		assertFalse(mesh.flipEdge(boundaryEdge));
+
+		// Bascule de chaque diagonale puis retour a l'etat initial
+		int[] diagonals = mesh.halfEdges()
+				.filter(h -> mesh.tail(h) + grid.numI() + 2 == mesh.head(h))
+				.toArray();
+
+		assertEquals(grid.numFaces() / 2, diagonals.length);
+
+		for (int h : diagonals) {
+			int tail = mesh.tail(h);
+			int head = mesh.head(h);
+			assertTrue(mesh.flipEdge(h));
+			assertFalse(mesh.neighbors(tail).anyMatch(v -> v == head));
+			assertConsistent(mesh);
+		}
+
+		for (int h : diagonals) {
+			assertTrue(mesh.flipEdge(h));
+		}
+
+		assertConsistent(mesh);
+		assertEquals(grid.numFaces(), mesh.numFaces());
+	}
+
+	/**
+	 * Fusions successives jusqu'a ce qu'aucune ne soit possible. Le maillage
+	 * reste un disque
+	 */
+	@Test
+	public void collapseEdge() {
+		GridSource grid = new GridSource(6, 5, true);
+		TriangleMesh mesh = mesh(grid);
+		boolean collapsed = true;
+
+		while (collapsed) {
+			collapsed = false;
+
+			for (int h : mesh.halfEdges().toArray()) {
+				if (mesh.head(h) != -1) {
+					int numFaces = mesh.numFaces();
+					int numVertices = mesh.numVertices();
+					boolean interior = mesh.opposite(h) != -1;
+
+					if (mesh.collapseEdge(h)) {
+						collapsed = true;
+						assertEquals(numFaces - (interior ? 2 : 1),
+								mesh.numFaces());
+
+						assertEquals(numVertices - 1, mesh.numVertices());
+						assertConsistent(mesh);
+					}
+				}
+			}
+		}
+
+		assertEquals(1, mesh.numFaces());
+		assertEquals(3, mesh.numVertices());
+	}
+
+	/**
+	 * @param grid
+	 * @return
+	 */
+	private static TriangleMesh mesh(GridSource grid) {
+		return TriangleMesh.of(grid.toFaceSource(), grid.numVertices());
+	}
+
+	/**
+	 * @param triangles
+	 * @param numVertices
+	 */
+	private static void assertIllegal(int[] triangles, int numVertices) {
+		try {
+			new TriangleMesh(triangles, numVertices);
+			assertTrue(false);
+		}
+
+		catch (IllegalArgumentException e) {
+			// Attendu
+		}
+	}
+
+	/**
+	 * Verification des liens et de la caracteristique d'Euler d'un disque
+	 *
+	 * @param mesh
+	 */
+	private static void assertConsistent(TriangleMesh mesh) {
+		int[] halfEdges = mesh.halfEdges().toArray();
+		int[] numIncomingEdges = new int[mesh.vertices().max().orElse(0) + 1];
+		int numBoundaryEdges = 0;
+
+		for (int h : halfEdges) {
+			int o = mesh.opposite(h);
+			assertTrue(mesh.head(h) != mesh.tail(h));
+			assertFalse(mesh.isVertexDiscarded(mesh.head(h)));
+			numIncomingEdges[mesh.head(h)]++;
+
+			if (o == -1) {
+				numBoundaryEdges++;
+			}
+
+			else {
+				assertEquals(h, mesh.opposite(o));
+				assertEquals(mesh.head(h), mesh.tail(o));
+				assertEquals(mesh.tail(h), mesh.head(o));
+			}
+		}
+
+		mesh.vertices().forEach(v -> {
+			int h = mesh.vertexEdge(v);
+			assertEquals(v, mesh.head(h));
+			assertEquals(numIncomingEdges[v], mesh.incomingEdges(v).count());
+
+			// Demi-arete de bord si le sommet est sur un bord
+			boolean onBoundary = Arrays.stream(halfEdges).anyMatch(
+					e -> mesh.head(e) == v && mesh.opposite(e) == -1);
+
+			assertEquals(onBoundary, mesh.isBoundary(v));
+		});
+
+		int numEdges = (halfEdges.length + numBoundaryEdges) / 2;
+
+		assertEquals(1,
+				mesh.numVertices() - numEdges + mesh.numFaces());
+
+		assertEquals(halfEdges.length, 3 * mesh.numFaces());
+	}
+}